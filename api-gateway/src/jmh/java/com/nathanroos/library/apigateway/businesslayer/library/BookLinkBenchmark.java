@@ -0,0 +1,99 @@
+package com.nathanroos.library.apigateway.businesslayer.library;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nathanroos.library.apigateway.domainclientlayer.library.GenreEnum;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookController;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookResponseModel;
+import com.nathanroos.library.apigateway.utils.LinkTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.EvoInflectorLinkRelationProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+// A page of books from GET /api/v1/books: add the self and "books" links to every book, then write the page as HAL.
+// linkTo is how BookServiceImpl built the links before LinkTemplate; both run under a request, as they do in production.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookLinkBenchmark {
+
+    private static final LinkTemplate BOOK_LINK = LinkTemplate.of(methodOn(BookController.class).getBookByBookId(null));
+
+    private static final LinkTemplate BOOKS_LINK = LinkTemplate.of(methodOn(BookController.class).getBooks(null, null, null));
+
+    @Param({"10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setup() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new Jackson2HalModule());
+        objectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new EvoInflectorLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public byte[] withLinkTo() throws JsonProcessingException {
+        List<BookResponseModel> books = books();
+        for (BookResponseModel book : books) {
+            book.add(linkTo(methodOn(BookController.class).getBookByBookId(book.getBookId())).withSelfRel());
+            book.add(linkTo(methodOn(BookController.class).getBooks(null, null, null)).withRel("books"));
+        }
+        return objectMapper.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public byte[] withLinkTemplate() throws JsonProcessingException {
+        List<BookResponseModel> books = books();
+        Link allBooksLink = BOOKS_LINK.expand().withRel("books");
+        for (BookResponseModel book : books) {
+            book.add(BOOK_LINK.expand(book.getBookId()));
+            book.add(allBooksLink);
+        }
+        return objectMapper.writeValueAsBytes(books);
+    }
+
+    private List<BookResponseModel> books() {
+        List<BookResponseModel> books = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            books.add(new BookResponseModel("00000000-0000-0000-0000-" + String.format("%012d", i), "George", "Orwell",
+                    GenreEnum.FICTION, "Title " + i, "George Orwell", 5, null, null));
+        }
+        return books;
+    }
+}
@@ -0,0 +1,112 @@
+package com.nathanroos.library.apigateway.businesslayer.library;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nathanroos.library.apigateway.domainclientlayer.library.GenreEnum;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookController;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookResponseModel;
+import com.nathanroos.library.apigateway.utils.LinkTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.EvoInflectorLinkRelationProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+// GET /api/v1/books a step at a time. The gateway has no entities; its mapping step is reading library-service's
+// response into BookResponseModels. Then the self and "books" links BookServiceImpl adds, and writing the linked
+// list as HAL. Runs under a request, so links are absolute as they are in production.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookResponseBenchmark {
+
+    private static final LinkTemplate BOOK_LINK = LinkTemplate.of(methodOn(BookController.class).getBookByBookId(null));
+
+    private static final LinkTemplate BOOKS_LINK = LinkTemplate.of(methodOn(BookController.class).getBooks(null, null, null));
+
+    private static final TypeReference<List<BookResponseModel>> BOOK_LIST = new TypeReference<>() {
+    };
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+
+    private byte[] downstreamResponse;
+
+    private List<BookResponseModel> linkedBooks;
+
+    @Setup
+    public void setup() throws IOException {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new Jackson2HalModule());
+        objectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new EvoInflectorLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+
+        List<BookResponseModel> books = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            books.add(new BookResponseModel("00000000-0000-0000-0000-" + String.format("%012d", i), "First" + i,
+                    "Last" + i, GenreEnum.FICTION, "Title " + i, "Author " + i, i % 7, null, null));
+        }
+        downstreamResponse = objectMapper.writeValueAsBytes(books);
+
+        linkedBooks = objectMapper.readValue(downstreamResponse, BOOK_LIST);
+        Link allBooksLink = BOOKS_LINK.expand().withRel("books");
+        for (BookResponseModel book : linkedBooks) {
+            book.add(BOOK_LINK.expand(book.getBookId()));
+            book.add(allBooksLink);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public List<BookResponseModel> readDownstreamResponse() throws IOException {
+        return objectMapper.readValue(downstreamResponse, BOOK_LIST);
+    }
+
+    @Benchmark
+    public void buildLinks(Blackhole blackhole) {
+        Link allBooksLink = BOOKS_LINK.expand().withRel("books");
+        for (BookResponseModel book : linkedBooks) {
+            blackhole.consume(BOOK_LINK.expand(book.getBookId()));
+            blackhole.consume(allBooksLink);
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(linkedBooks);
+    }
+}
@@ -1,16 +1,20 @@
 package com.nathanroos.library.apigateway;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @SpringBootApplication
 public class ApiGatewayApplication {
 
 	@Bean
-	RestTemplate restTemplate() {
-		return new RestTemplate();
+	RestTemplate restTemplate(ObjectProvider<ClientHttpRequestFactory> downstreamRequestFactory) {
+		// slice tests don't load the pooled transport and fall back to the JDK client
+		return new RestTemplate(downstreamRequestFactory.getIfAvailable(SimpleClientHttpRequestFactory::new));
 	}
 
 	public static void main(String[] args) {
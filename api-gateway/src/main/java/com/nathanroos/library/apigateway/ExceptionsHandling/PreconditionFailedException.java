@@ -0,0 +1,7 @@
+package com.nathanroos.library.apigateway.ExceptionsHandling;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
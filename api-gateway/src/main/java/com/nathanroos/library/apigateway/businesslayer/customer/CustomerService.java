@@ -12,7 +12,8 @@ public interface CustomerService {
     List<LibraryAccountResponseModel> getAllAccounts();
     LibraryAccountResponseModel getAccountByAccountId(String customerId);
     LibraryAccountResponseModel addAccount(LibraryAccountRequestModel account);
-    LibraryAccountResponseModel updateAccount(LibraryAccountRequestModel account, String accountId);
-    void removeAccount(String accountId);
+    // ifMatch is the caller's If-Match header, forwarded as-is; null when it sent none
+    LibraryAccountResponseModel updateAccount(LibraryAccountRequestModel account, String accountId, String ifMatch);
+    void removeAccount(String accountId, String ifMatch);
 
 }
@@ -5,17 +5,20 @@ import com.nathanroos.library.apigateway.domainclientlayer.customer.CustomerServ
 import com.nathanroos.library.apigateway.presentationlayer.customer.LibraryAccountController;
 import com.nathanroos.library.apigateway.presentationlayer.customer.LibraryAccountRequestModel;
 import com.nathanroos.library.apigateway.presentationlayer.customer.LibraryAccountResponseModel;
-import org.springframework.hateoas.Link;
+import com.nathanroos.library.apigateway.utils.LinkTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @Service
 public class CustomerServiceImpl implements CustomerService {
 
+    private static final LinkTemplate ACCOUNT_LINK = LinkTemplate.of(methodOn(LibraryAccountController.class).getAccountByAccountId(null));
+
+    private static final LinkTemplate ACCOUNTS_LINK = LinkTemplate.of(methodOn(LibraryAccountController.class).getAllAccounts());
+
     private final CustomerServiceClient customerServiceClient;
 
     public CustomerServiceImpl(CustomerServiceClient customerServiceClient) {
@@ -44,26 +47,18 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     @Override
-    public LibraryAccountResponseModel updateAccount(LibraryAccountRequestModel account, String accountId) {
-        return this.addLinks(customerServiceClient.updateAccount(account, accountId));
+    public LibraryAccountResponseModel updateAccount(LibraryAccountRequestModel account, String accountId, String ifMatch) {
+        return this.addLinks(customerServiceClient.updateAccount(account, accountId, ifMatch));
     }
 
     @Override
-    public void removeAccount(String accountId) {
-        customerServiceClient.removeAccount(accountId);
+    public void removeAccount(String accountId, String ifMatch) {
+        customerServiceClient.removeAccount(accountId, ifMatch);
     }
 
     private LibraryAccountResponseModel addLinks(LibraryAccountResponseModel account) {
-        Link selfLink = linkTo(methodOn(LibraryAccountController.class)
-                .getAccountByAccountId(account.getAccountId()))
-                .withSelfRel();
-        account.add(selfLink);
-
-        Link allAccountsLink = linkTo(methodOn(LibraryAccountController.class)
-                .getAllAccounts())
-                .withRel("accounts");
-        account.add(allAccountsLink);
-
+        account.add(ACCOUNT_LINK.expand(account.getAccountId()));
+        account.add(ACCOUNTS_LINK.expand().withRel("accounts"));
         return account;
     }
 }
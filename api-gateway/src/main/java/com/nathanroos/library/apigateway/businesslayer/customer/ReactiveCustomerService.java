@@ -0,0 +1,17 @@
+package com.nathanroos.library.apigateway.businesslayer.customer;
+
+import com.nathanroos.library.apigateway.presentationlayer.customer.LibraryAccountRequestModel;
+import com.nathanroos.library.apigateway.presentationlayer.customer.LibraryAccountResponseModel;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveCustomerService {
+
+    Flux<LibraryAccountResponseModel> getAllAccounts();
+    Mono<LibraryAccountResponseModel> getAccountByAccountId(String customerId);
+    Mono<LibraryAccountResponseModel> addAccount(LibraryAccountRequestModel account);
+    // ifMatch is the caller's If-Match header, forwarded as-is; null when it sent none
+    Mono<LibraryAccountResponseModel> updateAccount(LibraryAccountRequestModel account, String accountId, String ifMatch);
+    Mono<Void> removeAccount(String accountId, String ifMatch);
+
+}
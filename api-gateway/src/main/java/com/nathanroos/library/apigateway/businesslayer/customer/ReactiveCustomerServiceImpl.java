@@ -0,0 +1,64 @@
+package com.nathanroos.library.apigateway.businesslayer.customer;
+
+import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.domainclientlayer.customer.ReactiveCustomerServiceClient;
+import com.nathanroos.library.apigateway.presentationlayer.customer.LibraryAccountRequestModel;
+import com.nathanroos.library.apigateway.presentationlayer.customer.LibraryAccountResponseModel;
+import com.nathanroos.library.apigateway.presentationlayer.customer.ReactiveLibraryAccountController;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+@Service
+@ConditionalOnProperty(name = "app.client-mode", havingValue = "reactive")
+public class ReactiveCustomerServiceImpl implements ReactiveCustomerService {
+
+    private final ReactiveCustomerServiceClient customerServiceClient;
+
+    public ReactiveCustomerServiceImpl(ReactiveCustomerServiceClient customerServiceClient) {
+        this.customerServiceClient = customerServiceClient;
+    }
+
+
+    @Override
+    public Flux<LibraryAccountResponseModel> getAllAccounts() {
+        WebMvcLinkBuilder accounts = linkTo(ReactiveLibraryAccountController.class);
+        return customerServiceClient.getAccounts().map(account -> addLinks(account, accounts));
+    }
+
+    @Override
+    public Mono<LibraryAccountResponseModel> getAccountByAccountId(String customerId) {
+        WebMvcLinkBuilder accounts = linkTo(ReactiveLibraryAccountController.class);
+        return customerServiceClient.getAccountByAccountId(customerId)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Account with ID " + customerId + " not found.")))
+                .map(account -> addLinks(account, accounts));
+    }
+
+
+    @Override
+    public Mono<LibraryAccountResponseModel> addAccount(LibraryAccountRequestModel account) {
+        WebMvcLinkBuilder accounts = linkTo(ReactiveLibraryAccountController.class);
+        return customerServiceClient.addAccount(account).map(created -> addLinks(created, accounts));
+    }
+
+    @Override
+    public Mono<LibraryAccountResponseModel> updateAccount(LibraryAccountRequestModel account, String accountId, String ifMatch) {
+        WebMvcLinkBuilder accounts = linkTo(ReactiveLibraryAccountController.class);
+        return customerServiceClient.updateAccount(account, accountId, ifMatch).map(updated -> addLinks(updated, accounts));
+    }
+
+    @Override
+    public Mono<Void> removeAccount(String accountId, String ifMatch) {
+        return customerServiceClient.removeAccount(accountId, ifMatch);
+    }
+
+    private LibraryAccountResponseModel addLinks(LibraryAccountResponseModel account, WebMvcLinkBuilder accounts) {
+        account.add(accounts.slash(account.getAccountId()).withSelfRel());
+        account.add(accounts.withRel("accounts"));
+        return account;
+    }
+}
@@ -0,0 +1,8 @@
+package com.nathanroos.library.apigateway.businesslayer.dashboard;
+
+import com.nathanroos.library.apigateway.presentationlayer.dashboard.AccountDashboardResponseModel;
+
+public interface AccountDashboardService {
+
+    AccountDashboardResponseModel getDashboard(String accountId);
+}
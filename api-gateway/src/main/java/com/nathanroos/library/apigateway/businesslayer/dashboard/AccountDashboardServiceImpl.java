@@ -0,0 +1,102 @@
+package com.nathanroos.library.apigateway.businesslayer.dashboard;
+
+import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.domainclientlayer.customer.CustomerServiceClient;
+import com.nathanroos.library.apigateway.domainclientlayer.library.BookCatalogCache;
+import com.nathanroos.library.apigateway.domainclientlayer.loan.LoanServiceClient;
+import com.nathanroos.library.apigateway.presentationlayer.customer.LibraryAccountController;
+import com.nathanroos.library.apigateway.presentationlayer.customer.LibraryAccountResponseModel;
+import com.nathanroos.library.apigateway.presentationlayer.dashboard.AccountDashboardController;
+import com.nathanroos.library.apigateway.presentationlayer.dashboard.AccountDashboardResponseModel;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookResponseModel;
+import com.nathanroos.library.apigateway.presentationlayer.loan.LoanController;
+import com.nathanroos.library.apigateway.presentationlayer.loan.LoanPageResponseModel;
+import com.nathanroos.library.apigateway.presentationlayer.loan.LoanResponseModel;
+import com.nathanroos.library.apigateway.utils.FailFastTaskScope;
+import com.nathanroos.library.apigateway.utils.LinkTemplate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+@Slf4j
+@Service
+public class AccountDashboardServiceImpl implements AccountDashboardService {
+
+    // the dashboard shows the newest loans; the full history is behind the "loans" link
+    private static final int DASHBOARD_LOAN_LIMIT = 50;
+
+    private static final LinkTemplate DASHBOARD_LINK = LinkTemplate.of(methodOn(AccountDashboardController.class).getDashboard(null));
+
+    private static final LinkTemplate ACCOUNT_LINK = LinkTemplate.of(methodOn(LibraryAccountController.class).getAccountByAccountId(null));
+
+    private static final LinkTemplate LOANS_LINK = LinkTemplate.of(methodOn(LoanController.class)
+            .getAllLoansByAccountId(null, null, null, null, null, null));
+
+    private final CustomerServiceClient customerServiceClient;
+
+    private final LoanServiceClient loanServiceClient;
+
+    private final BookCatalogCache bookCatalogCache;
+
+    public AccountDashboardServiceImpl(CustomerServiceClient customerServiceClient,
+                                       LoanServiceClient loanServiceClient,
+                                       BookCatalogCache bookCatalogCache) {
+        this.customerServiceClient = customerServiceClient;
+        this.loanServiceClient = loanServiceClient;
+        this.bookCatalogCache = bookCatalogCache;
+    }
+
+    // the account and the loans are independent; books only depend on the loans, so they are batch-resolved on the loans branch
+    @Override
+    public AccountDashboardResponseModel getDashboard(String accountId) {
+        Supplier<LibraryAccountResponseModel> account;
+        Supplier<AccountDashboardResponseModel> loansAndBooks;
+
+        try (FailFastTaskScope scope = new FailFastTaskScope()) {
+            account = scope.fork(() -> customerServiceClient.getAccountByAccountId(accountId));
+            loansAndBooks = scope.fork(() -> {
+                LoanPageResponseModel page = loanServiceClient.getLoans(accountId, null, null, null, null, DASHBOARD_LOAN_LIMIT);
+                List<LoanResponseModel> loans = page == null || page.getLoans() == null ? List.of() : page.getLoans();
+                return AccountDashboardResponseModel.builder()
+                        .loans(loans)
+                        .books(getBooks(loans))
+                        .build();
+            });
+            scope.join();
+        }
+
+        if (account.get() == null) {
+            throw new NotFoundException("Account with ID " + accountId + " not found.");
+        }
+
+        AccountDashboardResponseModel dashboard = loansAndBooks.get();
+        dashboard.setAccount(account.get());
+        return addLinks(dashboard, accountId);
+    }
+
+    // a loan can outlive its book; such books are simply absent and the dashboard still renders
+    private List<BookResponseModel> getBooks(List<LoanResponseModel> loans) {
+        List<String> bookIds = loans.stream()
+                .map(LoanResponseModel::getBookId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        if (bookIds.isEmpty()) {
+            return List.of();
+        }
+        return List.copyOf(bookCatalogCache.getBooksByBookIds(bookIds).values());
+    }
+
+    private AccountDashboardResponseModel addLinks(AccountDashboardResponseModel dashboard, String accountId) {
+        dashboard.add(DASHBOARD_LINK.expand(accountId));
+        dashboard.add(ACCOUNT_LINK.expand(accountId).withRel("account"));
+        dashboard.add(LOANS_LINK.expand(accountId).withRel("loans"));
+        return dashboard;
+    }
+}
@@ -17,8 +17,9 @@ public interface LibrarianService {
 
     public List<LibrarianResponseModel> getworkers();
 
-    public LibrarianResponseModel updateLibrarian(String librarianId, LibrarianRequestModel librarianRequestModel);
+    // ifMatch is the caller's If-Match header, forwarded as-is; null when it sent none
+    public LibrarianResponseModel updateLibrarian(String librarianId, LibrarianRequestModel librarianRequestModel, String ifMatch);
 
-    public void deleteLibrarian(String librarianId);
+    public void deleteLibrarian(String librarianId, String ifMatch);
 
 }
@@ -10,16 +10,20 @@ import com.nathanroos.library.apigateway.presentationlayer.customer.LibraryAccou
 import com.nathanroos.library.apigateway.presentationlayer.librarian.LibrarianController;
 import com.nathanroos.library.apigateway.presentationlayer.librarian.LibrarianRequestModel;
 import com.nathanroos.library.apigateway.presentationlayer.librarian.LibrarianResponseModel;
-import org.springframework.hateoas.Link;
+import com.nathanroos.library.apigateway.utils.LinkTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @Service
 public class LibrarianServiceImpl implements LibrarianService {
+
+    private static final LinkTemplate LIBRARIAN_LINK = LinkTemplate.of(methodOn(LibrarianController.class).getLibrarian(null));
+
+    private static final LinkTemplate LIBRARIANS_LINK = LinkTemplate.of(methodOn(LibrarianController.class).getWorkers());
+
     private final LibrarianServiceClient librarianServiceClient;
 
 
@@ -49,26 +53,18 @@ public class LibrarianServiceImpl implements LibrarianService {
     }
 
     @Override
-    public LibrarianResponseModel updateLibrarian(String librarianId, LibrarianRequestModel librarianRequestModel) {
-        return addLinks(librarianServiceClient.updateLibrarian(librarianId, librarianRequestModel));
+    public LibrarianResponseModel updateLibrarian(String librarianId, LibrarianRequestModel librarianRequestModel, String ifMatch) {
+        return addLinks(librarianServiceClient.updateLibrarian(librarianId, librarianRequestModel, ifMatch));
     }
 
     @Override
-    public void deleteLibrarian(String librarianId) {
-        librarianServiceClient.deleteLibrarian(librarianId);
+    public void deleteLibrarian(String librarianId, String ifMatch) {
+        librarianServiceClient.deleteLibrarian(librarianId, ifMatch);
     }
 
     private LibrarianResponseModel addLinks(LibrarianResponseModel account) {
-        Link selfLink = linkTo(methodOn(LibrarianController.class)
-                .getLibrarian(account.getLibrarianId()))
-                .withSelfRel();
-        account.add(selfLink);
-
-        Link allAccountsLink = linkTo(methodOn(LibrarianController.class)
-                .getWorkers())
-                .withRel("librarians");
-        account.add(allAccountsLink);
-
+        account.add(LIBRARIAN_LINK.expand(account.getLibrarianId()));
+        account.add(LIBRARIANS_LINK.expand().withRel("librarians"));
         return account;
     }
 }
@@ -0,0 +1,21 @@
+package com.nathanroos.library.apigateway.businesslayer.librarian;
+
+import com.nathanroos.library.apigateway.presentationlayer.librarian.LibrarianRequestModel;
+import com.nathanroos.library.apigateway.presentationlayer.librarian.LibrarianResponseModel;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveLibrarianService {
+
+    Mono<LibrarianResponseModel> createLibrarian(LibrarianRequestModel librarianRequestModel);
+
+    Mono<LibrarianResponseModel> getLibrarian(String librarianId);
+
+    Flux<LibrarianResponseModel> getWorkers();
+
+    // ifMatch is the caller's If-Match header, forwarded as-is; null when it sent none
+    Mono<LibrarianResponseModel> updateLibrarian(String librarianId, LibrarianRequestModel librarianRequestModel, String ifMatch);
+
+    Mono<Void> deleteLibrarian(String librarianId, String ifMatch);
+
+}
@@ -0,0 +1,63 @@
+package com.nathanroos.library.apigateway.businesslayer.librarian;
+
+import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.domainclientlayer.librarian.ReactiveLibrarianServiceClient;
+import com.nathanroos.library.apigateway.presentationlayer.librarian.LibrarianRequestModel;
+import com.nathanroos.library.apigateway.presentationlayer.librarian.LibrarianResponseModel;
+import com.nathanroos.library.apigateway.presentationlayer.librarian.ReactiveLibrarianController;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+@Service
+@ConditionalOnProperty(name = "app.client-mode", havingValue = "reactive")
+public class ReactiveLibrarianServiceImpl implements ReactiveLibrarianService {
+
+    private final ReactiveLibrarianServiceClient librarianServiceClient;
+
+
+    public ReactiveLibrarianServiceImpl(ReactiveLibrarianServiceClient librarianServiceClient) {
+        this.librarianServiceClient = librarianServiceClient;
+    }
+
+    @Override
+    public Mono<LibrarianResponseModel> createLibrarian(LibrarianRequestModel librarianRequestModel) {
+        WebMvcLinkBuilder librarians = linkTo(ReactiveLibrarianController.class);
+        return librarianServiceClient.createLibrarian(librarianRequestModel).map(created -> addLinks(created, librarians));
+    }
+
+    @Override
+    public Mono<LibrarianResponseModel> getLibrarian(String librarianId) {
+        WebMvcLinkBuilder librarians = linkTo(ReactiveLibrarianController.class);
+        return librarianServiceClient.getLibrarian(librarianId)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Librarian with ID " + librarianId + " not found")))
+                .map(librarian -> addLinks(librarian, librarians));
+    }
+
+    @Override
+    public Flux<LibrarianResponseModel> getWorkers() {
+        WebMvcLinkBuilder librarians = linkTo(ReactiveLibrarianController.class);
+        return librarianServiceClient.getWorkers().map(librarian -> addLinks(librarian, librarians));
+    }
+
+    @Override
+    public Mono<LibrarianResponseModel> updateLibrarian(String librarianId, LibrarianRequestModel librarianRequestModel, String ifMatch) {
+        WebMvcLinkBuilder librarians = linkTo(ReactiveLibrarianController.class);
+        return librarianServiceClient.updateLibrarian(librarianId, librarianRequestModel, ifMatch).map(updated -> addLinks(updated, librarians));
+    }
+
+    @Override
+    public Mono<Void> deleteLibrarian(String librarianId, String ifMatch) {
+        return librarianServiceClient.deleteLibrarian(librarianId, ifMatch);
+    }
+
+    private LibrarianResponseModel addLinks(LibrarianResponseModel librarian, WebMvcLinkBuilder librarians) {
+        librarian.add(librarians.slash(librarian.getLibrarianId()).withSelfRel());
+        librarian.add(librarians.withRel("librarians"));
+        return librarian;
+    }
+}
@@ -1,18 +1,18 @@
 package com.nathanroos.library.apigateway.businesslayer.library;
 
 
+import com.nathanroos.library.apigateway.presentationlayer.library.BookPageResponseModel;
 import com.nathanroos.library.apigateway.presentationlayer.library.BookRequestModel;
 import com.nathanroos.library.apigateway.presentationlayer.library.BookResponseModel;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 
 public interface BookService {
 
-    List<BookResponseModel> getBooks();
+    BookPageResponseModel getBooks(String sort, String cursor, Integer limit);
     BookResponseModel getBookByBookId(String bookId);
     BookResponseModel addBook(BookRequestModel book);
-    BookResponseModel updateBook(BookRequestModel book, String bookId);
-    void removeBook(String bookId);
+    // ifMatch is the caller's If-Match header, forwarded as-is; null when it sent none
+    BookResponseModel updateBook(BookRequestModel book, String bookId, String ifMatch);
+    void removeBook(String bookId, String ifMatch);
 }
@@ -2,39 +2,48 @@ package com.nathanroos.library.apigateway.businesslayer.library;
 
 import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
 import com.nathanroos.library.apigateway.domainclientlayer.customer.CustomerServiceClient;
+import com.nathanroos.library.apigateway.domainclientlayer.library.BookCatalogCache;
 import com.nathanroos.library.apigateway.domainclientlayer.library.BookServiceClient;
 import com.nathanroos.library.apigateway.presentationlayer.librarian.LibrarianController;
 import com.nathanroos.library.apigateway.presentationlayer.librarian.LibrarianResponseModel;
 import com.nathanroos.library.apigateway.presentationlayer.library.BookController;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookPageResponseModel;
 import com.nathanroos.library.apigateway.presentationlayer.library.BookRequestModel;
 import com.nathanroos.library.apigateway.presentationlayer.library.BookResponseModel;
+import com.nathanroos.library.apigateway.utils.LinkTemplate;
 import org.springframework.hateoas.Link;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @Service
 public class BookServiceImpl implements BookService {
 
+    private static final LinkTemplate BOOK_LINK = LinkTemplate.of(methodOn(BookController.class).getBookByBookId(null));
+
+    private static final LinkTemplate BOOKS_LINK = LinkTemplate.of(methodOn(BookController.class).getBooks(null, null, null));
+
     private final BookServiceClient bookServiceClient;
 
+    private final BookCatalogCache bookCatalogCache;
 
-    public BookServiceImpl(BookServiceClient bookServiceClient) {
+
+    public BookServiceImpl(BookServiceClient bookServiceClient, BookCatalogCache bookCatalogCache) {
         this.bookServiceClient = bookServiceClient;
+        this.bookCatalogCache = bookCatalogCache;
     }
 
     @Override
-    public List<BookResponseModel> getBooks() {
-        return bookServiceClient.getBooks().stream().map(this::addLinks).toList();
-
+    public BookPageResponseModel getBooks(String sort, String cursor, Integer limit) {
+        BookPageResponseModel page = bookCatalogCache.getBooks(sort, cursor, limit);
+        Link allBooksLink = allBooksLink();
+        page.getBooks().forEach(book -> addLinks(book, allBooksLink));
+        return page;
     }
 
     @Override
     public BookResponseModel getBookByBookId(String bookId) {
-        BookResponseModel book = bookServiceClient.getBookByBookId(bookId);
+        BookResponseModel book = bookCatalogCache.getBookByBookId(bookId);
         if (book == null) {
             throw new NotFoundException("Book with ID: " + bookId + " not found");
         }
@@ -44,30 +53,36 @@ public class BookServiceImpl implements BookService {
 
     @Override
     public BookResponseModel addBook(BookRequestModel book) {
-        return addLinks(bookServiceClient.addBook(book));
+        BookResponseModel created = bookServiceClient.addBook(book);
+        bookCatalogCache.invalidate(created.getBookId());
+        return addLinks(created);
     }
 
     @Override
-    public BookResponseModel updateBook(BookRequestModel book, String bookId) {
-        return addLinks(bookServiceClient.updateBook(book, bookId));
+    public BookResponseModel updateBook(BookRequestModel book, String bookId, String ifMatch) {
+        BookResponseModel updated = bookServiceClient.updateBook(book, bookId, ifMatch);
+        bookCatalogCache.invalidate(bookId);
+        return addLinks(updated);
     }
 
     @Override
-    public void removeBook(String bookId) {
-        bookServiceClient.deleteBook(bookId);
+    public void removeBook(String bookId, String ifMatch) {
+        bookServiceClient.deleteBook(bookId, ifMatch);
+        bookCatalogCache.invalidate(bookId);
     }
 
     private BookResponseModel addLinks(BookResponseModel book) {
-        Link selfLink = linkTo(methodOn(BookController.class)
-                .getBookByBookId(book.getBookId()))
-                .withSelfRel();
-        book.add(selfLink);
-
-        Link allBooksLink = linkTo(methodOn(BookController.class)
-                .getBooks())
-                .withRel("books");
-        book.add(allBooksLink);
+        return addLinks(book, allBooksLink());
+    }
 
+    // every book in a page shares the one collection link
+    private BookResponseModel addLinks(BookResponseModel book, Link allBooksLink) {
+        book.add(BOOK_LINK.expand(book.getBookId()));
+        book.add(allBooksLink);
         return book;
     }
+
+    private Link allBooksLink() {
+        return BOOKS_LINK.expand().withRel("books");
+    }
 }
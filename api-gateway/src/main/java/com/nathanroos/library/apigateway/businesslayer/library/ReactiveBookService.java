@@ -0,0 +1,16 @@
+package com.nathanroos.library.apigateway.businesslayer.library;
+
+import com.nathanroos.library.apigateway.presentationlayer.library.BookPageResponseModel;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookRequestModel;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookResponseModel;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveBookService {
+
+    Mono<BookPageResponseModel> getBooks(String sort, String cursor, Integer limit);
+    Mono<BookResponseModel> getBookByBookId(String bookId);
+    Mono<BookResponseModel> addBook(BookRequestModel book);
+    // ifMatch is the caller's If-Match header, forwarded as-is; null when it sent none
+    Mono<BookResponseModel> updateBook(BookRequestModel book, String bookId, String ifMatch);
+    Mono<Void> removeBook(String bookId, String ifMatch);
+}
@@ -0,0 +1,81 @@
+package com.nathanroos.library.apigateway.businesslayer.library;
+
+import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.domainclientlayer.library.BookCatalogCache;
+import com.nathanroos.library.apigateway.domainclientlayer.library.ReactiveBookServiceClient;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookPageResponseModel;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookRequestModel;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookResponseModel;
+import com.nathanroos.library.apigateway.presentationlayer.library.ReactiveBookController;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+// Links are resolved against the current request up front; the callbacks run on I/O threads without one.
+// Writes drop the book from the catalog cache the dashboard reads, as the blocking service does.
+@Service
+@ConditionalOnProperty(name = "app.client-mode", havingValue = "reactive")
+public class ReactiveBookServiceImpl implements ReactiveBookService {
+
+    private final ReactiveBookServiceClient bookServiceClient;
+
+    private final BookCatalogCache bookCatalogCache;
+
+
+    public ReactiveBookServiceImpl(ReactiveBookServiceClient bookServiceClient, BookCatalogCache bookCatalogCache) {
+        this.bookServiceClient = bookServiceClient;
+        this.bookCatalogCache = bookCatalogCache;
+    }
+
+    @Override
+    public Mono<BookPageResponseModel> getBooks(String sort, String cursor, Integer limit) {
+        WebMvcLinkBuilder books = linkTo(ReactiveBookController.class);
+        return bookServiceClient.getBooks(sort, cursor, limit).map(page -> {
+            page.getBooks().forEach(book -> addLinks(book, books));
+            return page;
+        });
+    }
+
+    @Override
+    public Mono<BookResponseModel> getBookByBookId(String bookId) {
+        WebMvcLinkBuilder books = linkTo(ReactiveBookController.class);
+        return bookServiceClient.getBookByBookId(bookId)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Book with ID: " + bookId + " not found")))
+                .map(book -> addLinks(book, books));
+    }
+
+    @Override
+    public Mono<BookResponseModel> addBook(BookRequestModel book) {
+        WebMvcLinkBuilder books = linkTo(ReactiveBookController.class);
+        return bookServiceClient.addBook(book)
+                .doOnSuccess(created -> {
+                    if (created != null) {
+                        bookCatalogCache.invalidate(created.getBookId());
+                    }
+                })
+                .map(created -> addLinks(created, books));
+    }
+
+    @Override
+    public Mono<BookResponseModel> updateBook(BookRequestModel book, String bookId, String ifMatch) {
+        WebMvcLinkBuilder books = linkTo(ReactiveBookController.class);
+        return bookServiceClient.updateBook(book, bookId, ifMatch)
+                .doOnSuccess(updated -> bookCatalogCache.invalidate(bookId))
+                .map(updated -> addLinks(updated, books));
+    }
+
+    @Override
+    public Mono<Void> removeBook(String bookId, String ifMatch) {
+        return bookServiceClient.deleteBook(bookId, ifMatch)
+                .doOnSuccess(ignored -> bookCatalogCache.invalidate(bookId));
+    }
+
+    private BookResponseModel addLinks(BookResponseModel book, WebMvcLinkBuilder books) {
+        book.add(books.slash(book.getBookId()).withSelfRel());
+        book.add(books.withRel("books"));
+        return book;
+    }
+}
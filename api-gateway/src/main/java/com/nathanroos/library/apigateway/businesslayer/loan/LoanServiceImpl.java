@@ -3,19 +3,25 @@ package com.nathanroos.library.apigateway.businesslayer.loan;
 import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
 import com.nathanroos.library.apigateway.domainclientlayer.loan.LoanServiceClient;
 import com.nathanroos.library.apigateway.presentationlayer.loan.LoanController;
+import com.nathanroos.library.apigateway.presentationlayer.loan.LoanPageResponseModel;
 import com.nathanroos.library.apigateway.presentationlayer.loan.LoanRequestModel;
 import com.nathanroos.library.apigateway.presentationlayer.loan.LoanResponseModel;
+import com.nathanroos.library.apigateway.utils.LinkTemplate;
 import org.springframework.hateoas.Link;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @Service
 public class LoanServiceImpl implements LoanService {
 
+    private static final LinkTemplate LOAN_LINK = LinkTemplate.of(methodOn(LoanController.class).getLoanByLoanId(null, null));
+
+    private static final LinkTemplate LOANS_LINK = LinkTemplate.of(methodOn(LoanController.class)
+            .getAllLoansByAccountId(null, null, null, null, null, null));
+
     private final LoanServiceClient loanServiceClient;
 
 
@@ -24,9 +30,18 @@ public class LoanServiceImpl implements LoanService {
     }
 
     @Override
-    public List<LoanResponseModel> getAllLoansByAccountId(String accountId) {
-        return this.loanServiceClient.getLoans(accountId).stream().map(this::addLinks).toList();
-
+    public LoanPageResponseModel getAllLoansByAccountId(String accountId, String status, String from, String to, String cursor, Integer limit) {
+        LoanPageResponseModel page = loanServiceClient.getLoans(accountId, status, from, to, cursor, limit);
+        // an empty body reads as an empty page, as it does on the dashboard
+        if (page == null) {
+            return new LoanPageResponseModel(List.of(), null);
+        }
+        if (page.getLoans() == null) {
+            page.setLoans(List.of());
+        }
+        Link allLoansLink = allLoansLink(accountId);
+        page.getLoans().forEach(loan -> addLinks(loan, allLoansLink));
+        return page;
     }
 
     @Override
@@ -58,17 +73,18 @@ public class LoanServiceImpl implements LoanService {
     }
 
     private LoanResponseModel addLinks(LoanResponseModel loan) {
-        Link selfLink = linkTo(methodOn(LoanController.class)
-                .getLoanByLoanId(loan.getAccountId(), loan.getLoanId()))
-                .withSelfRel();
-        loan.add(selfLink);
-
-        Link allLoansLink = linkTo(methodOn(LoanController.class)
-                .getAllLoansByAccountId(loan.getLoanId()))
-                .withRel("loans");
-        loan.add(allLoansLink);
+        return addLinks(loan, allLoansLink(loan.getAccountId()));
+    }
 
+    // every loan in a page belongs to the same account, so they share the one collection link
+    private LoanResponseModel addLinks(LoanResponseModel loan, Link allLoansLink) {
+        loan.add(LOAN_LINK.expand(loan.getAccountId(), loan.getLoanId()));
+        loan.add(allLoansLink);
         return loan;
     }
 
+    private Link allLoansLink(String accountId) {
+        return LOANS_LINK.expand(accountId).withRel("loans");
+    }
+
 }
@@ -0,0 +1,17 @@
+package com.nathanroos.library.apigateway.businesslayer.loan;
+
+import com.nathanroos.library.apigateway.presentationlayer.loan.LoanPageResponseModel;
+import com.nathanroos.library.apigateway.presentationlayer.loan.LoanRequestModel;
+import com.nathanroos.library.apigateway.presentationlayer.loan.LoanResponseModel;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveLoanService {
+
+    Mono<LoanResponseModel> getLoanByLoanId(String accountId, String loanId);
+    Mono<LoanPageResponseModel> getAllLoansByAccountId(String accountId, String status, String from, String to, String cursor, Integer limit);
+    Mono<LoanResponseModel> addLoan(LoanRequestModel loan, String accountId);
+    Mono<LoanResponseModel> updateLoan(String accountId, LoanRequestModel loan, String loanId);
+    Mono<Void> removeLoan(String accountId, String loanId);
+
+
+}
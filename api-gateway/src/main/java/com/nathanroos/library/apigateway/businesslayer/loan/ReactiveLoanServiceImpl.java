@@ -0,0 +1,68 @@
+package com.nathanroos.library.apigateway.businesslayer.loan;
+
+import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.domainclientlayer.loan.ReactiveLoanServiceClient;
+import com.nathanroos.library.apigateway.presentationlayer.loan.LoanPageResponseModel;
+import com.nathanroos.library.apigateway.presentationlayer.loan.LoanRequestModel;
+import com.nathanroos.library.apigateway.presentationlayer.loan.LoanResponseModel;
+import com.nathanroos.library.apigateway.presentationlayer.loan.ReactiveLoanController;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+@Service
+@ConditionalOnProperty(name = "app.client-mode", havingValue = "reactive")
+public class ReactiveLoanServiceImpl implements ReactiveLoanService {
+
+    private final ReactiveLoanServiceClient loanServiceClient;
+
+
+    public ReactiveLoanServiceImpl(ReactiveLoanServiceClient loanServiceClient) {
+        this.loanServiceClient = loanServiceClient;
+    }
+
+    @Override
+    public Mono<LoanPageResponseModel> getAllLoansByAccountId(String accountId, String status, String from, String to, String cursor, Integer limit) {
+        WebMvcLinkBuilder loans = linkTo(ReactiveLoanController.class, accountId);
+        return loanServiceClient.getLoans(accountId, status, from, to, cursor, limit).map(page -> {
+            page.getLoans().forEach(loan -> addLinks(loan, loans));
+            return page;
+        });
+    }
+
+    @Override
+    public Mono<LoanResponseModel> getLoanByLoanId(String accountId, String loanId) {
+        WebMvcLinkBuilder loans = linkTo(ReactiveLoanController.class, accountId);
+        return loanServiceClient.getLoanByLoanId(accountId, loanId)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Loan with ID " + loanId + " not found for account " + accountId)))
+                .map(loan -> addLinks(loan, loans));
+    }
+
+
+    @Override
+    public Mono<LoanResponseModel> addLoan(LoanRequestModel loan, String accountId) {
+        WebMvcLinkBuilder loans = linkTo(ReactiveLoanController.class, accountId);
+        return loanServiceClient.addLoan(accountId, loan).map(created -> addLinks(created, loans));
+    }
+
+    @Override
+    public Mono<LoanResponseModel> updateLoan(String accountId, LoanRequestModel loan, String loanId) {
+        WebMvcLinkBuilder loans = linkTo(ReactiveLoanController.class, accountId);
+        return loanServiceClient.updateLoan(accountId, loan, loanId).map(updated -> addLinks(updated, loans));
+    }
+
+    @Override
+    public Mono<Void> removeLoan(String accountId, String loanId) {
+        return loanServiceClient.deleteLoan(accountId, loanId);
+    }
+
+    private LoanResponseModel addLinks(LoanResponseModel loan, WebMvcLinkBuilder loans) {
+        loan.add(loans.slash(loan.getLoanId()).withSelfRel());
+        loan.add(loans.withRel("loans"));
+        return loan;
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.nathanroos.library.apigateway.domainclientlayer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shared keep-alive connection pool behind the RestTemplate. Every downstream listed in
+ * {@code app.http-client.downstreams} gets its own connect/read/response timeouts and route limit
+ * from its {@code app.<service>} block; anything else falls back to the {@code app.http-client} defaults.
+ * <p>
+ * loan-service and api-gateway each carry a copy of this class and of {@link DownstreamHttpClientProperties}.
+ * Apart from the package the copies are identical; change them together.
+ */
+@Slf4j
+@Configuration
+public class DownstreamHttpClientConfig {
+
+    @Bean(destroyMethod = "close")
+    PoolingHttpClientConnectionManager downstreamConnectionManager(DownstreamHttpClientProperties properties,
+                                                                   Environment environment,
+                                                                   MeterRegistry meterRegistry) {
+        Map<String, DownstreamHttpClientProperties.Downstream> downstreams = resolveDownstreams(properties, environment);
+        ConnectionConfig defaultConnectionConfig = connectionConfig(properties, null);
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxTotal())
+                .setMaxConnPerRoute(properties.getMaxPerRoute())
+                .setConnectionConfigResolver(route -> {
+                    DownstreamHttpClientProperties.Downstream downstream = downstreams.get(routeKey(route.getTargetHost()));
+                    return downstream == null ? defaultConnectionConfig : connectionConfig(properties, downstream);
+                })
+                .build();
+
+        downstreams.forEach((key, downstream) -> {
+            if (downstream.getMaxConnections() != null) {
+                connectionManager.setMaxPerRoute(
+                        new HttpRoute(new HttpHost("http", downstream.getHost(), downstream.getPort())),
+                        downstream.getMaxConnections());
+            }
+        });
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "downstream").bindTo(meterRegistry);
+        log.debug("Downstream connection pool configured for {}", downstreams.keySet());
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    CloseableHttpClient downstreamHttpClient(PoolingHttpClientConnectionManager downstreamConnectionManager,
+                                             DownstreamHttpClientProperties properties) {
+        return HttpClients.custom()
+                .setConnectionManager(downstreamConnectionManager)
+                .setDefaultRequestConfig(requestConfig(properties, null))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(properties.getIdleEviction()))
+                .build();
+    }
+
+    @Bean
+    ClientHttpRequestFactory downstreamRequestFactory(CloseableHttpClient downstreamHttpClient,
+                                                      DownstreamHttpClientProperties properties,
+                                                      Environment environment) {
+        Map<String, RequestConfig> requestConfigs = new HashMap<>();
+        resolveDownstreams(properties, environment).forEach((key, downstream) ->
+                requestConfigs.put(key, requestConfig(properties, downstream)));
+        RequestConfig defaultRequestConfig = requestConfig(properties, null);
+
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(downstreamHttpClient);
+        requestFactory.setHttpContextFactory((method, uri) -> {
+            HttpClientContext context = HttpClientContext.create();
+            context.setRequestConfig(requestConfigs.getOrDefault(uri.getHost() + ":" + uri.getPort(), defaultRequestConfig));
+            return context;
+        });
+        return requestFactory;
+    }
+
+    static Map<String, DownstreamHttpClientProperties.Downstream> resolveDownstreams(DownstreamHttpClientProperties properties,
+                                                                                     Environment environment) {
+        Binder binder = Binder.get(environment);
+        Map<String, DownstreamHttpClientProperties.Downstream> downstreams = new HashMap<>();
+        for (String name : properties.getDownstreams()) {
+            binder.bind("app." + name, DownstreamHttpClientProperties.Downstream.class)
+                    .ifBound(downstream -> {
+                        if (downstream.getHost() != null && downstream.getPort() != null) {
+                            downstreams.put(downstream.getHost() + ":" + downstream.getPort(), downstream);
+                        }
+                    });
+        }
+        return downstreams;
+    }
+
+    private static String routeKey(HttpHost host) {
+        return host.getHostName() + ":" + host.getPort();
+    }
+
+    private static ConnectionConfig connectionConfig(DownstreamHttpClientProperties properties,
+                                                     DownstreamHttpClientProperties.Downstream downstream) {
+        return ConnectionConfig.custom()
+                .setConnectTimeout(timeout(downstream == null ? null : downstream.getConnectTimeout(), properties.getConnectTimeout()))
+                .setSocketTimeout(timeout(downstream == null ? null : downstream.getReadTimeout(), properties.getReadTimeout()))
+                .setTimeToLive(TimeValue.of(properties.getConnectionTimeToLive()))
+                .build();
+    }
+
+    private static RequestConfig requestConfig(DownstreamHttpClientProperties properties,
+                                               DownstreamHttpClientProperties.Downstream downstream) {
+        return RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(properties.getPoolAcquireTimeout()))
+                .setResponseTimeout(timeout(downstream == null ? null : downstream.getResponseTimeout(), properties.getResponseTimeout()))
+                .build();
+    }
+
+    private static Timeout timeout(Duration value, Duration fallback) {
+        return Timeout.of(value != null ? value : fallback);
+    }
+}
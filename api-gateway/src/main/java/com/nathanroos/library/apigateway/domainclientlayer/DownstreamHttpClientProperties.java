@@ -0,0 +1,51 @@
+package com.nathanroos.library.apigateway.domainclientlayer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.http-client")
+public class DownstreamHttpClientProperties {
+
+    private int maxTotal = 200;
+
+    private int maxPerRoute = 50;
+
+    private Duration idleEviction = Duration.ofSeconds(30);
+
+    private Duration connectionTimeToLive = Duration.ofMinutes(5);
+
+    // how long a request may wait for a pooled connection before failing
+    private Duration poolAcquireTimeout = Duration.ofSeconds(2);
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    private Duration responseTimeout = Duration.ofSeconds(5);
+
+    // names of the app.<service> blocks whose host, port and timeouts are applied per route
+    private List<String> downstreams = new ArrayList<>();
+
+    @Data
+    public static class Downstream {
+
+        private String host;
+
+        private Integer port;
+
+        private Duration connectTimeout;
+
+        private Duration readTimeout;
+
+        private Duration responseTimeout;
+
+        private Integer maxConnections;
+    }
+}
@@ -0,0 +1,81 @@
+package com.nathanroos.library.apigateway.domainclientlayer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+// Single-flight for idempotent downstream reads: the first caller for a key performs the call, callers arriving while
+// it is in flight wait for the same outcome. Nothing is kept once the call completes, so this is not a cache.
+public class RequestCoalescer {
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter executed;
+
+    private final Counter collapsed;
+
+    public RequestCoalescer(String name, MeterRegistry meterRegistry) {
+        this.executed = Counter.builder("gateway.coalescer.calls")
+                .tag("client", name)
+                .tag("outcome", "executed")
+                .description("Downstream calls actually performed")
+                .register(meterRegistry);
+        this.collapsed = Counter.builder("gateway.coalescer.calls")
+                .tag("client", name)
+                .tag("outcome", "collapsed")
+                .description("Calls served by joining an identical in-flight request")
+                .register(meterRegistry);
+        Gauge.builder("gateway.coalescer.in-flight", inFlight, ConcurrentMap::size)
+                .tag("client", name)
+                .register(meterRegistry);
+    }
+
+    // every caller gets its own copy of the shared result, since the layers above add links to what they receive
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> call, UnaryOperator<T> copy) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+
+        if (existing != null) {
+            collapsed.increment();
+            T shared = (T) await(existing);
+            return shared == null ? null : copy.apply(shared);
+        }
+
+        executed.increment();
+        try {
+            T result = call.get();
+            mine.complete(result);
+            return result == null ? null : copy.apply(result);
+        } catch (RuntimeException | Error ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an in-flight request", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+}
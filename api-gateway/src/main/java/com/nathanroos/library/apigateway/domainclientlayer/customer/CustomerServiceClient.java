@@ -4,12 +4,17 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nathanroos.library.apigateway.ExceptionsHandling.HttpErrorInfo;
 import com.nathanroos.library.apigateway.ExceptionsHandling.InvalidInputException;
 import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.ExceptionsHandling.PreconditionFailedException;
+import com.nathanroos.library.apigateway.domainclientlayer.RequestCoalescer;
 import com.nathanroos.library.apigateway.presentationlayer.customer.LibraryAccountRequestModel;
 import com.nathanroos.library.apigateway.presentationlayer.customer.LibraryAccountResponseModel;
 import com.nathanroos.library.apigateway.presentationlayer.librarian.LibrarianResponseModel;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
@@ -17,9 +22,14 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 
 @Slf4j
@@ -33,26 +43,48 @@ public class CustomerServiceClient {
 
     private final String CUSTOMER_SERVICE_BASE_URL;
 
+    // the downstream batch endpoints reject larger requests
+    private static final int MAX_BATCH_SIZE = 500;
+
+    private final RequestCoalescer coalescer;
+
     public CustomerServiceClient(  RestTemplate restTemplate,
                                     ObjectMapper mapper,
                                     @Value("${app.customer-service.host}") String customerServiceHost,
-                                    @Value("${app.customer-service.port}") String customerServicePort
+                                    @Value("${app.customer-service.port}") String customerServicePort,
+                                    MeterRegistry meterRegistry
     ) {
         this.restTemplate = restTemplate;
         this.mapper = mapper;
 
+        this.coalescer = new RequestCoalescer("customer-service", meterRegistry);
         CUSTOMER_SERVICE_BASE_URL = "http://" + customerServiceHost + ":" + customerServicePort + "/api/v1/accounts";
     }
 
     public LibraryAccountResponseModel getAccountByAccountId(String customerId) {
-        try {
-            String url = CUSTOMER_SERVICE_BASE_URL + "/" + customerId;
-            log.debug("customer-service URL is: " + url);
-            LibraryAccountResponseModel libraryAccountResponseModel = restTemplate.getForObject(url, LibraryAccountResponseModel.class);
-            return libraryAccountResponseModel;
-        } catch (HttpClientErrorException ex) {
-            throw handleHttpClientException(ex);
+        String url = CUSTOMER_SERVICE_BASE_URL + "/" + customerId;
+        return coalescer.execute(url, () -> fetchAccount(url), CustomerServiceClient::copy);
+    }
+
+    // ids the downstream service doesn't know are simply absent from the result
+    public Map<String, LibraryAccountResponseModel> getAccountsByAccountIds(Collection<String> accountIds) {
+        List<String> distinctIds = accountIds.stream().filter(Objects::nonNull).distinct().toList();
+        String url = CUSTOMER_SERVICE_BASE_URL + "/batch";
+
+        Map<String, LibraryAccountResponseModel> found = new LinkedHashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += MAX_BATCH_SIZE) {
+            List<String> chunk = distinctIds.subList(from, Math.min(from + MAX_BATCH_SIZE, distinctIds.size()));
+            try {
+                log.debug("customer-service URL is: " + url);
+                LibraryAccountBatchModel batch = restTemplate.postForObject(url, chunk, LibraryAccountBatchModel.class);
+                if (batch != null && batch.getAccounts() != null) {
+                    batch.getAccounts().forEach(model -> found.put(model.getAccountId(), model));
+                }
+            } catch (HttpClientErrorException ex) {
+                throw handleHttpClientException(ex);
+            }
         }
+        return found;
     }
 
     public LibraryAccountResponseModel addAccount(LibraryAccountRequestModel account) {
@@ -65,39 +97,71 @@ public class CustomerServiceClient {
         }
     }
 
-    public LibraryAccountResponseModel updateAccount(LibraryAccountRequestModel account, String accountId) {
+    // customer-service answers with the updated account and its new ETag, so there is nothing left to read back
+    public LibraryAccountResponseModel updateAccount(LibraryAccountRequestModel account, String accountId, String ifMatch) {
         try {
             String url = CUSTOMER_SERVICE_BASE_URL + "/" + accountId;
             log.debug("customer-service URL is: " + url);
-            restTemplate.put(url, account);
-            return getAccountByAccountId(accountId);
+            return withETag(restTemplate.exchange(url, HttpMethod.PUT, withIfMatch(account, ifMatch), LibraryAccountResponseModel.class));
         } catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
         }
     }
 
-    public void removeAccount(String accountId) {
+    public void removeAccount(String accountId, String ifMatch) {
         try {
             String url = CUSTOMER_SERVICE_BASE_URL + "/" + accountId;
             log.debug("customer-service URL is: " + url);
-            restTemplate.delete(url);
+            restTemplate.exchange(url, HttpMethod.DELETE, withIfMatch(null, ifMatch), Void.class);
         } catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
         }
     }
 
     public List<LibraryAccountResponseModel> getAccounts() {
-        try {
-            log.debug("customer-service URL is {}", CUSTOMER_SERVICE_BASE_URL);
+        return coalescer.execute(CUSTOMER_SERVICE_BASE_URL, () -> {
+            try {
+                log.debug("customer-service URL is {}", CUSTOMER_SERVICE_BASE_URL);
 
-            ResponseEntity<List<LibraryAccountResponseModel>> response = restTemplate.exchange(CUSTOMER_SERVICE_BASE_URL, HttpMethod.GET, null, new ParameterizedTypeReference<List<LibraryAccountResponseModel>>() {});
+                ResponseEntity<List<LibraryAccountResponseModel>> response = restTemplate.exchange(CUSTOMER_SERVICE_BASE_URL, HttpMethod.GET, null, new ParameterizedTypeReference<List<LibraryAccountResponseModel>>() {});
+
+                return response.getBody();
+            } catch (HttpClientErrorException ex) {
+                throw handleHttpClientException(ex);
+            }
+        }, accounts -> accounts.stream().map(CustomerServiceClient::copy).toList());
+    }
 
-            return response.getBody();
+    private LibraryAccountResponseModel fetchAccount(String url) {
+        try {
+            log.debug("customer-service URL is: " + url);
+            return withETag(restTemplate.getForEntity(url, LibraryAccountResponseModel.class));
         } catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
         }
     }
 
+    private static HttpEntity<Object> withIfMatch(Object body, String ifMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        if (ifMatch != null) {
+            headers.set(HttpHeaders.IF_MATCH, ifMatch);
+        }
+        return new HttpEntity<>(body, headers);
+    }
+
+    private static LibraryAccountResponseModel withETag(ResponseEntity<LibraryAccountResponseModel> response) {
+        LibraryAccountResponseModel account = response.getBody();
+        if (account != null) {
+            account.setEtag(response.getHeaders().getETag());
+        }
+        return account;
+    }
+
+    private static LibraryAccountResponseModel copy(LibraryAccountResponseModel account) {
+        return new LibraryAccountResponseModel(account.getFirstname(), account.getLastname(), account.getPhoneNumber(),
+                account.getEmail(), account.getAccountId(), account.getEtag());
+    }
+
 
     private String getErrorMessage(HttpClientErrorException ex) {
         try {
@@ -116,6 +180,9 @@ public class CustomerServiceClient {
         if (ex.getStatusCode() == UNPROCESSABLE_ENTITY) {
             return new InvalidInputException(getErrorMessage(ex));
         }
+        if (ex.getStatusCode() == PRECONDITION_FAILED) {
+            return new PreconditionFailedException(getErrorMessage(ex));
+        }
 
         log.warn("Got a unexpected HTTP error: {}, will rethrow it", ex.getStatusCode());
         log.warn("Error body: {}", ex.getResponseBodyAsString());
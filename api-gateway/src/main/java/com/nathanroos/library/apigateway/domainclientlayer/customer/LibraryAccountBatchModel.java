@@ -0,0 +1,17 @@
+package com.nathanroos.library.apigateway.domainclientlayer.customer;
+
+import com.nathanroos.library.apigateway.presentationlayer.customer.LibraryAccountResponseModel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LibraryAccountBatchModel {
+
+    List<LibraryAccountResponseModel> accounts;
+    List<String> missingIds;
+}
@@ -0,0 +1,169 @@
+package com.nathanroos.library.apigateway.domainclientlayer.customer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nathanroos.library.apigateway.ExceptionsHandling.HttpErrorInfo;
+import com.nathanroos.library.apigateway.ExceptionsHandling.InvalidInputException;
+import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.ExceptionsHandling.PreconditionFailedException;
+import com.nathanroos.library.apigateway.presentationlayer.customer.LibraryAccountRequestModel;
+import com.nathanroos.library.apigateway.presentationlayer.customer.LibraryAccountResponseModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientRequest;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.client-mode", havingValue = "reactive")
+public class ReactiveCustomerServiceClient {
+
+    private final WebClient webClient;
+
+
+    private final ObjectMapper mapper;
+
+    private final String CUSTOMER_SERVICE_BASE_URL;
+
+    private final Duration responseTimeout;
+
+    public ReactiveCustomerServiceClient(WebClient downstreamWebClient,
+                                         ObjectMapper mapper,
+                                         @Value("${app.customer-service.host}") String customerServiceHost,
+                                         @Value("${app.customer-service.port}") String customerServicePort,
+                                         @Value("${app.customer-service.response-timeout:5s}") Duration responseTimeout
+    ) {
+        this.webClient = downstreamWebClient;
+        this.mapper = mapper;
+        this.responseTimeout = responseTimeout;
+
+        CUSTOMER_SERVICE_BASE_URL = "http://" + customerServiceHost + ":" + customerServicePort + "/api/v1/accounts";
+    }
+
+    public Mono<LibraryAccountResponseModel> getAccountByAccountId(String customerId) {
+        String url = CUSTOMER_SERVICE_BASE_URL + "/" + customerId;
+        log.debug("customer-service URL is: " + url);
+        return webClient.get()
+                .uri(url)
+                .httpRequest(this::applyResponseTimeout)
+                .retrieve()
+                .toEntity(LibraryAccountResponseModel.class)
+                .mapNotNull(ReactiveCustomerServiceClient::withETag)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    public Mono<LibraryAccountResponseModel> addAccount(LibraryAccountRequestModel account) {
+        String url = CUSTOMER_SERVICE_BASE_URL;
+        log.debug("customer-service URL is: " + url);
+        return webClient.post()
+                .uri(url)
+                .httpRequest(this::applyResponseTimeout)
+                .bodyValue(account)
+                .retrieve()
+                .bodyToMono(LibraryAccountResponseModel.class)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    // customer-service answers with the updated account and its new ETag, so there is nothing left to read back
+    public Mono<LibraryAccountResponseModel> updateAccount(LibraryAccountRequestModel account, String accountId, String ifMatch) {
+        String url = CUSTOMER_SERVICE_BASE_URL + "/" + accountId;
+        log.debug("customer-service URL is: " + url);
+        return webClient.put()
+                .uri(url)
+                .httpRequest(this::applyResponseTimeout)
+                .headers(ifMatch(ifMatch))
+                .bodyValue(account)
+                .retrieve()
+                .toEntity(LibraryAccountResponseModel.class)
+                .mapNotNull(ReactiveCustomerServiceClient::withETag)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    public Mono<Void> removeAccount(String accountId, String ifMatch) {
+        String url = CUSTOMER_SERVICE_BASE_URL + "/" + accountId;
+        log.debug("customer-service URL is: " + url);
+        return webClient.delete()
+                .uri(url)
+                .httpRequest(this::applyResponseTimeout)
+                .headers(ifMatch(ifMatch))
+                .retrieve()
+                .bodyToMono(Void.class)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    public Flux<LibraryAccountResponseModel> getAccounts() {
+        String url = CUSTOMER_SERVICE_BASE_URL;
+        log.debug("customer-service URL is {}", url);
+        return webClient.get()
+                .uri(url)
+                .httpRequest(this::applyResponseTimeout)
+                .retrieve()
+                .bodyToFlux(LibraryAccountResponseModel.class)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+
+    private static Consumer<HttpHeaders> ifMatch(String ifMatch) {
+        return headers -> {
+            if (ifMatch != null) {
+                headers.set(HttpHeaders.IF_MATCH, ifMatch);
+            }
+        };
+    }
+
+    private static LibraryAccountResponseModel withETag(ResponseEntity<LibraryAccountResponseModel> response) {
+        LibraryAccountResponseModel account = response.getBody();
+        if (account != null) {
+            account.setEtag(response.getHeaders().getETag());
+        }
+        return account;
+    }
+
+    private void applyResponseTimeout(ClientHttpRequest request) {
+        Object nativeRequest = request.getNativeRequest();
+        if (nativeRequest instanceof HttpClientRequest httpClientRequest) {
+            httpClientRequest.responseTimeout(responseTimeout);
+        }
+    }
+
+    private String getErrorMessage(WebClientResponseException ex) {
+        try {
+            return mapper.readValue(ex.getResponseBodyAsString(), HttpErrorInfo.class).getMessage();
+        }
+        catch (IOException ioex) {
+            return ioex.getMessage();
+        }
+    }
+
+    private Throwable handleWebClientException(WebClientResponseException ex) {
+
+        if (ex.getStatusCode() == NOT_FOUND) {
+            return new NotFoundException(getErrorMessage(ex));
+        }
+        if (ex.getStatusCode() == UNPROCESSABLE_ENTITY) {
+            return new InvalidInputException(getErrorMessage(ex));
+        }
+        if (ex.getStatusCode() == PRECONDITION_FAILED) {
+            return new PreconditionFailedException(getErrorMessage(ex));
+        }
+
+        log.warn("Got a unexpected HTTP error: {}, will rethrow it", ex.getStatusCode());
+        log.warn("Error body: {}", ex.getResponseBodyAsString());
+        return ex;
+    }
+}
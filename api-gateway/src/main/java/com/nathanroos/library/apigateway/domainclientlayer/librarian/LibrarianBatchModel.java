@@ -0,0 +1,17 @@
+package com.nathanroos.library.apigateway.domainclientlayer.librarian;
+
+import com.nathanroos.library.apigateway.presentationlayer.librarian.LibrarianResponseModel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LibrarianBatchModel {
+
+    List<LibrarianResponseModel> librarians;
+    List<String> missingIds;
+}
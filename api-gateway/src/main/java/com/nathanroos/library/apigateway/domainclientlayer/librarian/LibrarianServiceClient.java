@@ -4,12 +4,15 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nathanroos.library.apigateway.ExceptionsHandling.HttpErrorInfo;
 import com.nathanroos.library.apigateway.ExceptionsHandling.InvalidInputException;
 import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.ExceptionsHandling.PreconditionFailedException;
 import com.nathanroos.library.apigateway.presentationlayer.customer.LibraryAccountResponseModel;
 import com.nathanroos.library.apigateway.presentationlayer.librarian.LibrarianRequestModel;
 import com.nathanroos.library.apigateway.presentationlayer.librarian.LibrarianResponseModel;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
@@ -17,9 +20,14 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 
 @Slf4j
@@ -33,6 +41,9 @@ public class LibrarianServiceClient {
 
     private final String LIBRARIAN_SERVICE_BASE_URL;
 
+    // the downstream batch endpoints reject larger requests
+    private static final int MAX_BATCH_SIZE = 500;
+
 
     public LibrarianServiceClient(  RestTemplate restTemplate,
                                   ObjectMapper mapper,
@@ -49,13 +60,33 @@ public class LibrarianServiceClient {
         try {
             String url = LIBRARIAN_SERVICE_BASE_URL + "/" + librarianId;
             log.debug("Libraryworker-service URL is: " + url);
-            LibrarianResponseModel librarianResponseModel = restTemplate.getForObject(url, LibrarianResponseModel.class);
-            return librarianResponseModel;
+            return withETag(restTemplate.getForEntity(url, LibrarianResponseModel.class));
         } catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
         }
     }
 
+    // ids the downstream service doesn't know are simply absent from the result
+    public Map<String, LibrarianResponseModel> getLibrariansByLibrarianIds(Collection<String> librarianIds) {
+        List<String> distinctIds = librarianIds.stream().filter(Objects::nonNull).distinct().toList();
+        String url = LIBRARIAN_SERVICE_BASE_URL + "/batch";
+
+        Map<String, LibrarianResponseModel> found = new LinkedHashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += MAX_BATCH_SIZE) {
+            List<String> chunk = distinctIds.subList(from, Math.min(from + MAX_BATCH_SIZE, distinctIds.size()));
+            try {
+                log.debug("libraryworker-service URL is: " + url);
+                LibrarianBatchModel batch = restTemplate.postForObject(url, chunk, LibrarianBatchModel.class);
+                if (batch != null && batch.getLibrarians() != null) {
+                    batch.getLibrarians().forEach(model -> found.put(model.getLibrarianId(), model));
+                }
+            } catch (HttpClientErrorException ex) {
+                throw handleHttpClientException(ex);
+            }
+        }
+        return found;
+    }
+
     public List<LibrarianResponseModel> getWorkers() {
         try {
             log.debug("libraryworker-service URL is {}", LIBRARIAN_SERVICE_BASE_URL);
@@ -78,27 +109,43 @@ public class LibrarianServiceClient {
         }
     }
 
-    public LibrarianResponseModel updateLibrarian(String librarianId, LibrarianRequestModel librarianRequestModel) {
+    // libraryworker-service answers with the updated librarian and its new ETag, so there is nothing left to read back
+    public LibrarianResponseModel updateLibrarian(String librarianId, LibrarianRequestModel librarianRequestModel, String ifMatch) {
         try {
             String url = LIBRARIAN_SERVICE_BASE_URL + "/" + librarianId;
             log.debug("Libraryworker-service URL is: " + url);
-            restTemplate.put(url, librarianRequestModel);
-            return getLibrarian(librarianId);
+            return withETag(restTemplate.exchange(url, HttpMethod.PUT, withIfMatch(librarianRequestModel, ifMatch), LibrarianResponseModel.class));
         } catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
         }
     }
 
-    public void deleteLibrarian(String librarianId) {
+    public void deleteLibrarian(String librarianId, String ifMatch) {
         try {
             String url = LIBRARIAN_SERVICE_BASE_URL + "/" + librarianId;
             log.debug("Libraryworker-service URL is: " + url);
-            restTemplate.delete(url);
+            restTemplate.exchange(url, HttpMethod.DELETE, withIfMatch(null, ifMatch), Void.class);
         } catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
         }
     }
 
+    private static HttpEntity<Object> withIfMatch(Object body, String ifMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        if (ifMatch != null) {
+            headers.set(HttpHeaders.IF_MATCH, ifMatch);
+        }
+        return new HttpEntity<>(body, headers);
+    }
+
+    private static LibrarianResponseModel withETag(ResponseEntity<LibrarianResponseModel> response) {
+        LibrarianResponseModel librarian = response.getBody();
+        if (librarian != null) {
+            librarian.setEtag(response.getHeaders().getETag());
+        }
+        return librarian;
+    }
+
     private String getErrorMessage(HttpClientErrorException ex) {
         try {
             return mapper.readValue(ex.getResponseBodyAsString(), HttpErrorInfo.class).getMessage();
@@ -116,6 +163,9 @@ public class LibrarianServiceClient {
         if (ex.getStatusCode() == UNPROCESSABLE_ENTITY) {
             return new InvalidInputException(getErrorMessage(ex));
         }
+        if (ex.getStatusCode() == PRECONDITION_FAILED) {
+            return new PreconditionFailedException(getErrorMessage(ex));
+        }
 
         log.warn("Got a unexpected HTTP error: {}, will rethrow it", ex.getStatusCode());
         log.warn("Error body: {}", ex.getResponseBodyAsString());
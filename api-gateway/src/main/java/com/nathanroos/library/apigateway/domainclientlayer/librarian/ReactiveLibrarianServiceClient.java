@@ -0,0 +1,169 @@
+package com.nathanroos.library.apigateway.domainclientlayer.librarian;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nathanroos.library.apigateway.ExceptionsHandling.HttpErrorInfo;
+import com.nathanroos.library.apigateway.ExceptionsHandling.InvalidInputException;
+import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.ExceptionsHandling.PreconditionFailedException;
+import com.nathanroos.library.apigateway.presentationlayer.librarian.LibrarianRequestModel;
+import com.nathanroos.library.apigateway.presentationlayer.librarian.LibrarianResponseModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientRequest;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.client-mode", havingValue = "reactive")
+public class ReactiveLibrarianServiceClient {
+
+    private final WebClient webClient;
+
+
+    private final ObjectMapper mapper;
+
+    private final String LIBRARIAN_SERVICE_BASE_URL;
+
+    private final Duration responseTimeout;
+
+    public ReactiveLibrarianServiceClient(WebClient downstreamWebClient,
+                                          ObjectMapper mapper,
+                                          @Value("${app.libraryworker-service.host}") String librariansServiceHost,
+                                          @Value("${app.libraryworker-service.port}") String librariansServicePort,
+                                          @Value("${app.libraryworker-service.response-timeout:5s}") Duration responseTimeout
+    ) {
+        this.webClient = downstreamWebClient;
+        this.mapper = mapper;
+        this.responseTimeout = responseTimeout;
+
+        LIBRARIAN_SERVICE_BASE_URL = "http://" + librariansServiceHost + ":" + librariansServicePort + "/api/v1/workers";
+    }
+
+    public Mono<LibrarianResponseModel> getLibrarian(String librarianId) {
+        String url = LIBRARIAN_SERVICE_BASE_URL + "/" + librarianId;
+        log.debug("libraryworker-service URL is: " + url);
+        return webClient.get()
+                .uri(url)
+                .httpRequest(this::applyResponseTimeout)
+                .retrieve()
+                .toEntity(LibrarianResponseModel.class)
+                .mapNotNull(ReactiveLibrarianServiceClient::withETag)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    public Flux<LibrarianResponseModel> getWorkers() {
+        String url = LIBRARIAN_SERVICE_BASE_URL;
+        log.debug("libraryworker-service URL is {}", url);
+        return webClient.get()
+                .uri(url)
+                .httpRequest(this::applyResponseTimeout)
+                .retrieve()
+                .bodyToFlux(LibrarianResponseModel.class)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    public Mono<LibrarianResponseModel> createLibrarian(LibrarianRequestModel librarianRequestModel) {
+        String url = LIBRARIAN_SERVICE_BASE_URL;
+        log.debug("libraryworker-service URL is: " + url);
+        return webClient.post()
+                .uri(url)
+                .httpRequest(this::applyResponseTimeout)
+                .bodyValue(librarianRequestModel)
+                .retrieve()
+                .bodyToMono(LibrarianResponseModel.class)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    // libraryworker-service answers with the updated librarian and its new ETag, so there is nothing left to read back
+    public Mono<LibrarianResponseModel> updateLibrarian(String librarianId, LibrarianRequestModel librarianRequestModel, String ifMatch) {
+        String url = LIBRARIAN_SERVICE_BASE_URL + "/" + librarianId;
+        log.debug("libraryworker-service URL is: " + url);
+        return webClient.put()
+                .uri(url)
+                .httpRequest(this::applyResponseTimeout)
+                .headers(ifMatch(ifMatch))
+                .bodyValue(librarianRequestModel)
+                .retrieve()
+                .toEntity(LibrarianResponseModel.class)
+                .mapNotNull(ReactiveLibrarianServiceClient::withETag)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    public Mono<Void> deleteLibrarian(String librarianId, String ifMatch) {
+        String url = LIBRARIAN_SERVICE_BASE_URL + "/" + librarianId;
+        log.debug("libraryworker-service URL is: " + url);
+        return webClient.delete()
+                .uri(url)
+                .httpRequest(this::applyResponseTimeout)
+                .headers(ifMatch(ifMatch))
+                .retrieve()
+                .bodyToMono(Void.class)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+
+    private static Consumer<HttpHeaders> ifMatch(String ifMatch) {
+        return headers -> {
+            if (ifMatch != null) {
+                headers.set(HttpHeaders.IF_MATCH, ifMatch);
+            }
+        };
+    }
+
+    private static LibrarianResponseModel withETag(ResponseEntity<LibrarianResponseModel> response) {
+        LibrarianResponseModel librarian = response.getBody();
+        if (librarian != null) {
+            librarian.setEtag(response.getHeaders().getETag());
+        }
+        return librarian;
+    }
+
+    private void applyResponseTimeout(ClientHttpRequest request) {
+        Object nativeRequest = request.getNativeRequest();
+        if (nativeRequest instanceof HttpClientRequest httpClientRequest) {
+            httpClientRequest.responseTimeout(responseTimeout);
+        }
+    }
+
+    private String getErrorMessage(WebClientResponseException ex) {
+        try {
+            return mapper.readValue(ex.getResponseBodyAsString(), HttpErrorInfo.class).getMessage();
+        }
+        catch (IOException ioex) {
+            return ioex.getMessage();
+        }
+    }
+
+    private Throwable handleWebClientException(WebClientResponseException ex) {
+
+        if (ex.getStatusCode() == NOT_FOUND) {
+            return new NotFoundException(getErrorMessage(ex));
+        }
+        if (ex.getStatusCode() == UNPROCESSABLE_ENTITY) {
+            return new InvalidInputException(getErrorMessage(ex));
+        }
+        if (ex.getStatusCode() == PRECONDITION_FAILED) {
+            return new PreconditionFailedException(getErrorMessage(ex));
+        }
+
+        log.warn("Got a unexpected HTTP error: {}, will rethrow it", ex.getStatusCode());
+        log.warn("Error body: {}", ex.getResponseBodyAsString());
+        return ex;
+    }
+}
@@ -0,0 +1,21 @@
+package com.nathanroos.library.apigateway.domainclientlayer.library;
+
+import com.nathanroos.library.apigateway.presentationlayer.library.BookResponseModel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookBatchModel {
+
+    List<BookResponseModel> books;
+    List<String> missingIds;
+
+    // by bookId; the batch carries each book's ETag in the body, where a single GET has it in a header
+    Map<String, String> etags;
+}
@@ -0,0 +1,23 @@
+package com.nathanroos.library.apigateway.domainclientlayer.library;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.book-cache")
+public class BookCacheProperties {
+
+    private boolean enabled = true;
+
+    // entries older than this are still served, but trigger a background refresh from library-service
+    private Duration ttl = Duration.ofSeconds(30);
+
+    // hard limit after which an entry is dropped and the next read waits for library-service
+    private Duration maxStale = Duration.ofMinutes(10);
+
+    private long maxSize = 10_000;
+}
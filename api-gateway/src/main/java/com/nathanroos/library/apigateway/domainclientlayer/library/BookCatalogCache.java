@@ -0,0 +1,127 @@
+package com.nathanroos.library.apigateway.domainclientlayer.library;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookPageResponseModel;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookResponseModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+// Cached books never leave this class: callers get copies, so the links they add don't pile up on shared entries.
+@Slf4j
+@Component
+public class BookCatalogCache {
+
+    private final BookServiceClient bookServiceClient;
+
+    private final boolean enabled;
+
+    private final LoadingCache<String, BookResponseModel> books;
+
+    private final LoadingCache<PageRequest, BookPageResponseModel> bookPages;
+
+    @Autowired
+    public BookCatalogCache(BookServiceClient bookServiceClient, BookCacheProperties properties, MeterRegistry meterRegistry) {
+        this(bookServiceClient, properties, meterRegistry, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    BookCatalogCache(BookServiceClient bookServiceClient, BookCacheProperties properties, MeterRegistry meterRegistry,
+                     Ticker ticker, Executor refreshExecutor) {
+        this.bookServiceClient = bookServiceClient;
+        this.enabled = properties.isEnabled();
+
+        this.books = builder(properties, ticker, refreshExecutor).build(new CacheLoader<>() {
+            @Override
+            public BookResponseModel load(String bookId) {
+                return bookServiceClient.getBookByBookId(bookId);
+            }
+
+            @Override
+            public Map<String, BookResponseModel> loadAll(Set<? extends String> bookIds) {
+                return bookServiceClient.getBooksByBookIds(List.copyOf(bookIds));
+            }
+
+            @Override
+            public BookResponseModel reload(String bookId, BookResponseModel oldValue) {
+                try {
+                    return load(bookId);
+                } catch (NotFoundException ex) {
+                    log.debug("Book {} disappeared from library-service, evicting it", bookId);
+                    return null;
+                }
+            }
+        });
+        this.bookPages = builder(properties, ticker, refreshExecutor)
+                .build(key -> bookServiceClient.getBooks(key.sort(), key.cursor(), key.limit()));
+
+        CaffeineCacheMetrics.monitor(meterRegistry, books, "gateway-books");
+        CaffeineCacheMetrics.monitor(meterRegistry, bookPages, "gateway-book-pages");
+    }
+
+    public BookResponseModel getBookByBookId(String bookId) {
+        if (!enabled) {
+            return bookServiceClient.getBookByBookId(bookId);
+        }
+        BookResponseModel book = books.get(bookId);
+        return book == null ? null : BookServiceClient.copy(book);
+    }
+
+    // cached books are served directly, the rest are fetched from library-service in one batch; unknown ids are left out
+    public Map<String, BookResponseModel> getBooksByBookIds(Collection<String> bookIds) {
+        Map<String, BookResponseModel> found = enabled
+                ? books.getAll(bookIds.stream().filter(Objects::nonNull).toList())
+                : bookServiceClient.getBooksByBookIds(bookIds);
+
+        Map<String, BookResponseModel> copies = new LinkedHashMap<>();
+        found.forEach((bookId, book) -> copies.put(bookId, enabled ? BookServiceClient.copy(book) : book));
+        return copies;
+    }
+
+    // pages are cached per cursor; any write drops them all, since one insert shifts every page after it
+    public BookPageResponseModel getBooks(String sort, String cursor, Integer limit) {
+        if (!enabled) {
+            return bookServiceClient.getBooks(sort, cursor, limit);
+        }
+        BookPageResponseModel page = bookPages.get(new PageRequest(sort, cursor, limit));
+        return page == null ? new BookPageResponseModel(List.of(), null) : BookServiceClient.copy(page);
+    }
+
+    public void invalidate(String bookId) {
+        books.invalidate(bookId);
+        bookPages.invalidateAll();
+    }
+
+    public void invalidateAll() {
+        books.invalidateAll();
+        bookPages.invalidateAll();
+    }
+
+    private record PageRequest(String sort, String cursor, Integer limit) {
+    }
+
+    // a failed refresh keeps the previous value, which is what serves reads while library-service is slow or down
+    private static Caffeine<Object, Object> builder(BookCacheProperties properties, Ticker ticker, Executor refreshExecutor) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .refreshAfterWrite(properties.getTtl())
+                .expireAfterWrite(properties.getMaxStale())
+                .ticker(ticker)
+                .executor(refreshExecutor)
+                .recordStats();
+    }
+}
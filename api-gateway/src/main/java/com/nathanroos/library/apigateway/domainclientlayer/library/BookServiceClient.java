@@ -4,22 +4,36 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nathanroos.library.apigateway.ExceptionsHandling.HttpErrorInfo;
 import com.nathanroos.library.apigateway.ExceptionsHandling.InvalidInputException;
 import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
-import com.nathanroos.library.apigateway.presentationlayer.customer.LibraryAccountResponseModel;
+import com.nathanroos.library.apigateway.ExceptionsHandling.PreconditionFailedException;
+import com.nathanroos.library.apigateway.domainclientlayer.RequestCoalescer;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookPageResponseModel;
 import com.nathanroos.library.apigateway.presentationlayer.library.BookRequestModel;
 import com.nathanroos.library.apigateway.presentationlayer.library.BookResponseModel;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Links;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 
 @Slf4j
@@ -33,35 +47,60 @@ public class BookServiceClient {
 
     private final String BOOK_SERVICE_BASE_URL;
 
+    // the downstream batch endpoints reject larger requests
+    private static final int MAX_BATCH_SIZE = 500;
+
+    private final RequestCoalescer coalescer;
+
     public BookServiceClient(  RestTemplate restTemplate,
                                    ObjectMapper mapper,
                                    @Value("${app.library-service.host}") String bookServiceHost,
-                                   @Value("${app.library-service.port}") String bookServicePort
+                                   @Value("${app.library-service.port}") String bookServicePort,
+                                   MeterRegistry meterRegistry
     ) {
         this.restTemplate = restTemplate;
         this.mapper = mapper;
 
+        this.coalescer = new RequestCoalescer("library-service", meterRegistry);
         BOOK_SERVICE_BASE_URL = "http://" + bookServiceHost + ":" + bookServicePort + "/api/v1/books";
     }
 
 
     public BookResponseModel getBookByBookId(String bookId) {
+        String url = BOOK_SERVICE_BASE_URL + "/" + bookId;
+        return coalescer.execute(url, () -> fetchBook(url), BookServiceClient::copy);
+    }
 
-        try {
-            String url = BOOK_SERVICE_BASE_URL + "/" + bookId;
-            log.debug("library-service URL is: " + url);
-            BookResponseModel bookResponseModel = restTemplate.getForObject(url, BookResponseModel.class);
-            return bookResponseModel;
-        } catch (HttpClientErrorException ex) {
-            throw handleHttpClientException(ex);
+    // ids the downstream service doesn't know are simply absent from the result
+    public Map<String, BookResponseModel> getBooksByBookIds(Collection<String> bookIds) {
+        List<String> distinctIds = bookIds.stream().filter(Objects::nonNull).distinct().toList();
+        String url = BOOK_SERVICE_BASE_URL + "/batch";
+
+        Map<String, BookResponseModel> found = new LinkedHashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += MAX_BATCH_SIZE) {
+            List<String> chunk = distinctIds.subList(from, Math.min(from + MAX_BATCH_SIZE, distinctIds.size()));
+            try {
+                log.debug("library-service URL is: " + url);
+                BookBatchModel batch = restTemplate.postForObject(url, chunk, BookBatchModel.class);
+                if (batch != null && batch.getBooks() != null) {
+                    batch.getBooks().forEach(model -> {
+                        // these land in the same cache single GETs read, which must still answer with an ETag
+                        model.setEtag(batch.getEtags() == null ? null : batch.getEtags().get(model.getBookId()));
+                        found.put(model.getBookId(), model);
+                    });
+                }
+            } catch (HttpClientErrorException ex) {
+                throw handleHttpClientException(ex);
+            }
         }
+        return found;
     }
 
-    public void deleteBook(String bookId) {
+    public void deleteBook(String bookId, String ifMatch) {
         try {
             String url = BOOK_SERVICE_BASE_URL + "/" + bookId;
             log.debug("library-service URL is: " + url);
-            restTemplate.delete(url);
+            restTemplate.exchange(url, HttpMethod.DELETE, withIfMatch(null, ifMatch), Void.class);
         } catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
         }
@@ -77,29 +116,83 @@ public class BookServiceClient {
         }
     }
 
-    public BookResponseModel updateBook(BookRequestModel book, String bookId) {
+    // library-service answers with the updated book and its new ETag, so there is nothing left to read back
+    public BookResponseModel updateBook(BookRequestModel book, String bookId, String ifMatch) {
         try {
             String url = BOOK_SERVICE_BASE_URL + "/" + bookId;
             log.debug("library-service URL is: " + url);
-            restTemplate.put(url, book);
-            return getBookByBookId(bookId);
+            return withETag(restTemplate.exchange(url, HttpMethod.PUT, withIfMatch(book, ifMatch), BookResponseModel.class));
         } catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
         }
     }
 
-    public List<BookResponseModel> getBooks() {
-        try {
-            log.debug("library-service URL is {}", BOOK_SERVICE_BASE_URL);
+    // library-service advertises the next page in a Link header; only its cursor is kept so the gateway can issue its own link
+    public BookPageResponseModel getBooks(String sort, String cursor, Integer limit) {
+        String url = UriComponentsBuilder.fromUriString(BOOK_SERVICE_BASE_URL)
+                .queryParamIfPresent("sort", Optional.ofNullable(sort))
+                .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                .queryParamIfPresent("limit", Optional.ofNullable(limit))
+                .toUriString();
+
+        return coalescer.execute(url, () -> {
+            try {
+                log.debug("library-service URL is {}", url);
+
+                ResponseEntity<List<BookResponseModel>> response = restTemplate.exchange(url, HttpMethod.GET, null, new ParameterizedTypeReference<List<BookResponseModel>>() {});
+
+                return new BookPageResponseModel(response.getBody(), nextCursor(response.getHeaders()));
+            } catch (HttpClientErrorException ex) {
+                throw handleHttpClientException(ex);
+            }
+        }, BookServiceClient::copy);
+    }
 
-            ResponseEntity<List<BookResponseModel>> response = restTemplate.exchange(BOOK_SERVICE_BASE_URL, HttpMethod.GET, null, new ParameterizedTypeReference<List<BookResponseModel>>() {});
+    private static String nextCursor(HttpHeaders headers) {
+        String linkHeader = headers.getFirst(HttpHeaders.LINK);
+        if (linkHeader == null) {
+            return null;
+        }
+        return Links.parse(linkHeader).getLink(IanaLinkRelations.NEXT)
+                .map(next -> UriComponentsBuilder.fromUriString(next.getHref()).build().getQueryParams().getFirst("cursor"))
+                .orElse(null);
+    }
 
-            return response.getBody();
+    private BookResponseModel fetchBook(String url) {
+        try {
+            log.debug("library-service URL is: " + url);
+            return withETag(restTemplate.getForEntity(url, BookResponseModel.class));
         } catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
         }
     }
 
+    private static HttpEntity<Object> withIfMatch(Object body, String ifMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        if (ifMatch != null) {
+            headers.set(HttpHeaders.IF_MATCH, ifMatch);
+        }
+        return new HttpEntity<>(body, headers);
+    }
+
+    private static BookResponseModel withETag(ResponseEntity<BookResponseModel> response) {
+        BookResponseModel book = response.getBody();
+        if (book != null) {
+            book.setEtag(response.getHeaders().getETag());
+        }
+        return book;
+    }
+
+    static BookPageResponseModel copy(BookPageResponseModel page) {
+        List<BookResponseModel> books = page.getBooks() == null ? List.of() : page.getBooks().stream().map(BookServiceClient::copy).toList();
+        return new BookPageResponseModel(books, page.getNextCursor());
+    }
+
+    static BookResponseModel copy(BookResponseModel book) {
+        return new BookResponseModel(book.getBookId(), book.getFirstname(), book.getLastname(), book.getGenre(),
+                book.getTitle(), book.getAuthor(), book.getCopiesAvailable(), book.getImageUrl(), book.getEtag());
+    }
+
     private String getErrorMessage(HttpClientErrorException ex) {
         try {
             return mapper.readValue(ex.getResponseBodyAsString(), HttpErrorInfo.class).getMessage();
@@ -119,6 +212,9 @@ public class BookServiceClient {
         if (ex.getStatusCode() == UNPROCESSABLE_ENTITY) {
             return new InvalidInputException(getErrorMessage(ex));
         }
+        if (ex.getStatusCode() == PRECONDITION_FAILED) {
+            return new PreconditionFailedException(getErrorMessage(ex));
+        }
 
         log.warn("Got a unexpected HTTP error: {}, will rethrow it", ex.getStatusCode());
         log.warn("Error body: {}", ex.getResponseBodyAsString());
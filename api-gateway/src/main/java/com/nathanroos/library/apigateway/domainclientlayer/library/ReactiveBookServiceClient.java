@@ -0,0 +1,188 @@
+package com.nathanroos.library.apigateway.domainclientlayer.library;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nathanroos.library.apigateway.ExceptionsHandling.HttpErrorInfo;
+import com.nathanroos.library.apigateway.ExceptionsHandling.InvalidInputException;
+import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.ExceptionsHandling.PreconditionFailedException;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookPageResponseModel;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookRequestModel;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookResponseModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Links;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientRequest;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.client-mode", havingValue = "reactive")
+public class ReactiveBookServiceClient {
+
+    private final WebClient webClient;
+
+
+    private final ObjectMapper mapper;
+
+    private final String BOOK_SERVICE_BASE_URL;
+
+    private final Duration responseTimeout;
+
+    public ReactiveBookServiceClient(WebClient downstreamWebClient,
+                                     ObjectMapper mapper,
+                                     @Value("${app.library-service.host}") String bookServiceHost,
+                                     @Value("${app.library-service.port}") String bookServicePort,
+                                     @Value("${app.library-service.response-timeout:5s}") Duration responseTimeout
+    ) {
+        this.webClient = downstreamWebClient;
+        this.mapper = mapper;
+        this.responseTimeout = responseTimeout;
+
+        BOOK_SERVICE_BASE_URL = "http://" + bookServiceHost + ":" + bookServicePort + "/api/v1/books";
+    }
+
+    public Mono<BookResponseModel> getBookByBookId(String bookId) {
+        String url = BOOK_SERVICE_BASE_URL + "/" + bookId;
+        log.debug("library-service URL is: " + url);
+        return webClient.get()
+                .uri(url)
+                .httpRequest(this::applyResponseTimeout)
+                .retrieve()
+                .toEntity(BookResponseModel.class)
+                .mapNotNull(ReactiveBookServiceClient::withETag)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    public Mono<Void> deleteBook(String bookId, String ifMatch) {
+        String url = BOOK_SERVICE_BASE_URL + "/" + bookId;
+        log.debug("library-service URL is: " + url);
+        return webClient.delete()
+                .uri(url)
+                .httpRequest(this::applyResponseTimeout)
+                .headers(ifMatch(ifMatch))
+                .retrieve()
+                .bodyToMono(Void.class)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    public Mono<BookResponseModel> addBook(BookRequestModel book) {
+        String url = BOOK_SERVICE_BASE_URL;
+        log.debug("library-service URL is: " + url);
+        return webClient.post()
+                .uri(url)
+                .httpRequest(this::applyResponseTimeout)
+                .bodyValue(book)
+                .retrieve()
+                .bodyToMono(BookResponseModel.class)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    // library-service answers with the updated book and its new ETag, so there is nothing left to read back
+    public Mono<BookResponseModel> updateBook(BookRequestModel book, String bookId, String ifMatch) {
+        String url = BOOK_SERVICE_BASE_URL + "/" + bookId;
+        log.debug("library-service URL is: " + url);
+        return webClient.put()
+                .uri(url)
+                .httpRequest(this::applyResponseTimeout)
+                .headers(ifMatch(ifMatch))
+                .bodyValue(book)
+                .retrieve()
+                .toEntity(BookResponseModel.class)
+                .mapNotNull(ReactiveBookServiceClient::withETag)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    public Mono<BookPageResponseModel> getBooks(String sort, String cursor, Integer limit) {
+        String url = UriComponentsBuilder.fromUriString(BOOK_SERVICE_BASE_URL)
+                .queryParamIfPresent("sort", Optional.ofNullable(sort))
+                .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                .queryParamIfPresent("limit", Optional.ofNullable(limit))
+                .toUriString();
+        log.debug("library-service URL is {}", url);
+        return webClient.get()
+                .uri(url)
+                .httpRequest(this::applyResponseTimeout)
+                .retrieve()
+                .toEntityList(BookResponseModel.class)
+                .map(response -> new BookPageResponseModel(response.getBody(), nextCursor(response.getHeaders())))
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    private static String nextCursor(HttpHeaders headers) {
+        String linkHeader = headers.getFirst(HttpHeaders.LINK);
+        if (linkHeader == null) {
+            return null;
+        }
+        return Links.parse(linkHeader).getLink(IanaLinkRelations.NEXT)
+                .map(next -> UriComponentsBuilder.fromUriString(next.getHref()).build().getQueryParams().getFirst("cursor"))
+                .orElse(null);
+    }
+
+
+    private static Consumer<HttpHeaders> ifMatch(String ifMatch) {
+        return headers -> {
+            if (ifMatch != null) {
+                headers.set(HttpHeaders.IF_MATCH, ifMatch);
+            }
+        };
+    }
+
+    private static BookResponseModel withETag(ResponseEntity<BookResponseModel> response) {
+        BookResponseModel book = response.getBody();
+        if (book != null) {
+            book.setEtag(response.getHeaders().getETag());
+        }
+        return book;
+    }
+
+    private void applyResponseTimeout(ClientHttpRequest request) {
+        Object nativeRequest = request.getNativeRequest();
+        if (nativeRequest instanceof HttpClientRequest httpClientRequest) {
+            httpClientRequest.responseTimeout(responseTimeout);
+        }
+    }
+
+    private String getErrorMessage(WebClientResponseException ex) {
+        try {
+            return mapper.readValue(ex.getResponseBodyAsString(), HttpErrorInfo.class).getMessage();
+        }
+        catch (IOException ioex) {
+            return ioex.getMessage();
+        }
+    }
+
+    private Throwable handleWebClientException(WebClientResponseException ex) {
+
+        if (ex.getStatusCode() == NOT_FOUND) {
+            return new NotFoundException(getErrorMessage(ex));
+        }
+        if (ex.getStatusCode() == UNPROCESSABLE_ENTITY) {
+            return new InvalidInputException(getErrorMessage(ex));
+        }
+        if (ex.getStatusCode() == PRECONDITION_FAILED) {
+            return new PreconditionFailedException(getErrorMessage(ex));
+        }
+
+        log.warn("Got a unexpected HTTP error: {}, will rethrow it", ex.getStatusCode());
+        log.warn("Error body: {}", ex.getResponseBodyAsString());
+        return ex;
+    }
+}
@@ -5,19 +5,25 @@ import com.nathanroos.library.apigateway.ExceptionsHandling.HttpErrorInfo;
 import com.nathanroos.library.apigateway.ExceptionsHandling.InvalidInputException;
 import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
 
+import com.nathanroos.library.apigateway.presentationlayer.loan.LoanPageResponseModel;
 import com.nathanroos.library.apigateway.presentationlayer.loan.LoanRequestModel;
 import com.nathanroos.library.apigateway.presentationlayer.loan.LoanResponseModel;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Links;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
@@ -89,19 +95,35 @@ public class LoanServiceClient {
         }
     }
 
-    public List<LoanResponseModel> getLoans(String accountId) {
+    public LoanPageResponseModel getLoans(String accountId, String status, String from, String to, String cursor, Integer limit) {
         try {
-            String url = LOAN_SERVICE_BASE_URL + "/" + accountId + "/" + "loans";
+            String url = UriComponentsBuilder.fromUriString(LOAN_SERVICE_BASE_URL + "/" + accountId + "/" + "loans")
+                    .queryParamIfPresent("status", Optional.ofNullable(status))
+                    .queryParamIfPresent("from", Optional.ofNullable(from))
+                    .queryParamIfPresent("to", Optional.ofNullable(to))
+                    .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                    .queryParamIfPresent("limit", Optional.ofNullable(limit))
+                    .toUriString();
             log.debug("loan-service URL is {}", url);
 
             ResponseEntity<List<LoanResponseModel>> response = restTemplate.exchange(url, HttpMethod.GET, null, new ParameterizedTypeReference<List<LoanResponseModel>>() {});
 
-            return response.getBody();
+            return new LoanPageResponseModel(response.getBody(), nextCursor(response.getHeaders()));
         } catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
         }
     }
 
+    private static String nextCursor(HttpHeaders headers) {
+        String linkHeader = headers.getFirst(HttpHeaders.LINK);
+        if (linkHeader == null) {
+            return null;
+        }
+        return Links.parse(linkHeader).getLink(IanaLinkRelations.NEXT)
+                .map(next -> UriComponentsBuilder.fromUriString(next.getHref()).build().getQueryParams().getFirst("cursor"))
+                .orElse(null);
+    }
+
     private String getErrorMessage(HttpClientErrorException ex) {
         try {
             return mapper.readValue(ex.getResponseBodyAsString(), HttpErrorInfo.class).getMessage();
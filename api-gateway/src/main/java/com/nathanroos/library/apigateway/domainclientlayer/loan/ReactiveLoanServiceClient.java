@@ -0,0 +1,163 @@
+package com.nathanroos.library.apigateway.domainclientlayer.loan;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nathanroos.library.apigateway.ExceptionsHandling.HttpErrorInfo;
+import com.nathanroos.library.apigateway.ExceptionsHandling.InvalidInputException;
+import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.presentationlayer.loan.LoanPageResponseModel;
+import com.nathanroos.library.apigateway.presentationlayer.loan.LoanRequestModel;
+import com.nathanroos.library.apigateway.presentationlayer.loan.LoanResponseModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Links;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientRequest;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.client-mode", havingValue = "reactive")
+public class ReactiveLoanServiceClient {
+
+    private final WebClient webClient;
+
+
+    private final ObjectMapper mapper;
+
+    private final String LOAN_SERVICE_BASE_URL;
+
+    private final Duration responseTimeout;
+
+    public ReactiveLoanServiceClient(WebClient downstreamWebClient,
+                                     ObjectMapper mapper,
+                                     @Value("${app.loan-service.host}") String loanServiceHost,
+                                     @Value("${app.loan-service.port}") String loanServicePort,
+                                     @Value("${app.loan-service.response-timeout:5s}") Duration responseTimeout
+    ) {
+        this.webClient = downstreamWebClient;
+        this.mapper = mapper;
+        this.responseTimeout = responseTimeout;
+
+        LOAN_SERVICE_BASE_URL = "http://" + loanServiceHost + ":" + loanServicePort + "/api/v1/accounts";
+    }
+
+    public Mono<LoanResponseModel> getLoanByLoanId(String accountId, String loanId) {
+        String url = LOAN_SERVICE_BASE_URL + "/" + accountId + "/" + "loans" + "/" + loanId;
+        log.debug("loan-service URL is: " + url);
+        return webClient.get()
+                .uri(url)
+                .httpRequest(this::applyResponseTimeout)
+                .retrieve()
+                .bodyToMono(LoanResponseModel.class)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    public Mono<Void> deleteLoan(String accountId, String loanId) {
+        String url = LOAN_SERVICE_BASE_URL + "/" + accountId + "/" + "loans" + "/" + loanId;
+        log.debug("loan-service URL is: " + url);
+        return webClient.delete()
+                .uri(url)
+                .httpRequest(this::applyResponseTimeout)
+                .retrieve()
+                .bodyToMono(Void.class)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    public Mono<LoanResponseModel> addLoan(String accountId, LoanRequestModel loan) {
+        String url = LOAN_SERVICE_BASE_URL + "/" + accountId + "/" + "loans";
+        log.debug("loan-service URL is: " + url);
+        return webClient.post()
+                .uri(url)
+                .httpRequest(this::applyResponseTimeout)
+                .bodyValue(loan)
+                .retrieve()
+                .bodyToMono(LoanResponseModel.class)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    public Mono<LoanResponseModel> updateLoan(String accountId, LoanRequestModel loan, String loanId) {
+        String url = LOAN_SERVICE_BASE_URL + "/" + accountId + "/" + "loans" + "/" + loanId;
+        log.debug("loan-service URL is: " + url);
+        return webClient.put()
+                .uri(url)
+                .httpRequest(this::applyResponseTimeout)
+                .bodyValue(loan)
+                .retrieve()
+                .toBodilessEntity()
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException)
+                .then(getLoanByLoanId(accountId, loanId));
+    }
+
+    public Mono<LoanPageResponseModel> getLoans(String accountId, String status, String from, String to, String cursor, Integer limit) {
+        String url = UriComponentsBuilder.fromUriString(LOAN_SERVICE_BASE_URL + "/" + accountId + "/" + "loans")
+                .queryParamIfPresent("status", Optional.ofNullable(status))
+                .queryParamIfPresent("from", Optional.ofNullable(from))
+                .queryParamIfPresent("to", Optional.ofNullable(to))
+                .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                .queryParamIfPresent("limit", Optional.ofNullable(limit))
+                .toUriString();
+        log.debug("loan-service URL is {}", url);
+        return webClient.get()
+                .uri(url)
+                .httpRequest(this::applyResponseTimeout)
+                .retrieve()
+                .toEntityList(LoanResponseModel.class)
+                .map(response -> new LoanPageResponseModel(response.getBody(), nextCursor(response.getHeaders())))
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    private static String nextCursor(HttpHeaders headers) {
+        String linkHeader = headers.getFirst(HttpHeaders.LINK);
+        if (linkHeader == null) {
+            return null;
+        }
+        return Links.parse(linkHeader).getLink(IanaLinkRelations.NEXT)
+                .map(next -> UriComponentsBuilder.fromUriString(next.getHref()).build().getQueryParams().getFirst("cursor"))
+                .orElse(null);
+    }
+
+
+    private void applyResponseTimeout(ClientHttpRequest request) {
+        Object nativeRequest = request.getNativeRequest();
+        if (nativeRequest instanceof HttpClientRequest httpClientRequest) {
+            httpClientRequest.responseTimeout(responseTimeout);
+        }
+    }
+
+    private String getErrorMessage(WebClientResponseException ex) {
+        try {
+            return mapper.readValue(ex.getResponseBodyAsString(), HttpErrorInfo.class).getMessage();
+        }
+        catch (IOException ioex) {
+            return ioex.getMessage();
+        }
+    }
+
+    private Throwable handleWebClientException(WebClientResponseException ex) {
+
+        if (ex.getStatusCode() == NOT_FOUND) {
+            return new NotFoundException(getErrorMessage(ex));
+        }
+        if (ex.getStatusCode() == UNPROCESSABLE_ENTITY) {
+            return new InvalidInputException(getErrorMessage(ex));
+        }
+
+        log.warn("Got a unexpected HTTP error: {}, will rethrow it", ex.getStatusCode());
+        log.warn("Error body: {}", ex.getResponseBodyAsString());
+        return ex;
+    }
+}
@@ -3,6 +3,8 @@ package com.nathanroos.library.apigateway.presentationlayer.customer;
 
 import com.nathanroos.library.apigateway.businesslayer.customer.CustomerService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -13,6 +15,7 @@ import java.util.List;
 @Slf4j
 @RestController
 @RequestMapping("api/v1/accounts")
+@ConditionalOnProperty(name = "app.client-mode", havingValue = "blocking", matchIfMissing = true)
 public class LibraryAccountController {
 
     private final CustomerService customerService;
@@ -35,18 +38,22 @@ public class LibraryAccountController {
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public ResponseEntity<LibraryAccountResponseModel> updateAccount(@PathVariable String accountId, @RequestBody LibraryAccountRequestModel account) {
+    public ResponseEntity<LibraryAccountResponseModel> updateAccount(@PathVariable String accountId,
+                                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                                     @RequestBody LibraryAccountRequestModel account) {
         log.debug("1. Request Received in API-Gateway Librarians Controller: updateAccount");
-        return ResponseEntity.status(HttpStatus.OK).body(customerService.updateAccount(account, accountId));
+        LibraryAccountResponseModel updated = customerService.updateAccount(account, accountId, ifMatch);
+        return ResponseEntity.status(HttpStatus.OK).eTag(updated.getEtag()).body(updated);
     }
 
     @DeleteMapping(
             value = "{accountId}",
             produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public ResponseEntity<LibraryAccountResponseModel> deleteAccount(@PathVariable String accountId) {
+    public ResponseEntity<LibraryAccountResponseModel> deleteAccount(@PathVariable String accountId,
+                                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.debug("1. Request Received in API-Gateway Librarians Controller: deleteAccount");
-        customerService.removeAccount(accountId);
+        customerService.removeAccount(accountId, ifMatch);
         return ResponseEntity.noContent().build();
     }
 
@@ -60,12 +67,14 @@ public class LibraryAccountController {
         return ResponseEntity.status(HttpStatus.CREATED).body(account1);
     }
 
+    // Spring answers an If-None-Match that still holds with 304 from this ETag, without serializing the body
     @GetMapping(
             value = "{accountId}",
             produces = MediaType.APPLICATION_JSON_VALUE
     )
     public ResponseEntity<LibraryAccountResponseModel> getAccountByAccountId(@PathVariable String accountId) {
         log.debug("1. Request Received in API-Gateway Customers Controller: getAccountByAccountId");
-        return ResponseEntity.status(HttpStatus.OK).body(customerService.getAccountByAccountId(accountId));
+        LibraryAccountResponseModel account = customerService.getAccountByAccountId(accountId);
+        return ResponseEntity.status(HttpStatus.OK).eTag(account.getEtag()).body(account);
     }
 }
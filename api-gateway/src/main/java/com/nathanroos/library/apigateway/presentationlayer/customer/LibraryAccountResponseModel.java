@@ -1,5 +1,6 @@
 package com.nathanroos.library.apigateway.presentationlayer.customer;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -19,5 +20,9 @@ public class LibraryAccountResponseModel extends RepresentationModel<LibraryAcco
     String email;
     String accountId;
 
+    // customer-service's ETag for this version of the account, sent back as a header rather than in the body
+    @JsonIgnore
+    String etag;
+
 
 }
@@ -0,0 +1,77 @@
+package com.nathanroos.library.apigateway.presentationlayer.customer;
+
+
+import com.nathanroos.library.apigateway.businesslayer.customer.ReactiveCustomerService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("api/v1/accounts")
+@ConditionalOnProperty(name = "app.client-mode", havingValue = "reactive")
+public class ReactiveLibraryAccountController {
+
+    private final ReactiveCustomerService customerService;
+
+    public ReactiveLibraryAccountController(ReactiveCustomerService customerService) {
+        this.customerService = customerService;
+    }
+
+
+    @GetMapping(
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<List<LibraryAccountResponseModel>>> getAllAccounts() {
+        log.debug("1. Request Received in API-Gateway Customers Controller: getAccount");
+        return customerService.getAllAccounts().collectList().map(accounts -> ResponseEntity.status(HttpStatus.OK).body(accounts));
+    }
+
+    @PutMapping(
+            value = "{accountId}",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<LibraryAccountResponseModel>> updateAccount(@PathVariable String accountId,
+                                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                                           @RequestBody LibraryAccountRequestModel account) {
+        log.debug("1. Request Received in API-Gateway Customers Controller: updateAccount");
+        return customerService.updateAccount(account, accountId, ifMatch).map(updated -> ResponseEntity.status(HttpStatus.OK).eTag(updated.getEtag()).body(updated));
+    }
+
+    @DeleteMapping(
+            value = "{accountId}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<LibraryAccountResponseModel>> deleteAccount(@PathVariable String accountId,
+                                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("1. Request Received in API-Gateway Customers Controller: deleteAccount");
+        return customerService.removeAccount(accountId, ifMatch).then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    @PostMapping(
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<LibraryAccountResponseModel>> createAccount(@RequestBody LibraryAccountRequestModel account) {
+        log.debug("1. Request Received in API-Gateway Customers Controller: createAccount");
+        return customerService.addAccount(account).map(created -> ResponseEntity.status(HttpStatus.CREATED).body(created));
+    }
+
+    // Spring answers an If-None-Match that still holds with 304 from this ETag, without serializing the body
+    @GetMapping(
+            value = "{accountId}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<LibraryAccountResponseModel>> getAccountByAccountId(@PathVariable String accountId) {
+        log.debug("1. Request Received in API-Gateway Customers Controller: getAccountByAccountId");
+        return customerService.getAccountByAccountId(accountId).map(account -> ResponseEntity.status(HttpStatus.OK).eTag(account.getEtag()).body(account));
+    }
+}
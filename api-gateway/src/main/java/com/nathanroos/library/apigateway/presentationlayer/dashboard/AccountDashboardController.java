@@ -0,0 +1,31 @@
+package com.nathanroos.library.apigateway.presentationlayer.dashboard;
+
+import com.nathanroos.library.apigateway.businesslayer.dashboard.AccountDashboardService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("api/v1/accounts/{accountId}/dashboard")
+public class AccountDashboardController {
+
+    private final AccountDashboardService accountDashboardService;
+
+    public AccountDashboardController(AccountDashboardService accountDashboardService) {
+        this.accountDashboardService = accountDashboardService;
+    }
+
+    @GetMapping(
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<AccountDashboardResponseModel> getDashboard(@PathVariable String accountId) {
+        log.debug("1. Request Received in API-Gateway Dashboard Controller: getDashboard");
+        return ResponseEntity.status(HttpStatus.OK).body(accountDashboardService.getDashboard(accountId));
+    }
+}
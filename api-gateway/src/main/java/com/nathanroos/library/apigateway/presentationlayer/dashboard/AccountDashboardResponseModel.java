@@ -0,0 +1,27 @@
+package com.nathanroos.library.apigateway.presentationlayer.dashboard;
+
+import com.nathanroos.library.apigateway.presentationlayer.customer.LibraryAccountResponseModel;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookResponseModel;
+import com.nathanroos.library.apigateway.presentationlayer.loan.LoanResponseModel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.springframework.hateoas.RepresentationModel;
+
+import java.util.List;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountDashboardResponseModel extends RepresentationModel<AccountDashboardResponseModel> {
+
+    LibraryAccountResponseModel account;
+    List<LoanResponseModel> loans;
+    // one entry per distinct book referenced by the loans
+    List<BookResponseModel> books;
+
+}
@@ -3,6 +3,8 @@ package com.nathanroos.library.apigateway.presentationlayer.librarian;
 //import com.nathanroos.library.Exceptions.InvalidInputException;
 import com.nathanroos.library.apigateway.businesslayer.librarian.LibrarianService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -13,6 +15,7 @@ import java.util.List;
 @Slf4j
 @RestController
 @RequestMapping("api/v1/workers")
+@ConditionalOnProperty(name = "app.client-mode", havingValue = "blocking", matchIfMissing = true)
 public class LibrarianController {
 
     private final LibrarianService librarianService;
@@ -22,13 +25,15 @@ public class LibrarianController {
         this.librarianService = librarianService;
     }
 
+    // Spring answers an If-None-Match that still holds with 304 from this ETag, without serializing the body
     @GetMapping(
             value = "{librarianId}",
             produces = MediaType.APPLICATION_JSON_VALUE
     )
     public ResponseEntity<LibrarianResponseModel> getLibrarian(@PathVariable String librarianId) {
         log.debug("1. Request Received in API-Gateway Librarians Controller: getLibrarian");
-        return ResponseEntity.status(HttpStatus.OK).body(librarianService.getLibrarian(librarianId));
+        LibrarianResponseModel librarian = librarianService.getLibrarian(librarianId);
+        return ResponseEntity.status(HttpStatus.OK).eTag(librarian.getEtag()).body(librarian);
     }
 
     @GetMapping(
@@ -44,18 +49,22 @@ public class LibrarianController {
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public ResponseEntity<LibrarianResponseModel> updateLibrarian(@PathVariable String librarianId, @RequestBody LibrarianRequestModel librarianRequestModel) {
+    public ResponseEntity<LibrarianResponseModel> updateLibrarian(@PathVariable String librarianId,
+                                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                                  @RequestBody LibrarianRequestModel librarianRequestModel) {
         log.debug("1. Request Received in API-Gateway Librarians Controller: updateLibrarian");
-        return ResponseEntity.status(HttpStatus.OK).body(librarianService.updateLibrarian(librarianId, librarianRequestModel));
+        LibrarianResponseModel updated = librarianService.updateLibrarian(librarianId, librarianRequestModel, ifMatch);
+        return ResponseEntity.status(HttpStatus.OK).eTag(updated.getEtag()).body(updated);
     }
 
     @DeleteMapping(
             value = "/{librarianId}",
             produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public ResponseEntity<LibrarianResponseModel> deleteLibrarian(@PathVariable String librarianId) {
+    public ResponseEntity<LibrarianResponseModel> deleteLibrarian(@PathVariable String librarianId,
+                                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.debug("1. Request Received in API-Gateway Librarians Controller: deleteLibrarian");
-        librarianService.deleteLibrarian(librarianId);
+        librarianService.deleteLibrarian(librarianId, ifMatch);
         return ResponseEntity.noContent().build();
     }
 
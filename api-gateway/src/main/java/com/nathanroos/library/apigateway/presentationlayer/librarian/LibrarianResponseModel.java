@@ -1,6 +1,7 @@
 package com.nathanroos.library.apigateway.presentationlayer.librarian;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.nathanroos.library.apigateway.domainclientlayer.librarian.LibrarianPhoneNumber;
 import com.nathanroos.library.apigateway.domainclientlayer.librarian.Position;
 import com.nathanroos.library.apigateway.domainclientlayer.librarian.ProvinceEnum;
@@ -31,5 +32,9 @@ public class LibrarianResponseModel extends RepresentationModel<LibrarianRespons
     Position position;
     LibrarianPhoneNumber librarianPhoneNumber;
 
+    // libraryworker-service's ETag for this version of the librarian, sent back as a header rather than in the body
+    @JsonIgnore
+    String etag;
+
 
 }
@@ -0,0 +1,77 @@
+package com.nathanroos.library.apigateway.presentationlayer.librarian;
+
+import com.nathanroos.library.apigateway.businesslayer.librarian.ReactiveLibrarianService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("api/v1/workers")
+@ConditionalOnProperty(name = "app.client-mode", havingValue = "reactive")
+public class ReactiveLibrarianController {
+
+    private final ReactiveLibrarianService librarianService;
+
+
+    public ReactiveLibrarianController(ReactiveLibrarianService librarianService) {
+        this.librarianService = librarianService;
+    }
+
+    // Spring answers an If-None-Match that still holds with 304 from this ETag, without serializing the body
+    @GetMapping(
+            value = "{librarianId}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<LibrarianResponseModel>> getLibrarian(@PathVariable String librarianId) {
+        log.debug("1. Request Received in API-Gateway Librarians Controller: getLibrarian");
+        return librarianService.getLibrarian(librarianId).map(librarian -> ResponseEntity.status(HttpStatus.OK).eTag(librarian.getEtag()).body(librarian));
+    }
+
+    @GetMapping(
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<List<LibrarianResponseModel>>> getWorkers() {
+        log.debug("1. Request Received in API-Gateway Librarians Controller: getWorkers");
+        return librarianService.getWorkers().collectList().map(librarians -> ResponseEntity.status(HttpStatus.OK).body(librarians));
+    }
+
+    @PutMapping(
+            value = "{librarianId}",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<LibrarianResponseModel>> updateLibrarian(@PathVariable String librarianId,
+                                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                                        @RequestBody LibrarianRequestModel librarianRequestModel) {
+        log.debug("1. Request Received in API-Gateway Librarians Controller: updateLibrarian");
+        return librarianService.updateLibrarian(librarianId, librarianRequestModel, ifMatch).map(updated -> ResponseEntity.status(HttpStatus.OK).eTag(updated.getEtag()).body(updated));
+    }
+
+    @DeleteMapping(
+            value = "/{librarianId}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<LibrarianResponseModel>> deleteLibrarian(@PathVariable String librarianId,
+                                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("1. Request Received in API-Gateway Librarians Controller: deleteLibrarian");
+        return librarianService.deleteLibrarian(librarianId, ifMatch).then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    @PostMapping(
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<LibrarianResponseModel>> createLibrarian(@RequestBody LibrarianRequestModel librarianRequestModel) {
+        log.debug("1. Request Received in API-Gateway Librarians Controller: createLibrarian");
+        return librarianService.createLibrarian(librarianRequestModel).map(created -> ResponseEntity.status(HttpStatus.CREATED).body(created));
+    }
+
+}
@@ -1,10 +1,11 @@
 package com.nathanroos.library.apigateway.presentationlayer.library;
 
 
-import com.nathanroos.library.apigateway.businesslayer.librarian.LibrarianService;
 import com.nathanroos.library.apigateway.businesslayer.library.BookService;
-import com.nathanroos.library.apigateway.presentationlayer.librarian.LibrarianResponseModel;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -12,9 +13,13 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
 @Slf4j
 @RestController
 @RequestMapping("api/v1/books")
+@ConditionalOnProperty(name = "app.client-mode", havingValue = "blocking", matchIfMissing = true)
 public class BookController {
 
     private final BookService bookService;
@@ -24,19 +29,34 @@ public class BookController {
         this.bookService = bookService;
     }
 
+    // Spring answers an If-None-Match that still holds with 304 from this ETag, without serializing the body
     @GetMapping(
             value = "{bookId}",
             produces = MediaType.APPLICATION_JSON_VALUE
     )
     public ResponseEntity<BookResponseModel> getBookByBookId(@PathVariable String bookId) {
         log.debug("1. Request Received in API-Gateway Books Controller: getbook");
-        return ResponseEntity.status(HttpStatus.OK).body(bookService.getBookByBookId(bookId));
+        BookResponseModel book = bookService.getBookByBookId(bookId);
+        return ResponseEntity.status(HttpStatus.OK).eTag(book.getEtag()).body(book);
     }
 
+    // paging parameters are passed through to library-service, which validates them
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<BookResponseModel>> getBooks() {
+    public ResponseEntity<List<BookResponseModel>> getBooks(@RequestParam(required = false) String sort,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer limit) {
         log.debug("1. Request Received in API-Gateway Books Controller: getbooks");
-        return ResponseEntity.status(HttpStatus.OK).body(bookService.getBooks());
+        BookPageResponseModel page = bookService.getBooks(sort, cursor, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK);
+        if (page.getNextCursor() != null) {
+            response.header(HttpHeaders.LINK, linkTo(methodOn(BookController.class)
+                    .getBooks(sort, page.getNextCursor(), limit))
+                    .withRel(IanaLinkRelations.NEXT)
+                    .expand() // drops the template variables of parameters that weren't given
+                    .toString());
+        }
+        return response.body(page.getBooks());
     }
 
     @PostMapping(
@@ -53,18 +73,22 @@ public class BookController {
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public ResponseEntity<BookResponseModel> updateBook(@PathVariable String bookId, @RequestBody BookRequestModel book) {
+    public ResponseEntity<BookResponseModel> updateBook(@PathVariable String bookId,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                        @RequestBody BookRequestModel book) {
         log.debug("1. Request Received in API-Gateway Books Controller: updatebook");
-        return ResponseEntity.status(HttpStatus.OK).body(bookService.updateBook(book, bookId));
+        BookResponseModel updated = bookService.updateBook(book, bookId, ifMatch);
+        return ResponseEntity.status(HttpStatus.OK).eTag(updated.getEtag()).body(updated);
     }
 
     @DeleteMapping(
             value = "{bookId}",
             produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public ResponseEntity<BookResponseModel> removeBook(@PathVariable String bookId) {
+    public ResponseEntity<BookResponseModel> removeBook(@PathVariable String bookId,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.debug("1. Request Received in API-Gateway Books Controller: removeBook");
-        bookService.removeBook(bookId);
+        bookService.removeBook(bookId, ifMatch);
         return ResponseEntity.noContent().build();
     }
 }
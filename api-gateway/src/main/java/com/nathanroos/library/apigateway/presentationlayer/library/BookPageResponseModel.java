@@ -0,0 +1,17 @@
+package com.nathanroos.library.apigateway.presentationlayer.library;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookPageResponseModel {
+
+    List<BookResponseModel> books;
+    // null on the last page
+    String nextCursor;
+}
@@ -1,5 +1,6 @@
 package com.nathanroos.library.apigateway.presentationlayer.library;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.nathanroos.library.apigateway.domainclientlayer.library.GenreEnum;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -20,4 +21,8 @@ public class BookResponseModel extends RepresentationModel<BookResponseModel> {
     Integer copiesAvailable;
     String imageUrl;
 
+    // library-service's ETag for this version of the book, sent back as a header rather than in the body
+    @JsonIgnore
+    String etag;
+
 }
@@ -0,0 +1,96 @@
+package com.nathanroos.library.apigateway.presentationlayer.library;
+
+
+import com.nathanroos.library.apigateway.businesslayer.library.ReactiveBookService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+@Slf4j
+@RestController
+@RequestMapping("api/v1/books")
+@ConditionalOnProperty(name = "app.client-mode", havingValue = "reactive")
+public class ReactiveBookController {
+
+    private final ReactiveBookService bookService;
+
+
+    public ReactiveBookController(ReactiveBookService bookService) {
+        this.bookService = bookService;
+    }
+
+    // Spring answers an If-None-Match that still holds with 304 from this ETag, without serializing the body
+    @GetMapping(
+            value = "{bookId}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<BookResponseModel>> getBookByBookId(@PathVariable String bookId) {
+        log.debug("1. Request Received in API-Gateway Books Controller: getbook");
+        return bookService.getBookByBookId(bookId).map(book -> ResponseEntity.status(HttpStatus.OK).eTag(book.getEtag()).body(book));
+    }
+
+    // paging parameters are passed through to library-service, which validates them
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<BookResponseModel>>> getBooks(@RequestParam(required = false) String sort,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(required = false) Integer limit) {
+        log.debug("1. Request Received in API-Gateway Books Controller: getbooks");
+        // resolved while the request is still bound to this thread
+        UriComponentsBuilder nextPage = linkTo(ReactiveBookController.class).toUriComponentsBuilder()
+                .queryParamIfPresent("sort", Optional.ofNullable(sort))
+                .queryParamIfPresent("limit", Optional.ofNullable(limit));
+
+        return bookService.getBooks(sort, cursor, limit).map(page -> {
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK);
+            if (page.getNextCursor() != null) {
+                String href = nextPage.cloneBuilder().queryParam("cursor", page.getNextCursor()).toUriString();
+                response.header(HttpHeaders.LINK, Link.of(href, IanaLinkRelations.NEXT).toString());
+            }
+            return response.body(page.getBooks());
+        });
+    }
+
+    @PostMapping(
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<BookResponseModel>> createBook(@RequestBody BookRequestModel book) {
+        log.debug("1. Request Received in API-Gateway Books Controller: createbook");
+        return bookService.addBook(book).map(created -> ResponseEntity.status(HttpStatus.CREATED).body(created));
+    }
+
+    @PutMapping(
+            value = "{bookId}",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<BookResponseModel>> updateBook(@PathVariable String bookId,
+                                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                              @RequestBody BookRequestModel book) {
+        log.debug("1. Request Received in API-Gateway Books Controller: updatebook");
+        return bookService.updateBook(book, bookId, ifMatch).map(updated -> ResponseEntity.status(HttpStatus.OK).eTag(updated.getEtag()).body(updated));
+    }
+
+    @DeleteMapping(
+            value = "{bookId}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<BookResponseModel>> removeBook(@PathVariable String bookId,
+                                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("1. Request Received in API-Gateway Books Controller: removeBook");
+        return bookService.removeBook(bookId, ifMatch).then(Mono.just(ResponseEntity.noContent().build()));
+    }
+}
@@ -5,16 +5,23 @@ import com.nathanroos.library.apigateway.businesslayer.loan.LoanService;
 import com.nathanroos.library.apigateway.presentationlayer.loan.LoanRequestModel;
 import com.nathanroos.library.apigateway.presentationlayer.loan.LoanResponseModel;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
 @Slf4j
 @RestController
 @RequestMapping("api/v1/accounts/{accountId}/loans")
+@ConditionalOnProperty(name = "app.client-mode", havingValue = "blocking", matchIfMissing = true)
 public class LoanController {
 
 
@@ -27,12 +34,27 @@ public class LoanController {
         this.loanService = loanService;
     }
 
+    // filters and paging parameters are passed through to loan-service, which validates them
     @GetMapping(
             produces = "application/json"
     )
-    public ResponseEntity<List<LoanResponseModel>> getAllLoansByAccountId(@PathVariable String accountId) {
-        List<LoanResponseModel> loanResponseModels = loanService.getAllLoansByAccountId(accountId);
-        return ResponseEntity.status(HttpStatus.OK).body(loanResponseModels);
+    public ResponseEntity<List<LoanResponseModel>> getAllLoansByAccountId(@PathVariable String accountId,
+                                                                          @RequestParam(required = false) String status,
+                                                                          @RequestParam(required = false) String from,
+                                                                          @RequestParam(required = false) String to,
+                                                                          @RequestParam(required = false) String cursor,
+                                                                          @RequestParam(required = false) Integer limit) {
+        LoanPageResponseModel page = loanService.getAllLoansByAccountId(accountId, status, from, to, cursor, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK);
+        if (page.getNextCursor() != null) {
+            response.header(HttpHeaders.LINK, linkTo(methodOn(LoanController.class)
+                    .getAllLoansByAccountId(accountId, status, from, to, page.getNextCursor(), limit))
+                    .withRel(IanaLinkRelations.NEXT)
+                    .expand() // drops the template variables of parameters that weren't given
+                    .toString());
+        }
+        return response.body(page.getLoans());
     }
 
     @GetMapping(
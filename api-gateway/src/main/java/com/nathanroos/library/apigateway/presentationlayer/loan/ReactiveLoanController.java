@@ -0,0 +1,104 @@
+package com.nathanroos.library.apigateway.presentationlayer.loan;
+
+import com.nathanroos.library.apigateway.ExceptionsHandling.InvalidInputException;
+import com.nathanroos.library.apigateway.businesslayer.loan.ReactiveLoanService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+@Slf4j
+@RestController
+@RequestMapping("api/v1/accounts/{accountId}/loans")
+@ConditionalOnProperty(name = "app.client-mode", havingValue = "reactive")
+public class ReactiveLoanController {
+
+
+    private final ReactiveLoanService loanService;
+
+    private static final int UUID_LENGTH = 36;
+
+    public ReactiveLoanController(ReactiveLoanService loanService) {
+        this.loanService = loanService;
+    }
+
+    // filters and paging parameters are passed through to loan-service, which validates them
+    @GetMapping(
+            produces = "application/json"
+    )
+    public Mono<ResponseEntity<List<LoanResponseModel>>> getAllLoansByAccountId(@PathVariable String accountId,
+                                                                                @RequestParam(required = false) String status,
+                                                                                @RequestParam(required = false) String from,
+                                                                                @RequestParam(required = false) String to,
+                                                                                @RequestParam(required = false) String cursor,
+                                                                                @RequestParam(required = false) Integer limit) {
+        // resolved while the request is still bound to this thread
+        UriComponentsBuilder nextPage = linkTo(ReactiveLoanController.class, accountId).toUriComponentsBuilder()
+                .queryParamIfPresent("status", Optional.ofNullable(status))
+                .queryParamIfPresent("from", Optional.ofNullable(from))
+                .queryParamIfPresent("to", Optional.ofNullable(to))
+                .queryParamIfPresent("limit", Optional.ofNullable(limit));
+
+        return loanService.getAllLoansByAccountId(accountId, status, from, to, cursor, limit).map(page -> {
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK);
+            if (page.getNextCursor() != null) {
+                String href = nextPage.cloneBuilder().queryParam("cursor", page.getNextCursor()).toUriString();
+                response.header(HttpHeaders.LINK, Link.of(href, IanaLinkRelations.NEXT).toString());
+            }
+            return response.body(page.getLoans());
+        });
+    }
+
+    @GetMapping(
+            value = "/{loanId}",
+            produces = "application/json"
+    )
+    public Mono<ResponseEntity<LoanResponseModel>> getLoanByLoanId(@PathVariable String accountId, @PathVariable String loanId) {
+        if(loanId.length() != UUID_LENGTH){
+            throw new InvalidInputException("The following Id is not the correct length: " + loanId);
+        }
+
+        return loanService.getLoanByLoanId(accountId, loanId).map(loan -> ResponseEntity.status(HttpStatus.OK).body(loan));
+    }
+
+    @PostMapping(
+            consumes = {"application/json"},
+            produces = {"application/json"}
+    )
+    public Mono<ResponseEntity<LoanResponseModel>> AddLoan(@RequestBody LoanRequestModel loanRequestModel, @PathVariable String accountId) {
+        if (!accountId.equals(loanRequestModel.getAccountId())) {
+            throw new InvalidInputException("AccountId in path and body must match.");
+        }
+        return loanService.addLoan(loanRequestModel, accountId).map(created -> ResponseEntity.status(HttpStatus.CREATED).body(created));
+    }
+
+    @PutMapping(
+            value = "/{loanId}",
+            consumes = {"application/json"},
+            produces = {"application/json"}
+    )
+    public Mono<ResponseEntity<LoanResponseModel>> updateLoan(@PathVariable String accountId, @PathVariable String loanId, @RequestBody LoanRequestModel loanRequestModel)
+    {
+        return loanService.updateLoan(accountId, loanRequestModel, loanId).map(updated -> ResponseEntity.status(HttpStatus.OK).body(updated));
+    }
+
+    @DeleteMapping(
+            value = "/{loanId}",
+            produces = {"application/json"}
+    )
+    public Mono<ResponseEntity<Void>> deleteLoan(@PathVariable String accountId, @PathVariable String loanId)
+    {
+        return loanService.removeLoan(accountId, loanId).then(Mono.just(ResponseEntity.status(HttpStatus.NO_CONTENT).build()));
+    }
+}
@@ -0,0 +1,93 @@
+package com.nathanroos.library.apigateway.utils;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Fans out the downstream calls behind one gateway response, such as the account dashboard, on
+ * virtual threads. {@link #join()} waits for them and rethrows, unchanged, the exception of the
+ * earliest-forked call that failed, so the client sees the same NotFound/InvalidInput error
+ * whichever downstream answers first. A failing call cancels the calls forked after it, since the
+ * response is lost either way; the ones forked before it run on, since their error would win.
+ */
+public class FailFastTaskScope implements AutoCloseable {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final List<FutureTask<?>> futures = new CopyOnWriteArrayList<>();
+
+    // fork index of the earliest task that has failed so far
+    private final AtomicInteger firstFailure = new AtomicInteger(Integer.MAX_VALUE);
+
+    public <T> Supplier<T> fork(Callable<T> task) {
+        int index = futures.size();
+        FutureTask<T> future = new FutureTask<>(() -> {
+            try {
+                return task.call();
+            } catch (Exception ex) {
+                fail(index);
+                throw ex;
+            }
+        });
+        futures.add(future);
+        if (firstFailure.get() < index) {
+            future.cancel(true);
+        }
+        executor.execute(future);
+        return future::resultNow;
+    }
+
+    public void join() {
+        for (FutureTask<?> future : futures) {
+            try {
+                future.get();
+            } catch (CancellationException ignored) {
+                // only tasks forked after a failed one are cancelled, and that failure is thrown first
+            } catch (ExecutionException ex) {
+                cancelAll();
+                throw rethrow(ex.getCause());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                cancelAll();
+                throw new CompletionException(ex);
+            }
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new CompletionException(cause);
+    }
+
+    private void fail(int index) {
+        if (firstFailure.accumulateAndGet(index, Math::min) == index) {
+            for (int i = index + 1; i < futures.size(); i++) {
+                futures.get(i).cancel(true);
+            }
+        }
+    }
+
+    private void cancelAll() {
+        futures.forEach(future -> future.cancel(true));
+    }
+
+    @Override
+    public void close() {
+        cancelAll();
+        executor.close();
+    }
+}
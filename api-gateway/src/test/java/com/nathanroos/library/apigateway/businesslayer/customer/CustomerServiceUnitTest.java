@@ -94,10 +94,10 @@ class CustomerServiceUnitTest {
 
     @Test
     void whenUpdateAccount_thenReturnUpdatedAccount() {
-        when(customerServiceClient.updateAccount(requestModel, responseModel.getAccountId()))
+        when(customerServiceClient.updateAccount(requestModel, responseModel.getAccountId(), null))
                 .thenReturn(responseModel);
 
-        var result = customerService.updateAccount(requestModel, responseModel.getAccountId());
+        var result = customerService.updateAccount(requestModel, responseModel.getAccountId(), null);
 
         assertNotNull(result);
         assertEquals(responseModel.getAccountId(), result.getAccountId());
@@ -105,11 +105,11 @@ class CustomerServiceUnitTest {
 
     @Test
     void whenDeleteAccount_thenVerifyClientCall() {
-        doNothing().when(customerServiceClient).removeAccount(responseModel.getAccountId());
+        doNothing().when(customerServiceClient).removeAccount(responseModel.getAccountId(), null);
 
-        customerService.removeAccount(responseModel.getAccountId());
+        customerService.removeAccount(responseModel.getAccountId(), null);
 
-        verify(customerServiceClient, times(1)).removeAccount(responseModel.getAccountId());
+        verify(customerServiceClient, times(1)).removeAccount(responseModel.getAccountId(), null);
     }
 
     @Test
@@ -0,0 +1,147 @@
+package com.nathanroos.library.apigateway.businesslayer.dashboard;
+
+import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.domainclientlayer.customer.CustomerServiceClient;
+import com.nathanroos.library.apigateway.domainclientlayer.library.BookCatalogCache;
+import com.nathanroos.library.apigateway.domainclientlayer.library.GenreEnum;
+import com.nathanroos.library.apigateway.domainclientlayer.loan.LoanServiceClient;
+import com.nathanroos.library.apigateway.presentationlayer.customer.LibraryAccountResponseModel;
+import com.nathanroos.library.apigateway.presentationlayer.dashboard.AccountDashboardResponseModel;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookResponseModel;
+import com.nathanroos.library.apigateway.presentationlayer.loan.LoanPageResponseModel;
+import com.nathanroos.library.apigateway.presentationlayer.loan.LoanResponseModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountDashboardServiceUnitTest {
+
+    private static final long REMOTE_LATENCY_MS = 200;
+
+    private static final String ACCOUNT_ID = "c3d4e5f6-e29b-41d4-a716-446655440000";
+
+    @Mock
+    private CustomerServiceClient customerServiceClient;
+
+    @Mock
+    private LoanServiceClient loanServiceClient;
+
+    @Mock
+    private BookCatalogCache bookCatalogCache;
+
+    private AccountDashboardServiceImpl dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        dashboardService = new AccountDashboardServiceImpl(customerServiceClient, loanServiceClient, bookCatalogCache);
+    }
+
+    @Test
+    void whenGetDashboard_thenAccountLoansAndDistinctBooksAreReturned() {
+        when(customerServiceClient.getAccountByAccountId(ACCOUNT_ID)).thenReturn(account());
+        when(loanServiceClient.getLoans(eq(ACCOUNT_ID), any(), any(), any(), any(), anyInt())).thenReturn(new LoanPageResponseModel(List.of(loan("loan1", "book1"), loan("loan2", "book2"), loan("loan3", "book1")), null));
+        when(bookCatalogCache.getBooksByBookIds(List.of("book1", "book2"))).thenReturn(books("book1", "book2"));
+
+        AccountDashboardResponseModel result = dashboardService.getDashboard(ACCOUNT_ID);
+
+        assertEquals(ACCOUNT_ID, result.getAccount().getAccountId());
+        assertEquals(3, result.getLoans().size());
+        assertEquals(List.of("book1", "book2"), result.getBooks().stream().map(BookResponseModel::getBookId).toList());
+        verify(bookCatalogCache, never()).getBookByBookId(anyString());
+        assertTrue(result.getLink("self").isPresent());
+        assertTrue(result.getLink("loans").isPresent());
+    }
+
+    @Test
+    void whenDownstreamIsSlow_thenDashboardCostsOneRoundTripPerLevelNotPerCall() {
+        when(customerServiceClient.getAccountByAccountId(ACCOUNT_ID)).thenAnswer(invocation -> {
+            Thread.sleep(REMOTE_LATENCY_MS);
+            return account();
+        });
+        when(loanServiceClient.getLoans(eq(ACCOUNT_ID), any(), any(), any(), any(), anyInt())).thenAnswer(invocation -> {
+            Thread.sleep(REMOTE_LATENCY_MS);
+            return new LoanPageResponseModel(List.of(loan("loan1", "book1"), loan("loan2", "book2"), loan("loan3", "book3"), loan("loan4", "book4")), null);
+        });
+        when(bookCatalogCache.getBooksByBookIds(anyList())).thenAnswer(invocation -> {
+            Thread.sleep(REMOTE_LATENCY_MS);
+            return books("book1", "book2", "book3", "book4");
+        });
+
+        long start = System.nanoTime();
+        AccountDashboardResponseModel result = dashboardService.getDashboard(ACCOUNT_ID);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(4, result.getBooks().size());
+        // one by one this is 1 + 1 + 4 round trips; the loans call followed by one batch is the critical path
+        assertTrue(elapsedMs < 3 * REMOTE_LATENCY_MS, "dashboard took " + elapsedMs + " ms");
+    }
+
+    @Test
+    void whenBookIsGone_thenDashboardIsReturnedWithoutIt() {
+        when(customerServiceClient.getAccountByAccountId(ACCOUNT_ID)).thenReturn(account());
+        when(loanServiceClient.getLoans(eq(ACCOUNT_ID), any(), any(), any(), any(), anyInt())).thenReturn(new LoanPageResponseModel(List.of(loan("loan1", "book1"), loan("loan2", "book2")), null));
+        when(bookCatalogCache.getBooksByBookIds(List.of("book1", "book2"))).thenReturn(books("book1"));
+
+        AccountDashboardResponseModel result = dashboardService.getDashboard(ACCOUNT_ID);
+
+        assertEquals(2, result.getLoans().size());
+        assertEquals(1, result.getBooks().size());
+    }
+
+    @Test
+    void whenAccountAndLoansBothFail_thenTheAccountErrorIsThrownEvenIfLoansFailFirst() {
+        when(customerServiceClient.getAccountByAccountId(ACCOUNT_ID)).thenAnswer(invocation -> {
+            Thread.sleep(REMOTE_LATENCY_MS);
+            throw new NotFoundException("Unknown accountId: " + ACCOUNT_ID);
+        });
+        when(loanServiceClient.getLoans(eq(ACCOUNT_ID), any(), any(), any(), any(), anyInt()))
+                .thenThrow(new IllegalStateException("loan-service unavailable"));
+
+        NotFoundException ex = assertThrows(NotFoundException.class, () -> dashboardService.getDashboard(ACCOUNT_ID));
+
+        assertEquals("Unknown accountId: " + ACCOUNT_ID, ex.getMessage());
+    }
+
+    @Test
+    void whenAccountNotFound_thenNotFoundIsThrown() {
+        when(customerServiceClient.getAccountByAccountId(ACCOUNT_ID)).thenThrow(new NotFoundException("Unknown accountId: " + ACCOUNT_ID));
+        lenient().when(loanServiceClient.getLoans(eq(ACCOUNT_ID), any(), any(), any(), any(), anyInt())).thenReturn(new LoanPageResponseModel(List.of(), null));
+
+        NotFoundException ex = assertThrows(NotFoundException.class, () -> dashboardService.getDashboard(ACCOUNT_ID));
+
+        assertEquals("Unknown accountId: " + ACCOUNT_ID, ex.getMessage());
+    }
+
+    private static LibraryAccountResponseModel account() {
+        return LibraryAccountResponseModel.builder().accountId(ACCOUNT_ID).firstname("John").lastname("Doe").build();
+    }
+
+    private static LoanResponseModel loan(String loanId, String bookId) {
+        return LoanResponseModel.builder().loanId(loanId).accountId(ACCOUNT_ID).bookId(bookId).build();
+    }
+
+    private static Map<String, BookResponseModel> books(String... bookIds) {
+        Map<String, BookResponseModel> books = new LinkedHashMap<>();
+        for (String bookId : bookIds) {
+            books.put(bookId, book(bookId));
+        }
+        return books;
+    }
+
+    private static BookResponseModel book(String bookId) {
+        return new BookResponseModel(bookId, "George", "Orwell", GenreEnum.FICTION, "1984", "George Orwell", 5, null, null);
+    }
+}
@@ -103,9 +103,9 @@ class LibrarianServiceUnitTest {
 
     @Test
     void whenUpdateLibrarian_thenReturnUpdatedLibrarian() {
-        when(librarianServiceClient.updateLibrarian(responseModel.getLibrarianId(), requestModel)).thenReturn(responseModel);
+        when(librarianServiceClient.updateLibrarian(responseModel.getLibrarianId(), requestModel, null)).thenReturn(responseModel);
 
-        var result = librarianService.updateLibrarian(responseModel.getLibrarianId(), requestModel);
+        var result = librarianService.updateLibrarian(responseModel.getLibrarianId(), requestModel, null);
 
         assertNotNull(result);
         assertEquals(responseModel.getLibrarianId(), result.getLibrarianId());
@@ -113,11 +113,11 @@ class LibrarianServiceUnitTest {
 
     @Test
     void whenDeleteLibrarian_thenVerifyClientCall() {
-        doNothing().when(librarianServiceClient).deleteLibrarian(responseModel.getLibrarianId());
+        doNothing().when(librarianServiceClient).deleteLibrarian(responseModel.getLibrarianId(), null);
 
-        librarianService.deleteLibrarian(responseModel.getLibrarianId());
+        librarianService.deleteLibrarian(responseModel.getLibrarianId(), null);
 
-        verify(librarianServiceClient, times(1)).deleteLibrarian(responseModel.getLibrarianId());
+        verify(librarianServiceClient, times(1)).deleteLibrarian(responseModel.getLibrarianId(), null);
     }
 
     @Test
@@ -1,10 +1,14 @@
 package com.nathanroos.library.apigateway.businesslayer.library;
 
 import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.domainclientlayer.library.BookCacheProperties;
+import com.nathanroos.library.apigateway.domainclientlayer.library.BookCatalogCache;
 import com.nathanroos.library.apigateway.domainclientlayer.library.BookServiceClient;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookPageResponseModel;
 import com.nathanroos.library.apigateway.presentationlayer.library.BookRequestModel;
 import com.nathanroos.library.apigateway.presentationlayer.library.BookResponseModel;
 import com.nathanroos.library.apigateway.domainclientlayer.library.GenreEnum;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,7 +28,6 @@ class BookServiceUnitTest {
     @Mock
     private BookServiceClient bookServiceClient;
 
-    @InjectMocks
     private BookServiceImpl bookService;
 
     private BookRequestModel requestModel;
@@ -33,6 +36,12 @@ class BookServiceUnitTest {
 
     @BeforeEach
     void setUp() {
+        // with the catalog cache off every read goes straight to the client
+        BookCacheProperties cacheProperties = new BookCacheProperties();
+        cacheProperties.setEnabled(false);
+        bookService = new BookServiceImpl(bookServiceClient,
+                new BookCatalogCache(bookServiceClient, cacheProperties, new SimpleMeterRegistry()));
+
         bookId = UUID.randomUUID().toString();
 
         requestModel = BookRequestModel.builder()
@@ -45,7 +54,7 @@ class BookServiceUnitTest {
                 .build();
 
         responseModel = new BookResponseModel(
-                bookId, "John", "Doe", GenreEnum.FICTION, "Test Title", "Test Author", 5
+                bookId, "John", "Doe", GenreEnum.FICTION, "Test Title", "Test Author", 5, null, null
         );
     }
 
@@ -62,9 +71,9 @@ class BookServiceUnitTest {
 
     @Test
     void whenGetAllBooks_thenReturnList() {
-        when(bookServiceClient.getBooks()).thenReturn(List.of(responseModel));
+        when(bookServiceClient.getBooks(null, null, null)).thenReturn(new BookPageResponseModel(List.of(responseModel), null));
 
-        var result = bookService.getBooks();
+        var result = bookService.getBooks(null, null, null).getBooks();
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -73,9 +82,9 @@ class BookServiceUnitTest {
 
     @Test
     void whenGetAllBooksIsEmpty_thenReturnEmptyList() {
-        when(bookServiceClient.getBooks()).thenReturn(Collections.emptyList());
+        when(bookServiceClient.getBooks(null, null, null)).thenReturn(new BookPageResponseModel(Collections.emptyList(), null));
 
-        var result = bookService.getBooks();
+        var result = bookService.getBooks(null, null, null).getBooks();
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
@@ -94,9 +103,9 @@ class BookServiceUnitTest {
 
     @Test
     void whenUpdateBook_thenReturnUpdatedBook() {
-        when(bookServiceClient.updateBook(requestModel, bookId)).thenReturn(responseModel);
+        when(bookServiceClient.updateBook(requestModel, bookId, null)).thenReturn(responseModel);
 
-        var result = bookService.updateBook(requestModel, bookId);
+        var result = bookService.updateBook(requestModel, bookId, null);
 
         assertNotNull(result);
         assertEquals(responseModel.getBookId(), result.getBookId());
@@ -104,11 +113,11 @@ class BookServiceUnitTest {
 
     @Test
     void whenRemoveBook_thenVerifyClientCall() {
-        doNothing().when(bookServiceClient).deleteBook(bookId);
+        doNothing().when(bookServiceClient).deleteBook(bookId, null);
 
-        bookService.removeBook(bookId);
+        bookService.removeBook(bookId, null);
 
-        verify(bookServiceClient, times(1)).deleteBook(bookId);
+        verify(bookServiceClient, times(1)).deleteBook(bookId, null);
     }
 
     @Test
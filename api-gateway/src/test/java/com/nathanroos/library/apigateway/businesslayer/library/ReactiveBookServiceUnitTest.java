@@ -0,0 +1,124 @@
+package com.nathanroos.library.apigateway.businesslayer.library;
+
+import com.nathanroos.library.apigateway.ExceptionsHandling.InvalidInputException;
+import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.domainclientlayer.library.BookCatalogCache;
+import com.nathanroos.library.apigateway.domainclientlayer.library.GenreEnum;
+import com.nathanroos.library.apigateway.domainclientlayer.library.ReactiveBookServiceClient;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookPageResponseModel;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookRequestModel;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookResponseModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.hateoas.IanaLinkRelations;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveBookServiceUnitTest {
+
+    @Mock
+    private ReactiveBookServiceClient bookServiceClient;
+
+    @Mock
+    private BookCatalogCache bookCatalogCache;
+
+    private ReactiveBookServiceImpl bookService;
+
+    private BookRequestModel requestModel;
+    private String bookId;
+
+    @BeforeEach
+    void setUp() {
+        bookService = new ReactiveBookServiceImpl(bookServiceClient, bookCatalogCache);
+        bookId = UUID.randomUUID().toString();
+        requestModel = BookRequestModel.builder()
+                .firstname("John")
+                .lastname("Doe")
+                .title("Test Title")
+                .author("Test Author")
+                .genre(GenreEnum.FICTION)
+                .copiesAvailable(5)
+                .build();
+    }
+
+    @Test
+    void whenGetBookByBookId_thenReturnBookWithLinks() {
+        when(bookServiceClient.getBookByBookId(bookId)).thenReturn(Mono.just(book()));
+
+        BookResponseModel result = bookService.getBookByBookId(bookId).block();
+
+        assertNotNull(result);
+        assertEquals("/api/v1/books/" + bookId, result.getRequiredLink(IanaLinkRelations.SELF).getHref());
+        assertEquals("/api/v1/books", result.getRequiredLink("books").getHref());
+    }
+
+    @Test
+    void whenGetBookByBookIdIsEmpty_thenThrowNotFoundException() {
+        when(bookServiceClient.getBookByBookId(bookId)).thenReturn(Mono.empty());
+
+        NotFoundException ex = assertThrows(NotFoundException.class, () -> bookService.getBookByBookId(bookId).block());
+
+        assertEquals("Book with ID: " + bookId + " not found", ex.getMessage());
+    }
+
+    @Test
+    void whenGetBooks_thenEveryBookGetsLinksAndTheCursorIsKept() {
+        when(bookServiceClient.getBooks(null, null, 1)).thenReturn(Mono.just(new BookPageResponseModel(List.of(book()), "abc")));
+
+        BookPageResponseModel page = bookService.getBooks(null, null, 1).block();
+
+        assertNotNull(page);
+        assertEquals("abc", page.getNextCursor());
+        assertTrue(page.getBooks().get(0).getLink(IanaLinkRelations.SELF).isPresent());
+    }
+
+    @Test
+    void whenAddBook_thenCatalogCacheIsInvalidated() {
+        when(bookServiceClient.addBook(requestModel)).thenReturn(Mono.just(book()));
+
+        bookService.addBook(requestModel).block();
+
+        verify(bookCatalogCache).invalidate(bookId);
+    }
+
+    @Test
+    void whenAddBookIsRejected_thenInvalidInputPropagatesAndCacheIsKept() {
+        when(bookServiceClient.addBook(requestModel)).thenReturn(Mono.error(new InvalidInputException("Invalid copiesAvailable")));
+
+        assertThrows(InvalidInputException.class, () -> bookService.addBook(requestModel).block());
+
+        verifyNoInteractions(bookCatalogCache);
+    }
+
+    @Test
+    void whenUpdateBook_thenCatalogCacheIsInvalidated() {
+        when(bookServiceClient.updateBook(requestModel, bookId, "\"1\"")).thenReturn(Mono.just(book()));
+
+        bookService.updateBook(requestModel, bookId, "\"1\"").block();
+
+        verify(bookCatalogCache).invalidate(bookId);
+    }
+
+    @Test
+    void whenRemoveBook_thenVerifyClientCallAndCatalogCacheIsInvalidated() {
+        when(bookServiceClient.deleteBook(bookId, "\"1\"")).thenReturn(Mono.empty());
+
+        bookService.removeBook(bookId, "\"1\"").block();
+
+        verify(bookServiceClient, times(1)).deleteBook(bookId, "\"1\"");
+        verify(bookCatalogCache).invalidate(bookId);
+    }
+
+    private BookResponseModel book() {
+        return new BookResponseModel(bookId, "John", "Doe", GenreEnum.FICTION, "Test Title", "Test Author", 5, null, null);
+    }
+}
@@ -2,6 +2,7 @@ package com.nathanroos.library.apigateway.businesslayer.loan;
 
 import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
 import com.nathanroos.library.apigateway.domainclientlayer.loan.LoanServiceClient;
+import com.nathanroos.library.apigateway.presentationlayer.loan.LoanPageResponseModel;
 import com.nathanroos.library.apigateway.presentationlayer.loan.LoanRequestModel;
 import com.nathanroos.library.apigateway.presentationlayer.loan.LoanResponseModel;
 import org.junit.jupiter.api.BeforeEach;
@@ -76,9 +77,9 @@ class LoanServiceUnitTest {
 
     @Test
     void whenGetAllLoans_thenReturnList() {
-        when(loanServiceClient.getLoans(accountId)).thenReturn(List.of(responseModel));
+        when(loanServiceClient.getLoans(accountId, null, null, null, null, null)).thenReturn(new LoanPageResponseModel(List.of(responseModel), null));
 
-        var result = loanService.getAllLoansByAccountId(accountId);
+        var result = loanService.getAllLoansByAccountId(accountId, null, null, null, null, null).getLoans();
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -87,9 +88,29 @@ class LoanServiceUnitTest {
 
     @Test
     void whenGetAllLoansIsEmpty_thenReturnEmptyList() {
-        when(loanServiceClient.getLoans(accountId)).thenReturn(Collections.emptyList());
+        when(loanServiceClient.getLoans(accountId, null, null, null, null, null)).thenReturn(new LoanPageResponseModel(Collections.emptyList(), null));
 
-        var result = loanService.getAllLoansByAccountId(accountId);
+        var result = loanService.getAllLoansByAccountId(accountId, null, null, null, null, null).getLoans();
+
+        assertNotNull(result);
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void whenGetAllLoansHasNoBody_thenReturnEmptyPage() {
+        when(loanServiceClient.getLoans(accountId, null, null, null, null, null)).thenReturn(null);
+
+        var result = loanService.getAllLoansByAccountId(accountId, null, null, null, null, null);
+
+        assertTrue(result.getLoans().isEmpty());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void whenGetAllLoansHasNoLoanList_thenReturnEmptyList() {
+        when(loanServiceClient.getLoans(accountId, null, null, null, null, null)).thenReturn(new LoanPageResponseModel(null, null));
+
+        var result = loanService.getAllLoansByAccountId(accountId, null, null, null, null, null).getLoans();
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
@@ -0,0 +1,92 @@
+package com.nathanroos.library.apigateway.businesslayer.loan;
+
+import com.nathanroos.library.apigateway.ExceptionsHandling.InvalidInputException;
+import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.domainclientlayer.loan.ReactiveLoanServiceClient;
+import com.nathanroos.library.apigateway.presentationlayer.loan.LoanPageResponseModel;
+import com.nathanroos.library.apigateway.presentationlayer.loan.LoanRequestModel;
+import com.nathanroos.library.apigateway.presentationlayer.loan.LoanResponseModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.hateoas.IanaLinkRelations;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveLoanServiceUnitTest {
+
+    private static final String ACCOUNT_ID = "c3d4e5f6-e29b-41d4-a716-446655440000";
+    private static final String LOAN_ID = "123e4567-e89b-12d3-a456-426614174000";
+
+    @Mock
+    private ReactiveLoanServiceClient loanServiceClient;
+
+    private ReactiveLoanServiceImpl loanService;
+
+    @BeforeEach
+    void setUp() {
+        loanService = new ReactiveLoanServiceImpl(loanServiceClient);
+    }
+
+    @Test
+    void whenGetLoanByLoanId_thenReturnLoanWithLinks() {
+        when(loanServiceClient.getLoanByLoanId(ACCOUNT_ID, LOAN_ID)).thenReturn(Mono.just(loan()));
+
+        LoanResponseModel result = loanService.getLoanByLoanId(ACCOUNT_ID, LOAN_ID).block();
+
+        assertNotNull(result);
+        assertEquals("/api/v1/accounts/" + ACCOUNT_ID + "/loans/" + LOAN_ID, result.getRequiredLink(IanaLinkRelations.SELF).getHref());
+        assertEquals("/api/v1/accounts/" + ACCOUNT_ID + "/loans", result.getRequiredLink("loans").getHref());
+    }
+
+    @Test
+    void whenGetLoanByLoanIdIsEmpty_thenThrowNotFoundException() {
+        when(loanServiceClient.getLoanByLoanId(ACCOUNT_ID, LOAN_ID)).thenReturn(Mono.empty());
+
+        NotFoundException ex = assertThrows(NotFoundException.class, () -> loanService.getLoanByLoanId(ACCOUNT_ID, LOAN_ID).block());
+
+        assertEquals("Loan with ID " + LOAN_ID + " not found for account " + ACCOUNT_ID, ex.getMessage());
+    }
+
+    @Test
+    void whenGetAllLoans_thenEveryLoanGetsLinksAndTheCursorIsKept() {
+        when(loanServiceClient.getLoans(ACCOUNT_ID, "ACTIVE", null, null, null, 1))
+                .thenReturn(Mono.just(new LoanPageResponseModel(List.of(loan()), "abc")));
+
+        LoanPageResponseModel page = loanService.getAllLoansByAccountId(ACCOUNT_ID, "ACTIVE", null, null, null, 1).block();
+
+        assertNotNull(page);
+        assertEquals("abc", page.getNextCursor());
+        assertTrue(page.getLoans().get(0).getLink(IanaLinkRelations.SELF).isPresent());
+    }
+
+    @Test
+    void whenAddLoanIsRejected_thenInvalidInputPropagates() {
+        LoanRequestModel request = LoanRequestModel.builder().accountId(ACCOUNT_ID).build();
+        when(loanServiceClient.addLoan(ACCOUNT_ID, request)).thenReturn(Mono.error(new InvalidInputException("Book has no copies available")));
+
+        InvalidInputException ex = assertThrows(InvalidInputException.class, () -> loanService.addLoan(request, ACCOUNT_ID).block());
+
+        assertEquals("Book has no copies available", ex.getMessage());
+    }
+
+    @Test
+    void whenRemoveLoan_thenVerifyClientCall() {
+        when(loanServiceClient.deleteLoan(ACCOUNT_ID, LOAN_ID)).thenReturn(Mono.empty());
+
+        loanService.removeLoan(ACCOUNT_ID, LOAN_ID).block();
+
+        verify(loanServiceClient, times(1)).deleteLoan(ACCOUNT_ID, LOAN_ID);
+    }
+
+    private static LoanResponseModel loan() {
+        return LoanResponseModel.builder().loanId(LOAN_ID).accountId(ACCOUNT_ID).build();
+    }
+}
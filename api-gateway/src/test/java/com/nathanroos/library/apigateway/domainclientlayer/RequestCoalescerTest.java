@@ -0,0 +1,141 @@
+package com.nathanroos.library.apigateway.domainclientlayer;
+
+import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.presentationlayer.customer.LibraryAccountResponseModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+
+    private static final int CALLERS = 50;
+
+    private static final String KEY = "http://localhost:7001/api/v1/accounts/acc123";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RequestCoalescer coalescer;
+
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer("customer-service", meterRegistry);
+        callers = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void whenIdenticalCallsOverlap_thenDownstreamIsCalledOnce() throws Exception {
+        AtomicInteger downstreamCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<LibraryAccountResponseModel>> results = submitAll(() -> {
+            downstreamCalls.incrementAndGet();
+            await(release);
+            return LibraryAccountResponseModel.builder().accountId("acc123").firstname("John").build();
+        });
+        waitForCollapsed(CALLERS - 1);
+        release.countDown();
+
+        List<LibraryAccountResponseModel> accounts = new ArrayList<>();
+        for (Future<LibraryAccountResponseModel> result : results) {
+            accounts.add(result.get(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1, downstreamCalls.get());
+        assertEquals(1.0, count("executed"));
+        assertEquals(CALLERS - 1, count("collapsed"));
+        assertTrue(accounts.stream().allMatch(account -> "John".equals(account.getFirstname())));
+        // each caller owns its instance, so links added by one are not seen by another
+        assertEquals(CALLERS, accounts.stream().map(System::identityHashCode).distinct().count());
+    }
+
+    @Test
+    void whenSharedCallFails_thenEveryCallerGetsTheException() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<LibraryAccountResponseModel>> results = submitAll(() -> {
+            await(release);
+            throw new NotFoundException("Unknown accountId: acc123");
+        });
+        waitForCollapsed(CALLERS - 1);
+        release.countDown();
+
+        for (Future<LibraryAccountResponseModel> result : results) {
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(NotFoundException.class, ex.getCause());
+            assertEquals("Unknown accountId: acc123", ex.getCause().getMessage());
+        }
+    }
+
+    @Test
+    void whenCallCompletes_thenNextCallGoesDownstreamAgain() {
+        AtomicInteger downstreamCalls = new AtomicInteger();
+
+        coalescer.execute(KEY, downstreamCalls::incrementAndGet, value -> value);
+        coalescer.execute(KEY, downstreamCalls::incrementAndGet, value -> value);
+
+        assertEquals(2, downstreamCalls.get());
+        assertEquals(0.0, count("collapsed"));
+        assertEquals(0.0, meterRegistry.get("gateway.coalescer.in-flight").gauge().value());
+    }
+
+    @Test
+    void whenKeysDiffer_thenCallsAreNotCollapsed() {
+        assertEquals("a", coalescer.execute(KEY + "/a", () -> "a", value -> value));
+        assertEquals("b", coalescer.execute(KEY + "/b", () -> "b", value -> value));
+
+        assertEquals(2.0, count("executed"));
+    }
+
+    private List<Future<LibraryAccountResponseModel>> submitAll(Supplier<LibraryAccountResponseModel> call) {
+        List<Future<LibraryAccountResponseModel>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> coalescer.execute(KEY, call, RequestCoalescerTest::copy)));
+        }
+        return results;
+    }
+
+    private void waitForCollapsed(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count("collapsed") < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("gateway.coalescer.calls").tag("outcome", outcome).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static LibraryAccountResponseModel copy(LibraryAccountResponseModel account) {
+        return LibraryAccountResponseModel.builder().accountId(account.getAccountId()).firstname(account.getFirstname()).build();
+    }
+}
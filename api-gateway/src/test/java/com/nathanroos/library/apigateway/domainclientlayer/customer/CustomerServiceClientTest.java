@@ -4,15 +4,19 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nathanroos.library.apigateway.ExceptionsHandling.HttpErrorInfo;
 import com.nathanroos.library.apigateway.ExceptionsHandling.InvalidInputException;
 import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.ExceptionsHandling.PreconditionFailedException;
 import com.nathanroos.library.apigateway.presentationlayer.customer.LibraryAccountRequestModel;
 import com.nathanroos.library.apigateway.presentationlayer.customer.LibraryAccountResponseModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -29,7 +33,6 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class CustomerServiceClientTest {
 
-    @InjectMocks
     private CustomerServiceClient customerServiceClient;
 
     @Mock
@@ -43,7 +46,7 @@ class CustomerServiceClientTest {
 
     @BeforeEach
     void setup() {
-        customerServiceClient = new CustomerServiceClient(restTemplate, objectMapper, host, port);
+        customerServiceClient = new CustomerServiceClient(restTemplate, objectMapper, host, port, new SimpleMeterRegistry());
     }
 
     @Test
@@ -54,7 +57,7 @@ class CustomerServiceClientTest {
                 .firstname("John")
                 .lastname("Doe")
                 .build();
-        when(restTemplate.getForObject(anyString(), eq(LibraryAccountResponseModel.class))).thenReturn(mockAccount);
+        when(restTemplate.getForEntity(anyString(), eq(LibraryAccountResponseModel.class))).thenReturn(ResponseEntity.ok(mockAccount));
 
         LibraryAccountResponseModel result = customerServiceClient.getAccountByAccountId(accountId);
 
@@ -92,9 +95,9 @@ class CustomerServiceClientTest {
         LibraryAccountResponseModel updated = LibraryAccountResponseModel.builder().accountId("acc123").firstname("John").build();
         String accountId = "acc123";
 
-        when(restTemplate.getForObject(anyString(), eq(LibraryAccountResponseModel.class))).thenReturn(updated);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PUT), any(HttpEntity.class), eq(LibraryAccountResponseModel.class))).thenReturn(ResponseEntity.ok(updated));
 
-        LibraryAccountResponseModel result = customerServiceClient.updateAccount(request, accountId);
+        LibraryAccountResponseModel result = customerServiceClient.updateAccount(request, accountId, null);
 
         assertNotNull(result);
         assertEquals("John", result.getFirstname());
@@ -102,16 +105,16 @@ class CustomerServiceClientTest {
 
     @Test
     void testDeleteAccount_Success() {
-        doNothing().when(restTemplate).delete(anyString());
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(Void.class))).thenReturn(ResponseEntity.noContent().build());
 
-        assertDoesNotThrow(() -> customerServiceClient.removeAccount("acc123"));
+        assertDoesNotThrow(() -> customerServiceClient.removeAccount("acc123", null));
     }
 
     @Test
     void testGetAccountById_NotFound() throws Exception {
         String accountId = "acc123";
         HttpClientErrorException ex = HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
-        when(restTemplate.getForObject(anyString(), eq(LibraryAccountResponseModel.class))).thenThrow(ex);
+        when(restTemplate.getForEntity(anyString(), eq(LibraryAccountResponseModel.class))).thenThrow(ex);
         when(objectMapper.readValue(anyString(), eq(HttpErrorInfo.class)))
                 .thenReturn(new HttpErrorInfo(HttpStatus.NOT_FOUND, "Not Found", "/accounts/" + accountId));
 
@@ -133,11 +136,41 @@ class CustomerServiceClientTest {
     void testDeleteAccount_NotFound() throws Exception {
         String accountId = "acc123";
         HttpClientErrorException ex = HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
-        doThrow(ex).when(restTemplate).delete(anyString());
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(Void.class))).thenThrow(ex);
         when(objectMapper.readValue(anyString(), eq(HttpErrorInfo.class)))
                 .thenReturn(new HttpErrorInfo(HttpStatus.NOT_FOUND, "Not Found", "/accounts/" + accountId));
 
-        assertThrows(NotFoundException.class, () -> customerServiceClient.removeAccount(accountId));
+        assertThrows(NotFoundException.class, () -> customerServiceClient.removeAccount(accountId, null));
+    }
+
+    @Test
+    void testUpdateAccount_ForwardsIfMatchAndKeepsTheNewETag() {
+        LibraryAccountRequestModel request = LibraryAccountRequestModel.builder().firstname("John").lastname("Doe").build();
+        LibraryAccountResponseModel updated = LibraryAccountResponseModel.builder().accountId("acc123").firstname("John").build();
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PUT), any(HttpEntity.class), eq(LibraryAccountResponseModel.class)))
+                .thenReturn(ResponseEntity.ok().eTag("\"4\"").body(updated));
+
+        LibraryAccountResponseModel result = customerServiceClient.updateAccount(request, "acc123", "\"3\"");
+
+        ArgumentCaptor<HttpEntity<?>> sent = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate).exchange(anyString(), eq(HttpMethod.PUT), sent.capture(), eq(LibraryAccountResponseModel.class));
+        assertEquals("\"3\"", sent.getValue().getHeaders().getFirst(HttpHeaders.IF_MATCH));
+        assertEquals(request, sent.getValue().getBody());
+        assertEquals("\"4\"", result.getEtag());
+        verify(restTemplate, never()).getForEntity(anyString(), any());
+    }
+
+    @Test
+    void testUpdateAccount_StaleIfMatch_ThrowsPreconditionFailed() throws Exception {
+        LibraryAccountRequestModel request = LibraryAccountRequestModel.builder().firstname("John").lastname("Doe").build();
+        HttpClientErrorException ex = HttpClientErrorException.create(HttpStatus.PRECONDITION_FAILED, "Precondition Failed", null, null, null);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PUT), any(HttpEntity.class), eq(LibraryAccountResponseModel.class))).thenThrow(ex);
+        when(objectMapper.readValue(anyString(), eq(HttpErrorInfo.class)))
+                .thenReturn(new HttpErrorInfo(HttpStatus.PRECONDITION_FAILED, "/accounts/acc123", "The account is at version 4, not 3"));
+
+        PreconditionFailedException thrown = assertThrows(PreconditionFailedException.class,
+                () -> customerServiceClient.updateAccount(request, "acc123", "\"3\""));
+        assertEquals("The account is at version 4, not 3", thrown.getMessage());
     }
 
     @Test
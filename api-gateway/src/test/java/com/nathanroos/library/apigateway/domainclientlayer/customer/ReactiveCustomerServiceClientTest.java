@@ -0,0 +1,103 @@
+package com.nathanroos.library.apigateway.domainclientlayer.customer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nathanroos.library.apigateway.ExceptionsHandling.HttpErrorInfo;
+import com.nathanroos.library.apigateway.ExceptionsHandling.InvalidInputException;
+import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.presentationlayer.customer.LibraryAccountRequestModel;
+import com.nathanroos.library.apigateway.presentationlayer.customer.LibraryAccountResponseModel;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReactiveCustomerServiceClientTest {
+
+    private static final Duration REMOTE_LATENCY = Duration.ofMillis(200);
+
+    private final ObjectMapper objectMapper = mock(ObjectMapper.class);
+
+    @Test
+    void testGetAccountById_Success() {
+        ReactiveCustomerServiceClient client = client(request -> Mono.just(json(HttpStatus.OK,
+                "{\"accountId\":\"acc123\",\"firstname\":\"John\",\"lastname\":\"Doe\"}")));
+
+        LibraryAccountResponseModel result = client.getAccountByAccountId("acc123").block();
+
+        assertNotNull(result);
+        assertEquals("acc123", result.getAccountId());
+        assertEquals("John", result.getFirstname());
+    }
+
+    @Test
+    void testGetAccountById_NotFound() throws Exception {
+        ReactiveCustomerServiceClient client = client(request -> Mono.just(json(HttpStatus.NOT_FOUND, "{}")));
+        when(objectMapper.readValue(anyString(), eq(HttpErrorInfo.class)))
+                .thenReturn(new HttpErrorInfo(HttpStatus.NOT_FOUND, "/accounts/acc123", "Unknown accountId: acc123"));
+
+        NotFoundException ex = assertThrows(NotFoundException.class, () -> client.getAccountByAccountId("acc123").block());
+
+        assertEquals("Unknown accountId: acc123", ex.getMessage());
+    }
+
+    @Test
+    void testAddAccount_InvalidInput() throws Exception {
+        ReactiveCustomerServiceClient client = client(request -> Mono.just(json(HttpStatus.UNPROCESSABLE_ENTITY, "{}")));
+        when(objectMapper.readValue(anyString(), eq(HttpErrorInfo.class)))
+                .thenReturn(new HttpErrorInfo(HttpStatus.UNPROCESSABLE_ENTITY, "/accounts", "Invalid email"));
+
+        InvalidInputException ex = assertThrows(InvalidInputException.class,
+                () -> client.addAccount(LibraryAccountRequestModel.builder().firstname("John").build()).block());
+
+        assertEquals("Invalid email", ex.getMessage());
+    }
+
+    @Test
+    void testGetAccounts_ManyInFlightRequestsOverlap() {
+        AtomicInteger calls = new AtomicInteger();
+        ReactiveCustomerServiceClient client = client(request -> {
+            calls.incrementAndGet();
+            return Mono.delay(REMOTE_LATENCY).thenReturn(json(HttpStatus.OK, "{\"accountId\":\"acc123\"}"));
+        });
+
+        long start = System.nanoTime();
+        List<LibraryAccountResponseModel> results = Flux.range(0, 200)
+                .flatMap(i -> client.getAccountByAccountId("acc" + i), 200)
+                .collectList()
+                .block();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(200, results.size());
+        assertEquals(200, calls.get());
+        // no thread is parked per request, so 200 calls cost roughly one round trip instead of 200
+        assertTrue(elapsedMs < 10 * REMOTE_LATENCY.toMillis(), "200 requests took " + elapsedMs + " ms");
+    }
+
+    private ReactiveCustomerServiceClient client(ExchangeFunction exchangeFunction) {
+        WebClient webClient = WebClient.builder().exchangeFunction(exchangeFunction).build();
+        return new ReactiveCustomerServiceClient(webClient, objectMapper, "localhost", "7001", Duration.ofSeconds(5));
+    }
+
+    private static ClientResponse json(HttpStatus status, String body) {
+        return ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+}
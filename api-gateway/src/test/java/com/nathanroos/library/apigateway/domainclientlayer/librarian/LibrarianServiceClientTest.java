@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nathanroos.library.apigateway.ExceptionsHandling.HttpErrorInfo;
 import com.nathanroos.library.apigateway.ExceptionsHandling.InvalidInputException;
 import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.ExceptionsHandling.PreconditionFailedException;
 import com.nathanroos.library.apigateway.presentationlayer.librarian.LibrarianRequestModel;
 import com.nathanroos.library.apigateway.presentationlayer.librarian.LibrarianResponseModel;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +14,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -51,7 +53,7 @@ class LibrarianServiceClientTest {
     void testGetLibrarian_Success() {
         String id = "lib123";
         LibrarianResponseModel librarian = LibrarianResponseModel.builder().librarianId(id).build();
-        when(restTemplate.getForObject(anyString(), eq(LibrarianResponseModel.class))).thenReturn(librarian);
+        when(restTemplate.getForEntity(anyString(), eq(LibrarianResponseModel.class))).thenReturn(ResponseEntity.ok(librarian));
 
         LibrarianResponseModel result = librarianServiceClient.getLibrarian(id);
 
@@ -63,13 +65,23 @@ class LibrarianServiceClientTest {
     void testGetLibrarian_NotFound() throws Exception {
         String id = "lib123";
         HttpClientErrorException ex = HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, "{\"message\":\"Not Found\"}".getBytes(), null);
-        when(restTemplate.getForObject(anyString(), eq(LibrarianResponseModel.class))).thenThrow(ex);
+        when(restTemplate.getForEntity(anyString(), eq(LibrarianResponseModel.class))).thenThrow(ex);
         when(objectMapper.readValue(anyString(), eq(HttpErrorInfo.class)))
                 .thenReturn(new HttpErrorInfo(HttpStatus.NOT_FOUND, "Not Found", "/workers/" + id));
 
         assertThrows(NotFoundException.class, () -> librarianServiceClient.getLibrarian(id));
     }
 
+    @Test
+    void testGetLibrarian_KeepsTheETag() {
+        String id = "lib123";
+        LibrarianResponseModel librarian = LibrarianResponseModel.builder().librarianId(id).build();
+        when(restTemplate.getForEntity(anyString(), eq(LibrarianResponseModel.class)))
+                .thenReturn(ResponseEntity.ok().eTag("\"2\"").body(librarian));
+
+        assertEquals("\"2\"", librarianServiceClient.getLibrarian(id).getEtag());
+    }
+
     @Test
     void testGetLibrarian_ObjectMapperError() throws Exception {
         String id = "lib123";
@@ -77,7 +89,7 @@ class LibrarianServiceClientTest {
                 HttpStatus.NOT_FOUND, "Not Found", null, "{}".getBytes(), null);
 
         // Mock RestTemplate throwing the HttpClientErrorException
-        when(restTemplate.getForObject(anyString(), eq(LibrarianResponseModel.class)))
+        when(restTemplate.getForEntity(anyString(), eq(LibrarianResponseModel.class)))
                 .thenThrow(ex);
 
         // Use doAnswer or doThrow for checked exceptions on readValue()
@@ -161,9 +173,9 @@ class LibrarianServiceClientTest {
         String id = "lib123";
         LibrarianRequestModel request = LibrarianRequestModel.builder().firstname("John").build();
         LibrarianResponseModel updated = LibrarianResponseModel.builder().librarianId(id).build();
-        when(restTemplate.getForObject(anyString(), eq(LibrarianResponseModel.class))).thenReturn(updated);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PUT), any(HttpEntity.class), eq(LibrarianResponseModel.class))).thenReturn(ResponseEntity.ok(updated));
 
-        LibrarianResponseModel result = librarianServiceClient.updateLibrarian(id, request);
+        LibrarianResponseModel result = librarianServiceClient.updateLibrarian(id, request, null);
 
         assertNotNull(result);
         assertEquals(id, result.getLibrarianId());
@@ -174,28 +186,39 @@ class LibrarianServiceClientTest {
         String id = "lib123";
         LibrarianRequestModel request = LibrarianRequestModel.builder().firstname("John").build();
         HttpClientErrorException ex = HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, "{}".getBytes(), null);
-        doThrow(ex).when(restTemplate).put(anyString(), eq(request));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PUT), any(HttpEntity.class), eq(LibrarianResponseModel.class))).thenThrow(ex);
         when(objectMapper.readValue(anyString(), eq(HttpErrorInfo.class))).thenReturn(new HttpErrorInfo(HttpStatus.NOT_FOUND, "Not Found", "/workers/" + id));
 
-        assertThrows(NotFoundException.class, () -> librarianServiceClient.updateLibrarian(id, request));
+        assertThrows(NotFoundException.class, () -> librarianServiceClient.updateLibrarian(id, request, null));
     }
 
     @Test
     void testDeleteLibrarian_Success() {
-        doNothing().when(restTemplate).delete(anyString());
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(Void.class))).thenReturn(ResponseEntity.noContent().build());
 
-        assertDoesNotThrow(() -> librarianServiceClient.deleteLibrarian("lib123"));
+        assertDoesNotThrow(() -> librarianServiceClient.deleteLibrarian("lib123", null));
     }
 
     @Test
     void testDeleteLibrarian_NotFound() throws Exception {
         String id = "lib123";
         HttpClientErrorException ex = HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, "{}".getBytes(), null);
-        doThrow(ex).when(restTemplate).delete(anyString());
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(Void.class))).thenThrow(ex);
         when(objectMapper.readValue(anyString(), eq(HttpErrorInfo.class)))
                 .thenReturn(new HttpErrorInfo(HttpStatus.NOT_FOUND, "Not Found", "/workers/" + id));
 
-        assertThrows(NotFoundException.class, () -> librarianServiceClient.deleteLibrarian(id));
+        assertThrows(NotFoundException.class, () -> librarianServiceClient.deleteLibrarian(id, null));
+    }
+
+    @Test
+    void testDeleteLibrarian_StaleIfMatch_ThrowsPreconditionFailed() throws Exception {
+        String id = "lib123";
+        HttpClientErrorException ex = HttpClientErrorException.create(HttpStatus.PRECONDITION_FAILED, "Precondition Failed", null, "{}".getBytes(), null);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(Void.class))).thenThrow(ex);
+        when(objectMapper.readValue(anyString(), eq(HttpErrorInfo.class)))
+                .thenReturn(new HttpErrorInfo(HttpStatus.PRECONDITION_FAILED, "/workers/" + id, "The librarian is at version 2, not 1"));
+
+        assertThrows(PreconditionFailedException.class, () -> librarianServiceClient.deleteLibrarian(id, "\"1\""));
     }
 
 
@@ -218,10 +241,10 @@ class LibrarianServiceClientTest {
         String librarianId = "lib123";
         LibrarianRequestModel request = LibrarianRequestModel.builder().firstname("John").build();
 
-        when(restTemplate.getForObject(anyString(), eq(LibrarianResponseModel.class)))
-                .thenReturn(null);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PUT), any(HttpEntity.class), eq(LibrarianResponseModel.class)))
+                .thenReturn(ResponseEntity.ok().build());
 
-        LibrarianResponseModel result = librarianServiceClient.updateLibrarian(librarianId, request);
+        LibrarianResponseModel result = librarianServiceClient.updateLibrarian(librarianId, request, null);
 
         assertNull(result);  // Confirm it's null but no exception.
     }
@@ -232,10 +255,10 @@ class LibrarianServiceClientTest {
         String librarianId = "lib123";
         HttpClientErrorException ex = HttpClientErrorException.create(
                 HttpStatus.INTERNAL_SERVER_ERROR, "Server error", null, "Error".getBytes(), null);
-        doThrow(ex).when(restTemplate).delete(anyString());
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(Void.class))).thenThrow(ex);
 
         RuntimeException thrown = assertThrows(RuntimeException.class,
-                () -> librarianServiceClient.deleteLibrarian(librarianId));
+                () -> librarianServiceClient.deleteLibrarian(librarianId, null));
         assertTrue(thrown.getMessage().contains("500")); // Adjust based on actual error message
     }
 
@@ -254,7 +277,7 @@ class LibrarianServiceClientTest {
     @Test
     void testGetLibrarian_ThrowsUnexpectedException() {
         String librarianId = "lib123";
-        when(restTemplate.getForObject(anyString(), eq(LibrarianResponseModel.class)))
+        when(restTemplate.getForEntity(anyString(), eq(LibrarianResponseModel.class)))
                 .thenThrow(new RuntimeException("Unexpected error"));
 
         assertThrows(RuntimeException.class, () -> librarianServiceClient.getLibrarian(librarianId));
@@ -0,0 +1,184 @@
+package com.nathanroos.library.apigateway.domainclientlayer.library;
+
+import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookPageResponseModel;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookResponseModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.hateoas.Link;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookCatalogCacheTest {
+
+    private static final String BOOK_ID = "550e8400-e29b-41d4-a716-446655440000";
+
+    @Mock
+    private BookServiceClient bookServiceClient;
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private BookCatalogCache cache;
+
+    @BeforeEach
+    void setup() {
+        BookCacheProperties properties = new BookCacheProperties();
+        properties.setTtl(Duration.ofSeconds(30));
+        properties.setMaxStale(Duration.ofMinutes(10));
+        // refreshes run on the calling thread so the test can observe them deterministically
+        cache = new BookCatalogCache(bookServiceClient, properties, new SimpleMeterRegistry(), nanos::get, Runnable::run);
+    }
+
+    @Test
+    void whenReadTwice_thenLibraryServiceIsCalledOnce() {
+        when(bookServiceClient.getBookByBookId(BOOK_ID)).thenReturn(book("1984"));
+
+        cache.getBookByBookId(BOOK_ID);
+        BookResponseModel result = cache.getBookByBookId(BOOK_ID);
+
+        assertEquals("1984", result.getTitle());
+        verify(bookServiceClient, times(1)).getBookByBookId(BOOK_ID);
+    }
+
+    @Test
+    void whenCallerAddsLinks_thenCachedEntryStaysClean() {
+        when(bookServiceClient.getBookByBookId(BOOK_ID)).thenReturn(book("1984"));
+
+        cache.getBookByBookId(BOOK_ID).add(Link.of("/api/v1/books/" + BOOK_ID));
+
+        assertTrue(cache.getBookByBookId(BOOK_ID).getLinks().isEmpty());
+    }
+
+    @Test
+    void whenTtlElapsedAndLibraryServiceDown_thenStaleBookIsServed() {
+        when(bookServiceClient.getBookByBookId(BOOK_ID))
+                .thenReturn(book("1984"))
+                .thenThrow(new ResourceAccessException("Read timed out"));
+        cache.getBookByBookId(BOOK_ID);
+
+        advance(Duration.ofSeconds(31));
+
+        assertEquals("1984", cache.getBookByBookId(BOOK_ID).getTitle());
+        verify(bookServiceClient, times(2)).getBookByBookId(BOOK_ID);
+    }
+
+    @Test
+    void whenTtlElapsed_thenRefreshedValueIsServedAfterwards() {
+        when(bookServiceClient.getBookByBookId(BOOK_ID))
+                .thenReturn(book("1984"))
+                .thenReturn(book("Animal Farm"));
+        cache.getBookByBookId(BOOK_ID);
+
+        advance(Duration.ofSeconds(31));
+        cache.getBookByBookId(BOOK_ID);
+
+        assertEquals("Animal Farm", cache.getBookByBookId(BOOK_ID).getTitle());
+    }
+
+    @Test
+    void whenRefreshFindsBookDeleted_thenEntryIsEvicted() {
+        when(bookServiceClient.getBookByBookId(BOOK_ID))
+                .thenReturn(book("1984"))
+                .thenThrow(new NotFoundException("Unknown bookId: " + BOOK_ID));
+        cache.getBookByBookId(BOOK_ID);
+
+        advance(Duration.ofSeconds(31));
+        cache.getBookByBookId(BOOK_ID);
+
+        assertThrows(NotFoundException.class, () -> cache.getBookByBookId(BOOK_ID));
+    }
+
+    @Test
+    void whenMaxStaleElapsed_thenReadWaitsForLibraryService() {
+        when(bookServiceClient.getBookByBookId(BOOK_ID))
+                .thenReturn(book("1984"))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+        cache.getBookByBookId(BOOK_ID);
+
+        advance(Duration.ofMinutes(11));
+
+        assertThrows(ResourceAccessException.class, () -> cache.getBookByBookId(BOOK_ID));
+    }
+
+    @Test
+    void whenInvalidated_thenBookAndListAreReloaded() {
+        when(bookServiceClient.getBookByBookId(BOOK_ID)).thenReturn(book("1984"), book("Animal Farm"));
+        when(bookServiceClient.getBooks(null, null, null)).thenReturn(page(book("1984")), page(book("Animal Farm")));
+        cache.getBookByBookId(BOOK_ID);
+        cache.getBooks(null, null, null);
+
+        cache.invalidate(BOOK_ID);
+
+        assertEquals("Animal Farm", cache.getBookByBookId(BOOK_ID).getTitle());
+        assertEquals("Animal Farm", cache.getBooks(null, null, null).getBooks().get(0).getTitle());
+    }
+
+    @Test
+    void whenPagesAreRead_thenEachCursorIsCachedSeparately() {
+        when(bookServiceClient.getBooks("title", null, 1)).thenReturn(new BookPageResponseModel(List.of(book("1984")), "next"));
+        when(bookServiceClient.getBooks("title", "next", 1)).thenReturn(page(book("Animal Farm")));
+
+        cache.getBooks("title", null, 1);
+        BookPageResponseModel first = cache.getBooks("title", null, 1);
+        BookPageResponseModel second = cache.getBooks("title", first.getNextCursor(), 1);
+
+        assertEquals("1984", first.getBooks().get(0).getTitle());
+        assertEquals("Animal Farm", second.getBooks().get(0).getTitle());
+        assertNull(second.getNextCursor());
+        verify(bookServiceClient, times(1)).getBooks("title", null, 1);
+    }
+
+    @Test
+    void whenBatchRead_thenOnlyMissesAreFetchedInOneCall() {
+        String otherId = "6f1d3a2b-e29b-41d4-a716-446655440001";
+        when(bookServiceClient.getBookByBookId(BOOK_ID)).thenReturn(book("1984"));
+        when(bookServiceClient.getBooksByBookIds(anyCollection())).thenReturn(Map.of(otherId, book("Animal Farm")));
+        cache.getBookByBookId(BOOK_ID);
+
+        Map<String, BookResponseModel> result = cache.getBooksByBookIds(List.of(BOOK_ID, otherId, "unknown"));
+
+        assertEquals(Set.of(BOOK_ID, otherId), result.keySet());
+        assertEquals("Animal Farm", result.get(otherId).getTitle());
+        verify(bookServiceClient, times(1)).getBooksByBookIds(argThat(ids -> Set.copyOf(ids).equals(Set.of(otherId, "unknown"))));
+    }
+
+    @Test
+    void whenDisabled_thenEveryReadGoesToLibraryService() {
+        BookCacheProperties properties = new BookCacheProperties();
+        properties.setEnabled(false);
+        cache = new BookCatalogCache(bookServiceClient, properties, new SimpleMeterRegistry());
+        when(bookServiceClient.getBooks(null, null, null)).thenReturn(page(book("1984")));
+
+        cache.getBooks(null, null, null);
+        cache.getBooks(null, null, null);
+
+        verify(bookServiceClient, times(2)).getBooks(null, null, null);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private static BookPageResponseModel page(BookResponseModel... books) {
+        return new BookPageResponseModel(List.of(books), null);
+    }
+
+    private static BookResponseModel book(String title) {
+        return new BookResponseModel(BOOK_ID, "George", "Orwell", GenreEnum.FICTION, title, "George Orwell", 5, null, null);
+    }
+}
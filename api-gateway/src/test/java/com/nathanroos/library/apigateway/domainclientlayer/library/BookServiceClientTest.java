@@ -4,16 +4,19 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nathanroos.library.apigateway.ExceptionsHandling.HttpErrorInfo;
 import com.nathanroos.library.apigateway.ExceptionsHandling.InvalidInputException;
 import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookPageResponseModel;
 import com.nathanroos.library.apigateway.presentationlayer.library.BookRequestModel;
 import com.nathanroos.library.apigateway.presentationlayer.library.BookResponseModel;
 import com.nathanroos.library.apigateway.domainclientlayer.library.GenreEnum;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -30,7 +33,6 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class BookServiceClientTest {
 
-    @InjectMocks
     private BookServiceClient bookServiceClient;
 
     @Mock
@@ -44,14 +46,14 @@ class BookServiceClientTest {
 
     @BeforeEach
     void setup() {
-        bookServiceClient = new BookServiceClient(restTemplate, objectMapper, host, port);
+        bookServiceClient = new BookServiceClient(restTemplate, objectMapper, host, port, new SimpleMeterRegistry());
     }
 
     @Test
     void testGetBookByBookId_Success() {
         String bookId = "book123";
-        BookResponseModel mockBook = new BookResponseModel(bookId, "John", "Doe", GenreEnum.FICTION, "Title", "Author", 5);
-        when(restTemplate.getForObject(anyString(), eq(BookResponseModel.class))).thenReturn(mockBook);
+        BookResponseModel mockBook = new BookResponseModel(bookId, "John", "Doe", GenreEnum.FICTION, "Title", "Author", 5, null, null);
+        when(restTemplate.getForEntity(anyString(), eq(BookResponseModel.class))).thenReturn(ResponseEntity.ok(mockBook));
 
         BookResponseModel result = bookServiceClient.getBookByBookId(bookId);
 
@@ -61,20 +63,33 @@ class BookServiceClientTest {
 
     @Test
     void testGetAllBooks_Success() {
-        List<BookResponseModel> books = List.of(new BookResponseModel("book123", "John", "Doe", GenreEnum.FICTION, "Title", "Author", 5));
+        List<BookResponseModel> books = List.of(new BookResponseModel("book123", "John", "Doe", GenreEnum.FICTION, "Title", "Author", 5, null, null));
         ResponseEntity<List<BookResponseModel>> response = new ResponseEntity<>(books, HttpStatus.OK);
         when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class))).thenReturn(response);
 
-        List<BookResponseModel> result = bookServiceClient.getBooks();
+        List<BookResponseModel> result = bookServiceClient.getBooks(null, null, null).getBooks();
 
         assertNotNull(result);
         assertEquals(1, result.size());
     }
 
+    @Test
+    void testGetBooks_NextCursorIsReadFromLinkHeader() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.LINK, "<http://localhost:8080/api/v1/books?sort=title&cursor=abc&limit=1>;rel=\"next\"");
+        ResponseEntity<List<BookResponseModel>> response = new ResponseEntity<>(List.of(), headers, HttpStatus.OK);
+        when(restTemplate.exchange(eq("http://localhost:8080/api/v1/books?sort=title&limit=1"), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class)))
+                .thenReturn(response);
+
+        BookPageResponseModel result = bookServiceClient.getBooks("title", null, 1);
+
+        assertEquals("abc", result.getNextCursor());
+    }
+
     @Test
     void testAddBook_Success() {
         BookRequestModel request = BookRequestModel.builder().firstname("John").lastname("Doe").genre(GenreEnum.FICTION).title("Title").author("Author").copiesAvailable(5).build();
-        BookResponseModel response = new BookResponseModel("book123", "John", "Doe", GenreEnum.FICTION, "Title", "Author", 5);
+        BookResponseModel response = new BookResponseModel("book123", "John", "Doe", GenreEnum.FICTION, "Title", "Author", 5, null, null);
         when(restTemplate.postForObject(anyString(), eq(request), eq(BookResponseModel.class))).thenReturn(response);
 
         BookResponseModel result = bookServiceClient.addBook(request);
@@ -85,12 +100,12 @@ class BookServiceClientTest {
     @Test
     void testUpdateBook_Success() {
         BookRequestModel request = BookRequestModel.builder().firstname("John").lastname("Doe").genre(GenreEnum.FICTION).title("Updated Title").author("Author").copiesAvailable(5).build();
-        BookResponseModel updated = new BookResponseModel("book123", "John", "Doe", GenreEnum.FICTION, "Updated Title", "Author", 5);
+        BookResponseModel updated = new BookResponseModel("book123", "John", "Doe", GenreEnum.FICTION, "Updated Title", "Author", 5, null, null);
         String bookId = "book123";
 
-        when(restTemplate.getForObject(anyString(), eq(BookResponseModel.class))).thenReturn(updated);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PUT), any(HttpEntity.class), eq(BookResponseModel.class))).thenReturn(ResponseEntity.ok(updated));
 
-        BookResponseModel result = bookServiceClient.updateBook(request, bookId);
+        BookResponseModel result = bookServiceClient.updateBook(request, bookId, null);
 
         assertNotNull(result);
         assertEquals("Updated Title", result.getTitle());
@@ -98,16 +113,16 @@ class BookServiceClientTest {
 
     @Test
     void testDeleteBook_Success() {
-        doNothing().when(restTemplate).delete(anyString());
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(Void.class))).thenReturn(ResponseEntity.noContent().build());
 
-        assertDoesNotThrow(() -> bookServiceClient.deleteBook("book123"));
+        assertDoesNotThrow(() -> bookServiceClient.deleteBook("book123", null));
     }
 
     @Test
     void testGetBookByBookId_NotFound() throws Exception {
         String bookId = "book123";
         HttpClientErrorException ex = HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
-        when(restTemplate.getForObject(anyString(), eq(BookResponseModel.class))).thenThrow(ex);
+        when(restTemplate.getForEntity(anyString(), eq(BookResponseModel.class))).thenThrow(ex);
         when(objectMapper.readValue(anyString(), eq(HttpErrorInfo.class)))
                 .thenReturn(new HttpErrorInfo(HttpStatus.NOT_FOUND, "Not Found", "/books/" + bookId));
 
@@ -129,11 +144,11 @@ class BookServiceClientTest {
     void testDeleteBook_NotFound() throws Exception {
         String bookId = "book123";
         HttpClientErrorException ex = HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
-        doThrow(ex).when(restTemplate).delete(anyString());
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(Void.class))).thenThrow(ex);
         when(objectMapper.readValue(anyString(), eq(HttpErrorInfo.class)))
                 .thenReturn(new HttpErrorInfo(HttpStatus.NOT_FOUND, "Not Found", "/books/" + bookId));
 
-        assertThrows(NotFoundException.class, () -> bookServiceClient.deleteBook(bookId));
+        assertThrows(NotFoundException.class, () -> bookServiceClient.deleteBook(bookId, null));
     }
 
     @Test
@@ -142,7 +157,7 @@ class BookServiceClientTest {
         when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class)))
                 .thenThrow(ex);
 
-        HttpClientErrorException thrown = assertThrows(HttpClientErrorException.class, () -> bookServiceClient.getBooks());
+        HttpClientErrorException thrown = assertThrows(HttpClientErrorException.class, () -> bookServiceClient.getBooks(null, null, null).getBooks());
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, thrown.getStatusCode());
     }
 
@@ -152,7 +167,7 @@ class BookServiceClientTest {
         when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class)))
                 .thenReturn(response);
 
-        List<BookResponseModel> result = bookServiceClient.getBooks();
+        List<BookResponseModel> result = bookServiceClient.getBooks(null, null, null).getBooks();
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
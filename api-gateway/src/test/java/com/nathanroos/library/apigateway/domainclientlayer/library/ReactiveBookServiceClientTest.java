@@ -0,0 +1,116 @@
+package com.nathanroos.library.apigateway.domainclientlayer.library;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nathanroos.library.apigateway.ExceptionsHandling.HttpErrorInfo;
+import com.nathanroos.library.apigateway.ExceptionsHandling.InvalidInputException;
+import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.ExceptionsHandling.PreconditionFailedException;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookPageResponseModel;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookRequestModel;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookResponseModel;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReactiveBookServiceClientTest {
+
+    private final ObjectMapper objectMapper = mock(ObjectMapper.class);
+
+    @Test
+    void testGetBookById_Success() {
+        ReactiveBookServiceClient client = client(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.ETAG, "\"3\"")
+                .body("{\"bookId\":\"book123\",\"title\":\"1984\"}")
+                .build()));
+
+        BookResponseModel result = client.getBookByBookId("book123").block();
+
+        assertNotNull(result);
+        assertEquals("book123", result.getBookId());
+        assertEquals("1984", result.getTitle());
+        assertEquals("\"3\"", result.getEtag());
+    }
+
+    @Test
+    void testGetBookById_NotFound() throws Exception {
+        ReactiveBookServiceClient client = client(request -> Mono.just(json(HttpStatus.NOT_FOUND, "{}")));
+        when(objectMapper.readValue(anyString(), eq(HttpErrorInfo.class)))
+                .thenReturn(new HttpErrorInfo(HttpStatus.NOT_FOUND, "/books/book123", "Unknown bookId: book123"));
+
+        NotFoundException ex = assertThrows(NotFoundException.class, () -> client.getBookByBookId("book123").block());
+
+        assertEquals("Unknown bookId: book123", ex.getMessage());
+    }
+
+    @Test
+    void testAddBook_InvalidInput() throws Exception {
+        ReactiveBookServiceClient client = client(request -> Mono.just(json(HttpStatus.UNPROCESSABLE_ENTITY, "{}")));
+        when(objectMapper.readValue(anyString(), eq(HttpErrorInfo.class)))
+                .thenReturn(new HttpErrorInfo(HttpStatus.UNPROCESSABLE_ENTITY, "/books", "Invalid copiesAvailable"));
+
+        InvalidInputException ex = assertThrows(InvalidInputException.class,
+                () -> client.addBook(BookRequestModel.builder().title("1984").copiesAvailable(-1).build()).block());
+
+        assertEquals("Invalid copiesAvailable", ex.getMessage());
+    }
+
+    @Test
+    void testUpdateBook_SendsIfMatchAndMapsPreconditionFailed() throws Exception {
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        ReactiveBookServiceClient client = client(request -> {
+            sent.set(request);
+            return Mono.just(json(HttpStatus.PRECONDITION_FAILED, "{}"));
+        });
+        when(objectMapper.readValue(anyString(), eq(HttpErrorInfo.class)))
+                .thenReturn(new HttpErrorInfo(HttpStatus.PRECONDITION_FAILED, "/books/book123", "Book book123 has changed"));
+
+        PreconditionFailedException ex = assertThrows(PreconditionFailedException.class,
+                () -> client.updateBook(BookRequestModel.builder().title("1984").build(), "book123", "\"2\"").block());
+
+        assertEquals("Book book123 has changed", ex.getMessage());
+        assertEquals("\"2\"", sent.get().headers().getFirst(HttpHeaders.IF_MATCH));
+    }
+
+    @Test
+    void testGetBooks_ReadsNextCursorFromLinkHeader() {
+        ReactiveBookServiceClient client = client(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.LINK, "<http://localhost:7002/api/v1/books?limit=1&cursor=abc>; rel=\"next\"")
+                .body("[{\"bookId\":\"book123\"}]")
+                .build()));
+
+        BookPageResponseModel page = client.getBooks(null, null, 1).block();
+
+        assertNotNull(page);
+        assertEquals(1, page.getBooks().size());
+        assertEquals("abc", page.getNextCursor());
+    }
+
+    private ReactiveBookServiceClient client(ExchangeFunction exchangeFunction) {
+        WebClient webClient = WebClient.builder().exchangeFunction(exchangeFunction).build();
+        return new ReactiveBookServiceClient(webClient, objectMapper, "localhost", "7002", Duration.ofSeconds(5));
+    }
+
+    private static ClientResponse json(HttpStatus status, String body) {
+        return ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nathanroos.library.apigateway.ExceptionsHandling.HttpErrorInfo;
 import com.nathanroos.library.apigateway.ExceptionsHandling.InvalidInputException;
 import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.presentationlayer.loan.LoanPageResponseModel;
 import com.nathanroos.library.apigateway.presentationlayer.loan.LoanRequestModel;
 import com.nathanroos.library.apigateway.presentationlayer.loan.LoanResponseModel;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +14,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -81,22 +83,37 @@ class LoanServiceClientTest {
         ResponseEntity<List<LoanResponseModel>> response = new ResponseEntity<>(loans, HttpStatus.OK);
         when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class))).thenReturn(response);
 
-        List<LoanResponseModel> result = loanServiceClient.getLoans(accountId);
+        List<LoanResponseModel> result = loanServiceClient.getLoans(accountId, null, null, null, null, null).getLoans();
 
         assertNotNull(result);
         assertEquals(1, result.size());
     }
 
+    @Test
+    void testGetLoans_FiltersArePassedThroughAndNextCursorIsReadFromLinkHeader() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.LINK, "<http://localhost:7004/api/v1/accounts/acc123/loans?status=ACTIVE&cursor=abc&limit=2>;rel=\"next\"");
+        ResponseEntity<List<LoanResponseModel>> response = new ResponseEntity<>(List.of(), headers, HttpStatus.OK);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class))).thenReturn(response);
+
+        LoanPageResponseModel page = loanServiceClient.getLoans("acc123", "ACTIVE", null, null, null, 2);
+
+        assertEquals("abc", page.getNextCursor());
+        verify(restTemplate).exchange(eq("http://" + host + ":" + port + "/api/v1/accounts/acc123/loans?status=ACTIVE&limit=2"),
+                eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class));
+    }
+
     @Test
     void testGetAllLoans_Empty() {
         String accountId = "acc123";
         var response = new ResponseEntity<>(Collections.emptyList(), HttpStatus.OK);
         when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class))).thenReturn(response);
 
-        var result = loanServiceClient.getLoans(accountId);
+        var result = loanServiceClient.getLoans(accountId, null, null, null, null, null);
 
         assertNotNull(result);
-        assertTrue(result.isEmpty());
+        assertTrue(result.getLoans().isEmpty());
+        assertNull(result.getNextCursor());
     }
 
     @Test
@@ -165,7 +182,7 @@ class LoanServiceClientTest {
         HttpClientErrorException ex = HttpClientErrorException.create(HttpStatus.INTERNAL_SERVER_ERROR, "Error", null, null, null);
         when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class))).thenThrow(ex);
 
-        HttpClientErrorException thrown = assertThrows(HttpClientErrorException.class, () -> loanServiceClient.getLoans(accountId));
+        HttpClientErrorException thrown = assertThrows(HttpClientErrorException.class, () -> loanServiceClient.getLoans(accountId, null, null, null, null, null));
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, thrown.getStatusCode());
     }
 }
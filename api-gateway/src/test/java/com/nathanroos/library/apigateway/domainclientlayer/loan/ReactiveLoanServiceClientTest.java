@@ -0,0 +1,130 @@
+package com.nathanroos.library.apigateway.domainclientlayer.loan;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nathanroos.library.apigateway.ExceptionsHandling.HttpErrorInfo;
+import com.nathanroos.library.apigateway.ExceptionsHandling.InvalidInputException;
+import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.presentationlayer.loan.LoanPageResponseModel;
+import com.nathanroos.library.apigateway.presentationlayer.loan.LoanRequestModel;
+import com.nathanroos.library.apigateway.presentationlayer.loan.LoanResponseModel;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReactiveLoanServiceClientTest {
+
+    private static final String LOAN_ID = "123e4567-e89b-12d3-a456-426614174000";
+
+    private final ObjectMapper objectMapper = mock(ObjectMapper.class);
+
+    @Test
+    void testGetLoanById_Success() {
+        ReactiveLoanServiceClient client = client(request -> Mono.just(json(HttpStatus.OK,
+                "{\"loanId\":\"" + LOAN_ID + "\",\"accountId\":\"acc123\",\"title\":\"1984\"}")));
+
+        LoanResponseModel result = client.getLoanByLoanId("acc123", LOAN_ID).block();
+
+        assertNotNull(result);
+        assertEquals(LOAN_ID, result.getLoanId());
+        assertEquals("1984", result.getTitle());
+    }
+
+    @Test
+    void testGetLoanById_NotFound() throws Exception {
+        ReactiveLoanServiceClient client = client(request -> Mono.just(json(HttpStatus.NOT_FOUND, "{}")));
+        when(objectMapper.readValue(anyString(), eq(HttpErrorInfo.class)))
+                .thenReturn(new HttpErrorInfo(HttpStatus.NOT_FOUND, "/accounts/acc123/loans/" + LOAN_ID, "Unknown loanId: " + LOAN_ID));
+
+        NotFoundException ex = assertThrows(NotFoundException.class, () -> client.getLoanByLoanId("acc123", LOAN_ID).block());
+
+        assertEquals("Unknown loanId: " + LOAN_ID, ex.getMessage());
+    }
+
+    @Test
+    void testAddLoan_InvalidInput() throws Exception {
+        ReactiveLoanServiceClient client = client(request -> Mono.just(json(HttpStatus.UNPROCESSABLE_ENTITY, "{}")));
+        when(objectMapper.readValue(anyString(), eq(HttpErrorInfo.class)))
+                .thenReturn(new HttpErrorInfo(HttpStatus.UNPROCESSABLE_ENTITY, "/accounts/acc123/loans", "Due date is before loan date"));
+
+        InvalidInputException ex = assertThrows(InvalidInputException.class,
+                () -> client.addLoan("acc123", LoanRequestModel.builder().accountId("acc123").build()).block());
+
+        assertEquals("Due date is before loan date", ex.getMessage());
+    }
+
+    @Test
+    void testUpdateLoan_ReadsTheLoanBack() {
+        List<HttpMethod> methods = new CopyOnWriteArrayList<>();
+        ReactiveLoanServiceClient client = client(request -> {
+            methods.add(request.method());
+            return Mono.just(request.method() == HttpMethod.PUT
+                    ? ClientResponse.create(HttpStatus.OK).build()
+                    : json(HttpStatus.OK, "{\"loanId\":\"" + LOAN_ID + "\",\"title\":\"Animal Farm\"}"));
+        });
+
+        LoanResponseModel result = client.updateLoan("acc123", LoanRequestModel.builder().accountId("acc123").build(), LOAN_ID).block();
+
+        assertNotNull(result);
+        assertEquals("Animal Farm", result.getTitle());
+        assertEquals(List.of(HttpMethod.PUT, HttpMethod.GET), methods);
+    }
+
+    @Test
+    void testUpdateLoan_NotFoundSkipsTheReadBack() throws Exception {
+        List<HttpMethod> methods = new CopyOnWriteArrayList<>();
+        ReactiveLoanServiceClient client = client(request -> {
+            methods.add(request.method());
+            return Mono.just(json(HttpStatus.NOT_FOUND, "{}"));
+        });
+        when(objectMapper.readValue(anyString(), eq(HttpErrorInfo.class)))
+                .thenReturn(new HttpErrorInfo(HttpStatus.NOT_FOUND, "/accounts/acc123/loans/" + LOAN_ID, "Unknown loanId: " + LOAN_ID));
+
+        assertThrows(NotFoundException.class,
+                () -> client.updateLoan("acc123", LoanRequestModel.builder().accountId("acc123").build(), LOAN_ID).block());
+
+        assertEquals(List.of(HttpMethod.PUT), methods);
+    }
+
+    @Test
+    void testGetLoans_ReadsNextCursorFromLinkHeader() {
+        ReactiveLoanServiceClient client = client(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.LINK, "<http://localhost:7004/api/v1/accounts/acc123/loans?limit=1&cursor=abc>; rel=\"next\"")
+                .body("[{\"loanId\":\"" + LOAN_ID + "\"}]")
+                .build()));
+
+        LoanPageResponseModel page = client.getLoans("acc123", null, null, null, null, 1).block();
+
+        assertNotNull(page);
+        assertEquals(1, page.getLoans().size());
+        assertEquals("abc", page.getNextCursor());
+    }
+
+    private ReactiveLoanServiceClient client(ExchangeFunction exchangeFunction) {
+        WebClient webClient = WebClient.builder().exchangeFunction(exchangeFunction).build();
+        return new ReactiveLoanServiceClient(webClient, objectMapper, "localhost", "7004", Duration.ofSeconds(5));
+    }
+
+    private static ClientResponse json(HttpStatus status, String body) {
+        return ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+}
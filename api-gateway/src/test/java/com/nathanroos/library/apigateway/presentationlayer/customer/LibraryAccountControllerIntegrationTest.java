@@ -3,10 +3,12 @@ package com.nathanroos.library.apigateway.presentationlayer.customer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nathanroos.library.apigateway.ExceptionsHandling.InvalidInputException;
 import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.ExceptionsHandling.PreconditionFailedException;
 import com.nathanroos.library.apigateway.businesslayer.customer.CustomerService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -15,6 +17,10 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -135,7 +141,7 @@ class LibraryAccountControllerIntegrationTest {
                 .phoneNumber("555-555-5555")
                 .build();
 
-        when(customerService.updateAccount(any(LibraryAccountRequestModel.class), anyString()))
+        when(customerService.updateAccount(any(LibraryAccountRequestModel.class), anyString(), isNull()))
                 .thenReturn(response);
 
         mockMvc.perform(put("/api/v1/accounts/account-123")
@@ -150,4 +156,60 @@ class LibraryAccountControllerIntegrationTest {
         mockMvc.perform(delete("/api/v1/accounts/account-123"))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    void testGetAccountById_IfNoneMatchHolds_ReturnsNotModified() throws Exception {
+        LibraryAccountResponseModel response = LibraryAccountResponseModel.builder()
+                .accountId("account-123")
+                .firstname("John")
+                .etag("\"2\"")
+                .build();
+        when(customerService.getAccountByAccountId("account-123")).thenReturn(response);
+
+        mockMvc.perform(get("/api/v1/accounts/account-123"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(jsonPath("$.etag").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/accounts/account-123")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void testUpdateAccount_ForwardsIfMatch() throws Exception {
+        LibraryAccountRequestModel request = LibraryAccountRequestModel.builder()
+                .firstname("UpdatedFirst")
+                .lastname("UpdatedLast")
+                .build();
+        LibraryAccountResponseModel response = LibraryAccountResponseModel.builder()
+                .accountId("account-123")
+                .firstname("UpdatedFirst")
+                .etag("\"3\"")
+                .build();
+        when(customerService.updateAccount(any(LibraryAccountRequestModel.class), eq("account-123"), eq("\"2\"")))
+                .thenReturn(response);
+
+        mockMvc.perform(put("/api/v1/accounts/account-123")
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
+    @Test
+    void testDeleteAccount_StaleIfMatch_ReturnsPreconditionFailed() throws Exception {
+        doThrow(new PreconditionFailedException("The account is at version 3, not 2"))
+                .when(customerService).removeAccount("account-123", "\"2\"");
+
+        mockMvc.perform(delete("/api/v1/accounts/account-123")
+                        .header(HttpHeaders.IF_MATCH, "\"2\""))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message").value("The account is at version 3, not 2"));
+
+        verify(customerService).removeAccount("account-123", "\"2\"");
+    }
 }
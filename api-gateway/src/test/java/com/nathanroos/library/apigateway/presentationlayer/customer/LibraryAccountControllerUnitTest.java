@@ -15,6 +15,7 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -128,7 +129,7 @@ class LibraryAccountControllerUnitTest {
                 .lastname("UpdatedLast")
                 .build();
 
-        when(customerService.updateAccount(any(LibraryAccountRequestModel.class), anyString()))
+        when(customerService.updateAccount(any(LibraryAccountRequestModel.class), anyString(), isNull()))
                 .thenReturn(response);
 
         mockMvc.perform(put("/api/v1/accounts/account-1")
@@ -3,10 +3,12 @@ package com.nathanroos.library.apigateway.presentationlayer.librarian;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nathanroos.library.apigateway.ExceptionsHandling.InvalidInputException;
 import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.ExceptionsHandling.PreconditionFailedException;
 import com.nathanroos.library.apigateway.businesslayer.librarian.LibrarianService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -15,6 +17,10 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -128,7 +134,7 @@ class LibrarianControllerIntegrationTest {
                 .email("updated.email@example.com")
                 .build();
 
-        when(librarianService.updateLibrarian(anyString(), any(LibrarianRequestModel.class)))
+        when(librarianService.updateLibrarian(anyString(), any(LibrarianRequestModel.class), isNull()))
                 .thenReturn(response);
 
         mockMvc.perform(put("/api/v1/workers/lib-123")
@@ -143,4 +149,39 @@ class LibrarianControllerIntegrationTest {
         mockMvc.perform(delete("/api/v1/workers/lib-123"))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    void testGetLibrarianById_IfNoneMatchHolds_ReturnsNotModified() throws Exception {
+        LibrarianResponseModel mockResponse = LibrarianResponseModel.builder()
+                .librarianId("lib-123")
+                .firstname("John")
+                .etag("\"5\"")
+                .build();
+        when(librarianService.getLibrarian("lib-123")).thenReturn(mockResponse);
+
+        mockMvc.perform(get("/api/v1/workers/lib-123")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"5\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/v1/workers/lib-123")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"4\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"5\""));
+    }
+
+    @Test
+    void testUpdateLibrarian_StaleIfMatch_ReturnsPreconditionFailed() throws Exception {
+        LibrarianRequestModel request = LibrarianRequestModel.builder()
+                .firstname("UpdatedFirst")
+                .build();
+        when(librarianService.updateLibrarian(eq("lib-123"), any(LibrarianRequestModel.class), eq("\"4\"")))
+                .thenThrow(new PreconditionFailedException("The librarian is at version 5, not 4"));
+
+        mockMvc.perform(put("/api/v1/workers/lib-123")
+                        .header(HttpHeaders.IF_MATCH, "\"4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isPreconditionFailed());
+    }
 }
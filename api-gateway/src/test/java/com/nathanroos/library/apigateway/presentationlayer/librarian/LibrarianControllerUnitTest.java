@@ -15,6 +15,7 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -126,7 +127,7 @@ class LibrarianControllerUnitTest {
                 .lastname("UpdatedLast")
                 .build();
 
-        when(librarianService.updateLibrarian(anyString(), any(LibrarianRequestModel.class)))
+        when(librarianService.updateLibrarian(anyString(), any(LibrarianRequestModel.class), isNull()))
                 .thenReturn(response);
 
         mockMvc.perform(put("/api/v1/workers/librarian-1")
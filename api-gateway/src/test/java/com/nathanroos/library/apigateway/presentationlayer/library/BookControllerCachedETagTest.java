@@ -0,0 +1,65 @@
+package com.nathanroos.library.apigateway.presentationlayer.library;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nathanroos.library.apigateway.businesslayer.library.BookServiceImpl;
+import com.nathanroos.library.apigateway.domainclientlayer.library.BookBatchModel;
+import com.nathanroos.library.apigateway.domainclientlayer.library.BookCacheProperties;
+import com.nathanroos.library.apigateway.domainclientlayer.library.BookCatalogCache;
+import com.nathanroos.library.apigateway.domainclientlayer.library.BookServiceClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// The real client, cache and service behind the controller, so a book loaded by a batch lookup (e.g. the account
+// dashboard) is served to a single GET straight from the shared cache.
+@ExtendWith(MockitoExtension.class)
+class BookControllerCachedETagTest {
+
+    private static final String BOOK_ID = "550e8400-e29b-41d4-a716-446655440000";
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private BookCatalogCache bookCatalogCache;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setup() {
+        BookServiceClient bookServiceClient = new BookServiceClient(restTemplate, new ObjectMapper(), "localhost", "8080", new SimpleMeterRegistry());
+        bookCatalogCache = new BookCatalogCache(bookServiceClient, new BookCacheProperties(), new SimpleMeterRegistry());
+        mockMvc = MockMvcBuilders.standaloneSetup(new BookController(new BookServiceImpl(bookServiceClient, bookCatalogCache))).build();
+    }
+
+    @Test
+    void whenBookWasLoadedByABatch_thenGetStillAnswersWithItsETag() throws Exception {
+        BookResponseModel book = new BookResponseModel(BOOK_ID, "John", "Doe", null, "1984", "George Orwell", 3, null, null);
+        when(restTemplate.postForObject(endsWith("/batch"), any(), eq(BookBatchModel.class)))
+                .thenReturn(new BookBatchModel(List.of(book), List.of(), Map.of(BOOK_ID, "\"4\"")));
+
+        assertEquals(List.of(BOOK_ID), List.copyOf(bookCatalogCache.getBooksByBookIds(List.of(BOOK_ID)).keySet()));
+
+        mockMvc.perform(get("/api/v1/books/" + BOOK_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+        mockMvc.perform(get("/api/v1/books/" + BOOK_ID).header(HttpHeaders.IF_NONE_MATCH, "\"4\""))
+                .andExpect(status().isNotModified());
+        verify(restTemplate, never()).getForEntity(anyString(), eq(BookResponseModel.class));
+    }
+}
@@ -15,6 +15,7 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -34,7 +35,7 @@ class BookControllerIntegrationTest {
     @Test
     void testGetBookById_Success() throws Exception {
         BookResponseModel mockResponse = new BookResponseModel(
-                "book-123", "John", "Doe", null, "The Great Book", "AuthorX", 5);
+                "book-123", "John", "Doe", null, "The Great Book", "AuthorX", 5, null, null);
 
         when(bookService.getBookByBookId("book-123")).thenReturn(mockResponse);
 
@@ -56,8 +57,8 @@ class BookControllerIntegrationTest {
 
     @Test
     void testGetAllBooks() throws Exception {
-        when(bookService.getBooks()).thenReturn(
-                List.of(new BookResponseModel("book-123", "John", "Doe", null, "The Great Book", "AuthorX", 5))
+        when(bookService.getBooks(any(), any(), any())).thenReturn(
+                new BookPageResponseModel(List.of(new BookResponseModel("book-123", "John", "Doe", null, "The Great Book", "AuthorX", 5, null, null)), null)
         );
 
         mockMvc.perform(get("/api/v1/books"))
@@ -76,7 +77,7 @@ class BookControllerIntegrationTest {
                 .build();
 
         BookResponseModel response = new BookResponseModel(
-                "book-456", "Jane", "Smith", null, "New Book", "Jane Doe", 10);
+                "book-456", "Jane", "Smith", null, "New Book", "Jane Doe", 10, null, null);
 
         when(bookService.addBook(any(BookRequestModel.class))).thenReturn(response);
 
@@ -114,9 +115,9 @@ class BookControllerIntegrationTest {
                 .build();
 
         BookResponseModel response = new BookResponseModel(
-                "book-123", "UpdatedFirst", "UpdatedLast", null, "Updated Title", "Updated Author", 15);
+                "book-123", "UpdatedFirst", "UpdatedLast", null, "Updated Title", "Updated Author", 15, null, null);
 
-        when(bookService.updateBook(any(BookRequestModel.class), anyString()))
+        when(bookService.updateBook(any(BookRequestModel.class), anyString(), isNull()))
                 .thenReturn(response);
 
         mockMvc.perform(put("/api/v1/books/book-123")
@@ -15,6 +15,7 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -33,7 +34,7 @@ class BookControllerUnitTest {
 
     @Test
     void testGetBookById_Success() throws Exception {
-        BookResponseModel response = new BookResponseModel("book-1", "John", "Doe", null, "Title", "Author", 3);
+        BookResponseModel response = new BookResponseModel("book-1", "John", "Doe", null, "Title", "Author", 3, null, null);
 
         when(bookService.getBookByBookId("book-1")).thenReturn(response);
 
@@ -55,9 +56,11 @@ class BookControllerUnitTest {
 
     @Test
     void testGetAllBooks() throws Exception {
-        BookResponseModel response = new BookResponseModel("book-1", "John", "Doe", null, "Title", "Author", 3);
+        BookResponseModel response = new BookResponseModel("book-1", "John", "Doe", null, "Title", "Author", 3, null, null);
 
-        when(bookService.getBooks()).thenReturn(List.of(response));
+        when(bookService.getBooks(any(), any(), any())).thenReturn(
+                new BookPageResponseModel(List.of(response), null)
+        );
 
         mockMvc.perform(get("/api/v1/books"))
                 .andExpect(status().isOk())
@@ -74,7 +77,7 @@ class BookControllerUnitTest {
                 .copiesAvailable(5)
                 .build();
 
-        BookResponseModel response = new BookResponseModel("book-2", "Jane", "Smith", null, "New Book", "Jane Doe", 5);
+        BookResponseModel response = new BookResponseModel("book-2", "Jane", "Smith", null, "New Book", "Jane Doe", 5, null, null);
 
         when(bookService.addBook(any(BookRequestModel.class)))
                 .thenReturn(response);
@@ -112,9 +115,9 @@ class BookControllerUnitTest {
                 .copiesAvailable(10)
                 .build();
 
-        BookResponseModel response = new BookResponseModel("book-1", "UpdatedFirst", "UpdatedLast", null, "Updated Title", "Updated Author", 10);
+        BookResponseModel response = new BookResponseModel("book-1", "UpdatedFirst", "UpdatedLast", null, "Updated Title", "Updated Author", 10, null, null);
 
-        when(bookService.updateBook(any(BookRequestModel.class), anyString()))
+        when(bookService.updateBook(any(BookRequestModel.class), anyString(), isNull()))
                 .thenReturn(response);
 
         mockMvc.perform(put("/api/v1/books/book-1")
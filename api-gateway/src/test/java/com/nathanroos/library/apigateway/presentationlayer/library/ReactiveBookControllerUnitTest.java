@@ -0,0 +1,113 @@
+package com.nathanroos.library.apigateway.presentationlayer.library;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nathanroos.library.apigateway.ExceptionsHandling.InvalidInputException;
+import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.ExceptionsHandling.PreconditionFailedException;
+import com.nathanroos.library.apigateway.businesslayer.library.ReactiveBookService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = ReactiveBookController.class, properties = "app.client-mode=reactive")
+class ReactiveBookControllerUnitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ReactiveBookService bookService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testGetBookById_Success() throws Exception {
+        BookResponseModel response = new BookResponseModel("book-1", "John", "Doe", null, "Title", "Author", 3, null, "\"1\"");
+
+        when(bookService.getBookByBookId("book-1")).thenReturn(Mono.just(response));
+
+        perform(get("/api/v1/books/book-1").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.bookId").value("book-1"));
+    }
+
+    @Test
+    void testGetBookById_NotFound() throws Exception {
+        when(bookService.getBookByBookId(anyString())).thenReturn(Mono.error(new NotFoundException("Book not found")));
+
+        perform(get("/api/v1/books/notfound"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testGetAllBooks_AddsNextLink() throws Exception {
+        BookResponseModel response = new BookResponseModel("book-1", "John", "Doe", null, "Title", "Author", 3, null, null);
+
+        when(bookService.getBooks(null, null, 1)).thenReturn(Mono.just(new BookPageResponseModel(List.of(response), "abc")));
+
+        perform(get("/api/v1/books").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bookId").value("book-1"))
+                .andExpect(header().string(HttpHeaders.LINK, "<http://localhost/api/v1/books?limit=1&cursor=abc>;rel=\"next\""));
+    }
+
+    @Test
+    void testCreateBook_InvalidInput() throws Exception {
+        BookRequestModel request = BookRequestModel.builder().title("Title").copiesAvailable(-1).build();
+
+        when(bookService.addBook(any(BookRequestModel.class))).thenReturn(Mono.error(new InvalidInputException("Invalid copiesAvailable")));
+
+        perform(post("/api/v1/books")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message").value("Invalid copiesAvailable"));
+    }
+
+    @Test
+    void testUpdateBook_PreconditionFailed() throws Exception {
+        BookRequestModel request = BookRequestModel.builder().title("Title").build();
+
+        when(bookService.updateBook(any(BookRequestModel.class), eq("book-1"), eq("\"1\"")))
+                .thenReturn(Mono.error(new PreconditionFailedException("Book book-1 has changed")));
+
+        perform(put("/api/v1/books/book-1")
+                .header(HttpHeaders.IF_MATCH, "\"1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void testDeleteBook() throws Exception {
+        when(bookService.removeBook("book-1", null)).thenReturn(Mono.empty());
+
+        perform(delete("/api/v1/books/book-1"))
+                .andExpect(status().isNoContent());
+    }
+
+    // the controller returns a Mono, so the response is written by the async dispatch once it completes
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
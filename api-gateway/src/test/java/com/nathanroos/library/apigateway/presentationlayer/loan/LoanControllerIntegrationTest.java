@@ -68,7 +68,7 @@ class LoanControllerIntegrationTest {
                 null, new Date(), new Date()
         );
 
-        when(loanService.getAllLoansByAccountId("account-1")).thenReturn(List.of(response));
+        when(loanService.getAllLoansByAccountId("account-1", null, null, null, null, null)).thenReturn(new LoanPageResponseModel(List.of(response), null));
 
         mockMvc.perform(get("/api/v1/accounts/account-1/loans"))
                 .andExpect(status().isOk())
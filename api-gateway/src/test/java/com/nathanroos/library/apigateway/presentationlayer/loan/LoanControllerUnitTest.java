@@ -71,13 +71,23 @@ class LoanControllerUnitTest {
                 null, new Date(), new Date()
         );
 
-        when(loanService.getAllLoansByAccountId("account-1")).thenReturn(List.of(response));
+        when(loanService.getAllLoansByAccountId("account-1", null, null, null, null, null)).thenReturn(new LoanPageResponseModel(List.of(response), null));
 
         mockMvc.perform(get("/api/v1/accounts/account-1/loans"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].loanId").value("loan-1"));
     }
 
+    @Test
+    void testGetAllLoansByAccountId_NextPageIsLinkedWithTheSameFilters() throws Exception {
+        when(loanService.getAllLoansByAccountId("account-1", "ACTIVE", null, null, null, 2))
+                .thenReturn(new LoanPageResponseModel(List.of(), "abc"));
+
+        mockMvc.perform(get("/api/v1/accounts/account-1/loans?status=ACTIVE&limit=2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Link", "<http://localhost/api/v1/accounts/account-1/loans?status=ACTIVE&cursor=abc&limit=2>;rel=\"next\""));
+    }
+
     @Test
     void testAddLoan_Success() throws Exception {
         LoanRequestModel request = LoanRequestModel.builder()
@@ -0,0 +1,124 @@
+package com.nathanroos.library.apigateway.presentationlayer.loan;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nathanroos.library.apigateway.ExceptionsHandling.InvalidInputException;
+import com.nathanroos.library.apigateway.ExceptionsHandling.NotFoundException;
+import com.nathanroos.library.apigateway.businesslayer.loan.ReactiveLoanService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = ReactiveLoanController.class, properties = "app.client-mode=reactive")
+class ReactiveLoanControllerUnitTest {
+
+    private static final String LOAN_ID = "123e4567-e89b-12d3-a456-426614174000";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ReactiveLoanService loanService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testGetLoanById_Success() throws Exception {
+        when(loanService.getLoanByLoanId("account-1", LOAN_ID)).thenReturn(Mono.just(loan(LOAN_ID)));
+
+        perform(get("/api/v1/accounts/account-1/loans/" + LOAN_ID).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.loanId").value(LOAN_ID));
+    }
+
+    @Test
+    void testGetLoanById_NotFound() throws Exception {
+        when(loanService.getLoanByLoanId(anyString(), anyString())).thenReturn(Mono.error(new NotFoundException("Loan not found")));
+
+        perform(get("/api/v1/accounts/account-1/loans/" + LOAN_ID))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Loan not found"));
+    }
+
+    @Test
+    void testGetLoanById_InvalidId() throws Exception {
+        mockMvc.perform(get("/api/v1/accounts/account-1/loans/short-id"))
+                .andExpect(status().isUnprocessableEntity());
+
+        verifyNoInteractions(loanService);
+    }
+
+    @Test
+    void testGetAllLoansByAccountId() throws Exception {
+        when(loanService.getAllLoansByAccountId("account-1", null, null, null, null, null))
+                .thenReturn(Mono.just(new LoanPageResponseModel(List.of(loan("loan-1")), null)));
+
+        perform(get("/api/v1/accounts/account-1/loans"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].loanId").value("loan-1"));
+    }
+
+    @Test
+    void testAddLoan_InvalidInput() throws Exception {
+        LoanRequestModel request = LoanRequestModel.builder().accountId("account-1").bookId("book-1").build();
+
+        when(loanService.addLoan(any(LoanRequestModel.class), eq("account-1")))
+                .thenReturn(Mono.error(new InvalidInputException("Book has no copies available")));
+
+        perform(post("/api/v1/accounts/account-1/loans")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message").value("Book has no copies available"));
+    }
+
+    @Test
+    void testUpdateLoan_NotFound() throws Exception {
+        LoanRequestModel request = LoanRequestModel.builder().accountId("account-1").build();
+
+        when(loanService.updateLoan(eq("account-1"), any(LoanRequestModel.class), eq(LOAN_ID)))
+                .thenReturn(Mono.error(new NotFoundException("Loan not found")));
+
+        perform(put("/api/v1/accounts/account-1/loans/" + LOAN_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testDeleteLoan() throws Exception {
+        when(loanService.removeLoan("account-1", LOAN_ID)).thenReturn(Mono.empty());
+
+        perform(delete("/api/v1/accounts/account-1/loans/" + LOAN_ID))
+                .andExpect(status().isNoContent());
+    }
+
+    // the controller returns a Mono, so the response is written by the async dispatch once it completes
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
+    private static LoanResponseModel loan(String loanId) {
+        return new LoanResponseModel(loanId, "account-1", "librarian-1", "book-1",
+                "John", "Doe", "Librarian", "Smith", "Book Title", "Author", null, new Date(), new Date());
+    }
+}
@@ -0,0 +1,103 @@
+package com.nathanroos.library.apigateway.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nathanroos.library.apigateway.presentationlayer.library.BookController;
+import com.nathanroos.library.apigateway.presentationlayer.loan.LoanController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+class LinkTemplateTest {
+
+    private static final LinkTemplate BOOK = LinkTemplate.of(methodOn(BookController.class).getBookByBookId(null));
+
+    private static final LinkTemplate BOOKS = LinkTemplate.of(methodOn(BookController.class).getBooks(null, null, null));
+
+    private static final LinkTemplate LOAN = LinkTemplate.of(methodOn(LoanController.class).getLoanByLoanId(null, null));
+
+    private static final LinkTemplate LOANS = LinkTemplate.of(methodOn(LoanController.class)
+            .getAllLoansByAccountId(null, null, null, null, null, null));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @AfterEach
+    void clearRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void whenThereIsNoRequest_thenLinksMatchLinkTo() throws JsonProcessingException {
+        assertLinksMatchLinkTo();
+        assertEquals("/api/v1/books/123", BOOK.expand("123").getHref());
+    }
+
+    @Test
+    void whenThereIsARequest_thenLinksMatchLinkTo() throws JsonProcessingException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setScheme("https");
+        request.setServerName("library.example.com");
+        request.setServerPort(8443);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        assertLinksMatchLinkTo();
+        assertEquals("https://library.example.com:8443/api/v1/books/123", BOOK.expand("123").getHref());
+    }
+
+    @Test
+    void whenRequestHasAContextPath_thenLinksStartWithIt() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContextPath("/gateway");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        assertEquals("http://localhost/gateway/api/v1/books/123", BOOK.expand("123").getHref());
+    }
+
+    @Test
+    void whenTemplateIsBuiltDuringARequest_thenItStillFollowsLaterRequests() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        LinkTemplate book = LinkTemplate.of(methodOn(BookController.class).getBookByBookId(null));
+        RequestContextHolder.resetRequestAttributes();
+
+        assertEquals("/api/v1/books/123", book.expand("123").getHref());
+    }
+
+    @Test
+    void whenBaseUriIsCaptured_thenLinksCanBeBuiltOffTheRequestThread() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        String baseUri = LinkTemplate.baseUri();
+        RequestContextHolder.resetRequestAttributes();
+
+        assertEquals("http://localhost/api/v1/books/123", BOOK.expandFrom(baseUri, "123").getHref());
+    }
+
+    // links render from their href, rel and the other attributes Jackson sees, not from the parsed template
+    private void assertLinksMatchLinkTo() throws JsonProcessingException {
+        assertSameLink(linkTo(methodOn(BookController.class).getBookByBookId("123")).withSelfRel(), BOOK.expand("123"));
+        assertSameLink(linkTo(methodOn(BookController.class).getBookByBookId("a b/c?d")).withSelfRel(), BOOK.expand("a b/c?d"));
+        assertSameLink(linkTo(methodOn(BookController.class).getBookByBookId(null)).withSelfRel(), BOOK.expand());
+        assertSameLink(linkTo(methodOn(BookController.class).getBooks(null, null, null)).withRel("books"),
+                BOOKS.expand().withRel("books"));
+        assertSameLink(linkTo(methodOn(LoanController.class).getLoanByLoanId("acc-1", "loan-1")).withSelfRel(),
+                LOAN.expand("acc-1", "loan-1"));
+        assertSameLink(linkTo(methodOn(LoanController.class).getAllLoansByAccountId("acc-1", null, null, null, null, null)).withRel("loans"),
+                LOANS.expand("acc-1").withRel("loans"));
+
+        Link templated = LOANS.expand("acc-1");
+        assertTrue(templated.isTemplated());
+        assertEquals(linkTo(methodOn(LoanController.class).getAllLoansByAccountId("acc-1", null, null, null, null, null))
+                .withSelfRel().getVariableNames(), templated.getVariableNames());
+    }
+
+    private void assertSameLink(Link expected, Link actual) throws JsonProcessingException {
+        assertEquals(objectMapper.writeValueAsString(expected), objectMapper.writeValueAsString(actual));
+        assertEquals(expected.isTemplated(), actual.isTemplated());
+    }
+}
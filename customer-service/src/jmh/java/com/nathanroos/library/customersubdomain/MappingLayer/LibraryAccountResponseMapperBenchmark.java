@@ -0,0 +1,92 @@
+package com.nathanroos.library.customersubdomain.MappingLayer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nathanroos.library.customersubdomain.DataAccessLayer.LibraryAccount;
+import com.nathanroos.library.customersubdomain.PresentationLayer.LibraryAccountResponseModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.EvoInflectorLinkRelationProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// GET /api/v1/accounts a step at a time: mapping the entities (which adds each self link), the self links on their
+// own, and writing the mapped list as HAL. Runs under a request, so links are absolute as they are in production.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LibraryAccountResponseMapperBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private final LibraryAccountResponseMapper mapper = new LibraryAccountResponseMapperImpl();
+
+    private ObjectMapper objectMapper;
+
+    private List<LibraryAccount> accounts;
+
+    private List<LibraryAccountResponseModel> responseModels;
+
+    @Setup
+    public void setup() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new Jackson2HalModule());
+        objectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new EvoInflectorLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+
+        accounts = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            LibraryAccount account = new LibraryAccount("514-555-" + String.format("%04d", i % 10_000),
+                    "First" + i, "Last" + i, "reader" + i + "@example.com");
+            account.setVersion((long) i % 5);
+            accounts.add(account);
+        }
+        responseModels = mapper.entityListToResponseModelList(accounts);
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public List<LibraryAccountResponseModel> mapEntities() {
+        return mapper.entityListToResponseModelList(accounts);
+    }
+
+    @Benchmark
+    public void buildSelfLinks(Blackhole blackhole) {
+        for (LibraryAccountResponseModel account : responseModels) {
+            blackhole.consume(LibraryAccountResponseMapper.SELF_LINK.expand(account.getAccountId()));
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responseModels);
+    }
+}
@@ -0,0 +1,133 @@
+package com.nathanroos.library.customersubdomain.BusinessLayer;
+
+import com.nathanroos.library.customersubdomain.DataAccessLayer.LibraryAccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Every customer_id in library_accounts goes into a Bloom filter, so the HEAD existence check answers an id it has never
+// seen as missing without a query. A "maybe" still goes to the database. Deleted ids can't be taken out of a Bloom filter, so
+// they stay maybes until the next rebuild, which also resizes the filter once it holds more ids than it was sized for.
+@Slf4j
+@Component
+public class AccountExistenceFilter {
+
+    private final LibraryAccountRepository libraryAccountRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final AccountFilterProperties properties;
+
+    // null until the first build, and for good when disabled: every id is then a maybe
+    private volatile BloomFilter current;
+
+    // the filter a rebuild is filling, which new accounts are also put in so the swap can't lose them
+    private volatile BloomFilter building;
+
+    private volatile long capacity;
+
+    private final AtomicLong insertions = new AtomicLong();
+
+    private final AtomicLong removals = new AtomicLong();
+
+    public AccountExistenceFilter(LibraryAccountRepository libraryAccountRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  AccountFilterProperties properties) {
+        this.libraryAccountRepository = libraryAccountRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${app.account-filter.rebuild-interval:1h}", fixedDelayString = "${app.account-filter.rebuild-interval:1h}")
+    public void rebuildIfStale() {
+        if (removals.get() > 0 || insertions.get() > capacity) {
+            rebuild();
+        }
+    }
+
+    public synchronized void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        long expected = Math.max(properties.getExpectedAccounts(), 2 * libraryAccountRepository.count());
+        BloomFilter rebuilt = BloomFilter.create(expected, properties.getFalsePositiveRate());
+        // set before the scan starts, so an account committed too late for the scan is put in by added()
+        building = rebuilt;
+        removals.set(0);
+
+        AtomicLong scanned = new AtomicLong();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<String> accountIds = libraryAccountRepository.streamAllAccountIds()) {
+                accountIds.forEach(accountId -> {
+                    put(rebuilt, accountId);
+                    scanned.incrementAndGet();
+                });
+            }
+        });
+
+        capacity = expected;
+        insertions.set(scanned.get());
+        // current first: added() reads building before current, so it always reaches the new filter
+        current = rebuilt;
+        building = null;
+        log.info("Built the account filter over {} accounts in {} ms", scanned.get(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    // false only when the account certainly doesn't exist
+    public boolean mightExist(String accountId) {
+        BloomFilter filter = current;
+        if (filter == null) {
+            return true;
+        }
+        UUID id = parse(accountId);
+        return id == null || filter.mightContain(id);
+    }
+
+    // must be called once the account is committed and before its id is handed out
+    public void added(String accountId) {
+        BloomFilter next = building;
+        BloomFilter filter = current;
+        if (filter != null) {
+            put(filter, accountId);
+        }
+        if (next != null) {
+            put(next, accountId);
+        }
+        insertions.incrementAndGet();
+    }
+
+    public void removed(String accountId) {
+        removals.incrementAndGet();
+    }
+
+    private static void put(BloomFilter filter, String accountId) {
+        UUID id = parse(accountId);
+        if (id != null) {
+            filter.put(id);
+        }
+    }
+
+    private static UUID parse(String accountId) {
+        try {
+            return UUID.fromString(accountId);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.nathanroos.library.customersubdomain.BusinessLayer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.account-filter")
+public class AccountFilterProperties {
+
+    // off when other processes also write library_accounts, since the filter only hears about this one's accounts
+    private boolean enabled = true;
+
+    // the filter is sized for at least this many accounts, or twice the current count if that is larger
+    private long expectedAccounts = 100_000;
+
+    private double falsePositiveRate = 0.01;
+
+    // how often to check whether deletions or growth past the expected size call for a rebuild
+    private Duration rebuildInterval = Duration.ofHours(1);
+}
@@ -1,16 +1,22 @@
 package com.nathanroos.library.customersubdomain.BusinessLayer;
 
+import com.nathanroos.library.customersubdomain.PresentationLayer.LibraryAccountBatchResponseModel;
 import com.nathanroos.library.customersubdomain.PresentationLayer.LibraryAccountRequestModel;
 import com.nathanroos.library.customersubdomain.PresentationLayer.LibraryAccountResponseModel;
 
 import java.util.List;
+import java.util.Set;
 
 public interface LibraryAccountService {
 
     List<LibraryAccountResponseModel> getAccounts();
     LibraryAccountResponseModel getAccountByAccountId(String accountId);
+    long getAccountVersion(String accountId);
+    boolean accountExists(String accountId);
+    LibraryAccountBatchResponseModel getAccountsByAccountIds(List<String> accountIds);
     LibraryAccountResponseModel addAccount(LibraryAccountRequestModel account);
-    LibraryAccountResponseModel updateAccount(LibraryAccountRequestModel account, String accountId);
-    void removeAccount(String accountId);
+    // requiredVersions are the versions an If-Match named, or null to write whatever the current version is
+    LibraryAccountResponseModel updateAccount(LibraryAccountRequestModel account, String accountId, Set<Long> requiredVersions);
+    void removeAccount(String accountId, Set<Long> requiredVersions);
 
 }
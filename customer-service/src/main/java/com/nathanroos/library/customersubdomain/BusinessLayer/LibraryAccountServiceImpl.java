@@ -3,17 +3,27 @@ package com.nathanroos.library.customersubdomain.BusinessLayer;
 
 import com.nathanroos.library.customersubdomain.utils.Exceptions.InvalidInputException;
 import com.nathanroos.library.customersubdomain.utils.Exceptions.NotFoundException;
+import com.nathanroos.library.customersubdomain.utils.Exceptions.PreconditionFailedException;
 import com.nathanroos.library.customersubdomain.DataAccessLayer.LibraryAccount;
 import com.nathanroos.library.customersubdomain.DataAccessLayer.LibraryAccountIdentifier;
 import com.nathanroos.library.customersubdomain.DataAccessLayer.LibraryAccountRepository;
 import com.nathanroos.library.customersubdomain.MappingLayer.LibraryAccountRequestMapper;
 import com.nathanroos.library.customersubdomain.MappingLayer.LibraryAccountResponseMapper;
+import com.nathanroos.library.customersubdomain.PresentationLayer.LibraryAccountBatchResponseModel;
 import com.nathanroos.library.customersubdomain.PresentationLayer.LibraryAccountRequestModel;
 import com.nathanroos.library.customersubdomain.PresentationLayer.LibraryAccountResponseModel;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 public class LibraryAccountServiceImpl implements LibraryAccountService {
@@ -24,10 +34,14 @@ public class LibraryAccountServiceImpl implements LibraryAccountService {
 
     private final LibraryAccountRequestMapper libraryAccountRequestMapper;
 
-    public LibraryAccountServiceImpl(LibraryAccountRepository libraryAccountRepository, LibraryAccountResponseMapper libraryAccountResponseMapper, LibraryAccountRequestMapper libraryAccountRequestMapper) {
+    private final AccountExistenceFilter accountExistenceFilter;
+
+    public LibraryAccountServiceImpl(LibraryAccountRepository libraryAccountRepository, LibraryAccountResponseMapper libraryAccountResponseMapper, LibraryAccountRequestMapper libraryAccountRequestMapper,
+                                     AccountExistenceFilter accountExistenceFilter) {
         this.libraryAccountRepository = libraryAccountRepository;
         this.libraryAccountResponseMapper = libraryAccountResponseMapper;
         this.libraryAccountRequestMapper = libraryAccountRequestMapper;
+        this.accountExistenceFilter = accountExistenceFilter;
     }
 
 
@@ -44,22 +58,61 @@ public class LibraryAccountServiceImpl implements LibraryAccountService {
         return libraryAccountResponseMapper.entityToResponseModel(account);
     }
 
+    @Override
+    public long getAccountVersion(String accountId) {
+        return getAccountObjectById(accountId).getVersion();
+    }
+
+    // an existence check only needs the filter, and the index when the filter can't rule the account out. The filter
+    // only learns the accounts added through this instance until its next rebuild, so the reads that return an account
+    // go to the database every time and only this check takes the filter's word.
+    @Override
+    public boolean accountExists(String accountId) {
+        validateAccountId(accountId);
+
+        return accountExistenceFilter.mightExist(accountId)
+                && libraryAccountRepository.existsByLibraryAccountIdentifier_AccountId(accountId);
+    }
+
+    @Override
+    public LibraryAccountBatchResponseModel getAccountsByAccountIds(List<String> accountIds) {
+        List<String> requestedIds = accountIds.stream().filter(Objects::nonNull).distinct().toList();
+
+        Map<String, LibraryAccount> found = requestedIds.isEmpty() ? Map.of() : libraryAccountRepository.findAllByLibraryAccountIdentifier_AccountIdIn(requestedIds).stream()
+                .collect(Collectors.toMap(libraryAccount -> libraryAccount.getLibraryAccountIdentifier().getAccountId(), Function.identity(), (first, second) -> first));
+
+        List<LibraryAccountResponseModel> accounts = new ArrayList<>();
+        List<String> missingIds = new ArrayList<>();
+        for (String accountId : requestedIds) {
+            LibraryAccount libraryAccount = found.get(accountId);
+            if (libraryAccount == null) {
+                missingIds.add(accountId);
+            } else {
+                accounts.add(libraryAccountResponseMapper.entityToResponseModel(libraryAccount));
+            }
+        }
+
+        return new LibraryAccountBatchResponseModel(accounts, missingIds);
+    }
+
     @Override
     public LibraryAccountResponseModel addAccount(LibraryAccountRequestModel account) {
 
         LibraryAccount account1 = libraryAccountRequestMapper.requestModelToEntity(account, new LibraryAccountIdentifier());
 
-        LibraryAccount createdAccount = libraryAccountRepository.save(account1);
-
         validateAccountRequestModel(account);
 
+        LibraryAccount createdAccount = libraryAccountRepository.save(account1);
+        accountExistenceFilter.added(createdAccount.getLibraryAccountIdentifier().getAccountId());
+
         return libraryAccountResponseMapper.entityToResponseModel(createdAccount);
     }
 
     @Override
-    public LibraryAccountResponseModel updateAccount(LibraryAccountRequestModel UpdateAccount, String accountId)
+    public LibraryAccountResponseModel updateAccount(LibraryAccountRequestModel UpdateAccount, String accountId, Set<Long> requiredVersions)
     {
         LibraryAccount account = getAccountObjectById(accountId);
+        checkVersion(account, requiredVersions);
 
         validateAccountRequestModel(UpdateAccount);
 
@@ -70,15 +123,20 @@ public class LibraryAccountServiceImpl implements LibraryAccountService {
         account.setPhoneNumber(UpdateAccount.getPhoneNumber());
         account.setEmail(UpdateAccount.getEmail());
 
-        LibraryAccount updatedAccount = libraryAccountRepository.save(account);
+        LibraryAccount updatedAccount = versionedWrite(requiredVersions, account.getVersion(), () -> libraryAccountRepository.save(account));
         return libraryAccountResponseMapper.entityToResponseModel(updatedAccount);
     }
 
     @Override
-    public void removeAccount(String accountId) {
+    public void removeAccount(String accountId, Set<Long> requiredVersions) {
         LibraryAccount account = getAccountObjectById(accountId);
+        checkVersion(account, requiredVersions);
 
-        libraryAccountRepository.delete(account);
+        versionedWrite(requiredVersions, account.getVersion(), () -> {
+            libraryAccountRepository.delete(account);
+            return account;
+        });
+        accountExistenceFilter.removed(accountId);
     }
 
     private void validateAccountRequestModel(LibraryAccountRequestModel model) {
@@ -93,14 +151,30 @@ public class LibraryAccountServiceImpl implements LibraryAccountService {
         }
     }
 
-    private LibraryAccount getAccountObjectById(String accountId) {
+    private static void checkVersion(LibraryAccount account, Set<Long> requiredVersions) {
+        if (requiredVersions != null && !requiredVersions.contains(account.getVersion())) {
+            throw new PreconditionFailedException("accountId " + account.getLibraryAccountIdentifier().getAccountId()
+                    + " is at version " + account.getVersion() + ", not any of " + requiredVersions);
+        }
+    }
+
+    // The write carries the version that was read, so one committed since then fails it instead of being overwritten.
+    // That is a failed If-Match when the caller named a version; otherwise it surfaces as a conflict.
+    private static LibraryAccount versionedWrite(Set<Long> requiredVersions, Long readVersion, Supplier<LibraryAccount> write) {
         try {
-            UUID.fromString(accountId);
-        } catch (IllegalArgumentException e) {
-            throw new InvalidInputException("Invalid accountId: " + accountId);
+            return write.get();
+        } catch (OptimisticLockingFailureException e) {
+            if (requiredVersions == null) {
+                throw e;
+            }
+            throw new PreconditionFailedException("The account changed after version " + readVersion, e);
         }
+    }
 
-        LibraryAccount account = this.libraryAccountRepository.findLibraryAccountByLibraryAccountIdentifier_AccountId(accountId);
+    private LibraryAccount getAccountObjectById(String accountId) {
+        validateAccountId(accountId);
+
+        LibraryAccount account = this.libraryAccountRepository.findByNaturalId(accountId);
 
         if (account == null) {
             throw new NotFoundException("Unknown accountId: " + accountId);
@@ -108,4 +182,12 @@ public class LibraryAccountServiceImpl implements LibraryAccountService {
 
         return account;
     }
+
+    private static void validateAccountId(String accountId) {
+        try {
+            UUID.fromString(accountId);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException("Invalid accountId: " + accountId);
+        }
+    }
 }
@@ -0,0 +1,35 @@
+package com.nathanroos.library.customersubdomain.DataAccessLayer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.entity-cache")
+public class EntityCacheProperties {
+
+    private boolean enabled = true;
+
+    private Region accounts = new Region(10_000, Duration.ofMinutes(30));
+
+    @Data
+    public static class Region {
+
+        // entries, which is what bounds the heap the region can use
+        private long maxSize;
+
+        // an upper bound on how stale an entry can get when the row is changed outside this instance's Hibernate
+        private Duration ttl;
+
+        public Region() {
+        }
+
+        public Region(long maxSize, Duration ttl) {
+            this.maxSize = maxSize;
+            this.ttl = ttl;
+        }
+    }
+}
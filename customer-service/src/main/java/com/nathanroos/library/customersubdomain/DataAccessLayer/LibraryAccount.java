@@ -4,17 +4,29 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.antlr.v4.runtime.misc.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
 @Table(name="libraryAccounts")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = LibraryAccount.CACHE_REGION)
+@NaturalIdCache(region = LibraryAccount.NATURAL_ID_CACHE_REGION)
 @Data
 @NoArgsConstructor
 public class LibraryAccount {
 
+    public static final String CACHE_REGION = "library-accounts";
+
+    public static final String NATURAL_ID_CACHE_REGION = "library-accounts-by-account-id";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
+    @NaturalId
     @Embedded
     private LibraryAccountIdentifier libraryAccountIdentifier;
 
@@ -33,8 +45,15 @@ public class LibraryAccount {
     @Column(name = "email")
     private String email;
 
+    // bumped on every write, so a stale update fails instead of overwriting; it is also the account's ETag
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
 
     public LibraryAccount(@NotNull String phoneNumber, @NotNull String firstName, @NotNull String lastName, @NotNull String email) {
+        this.libraryAccountIdentifier = new LibraryAccountIdentifier();
         this.phoneNumber = phoneNumber;
         this.firstname = firstName;
         this.lastname = lastName;
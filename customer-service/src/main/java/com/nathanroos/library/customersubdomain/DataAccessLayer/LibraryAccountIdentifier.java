@@ -2,11 +2,13 @@ package com.nathanroos.library.customersubdomain.DataAccessLayer;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Embeddable;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
 import java.util.UUID;
 
 @Getter
+@EqualsAndHashCode
 @Embeddable
 public class LibraryAccountIdentifier {
 
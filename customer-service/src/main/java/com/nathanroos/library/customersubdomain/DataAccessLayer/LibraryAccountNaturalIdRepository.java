@@ -0,0 +1,7 @@
+package com.nathanroos.library.customersubdomain.DataAccessLayer;
+
+public interface LibraryAccountNaturalIdRepository {
+
+    // Looks the account up by its public id through the second-level cache; null when there is no such account.
+    LibraryAccount findByNaturalId(String accountId);
+}
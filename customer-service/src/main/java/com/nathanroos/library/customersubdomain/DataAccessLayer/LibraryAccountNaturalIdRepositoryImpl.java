@@ -0,0 +1,22 @@
+package com.nathanroos.library.customersubdomain.DataAccessLayer;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+// A derived findBy query always goes to the database. A natural-id load asks the natural-id cache for the primary
+// key and then the entity cache for the row, and only queries on a miss.
+public class LibraryAccountNaturalIdRepositoryImpl implements LibraryAccountNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public LibraryAccount findByNaturalId(String accountId) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(LibraryAccount.class)
+                .load(new LibraryAccountIdentifier(accountId));
+    }
+}
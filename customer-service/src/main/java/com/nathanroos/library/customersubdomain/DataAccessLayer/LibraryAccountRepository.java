@@ -1,9 +1,26 @@
 package com.nathanroos.library.customersubdomain.DataAccessLayer;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface LibraryAccountRepository extends JpaRepository<LibraryAccount, Integer> {
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface LibraryAccountRepository extends JpaRepository<LibraryAccount, Integer>, LibraryAccountNaturalIdRepository {
 
     LibraryAccount findLibraryAccountByLibraryAccountIdentifier_AccountId(String accountId);
 
+    List<LibraryAccount> findAllByLibraryAccountIdentifier_AccountIdIn(Collection<String> accountIds);
+
+    boolean existsByLibraryAccountIdentifier_AccountId(String accountId);
+
+    // fetched a thousand rows at a time; must be read and closed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT a.libraryAccountIdentifier.accountId FROM LibraryAccount a")
+    Stream<String> streamAllAccountIds();
+
 }
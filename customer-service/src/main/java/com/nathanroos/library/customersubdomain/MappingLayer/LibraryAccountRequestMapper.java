@@ -17,6 +17,7 @@ public interface LibraryAccountRequestMapper {
             @Mapping(source = "libraryAccountRequestModel.lastname", target = "lastname"),
             @Mapping(source = "libraryAccountRequestModel.email", target = "email"),
             @Mapping(source = "libraryAccountRequestModel.phoneNumber", target = "phoneNumber"),
+            @Mapping(target = "version", ignore = true),
     })
     LibraryAccount requestModelToEntity(LibraryAccountRequestModel libraryAccountRequestModel, LibraryAccountIdentifier libraryAccountIdentifier); //LibraryAccount
 }
@@ -0,0 +1,41 @@
+package com.nathanroos.library.customersubdomain.PresentationLayer;
+
+import com.nathanroos.library.customersubdomain.utils.Exceptions.PreconditionFailedException;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+// A resource's ETag is its entity version in quotes. Every write bumps the version, so the tag is a strong validator.
+final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // The versions an If-Match header accepts, any one of which will do, or null when it sets no condition: no header,
+    // or "*", which any existing entity meets. Weak tags never pass If-Match's strong comparison and tags we didn't issue
+    // can't match any version, so a header holding only those fails the precondition outright.
+    static Set<Long> requiredVersions(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Set<Long> versions = new LinkedHashSet<>();
+        for (String tag : ifMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.length() > 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+                try {
+                    versions.add(Long.parseLong(trimmed.substring(1, trimmed.length() - 1)));
+                } catch (NumberFormatException e) {
+                    // not one of ours
+                }
+            }
+        }
+        if (versions.isEmpty()) {
+            throw new PreconditionFailedException("If-Match " + ifMatch + " matches no version");
+        }
+        return versions;
+    }
+}
@@ -0,0 +1,17 @@
+package com.nathanroos.library.customersubdomain.PresentationLayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LibraryAccountBatchResponseModel {
+
+    // in the order the ids were requested, duplicates removed
+    List<LibraryAccountResponseModel> accounts;
+    List<String> missingIds;
+}
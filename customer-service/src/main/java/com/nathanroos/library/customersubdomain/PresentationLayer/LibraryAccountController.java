@@ -4,10 +4,12 @@ import com.nathanroos.library.customersubdomain.utils.Exceptions.InvalidInputExc
 import com.nathanroos.library.customersubdomain.BusinessLayer.LibraryAccountService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -20,6 +22,8 @@ public class LibraryAccountController {
 
     private static final int UUID_LENGTH = 36;
 
+    private static final int MAX_BATCH_SIZE = 500;
+
     @Autowired
     public LibraryAccountController(LibraryAccountService libraryAccountService) {
         this.libraryAccountService = libraryAccountService;
@@ -30,12 +34,34 @@ public class LibraryAccountController {
         return ResponseEntity.ok().body(libraryAccountService.getAccounts());
     }
 
+    // a poll whose If-None-Match still holds is answered 304 from the account's version alone, before anything is mapped
     @GetMapping(value = "{accountId}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<LibraryAccountResponseModel> getAccountByAccountId(@PathVariable String accountId) {
+    public ResponseEntity<LibraryAccountResponseModel> getAccountByAccountId(@PathVariable String accountId, WebRequest request) {
+        if (accountId.length() != UUID_LENGTH) {
+            throw new InvalidInputException("Invalid accountId provided: " + accountId);
+        }
+        if (request.checkNotModified(EntityTags.of(libraryAccountService.getAccountVersion(accountId)))) {
+            return null;
+        }
+        LibraryAccountResponseModel account = libraryAccountService.getAccountByAccountId(accountId);
+        return ResponseEntity.ok().eTag(EntityTags.of(account.getVersion())).body(account);
+    }
+
+    // status only, for callers that just need to know the account exists
+    @RequestMapping(value = "{accountId}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> accountExists(@PathVariable String accountId) {
         if (accountId.length() != UUID_LENGTH) {
             throw new InvalidInputException("Invalid accountId provided: " + accountId);
         }
-        return ResponseEntity.ok().body(libraryAccountService.getAccountByAccountId(accountId));
+        return libraryAccountService.accountExists(accountId) ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<LibraryAccountBatchResponseModel> getAccountsByAccountIds(@RequestBody List<String> accountIds) {
+        if (accountIds.size() > MAX_BATCH_SIZE) {
+            throw new InvalidInputException("A batch can contain at most " + MAX_BATCH_SIZE + " accountIds, got " + accountIds.size());
+        }
+        return ResponseEntity.ok().body(libraryAccountService.getAccountsByAccountIds(accountIds));
     }
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -44,13 +70,17 @@ public class LibraryAccountController {
     }
 
     @PutMapping(value = "{accountId}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<LibraryAccountResponseModel> updateAccount(@PathVariable String accountId, @RequestBody LibraryAccountRequestModel libraryAccountRequestModel) {
-        return new ResponseEntity<>(libraryAccountService.updateAccount(libraryAccountRequestModel, accountId), HttpStatus.OK);
+    public ResponseEntity<LibraryAccountResponseModel> updateAccount(@PathVariable String accountId,
+                                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                                     @RequestBody LibraryAccountRequestModel libraryAccountRequestModel) {
+        LibraryAccountResponseModel account = libraryAccountService.updateAccount(libraryAccountRequestModel, accountId, EntityTags.requiredVersions(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(account.getVersion())).body(account);
     }
 
     @DeleteMapping(value = "{accountId}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<LibraryAccountResponseModel> deleteAccount(@PathVariable String accountId) {
-        libraryAccountService.removeAccount(accountId);
+    public ResponseEntity<LibraryAccountResponseModel> deleteAccount(@PathVariable String accountId,
+                                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        libraryAccountService.removeAccount(accountId, EntityTags.requiredVersions(ifMatch));
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 }
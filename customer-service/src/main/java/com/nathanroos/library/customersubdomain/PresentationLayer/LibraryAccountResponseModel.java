@@ -1,5 +1,6 @@
 package com.nathanroos.library.customersubdomain.PresentationLayer;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,5 +19,9 @@ public class LibraryAccountResponseModel extends RepresentationModel<LibraryAcco
     String email;
     String accountId;
 
+    // sent as the ETag header rather than in the body
+    @JsonIgnore
+    Long version;
+
 
 }
@@ -4,7 +4,9 @@ import com.nathanroos.library.customersubdomain.utils.Exceptions.HttpErrorInfo;
 import com.nathanroos.library.customersubdomain.utils.Exceptions.InUseException;
 import com.nathanroos.library.customersubdomain.utils.Exceptions.InvalidInputException;
 import com.nathanroos.library.customersubdomain.utils.Exceptions.NotFoundException;
+import com.nathanroos.library.customersubdomain.utils.Exceptions.PreconditionFailedException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -38,4 +40,17 @@ public class GlobalExceptionHandler {
     public HttpErrorInfo handleInUseException(WebRequest request, Exception ex){
         return createHttpErrorInfo(HttpStatus.UNPROCESSABLE_ENTITY, request, ex);
     }
+
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    @ExceptionHandler(PreconditionFailedException.class)
+    public HttpErrorInfo handlePreconditionFailedException(WebRequest request, Exception ex){
+        return createHttpErrorInfo(HttpStatus.PRECONDITION_FAILED, request, ex);
+    }
+
+    // a concurrent write landed between reading the account and saving it, and the request named no version of its own
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public HttpErrorInfo handleOptimisticLockingFailureException(WebRequest request, Exception ex){
+        return createHttpErrorInfo(HttpStatus.CONFLICT, request, ex);
+    }
 }
@@ -1,13 +1,10 @@
-drop table if exists library_accounts;
-
+-- the table schema-psql.sql used to drop and recreate on every start
 CREATE TABLE library_accounts
 (
-    id SERIAL PRIMARY KEY,
+    id          INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     customer_id VARCHAR(36)  NOT NULL,
     phonenumber VARCHAR(50)  NOT NULL,
     firstname   VARCHAR(100) NOT NULL,
     lastname    VARCHAR(100) NOT NULL,
     email       VARCHAR(100) NOT NULL
 );
-
-
@@ -0,0 +1,4 @@
+-- every loan write looks an account up by customer_id, so it gets a unique index instead of a table scan
+CREATE UNIQUE INDEX ux_library_accounts_customer_id ON library_accounts (customer_id);
+
+CREATE INDEX ix_library_accounts_email ON library_accounts (email);
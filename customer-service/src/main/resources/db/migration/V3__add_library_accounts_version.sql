@@ -0,0 +1,2 @@
+-- optimistic locking: every write bumps the version, which is also the account's ETag
+ALTER TABLE library_accounts ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
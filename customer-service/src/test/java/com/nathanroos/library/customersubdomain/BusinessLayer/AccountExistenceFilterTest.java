@@ -0,0 +1,133 @@
+package com.nathanroos.library.customersubdomain.BusinessLayer;
+
+import com.nathanroos.library.customersubdomain.DataAccessLayer.LibraryAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AccountExistenceFilterTest {
+
+    private LibraryAccountRepository libraryAccountRepository;
+
+    private AccountFilterProperties properties;
+
+    private AccountExistenceFilter filter;
+
+    @BeforeEach
+    void setup() {
+        libraryAccountRepository = mock(LibraryAccountRepository.class);
+        properties = new AccountFilterProperties();
+        properties.setExpectedAccounts(1_000);
+        properties.setFalsePositiveRate(0.000001);
+        filter = new AccountExistenceFilter(libraryAccountRepository, mock(PlatformTransactionManager.class), properties);
+    }
+
+    @Test
+    void whenFilterIsBuilt_thenEveryStoredAccountMightExist() {
+        List<String> accountIds = randomIds(20_000);
+        stored(accountIds);
+
+        filter.rebuild();
+
+        accountIds.forEach(accountId -> assertTrue(filter.mightExist(accountId), accountId));
+    }
+
+    @Test
+    void whenAccountIsUnknown_thenFalsePositivesStayNearTheConfiguredRate() {
+        properties.setFalsePositiveRate(0.01);
+        stored(randomIds(20_000));
+        filter.rebuild();
+
+        long falsePositives = randomIds(100_000).stream().filter(filter::mightExist).count();
+
+        assertTrue(falsePositives < 2_000, falsePositives + " false positives in 100000 lookups");
+    }
+
+    @Test
+    void whenAccountIsAddedDuringARebuild_thenTheNewFilterKeepsIt() {
+        String lateAccount = UUID.randomUUID().toString();
+        List<String> accountIds = randomIds(100);
+        when(libraryAccountRepository.count()).thenReturn(100L);
+        when(libraryAccountRepository.streamAllAccountIds()).thenAnswer(invocation -> accountIds.stream()
+                .peek(accountId -> {
+                    if (accountId.equals(accountIds.get(50))) {
+                        filter.added(lateAccount);
+                    }
+                }));
+
+        filter.rebuild();
+
+        assertTrue(filter.mightExist(lateAccount));
+    }
+
+    @Test
+    void whenAccountIsAddedAfterTheBuild_thenItMightExist() {
+        stored(randomIds(100));
+        filter.rebuild();
+        String accountId = UUID.randomUUID().toString();
+
+        filter.added(accountId);
+
+        assertTrue(filter.mightExist(accountId));
+    }
+
+    @Test
+    void whenAccountWasRemoved_thenTheNextStaleCheckRebuildsWithoutIt() {
+        List<String> accountIds = randomIds(100);
+        stored(accountIds);
+        filter.rebuild();
+        String removed = accountIds.remove(0);
+
+        filter.rebuildIfStale();
+        assertTrue(filter.mightExist(removed));
+        verify(libraryAccountRepository, times(1)).streamAllAccountIds();
+
+        filter.removed(removed);
+        filter.rebuildIfStale();
+
+        assertFalse(filter.mightExist(removed));
+        verify(libraryAccountRepository, times(2)).streamAllAccountIds();
+    }
+
+    @Test
+    void whenFilterIsNotBuiltOrIdIsNotAUuid_thenEveryAccountMightExist() {
+        assertTrue(filter.mightExist(UUID.randomUUID().toString()));
+
+        stored(randomIds(100));
+        filter.rebuild();
+
+        assertTrue(filter.mightExist("not-a-uuid"));
+        assertTrue(filter.mightExist(null));
+    }
+
+    @Test
+    void whenFilterIsDisabled_thenTheRepositoryIsNeverScanned() {
+        properties.setEnabled(false);
+
+        filter.build();
+
+        assertTrue(filter.mightExist(UUID.randomUUID().toString()));
+        verifyNoInteractions(libraryAccountRepository);
+    }
+
+    private void stored(List<String> accountIds) {
+        when(libraryAccountRepository.count()).thenAnswer(invocation -> (long) accountIds.size());
+        when(libraryAccountRepository.streamAllAccountIds()).thenAnswer(invocation -> accountIds.stream());
+    }
+
+    private static List<String> randomIds(int count) {
+        List<String> accountIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            accountIds.add(UUID.randomUUID().toString());
+        }
+        return accountIds;
+    }
+}
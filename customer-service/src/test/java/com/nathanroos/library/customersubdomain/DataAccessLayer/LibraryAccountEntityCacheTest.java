@@ -0,0 +1,78 @@
+package com.nathanroos.library.customersubdomain.DataAccessLayer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class LibraryAccountEntityCacheTest {
+
+    @Autowired
+    private LibraryAccountRepository libraryAccountRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    private String accountId;
+
+    @BeforeEach
+    void setup() {
+        accountId = libraryAccountRepository.save(new LibraryAccount("514-555-0101", "Jane", "Austen", "jane.austen@example.com"))
+                .getLibraryAccountIdentifier().getAccountId();
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void whenAccountIsLookedUpAgainByAccountId_thenNoStatementIsRun() {
+        LibraryAccount first = libraryAccountRepository.findByNaturalId(accountId);
+        long statements = statistics.getPrepareStatementCount();
+
+        LibraryAccount second = libraryAccountRepository.findByNaturalId(accountId);
+
+        assertEquals("Jane", first.getFirstname());
+        assertEquals(first.getId(), second.getId());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void whenAccountIsUpdated_thenTheNextLookupSeesTheChange() {
+        LibraryAccount account = libraryAccountRepository.findByNaturalId(accountId);
+        account.setEmail("j.austen@example.com");
+        libraryAccountRepository.save(account);
+
+        assertEquals("j.austen@example.com", libraryAccountRepository.findByNaturalId(accountId).getEmail());
+    }
+
+    @Test
+    void whenAccountIsDeleted_thenLookupReturnsNull() {
+        libraryAccountRepository.delete(libraryAccountRepository.findByNaturalId(accountId));
+
+        assertNull(libraryAccountRepository.findByNaturalId(accountId));
+    }
+
+    @Test
+    void whenAccountIsLookedUp_thenRegionStatisticsArePublishedAsMetrics() {
+        libraryAccountRepository.findByNaturalId(accountId);
+        libraryAccountRepository.findByNaturalId(accountId);
+
+        assertEquals(1.0, meterRegistry.get("hibernate.second.level.cache.requests")
+                .tags("region", LibraryAccount.CACHE_REGION, "result", "hit")
+                .functionCounter().count());
+    }
+}
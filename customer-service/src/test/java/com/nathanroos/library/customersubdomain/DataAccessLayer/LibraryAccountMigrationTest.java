@@ -0,0 +1,76 @@
+package com.nathanroos.library.customersubdomain.DataAccessLayer;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The migrations have to upgrade a database in place, keeping its accounts, whether it was created by them or by
+// the schema-psql.sql and data-psql.sql scripts that ran before them.
+class LibraryAccountMigrationTest {
+
+    private DriverManagerDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void whenDatabaseWasCreatedByTheOldScripts_thenItIsBaselinedAndIndexedWithoutLosingAccounts() {
+        jdbcTemplate.execute("""
+                CREATE TABLE library_accounts
+                (
+                    id SERIAL PRIMARY KEY,
+                    customer_id VARCHAR(36)  NOT NULL,
+                    phonenumber VARCHAR(50)  NOT NULL,
+                    firstname   VARCHAR(100) NOT NULL,
+                    lastname    VARCHAR(100) NOT NULL,
+                    email       VARCHAR(100) NOT NULL
+                )""");
+        insertAccount("84a8ec6e-2fdc-4c6d-940f-9b2274d44420");
+        insertAccount("2f4e1e99-b473-4f2d-9422-0342959bbf08");
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:db/seed")
+                .baselineOnMigrate(true)
+                .baselineVersion("1.1")
+                .load()
+                .migrate();
+
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM library_accounts", Integer.class));
+        assertEquals(List.of("IX_LIBRARY_ACCOUNTS_EMAIL", "UX_LIBRARY_ACCOUNTS_CUSTOMER_ID"), indexes());
+        assertEquals(List.of(0L, 0L), jdbcTemplate.queryForList("SELECT version FROM library_accounts", Long.class));
+    }
+
+    @Test
+    void whenMigrationsRunAgain_thenNothingIsDroppedOrReapplied() {
+        Flyway flyway = Flyway.configure().dataSource(dataSource).load();
+        flyway.migrate();
+        insertAccount("84a8ec6e-2fdc-4c6d-940f-9b2274d44420");
+
+        assertEquals(0, flyway.migrate().migrationsExecuted);
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM library_accounts", Integer.class));
+        assertEquals(List.of("IX_LIBRARY_ACCOUNTS_EMAIL", "UX_LIBRARY_ACCOUNTS_CUSTOMER_ID"), indexes());
+    }
+
+    private void insertAccount(String customerId) {
+        jdbcTemplate.update("INSERT INTO library_accounts (customer_id, phonenumber, firstname, lastname, email) VALUES (?, ?, ?, ?, ?)",
+                customerId, "111-111-1111", "John", "Doe", "john.doe@example.com");
+    }
+
+    private List<String> indexes() {
+        return jdbcTemplate.queryForList("SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES " +
+                "WHERE TABLE_NAME = 'LIBRARY_ACCOUNTS' AND INDEX_NAME LIKE '%X_LIBRARY_ACCOUNTS_%' ORDER BY INDEX_NAME", String.class);
+    }
+}
@@ -0,0 +1,99 @@
+package com.nathanroos.library.customersubdomain.DataAccessLayer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Every finder on LibraryAccountRepository must be listed here with the SQL it issues, and the schema built by the
+// Flyway migrations must answer each one from an index rather than a table scan. Reads of the whole table are listed
+// apart.
+@DataJpaTest
+class LibraryAccountRepositoryQueryPlanTest {
+
+    private static final String ACCOUNT_ID = "84a8ec6e-2fdc-4c6d-940f-9b2274d44420";
+
+    private static final Map<String, String> REPOSITORY_QUERIES = Map.of(
+            "findLibraryAccountByLibraryAccountIdentifier_AccountId",
+            "SELECT * FROM library_accounts WHERE customer_id = '" + ACCOUNT_ID + "'",
+            "findAllByLibraryAccountIdentifier_AccountIdIn",
+            "SELECT * FROM library_accounts WHERE customer_id IN ('" + ACCOUNT_ID + "', 'ecf6c0a9-b97f-4dab-9107-1115fa5a4f07')",
+            "existsByLibraryAccountIdentifier_AccountId",
+            "SELECT id FROM library_accounts WHERE customer_id = '" + ACCOUNT_ID + "' FETCH FIRST 1 ROWS ONLY"
+    );
+
+    private static final Set<String> FULL_READS = Set.of("streamAllAccountIds");
+
+    @Autowired
+    private LibraryAccountRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        repository.deleteAll();
+
+        List<LibraryAccount> accounts = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            LibraryAccount account = new LibraryAccount("514-555-" + i, "First" + i, "Last" + i, "user" + i + "@example.com");
+            if (i == 0) {
+                account.setLibraryAccountIdentifier(new LibraryAccountIdentifier(ACCOUNT_ID));
+            }
+            accounts.add(account);
+        }
+        repository.saveAll(accounts);
+    }
+
+    @Test
+    void whenRepositoryDeclaresAFinder_thenItsQueryIsCoveredHere() {
+        Set<String> finders = Arrays.stream(LibraryAccountRepository.class.getDeclaredMethods())
+                .map(Method::getName)
+                .collect(Collectors.toSet());
+
+        Set<String> covered = new HashSet<>(REPOSITORY_QUERIES.keySet());
+        covered.addAll(FULL_READS);
+        assertEquals(finders, covered);
+    }
+
+    @Test
+    void whenAccountsAreLookedUpByCustomerId_thenTheUniqueIndexIsUsed() {
+        REPOSITORY_QUERIES.forEach((finder, sql) -> {
+            String plan = explain(sql);
+            assertTrue(plan.contains("UX_LIBRARY_ACCOUNTS_CUSTOMER_ID"), finder + " does not use the customer_id index: " + plan);
+            assertFalse(plan.contains("tableScan"), finder + " scans the table: " + plan);
+        });
+    }
+
+    @Test
+    void whenAccountsAreLookedUpByEmail_thenTheEmailIndexIsUsed() {
+        String plan = explain("SELECT * FROM library_accounts WHERE email = 'user42@example.com'");
+
+        assertTrue(plan.contains("IX_LIBRARY_ACCOUNTS_EMAIL"), plan);
+    }
+
+    @Test
+    void whenCustomerIdIsReused_thenTheInsertIsRejected() {
+        LibraryAccount duplicate = new LibraryAccount("514-555-0000", "Copy", "Cat", "copy.cat@example.com");
+        duplicate.setLibraryAccountIdentifier(new LibraryAccountIdentifier(ACCOUNT_ID));
+
+        assertThrows(DataIntegrityViolationException.class, () -> repository.saveAndFlush(duplicate));
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+}
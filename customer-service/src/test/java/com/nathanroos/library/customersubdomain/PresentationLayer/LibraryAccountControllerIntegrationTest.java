@@ -1,36 +1,62 @@
 package com.nathanroos.library.customersubdomain.PresentationLayer;
 
+import com.nathanroos.library.customersubdomain.BusinessLayer.AccountExistenceFilter;
+import com.nathanroos.library.customersubdomain.DataAccessLayer.LibraryAccount;
 import com.nathanroos.library.customersubdomain.DataAccessLayer.LibraryAccountRepository;
+import com.nathanroos.library.customersubdomain.MappingLayer.LibraryAccountResponseMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import java.util.Collections;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
 
 
 
 @SpringBootTest(webEnvironment = RANDOM_PORT)
-@Sql({"/data-psql.sql"})
+@Sql({"/db/seed/V1_1__seed_library_accounts.sql"})
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 class LibraryAccountControllerIntegrationTest {
 
     @Autowired
     private WebTestClient webTestClient;
 
-    @Autowired
+    @MockitoSpyBean
     private LibraryAccountRepository repository;
 
+    @Autowired
+    private AccountExistenceFilter accountExistenceFilter;
+
+    @MockitoSpyBean
+    private LibraryAccountResponseMapper responseMapper;
+
     private final String BASE_URI = "/api/v1/accounts";
     private final String NOT_FOUND_ID = "84a8ec6e-2fdc-4c6d-940f-9b2274d44422";
     private final String INVALID_ID = "this-is-not-a-uuid";
     private final String VALID_ID = "84a8ec6e-2fdc-4c6d-940f-9b2274d44420";
 
+    // @Sql writes the accounts behind the service's back, after the filter was built at startup
+    @BeforeEach
+    void rebuildAccountFilter() {
+        accountExistenceFilter.rebuild();
+    }
+
     @Test
     void whenAccountExists_thenReturnAllVolunteer() {
         long sizeDB = this.repository.count();
@@ -502,4 +528,178 @@ class LibraryAccountControllerIntegrationTest {
                 .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
     }
 
+    @Test
+    void whenBatchLookup_thenReturnInRequestOrderAndReportMissingIds() {
+        String otherId = "2f4e1e99-b473-4f2d-9422-0342959bbf08";
+
+        webTestClient.post()
+                .uri(BASE_URI + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(otherId, NOT_FOUND_ID, VALID_ID, otherId, INVALID_ID))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(LibraryAccountBatchResponseModel.class)
+                .value(response -> {
+                    assertEquals(List.of(otherId, VALID_ID), response.getAccounts().stream().map(LibraryAccountResponseModel::getAccountId).toList());
+                    assertEquals(List.of(NOT_FOUND_ID, INVALID_ID), response.getMissingIds());
+                });
+    }
+
+    @Test
+    void whenBatchIsTooLarge_thenReturnUnprocessableEntity() {
+        webTestClient.post()
+                .uri(BASE_URI + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Collections.nCopies(501, VALID_ID))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    void whenAccountExists_thenHeadReturnsOkWithoutABody() {
+        webTestClient.head()
+                .uri(BASE_URI + "/" + VALID_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void whenAccountIsUnknown_thenHeadReturnsNotFoundWithoutQuerying() {
+        webTestClient.head()
+                .uri(BASE_URI + "/" + NOT_FOUND_ID)
+                .exchange()
+                .expectStatus().isNotFound();
+
+        verify(repository, never()).existsByLibraryAccountIdentifier_AccountId(anyString());
+    }
+
+    @Test
+    void whenAccountWasAddedBehindTheFilter_thenGetAndBatchStillFindIt() {
+        // as if another instance had added it: the filter here was built before and never heard of it
+        String accountId = repository.save(new LibraryAccount("5145550000", "Ada", "Lovelace", "ada@example.com"))
+                .getLibraryAccountIdentifier().getAccountId();
+
+        webTestClient.get()
+                .uri(BASE_URI + "/" + accountId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(LibraryAccountResponseModel.class)
+                .value(response -> assertEquals(accountId, response.getAccountId()));
+        webTestClient.post()
+                .uri(BASE_URI + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(accountId))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(LibraryAccountBatchResponseModel.class)
+                .value(response -> {
+                    assertEquals(List.of(accountId), response.getAccounts().stream().map(LibraryAccountResponseModel::getAccountId).toList());
+                    assertEquals(List.of(), response.getMissingIds());
+                });
+    }
+
+    @Test
+    void whenAccountIsAddedThenRemoved_thenHeadFollows() {
+        LibraryAccountRequestModel request = LibraryAccountRequestModel.builder()
+                .firstname("Jane")
+                .lastname("Austen")
+                .email("jane.austen@example.com")
+                .phoneNumber("514-555-1817")
+                .build();
+        LibraryAccountResponseModel created = webTestClient.post()
+                .uri(BASE_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(LibraryAccountResponseModel.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(created);
+
+        webTestClient.head().uri(BASE_URI + "/" + created.getAccountId()).exchange().expectStatus().isOk();
+
+        webTestClient.delete().uri(BASE_URI + "/" + created.getAccountId()).exchange().expectStatus().isNoContent();
+        webTestClient.head().uri(BASE_URI + "/" + created.getAccountId()).exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    void whenHeadAccountIdIsInvalid_thenReturnUnprocessableEntity() {
+        webTestClient.head()
+                .uri(BASE_URI + "/" + INVALID_ID)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    void whenIfNoneMatchHoldsTheCurrentETag_thenReturnNotModifiedWithoutMapping() {
+        webTestClient.get()
+                .uri(BASE_URI + "/" + VALID_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"");
+        clearInvocations(responseMapper);
+
+        webTestClient.get()
+                .uri(BASE_URI + "/" + VALID_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+
+        verify(responseMapper, never()).entityToResponseModel(any());
+    }
+
+    @Test
+    void whenIfMatchIsStale_thenUpdateReturnsPreconditionFailedAndKeepsTheAccount() {
+        LibraryAccountRequestModel update = LibraryAccountRequestModel.builder()
+                .firstname("Jane")
+                .lastname("Doe")
+                .email("jane.doe@example.com")
+                .phoneNumber("987-654-3210")
+                .build();
+
+        webTestClient.put()
+                .uri(BASE_URI + "/" + VALID_ID)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(update)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"");
+
+        webTestClient.put()
+                .uri(BASE_URI + "/" + VALID_ID)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(LibraryAccountRequestModel.builder()
+                        .firstname("Janet")
+                        .lastname("Doe")
+                        .email("janet.doe@example.com")
+                        .phoneNumber("987-654-3210")
+                        .build())
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+        webTestClient.get()
+                .uri(BASE_URI + "/" + VALID_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody(LibraryAccountResponseModel.class)
+                .value(account -> assertEquals("Jane", account.getFirstname()));
+    }
+
+    @Test
+    void whenIfMatchIsStale_thenDeleteReturnsPreconditionFailedUntilTheCurrentETagIsSent() {
+        webTestClient.delete().uri(BASE_URI + "/" + VALID_ID).header(HttpHeaders.IF_MATCH, "\"3\"")
+                .exchange().expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        webTestClient.get().uri(BASE_URI + "/" + VALID_ID).exchange().expectStatus().isOk();
+
+        webTestClient.delete().uri(BASE_URI + "/" + VALID_ID).header(HttpHeaders.IF_MATCH, "\"0\"")
+                .exchange().expectStatus().isNoContent();
+        webTestClient.get().uri(BASE_URI + "/" + VALID_ID).exchange().expectStatus().isNotFound();
+    }
 }
@@ -0,0 +1,117 @@
+package com.nathanroos.library.librarySubdomain.businesslayer;
+
+import com.nathanroos.library.librarySubdomain.dataaccesslayer.Book;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// A million synthetic titles over a skewed vocabulary, so some query words match a handful of books and others
+// tens of thousands, as in a real catalog. Sampled, so the report gives the p50 and p99 of a search, which should
+// stay under 5 ms.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class BookSearchIndexBenchmark {
+
+    private static final int BOOKS = 1_000_000;
+    private static final int VOCABULARY = 50_000;
+    private static final int AUTHORS = 20_000;
+    private static final int QUERIES = 2_000;
+
+    private static final String[] SYLLABLES = {"ka", "lo", "mi", "ra", "ten", "vo", "shi", "bel", "dor", "an", "qu", "es", "tor", "win", "ly"};
+
+    private BookSearchIndex index;
+
+    private String[] queries;
+
+    private String[] prefixes;
+
+    private int next;
+
+    @Setup
+    public void setup() {
+        String[] words = words(VOCABULARY, 1);
+        String[] names = words(AUTHORS, 2);
+        Random random = new Random(42);
+
+        index = new BookSearchIndex();
+        List<String> titles = new ArrayList<>();
+        index.rebuild(new Iterator<>() {
+            private int next = 1;
+
+            @Override
+            public boolean hasNext() {
+                return next <= BOOKS;
+            }
+
+            @Override
+            public Book next() {
+                Book book = new Book();
+                book.setId(next++);
+                String[] title = new String[2 + random.nextInt(4)];
+                for (int i = 0; i < title.length; i++) {
+                    // cubing skews the picks towards the first words, so word frequencies span several orders of magnitude
+                    title[i] = words[(int) (Math.pow(random.nextDouble(), 3) * words.length)];
+                }
+                book.setTitle(String.join(" ", title));
+                book.setAuthor(names[random.nextInt(names.length)] + " " + names[random.nextInt(names.length)]);
+                if (titles.size() < QUERIES && random.nextInt(BOOKS / QUERIES / 2) == 0) {
+                    titles.add(book.getTitle() + " " + book.getAuthor());
+                }
+                return book;
+            }
+        });
+
+        List<String> queryList = new ArrayList<>();
+        for (String title : titles) {
+            String[] parts = title.split(" ");
+            queryList.add(parts[0]);
+            queryList.add(parts[0] + " " + parts[parts.length - 1]);
+            queryList.add(parts[0] + " " + parts[1]);
+        }
+        queries = queryList.toArray(String[]::new);
+        prefixes = titles.stream().map(title -> title.substring(0, 2)).toArray(String[]::new);
+    }
+
+    @Benchmark
+    public List<BookSearchIndex.Hit> search() {
+        return index.search(queries[next++ % queries.length], 20);
+    }
+
+    @Benchmark
+    public List<String> suggest() {
+        return index.suggest(prefixes[next++ % prefixes.length], 10);
+    }
+
+    // distinct pseudo-words built from syllables, so tokenizing them gives back the same words
+    private static String[] words(int count, int seed) {
+        Random random = new Random(seed);
+        Set<String> words = new LinkedHashSet<>();
+        while (words.size() < count) {
+            StringBuilder word = new StringBuilder();
+            for (int i = 0, length = 2 + random.nextInt(3); i < length; i++) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            words.add(word.toString());
+        }
+        return words.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,77 @@
+package com.nathanroos.library.librarySubdomain.mappinglayer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nathanroos.library.librarySubdomain.dataaccesslayer.Book;
+import com.nathanroos.library.librarySubdomain.dataaccesslayer.GenreEnum;
+import com.nathanroos.library.librarySubdomain.presentationlayer.BookResponseModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.EvoInflectorLinkRelationProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// GET /api/v1/books a step at a time: mapping the entities, then writing the mapped list as HAL. BookResponseMapper
+// adds no links, so unlike the other services there is no link step to measure.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookResponseMapperBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private final BookResponseMapper mapper = new BookResponseMapperImpl();
+
+    private ObjectMapper objectMapper;
+
+    private List<Book> books;
+
+    private List<BookResponseModel> responseModels;
+
+    @Setup
+    public void setup() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new Jackson2HalModule());
+        objectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new EvoInflectorLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+
+        books = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Book book = new Book("Title " + i, "Author " + i, i % 7, GenreEnum.FICTION,
+                    "https://covers.example.com/" + i + ".jpg");
+            book.setFirstname("First" + i);
+            book.setLastname("Last" + i);
+            book.setVersion((long) i % 5);
+            books.add(book);
+        }
+        responseModels = mapper.entityListToResponseModelList(books);
+    }
+
+    @Benchmark
+    public List<BookResponseModel> mapEntities() {
+        return mapper.entityListToResponseModelList(books);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responseModels);
+    }
+}
@@ -0,0 +1,26 @@
+package com.nathanroos.library.librarySubdomain.businesslayer;
+
+import com.nathanroos.library.librarySubdomain.presentationlayer.BookRequestModel;
+
+import java.io.IOException;
+
+// Reads an import body one row at a time, so only the current row is ever held in memory.
+// A row that can't be turned into a book comes back with an error and the rest are still read; a body that can't be
+// read any further throws an InvalidInputException instead.
+interface BookImportReader {
+
+    // null once the body is exhausted
+    Row next() throws IOException;
+
+    // rows are numbered from 1, not counting a header
+    record Row(int number, BookRequestModel book, String error) {
+
+        static Row of(int number, BookRequestModel book) {
+            return new Row(number, book, null);
+        }
+
+        static Row rejected(int number, String error) {
+            return new Row(number, null, error);
+        }
+    }
+}
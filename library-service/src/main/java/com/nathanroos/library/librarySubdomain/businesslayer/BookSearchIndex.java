@@ -0,0 +1,295 @@
+package com.nathanroos.library.librarySubdomain.businesslayer;
+
+import com.nathanroos.library.librarySubdomain.dataaccesslayer.Book;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+// In-process inverted index over Book.title and Book.author, keyed by the books' primary keys.
+// A search ANDs its terms by walking the shortest posting list and binary searching the others, then ranks each match
+// by the sum of its terms' idf times their weight in the book, where a title occurrence counts twice an author's.
+@Component
+public class BookSearchIndex {
+
+    private static final int TITLE_WEIGHT = 2;
+
+    private static final int AUTHOR_WEIGHT = 1;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Comparator<Hit> BY_RANK = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparingInt(Hit::book);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private State state = new State();
+
+    // writes made while a rebuild reads the catalog, replayed onto the rebuilt state before it is swapped in
+    private List<Consumer<State>> rebuildJournal;
+
+    public record Hit(int book, double score) {
+    }
+
+    private record QueryTerm(PostingList postings, double idf) {
+    }
+
+    private static final class State {
+        final Map<String, PostingList> postings = new HashMap<>();
+        // each book's terms, so a re-index or removal knows which posting lists to leave
+        final Map<Integer, String[]> bookTerms = new HashMap<>();
+        final PrefixTrie trie = new PrefixTrie();
+
+        // a rebuild leaves the trie alone and fills it once at the end
+        void index(int book, Map<String, Integer> weights, boolean updateTrie) {
+            String[] terms = new String[weights.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> weight : weights.entrySet()) {
+                PostingList postingList = postings.computeIfAbsent(weight.getKey(), term -> new PostingList());
+                postingList.add(book, Math.min(weight.getValue(), Byte.MAX_VALUE));
+                if (updateTrie) {
+                    trie.put(weight.getKey(), postingList.size(), true);
+                }
+                terms[i++] = weight.getKey();
+            }
+            bookTerms.put(book, terms);
+        }
+
+        // returns the terms the book had, or none if it wasn't indexed
+        String[] remove(int book, boolean updateTrie) {
+            String[] terms = bookTerms.remove(book);
+            if (terms == null) {
+                return new String[0];
+            }
+            for (String term : terms) {
+                PostingList postingList = postings.get(term);
+                postingList.remove(book);
+                if (postingList.size() == 0) {
+                    postings.remove(term);
+                }
+                if (updateTrie) {
+                    trie.put(term, postingList.size(), true);
+                }
+            }
+            return terms;
+        }
+    }
+
+    // Builds a new index off to the side and swaps it in, so searches keep answering from the old one meanwhile.
+    // A book written while the catalog is read may be missed or read stale, so the writes made in the meantime are
+    // applied to the new index too before the swap.
+    public synchronized void rebuild(Iterator<Book> books) {
+        lock.writeLock().lock();
+        try {
+            rebuildJournal = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        State rebuilt = new State();
+        try {
+            while (books.hasNext()) {
+                Book book = books.next();
+                rebuilt.index(book.getId(), weights(book), false);
+            }
+            rebuilt.postings.forEach((term, postingList) -> rebuilt.trie.put(term, postingList.size(), false));
+            rebuilt.trie.rankAll();
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                rebuildJournal = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+
+        lock.writeLock().lock();
+        try {
+            rebuildJournal.forEach(change -> change.accept(rebuilt));
+            state = rebuilt;
+        } finally {
+            rebuildJournal = null;
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Book book) {
+        Map<String, Integer> weights = weights(book);
+        write(target -> {
+            target.remove(book.getId(), true);
+            target.index(book.getId(), weights, true);
+        });
+    }
+
+    // For a batch of books, e.g. an import: the trie is re-ranked once for all the terms they touched.
+    public void indexAll(List<Book> books) {
+        List<Map<String, Integer>> weights = books.stream().map(BookSearchIndex::weights).toList();
+        write(target -> {
+            Set<String> touched = new HashSet<>();
+            for (int i = 0; i < books.size(); i++) {
+                touched.addAll(Arrays.asList(target.remove(books.get(i).getId(), false)));
+                target.index(books.get(i).getId(), weights.get(i), false);
+                touched.addAll(weights.get(i).keySet());
+            }
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (String term : touched) {
+                PostingList postingList = target.postings.get(term);
+                frequencies.put(term, postingList == null ? 0 : postingList.size());
+            }
+            target.trie.putAll(frequencies);
+        });
+    }
+
+    public void remove(Integer book) {
+        write(target -> target.remove(book, true));
+    }
+
+    private void write(Consumer<State> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(state);
+            if (rebuildJournal != null) {
+                rebuildJournal.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return state.bookTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Hit> search(String query, int limit) {
+        List<String> terms = tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            QueryTerm[] queryTerms = new QueryTerm[terms.size()];
+            double books = state.bookTerms.size();
+            for (int t = 0; t < queryTerms.length; t++) {
+                PostingList postings = state.postings.get(terms.get(t));
+                if (postings == null) {
+                    return List.of();
+                }
+                queryTerms[t] = new QueryTerm(postings, Math.log(1 + books / postings.size()));
+            }
+            Arrays.sort(queryTerms, Comparator.comparingInt(term -> term.postings().size()));
+
+            // a min-heap of the best `limit` hits so far; books come in ascending order, so a tie never evicts its head
+            PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, BY_RANK.reversed());
+            int[] cursors = new int[queryTerms.length];
+            PostingList shortest = queryTerms[0].postings();
+            candidates:
+            for (int i = 0; i < shortest.size(); i++) {
+                int book = shortest.book(i);
+                double score = queryTerms[0].idf() * shortest.weight(i);
+                for (int t = 1; t < queryTerms.length; t++) {
+                    PostingList postings = queryTerms[t].postings();
+                    int index = postings.indexOf(book, cursors[t]);
+                    if (index < 0) {
+                        cursors[t] = -index - 1;
+                        if (cursors[t] == postings.size()) {
+                            break candidates;
+                        }
+                        continue candidates;
+                    }
+                    cursors[t] = index + 1;
+                    score += queryTerms[t].idf() * postings.weight(index);
+                }
+                if (best.size() < limit) {
+                    best.add(new Hit(book, score));
+                } else if (score > best.peek().score()) {
+                    best.poll();
+                    best.add(new Hit(book, score));
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(best);
+            hits.sort(BY_RANK);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // completes the last word of the prefix with the most common terms starting with it
+    public List<String> suggest(String prefix, int limit) {
+        List<String> terms = tokenize(prefix);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            return state.trie.suggest(terms.get(terms.size() - 1), Math.min(limit, PrefixTrie.MAX_SUGGESTIONS));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Map<String, Integer> weights(Book book) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        tokenize(book.getTitle()).forEach(term -> weights.merge(term, TITLE_WEIGHT, Integer::sum));
+        tokenize(book.getAuthor()).forEach(term -> weights.merge(term, AUTHOR_WEIGHT, Integer::sum));
+        return weights;
+    }
+
+    // Lower-cased runs of letters and digits with accents stripped, so "Émile" and "emile" are the same term.
+    // Written out by hand because a rebuild tokenizes every title and author in the catalog.
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        if (!isAscii(text)) {
+            text = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        }
+        List<String> terms = new ArrayList<>();
+        StringBuilder term = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                term.append(Character.toLowerCase(c));
+            } else if (!term.isEmpty()) {
+                terms.add(term.toString());
+                term.setLength(0);
+            }
+        }
+        if (!term.isEmpty()) {
+            terms.add(term.toString());
+        }
+        return terms;
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
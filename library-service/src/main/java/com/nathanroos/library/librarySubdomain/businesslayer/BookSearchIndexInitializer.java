@@ -0,0 +1,41 @@
+package com.nathanroos.library.librarySubdomain.businesslayer;
+
+import com.nathanroos.library.librarySubdomain.dataaccesslayer.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.WindowIterator;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+// The search index only lives in memory, so it is rebuilt from the catalog at startup, reading the books a keyset page
+// at a time so the whole catalog is never loaded at once. Requests may already be served by then; the books they write
+// meanwhile are carried over into the rebuilt index.
+@Slf4j
+@Component
+public class BookSearchIndexInitializer {
+
+    private static final int PAGE_SIZE = 1_000;
+
+    private final BookRepository bookRepository;
+
+    private final BookSearchIndex bookSearchIndex;
+
+    public BookSearchIndexInitializer(BookRepository bookRepository, BookSearchIndex bookSearchIndex) {
+        this.bookRepository = bookRepository;
+        this.bookSearchIndex = bookSearchIndex;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        bookSearchIndex.rebuild(WindowIterator
+                .of(position -> bookRepository.findAllBy(position, Sort.by("id"), Limit.of(PAGE_SIZE)))
+                .startingAt(ScrollPosition.keyset()));
+        log.info("Indexed {} books for search in {} ms", bookSearchIndex.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
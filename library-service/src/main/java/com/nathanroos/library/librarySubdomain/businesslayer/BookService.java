@@ -2,16 +2,34 @@ package com.nathanroos.library.librarySubdomain.businesslayer;
 
 
 
+import com.nathanroos.library.librarySubdomain.presentationlayer.BookBatchResponseModel;
+import com.nathanroos.library.librarySubdomain.presentationlayer.BookImportResponseModel;
+import com.nathanroos.library.librarySubdomain.presentationlayer.BookPageResponseModel;
 import com.nathanroos.library.librarySubdomain.presentationlayer.BookRequestModel;
 import com.nathanroos.library.librarySubdomain.presentationlayer.BookResponseModel;
 
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Set;
 
 public interface BookService {
 
-    List<BookResponseModel> getBooks();
+    BookPageResponseModel getBooks(String sort, String cursor, int limit);
     BookResponseModel getBookByBookId(String bookId);
+    long getBookVersion(String bookId);
+    BookBatchResponseModel getBooksByBookIds(List<String> bookIds);
+    List<BookResponseModel> searchBooks(String query, int limit);
+    List<String> autocomplete(String prefix, int limit);
     BookResponseModel addBook(BookRequestModel book);
-    BookResponseModel updateBook(BookRequestModel book, String bookId);
-    void removeBook(String bookId);
+    BookImportResponseModel importBooks(InputStream body, MediaType contentType, int batchSize) throws IOException;
+    // requiredVersions are the versions an If-Match named, or null to write whatever the current version is
+    BookResponseModel updateBook(BookRequestModel book, String bookId, Set<Long> requiredVersions);
+    void removeBook(String bookId, Set<Long> requiredVersions);
+    void reserveCopies(String bookId, int copies);
+    // reserves as many of the copies as are left, possibly none, and returns how many
+    int reserveUpTo(String bookId, int copies);
+    void releaseCopies(String bookId, int copies);
 }
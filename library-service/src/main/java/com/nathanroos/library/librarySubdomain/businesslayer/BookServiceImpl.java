@@ -1,19 +1,48 @@
 package com.nathanroos.library.librarySubdomain.businesslayer;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nathanroos.library.librarySubdomain.dataaccesslayer.Book;
 import com.nathanroos.library.librarySubdomain.dataaccesslayer.BookIdentifier;
 import com.nathanroos.library.librarySubdomain.dataaccesslayer.BookRepository;
 import com.nathanroos.library.librarySubdomain.mappinglayer.BookRequestMapper;
 import com.nathanroos.library.librarySubdomain.mappinglayer.BookResponseMapper;
+import com.nathanroos.library.librarySubdomain.presentationlayer.BookBatchResponseModel;
+import com.nathanroos.library.librarySubdomain.presentationlayer.BookImportRejectionResponseModel;
+import com.nathanroos.library.librarySubdomain.presentationlayer.BookImportResponseModel;
+import com.nathanroos.library.librarySubdomain.presentationlayer.BookPageResponseModel;
 import com.nathanroos.library.librarySubdomain.presentationlayer.BookRequestModel;
 import com.nathanroos.library.librarySubdomain.presentationlayer.BookResponseModel;
 import com.nathanroos.library.librarySubdomain.utils.Exceptions.InvalidInputException;
+import com.nathanroos.library.librarySubdomain.utils.Exceptions.NoCopiesAvailableException;
 import com.nathanroos.library.librarySubdomain.utils.Exceptions.NotFoundException;
+import com.nathanroos.library.librarySubdomain.utils.Exceptions.PreconditionFailedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 public class BookServiceImpl implements BookService {
 
@@ -22,17 +51,43 @@ public class BookServiceImpl implements BookService {
 
     private final BookRequestMapper bookRequestMapper;
 
+    private final ObjectMapper objectMapper;
 
-    public BookServiceImpl(BookRepository bookRepository, BookResponseMapper bookResponseMapper, BookRequestMapper bookRequestMapper) {
+    private final BookSearchIndex bookSearchIndex;
+
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "title", "author");
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private static final int MAX_REPORTED_REJECTIONS = 1_000;
+
+    private static final int PROGRESS_INTERVAL = 50_000;
+
+
+    public BookServiceImpl(BookRepository bookRepository, BookResponseMapper bookResponseMapper, BookRequestMapper bookRequestMapper,
+                           ObjectMapper objectMapper, BookSearchIndex bookSearchIndex) {
         this.bookRepository = bookRepository;
         this.bookResponseMapper = bookResponseMapper;
         this.bookRequestMapper = bookRequestMapper;
+        this.objectMapper = objectMapper;
+        this.bookSearchIndex = bookSearchIndex;
     }
 
     @Override
-    public List<BookResponseModel> getBooks() {
-        List<Book> books = bookRepository.findAll();
-        return bookResponseMapper.entityListToResponseModelList(books);
+    public BookPageResponseModel getBooks(String sort, String cursor, int limit) {
+        if (!SORTABLE_FIELDS.contains(sort)) {
+            throw new InvalidInputException("Invalid sort: " + sort + ", expected one of " + SORTABLE_FIELDS);
+        }
+        // the id breaks ties, so each row has a unique position and none is skipped or repeated between pages
+        Sort order = sort.equals("id") ? Sort.by("id") : Sort.by(sort, "id");
+        ScrollPosition position = cursor == null ? ScrollPosition.keyset() : decodeCursor(cursor, sort);
+
+        Window<Book> window = bookRepository.findAllBy(position, order, Limit.of(limit));
+
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? encodeCursor(sort, (KeysetScrollPosition) window.positionAt(window.size() - 1))
+                : null;
+        return new BookPageResponseModel(bookResponseMapper.entityListToResponseModelList(window.getContent()), nextCursor);
     }
 
 
@@ -43,6 +98,55 @@ public class BookServiceImpl implements BookService {
         return bookResponseMapper.entityToResponseModel(book);
     }
 
+    @Override
+    public long getBookVersion(String bookId) {
+        return getBookObjectById(bookId).getVersion();
+    }
+
+    @Override
+    public BookBatchResponseModel getBooksByBookIds(List<String> bookIds) {
+        List<String> requestedIds = bookIds.stream().filter(Objects::nonNull).distinct().toList();
+
+        Map<String, Book> found = bookRepository.findAllByBookIdentifier_BookIdIn(requestedIds).stream()
+                .collect(Collectors.toMap(book -> book.getBookIdentifier().getBookId(), Function.identity(), (first, second) -> first));
+
+        List<BookResponseModel> books = new ArrayList<>();
+        List<String> missingIds = new ArrayList<>();
+        for (String bookId : requestedIds) {
+            Book book = found.get(bookId);
+            if (book == null) {
+                missingIds.add(bookId);
+            } else {
+                books.add(bookResponseMapper.entityToResponseModel(book));
+            }
+        }
+
+        return new BookBatchResponseModel(books, missingIds, null);
+    }
+
+    // The index ranks primary keys; the books themselves come from one lookup, put back in rank order.
+    @Override
+    public List<BookResponseModel> searchBooks(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidInputException("Search query must not be blank");
+        }
+        List<Integer> ranked = bookSearchIndex.search(query, limit).stream().map(BookSearchIndex.Hit::book).toList();
+
+        Map<Integer, Book> found = bookRepository.findAllById(ranked).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        // a book removed since the search simply drops out
+        List<Book> books = ranked.stream().map(found::get).filter(Objects::nonNull).toList();
+        return bookResponseMapper.entityListToResponseModelList(books);
+    }
+
+    @Override
+    public List<String> autocomplete(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new InvalidInputException("Prefix must not be blank");
+        }
+        return bookSearchIndex.suggest(prefix, limit);
+    }
+
     @Override
     public BookResponseModel addBook(BookRequestModel book) {
 
@@ -53,13 +157,98 @@ public class BookServiceImpl implements BookService {
         validateLibrarianRequestModel(book);
 
         Book createdBook = bookRepository.save(book1);
+        bookSearchIndex.index(createdBook);
         return bookResponseMapper.entityToResponseModel(createdBook);
     }
 
+    // Valid rows are written a batch at a time, each batch in its own transaction, so a batch once written stays
+    // written even if a later row turns out to be unreadable; the report then says where the import stopped.
+    @Override
+    public BookImportResponseModel importBooks(InputStream body, MediaType contentType, int batchSize) throws IOException {
+        BookImportReader reader;
+        if (contentType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            reader = new JsonBookImportReader(body, objectMapper);
+        } else if (contentType.isCompatibleWith(TEXT_CSV)) {
+            reader = new CsvBookImportReader(body);
+        } else {
+            throw new InvalidInputException("Unsupported import format: " + contentType);
+        }
+
+        long start = System.nanoTime();
+        BookImportResponseModel report = new BookImportResponseModel(0, 0, 0, new ArrayList<>(), null);
+        List<Book> batch = new ArrayList<>(batchSize);
+        int read = 0;
+        while (report.getError() == null) {
+            BookImportReader.Row row;
+            try {
+                row = reader.next();
+            } catch (InvalidInputException e) {
+                // nothing usable was read, so the body as a whole is wrong
+                if (read == 0) {
+                    throw e;
+                }
+                report.setError(e.getMessage());
+                break;
+            }
+            if (row == null) {
+                break;
+            }
+            read++;
+
+            String error = row.error();
+            if (error == null) {
+                try {
+                    validateLibrarianRequestModel(row.book());
+                } catch (InvalidInputException e) {
+                    error = e.getMessage();
+                }
+            }
+            if (error != null) {
+                report.setRejected(report.getRejected() + 1);
+                if (report.getRejections().size() < MAX_REPORTED_REJECTIONS) {
+                    report.getRejections().add(new BookImportRejectionResponseModel(row.number(), error));
+                }
+                continue;
+            }
+
+            batch.add(bookRequestMapper.requestModelToEntity(row.book(), new BookIdentifier()));
+            if (batch.size() == batchSize) {
+                writeImportBatch(batch, report);
+                batch.clear();
+            }
+        }
+        writeImportBatch(batch, report);
+
+        log.info("Imported {} books in {} batches, rejected {}, in {} ms", report.getImported(), report.getBatches(),
+                report.getRejected(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return report;
+    }
+
+    private void writeImportBatch(List<Book> batch, BookImportResponseModel report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            bookRepository.insertAll(batch);
+        } catch (DataAccessException e) {
+            report.setError("Batch " + (report.getBatches() + 1) + " could not be written: " + e.getMostSpecificCause().getMessage());
+            return;
+        }
+        bookSearchIndex.indexAll(batch);
+
+        int before = report.getImported();
+        report.setImported(before + batch.size());
+        report.setBatches(report.getBatches() + 1);
+        if (report.getImported() / PROGRESS_INTERVAL > before / PROGRESS_INTERVAL) {
+            log.info("Import progress: {} books imported, {} rejected", report.getImported(), report.getRejected());
+        }
+    }
+
     @Override
-    public BookResponseModel updateBook(BookRequestModel UpdateBook, String bookId) {
+    public BookResponseModel updateBook(BookRequestModel UpdateBook, String bookId, Set<Long> requiredVersions) {
 
         Book book = getBookObjectById(bookId);
+        checkVersion(book, requiredVersions);
 
         validateLibrarianRequestModel(UpdateBook);
 
@@ -69,16 +258,66 @@ public class BookServiceImpl implements BookService {
         book.setCopiesAvailable(UpdateBook.getCopiesAvailable());
         book.setImageUrl(UpdateBook.getImageUrl());
 
-        bookRepository.save(book);
+        Book updated = versionedWrite(requiredVersions, book.getVersion(), () -> bookRepository.save(book));
+        bookSearchIndex.index(updated);
 
-        return bookResponseMapper.entityToResponseModel(book);
+        return bookResponseMapper.entityToResponseModel(updated);
     }
 
     @Override
-    public void removeBook(String bookId) {
+    public void removeBook(String bookId, Set<Long> requiredVersions) {
         Book existingBook = getBookObjectById(bookId);
+        checkVersion(existingBook, requiredVersions);
+
+        versionedWrite(requiredVersions, existingBook.getVersion(), () -> {
+            bookRepository.delete(existingBook);
+            return existingBook;
+        });
+        bookSearchIndex.remove(existingBook.getId());
+    }
+
+    // The book is only read when the update matched nothing, to tell an unknown book from a sold-out one.
+    @Override
+    public void reserveCopies(String bookId, int copies) {
+        validateCopyChange(bookId, copies);
+
+        if (bookRepository.reserveCopies(bookId, copies) == 0) {
+            if (!bookRepository.existsByBookIdentifier_BookId(bookId)) {
+                throw new NotFoundException("Unknown bookId: " + bookId);
+            }
+            throw new NoCopiesAvailableException("Not enough copies available for bookId: " + bookId);
+        }
+    }
+
+    @Override
+    public int reserveUpTo(String bookId, int copies) {
+        validateCopyChange(bookId, copies);
 
-        bookRepository.delete(existingBook);
+        int reserved = bookRepository.reserveUpTo(bookId, copies);
+        if (reserved == 0 && !bookRepository.existsByBookIdentifier_BookId(bookId)) {
+            throw new NotFoundException("Unknown bookId: " + bookId);
+        }
+        return reserved;
+    }
+
+    @Override
+    public void releaseCopies(String bookId, int copies) {
+        validateCopyChange(bookId, copies);
+
+        if (bookRepository.releaseCopies(bookId, copies) == 0) {
+            throw new NotFoundException("Unknown bookId: " + bookId);
+        }
+    }
+
+    private static void validateCopyChange(String bookId, int copies) {
+        try {
+            UUID.fromString(bookId);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException("Invalid bookId: " + bookId);
+        }
+        if (copies < 1) {
+            throw new InvalidInputException("copies must be at least 1, got " + copies);
+        }
     }
 
     private void validateLibrarianRequestModel(BookRequestModel model) {
@@ -103,6 +342,54 @@ public class BookServiceImpl implements BookService {
     }
 
 
+    // the cursor carries the sort it was issued for, so it can't be replayed against a different order
+    private String encodeCursor(String sort, KeysetScrollPosition position) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(new BookCursor(sort, position.getKeys()));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode cursor for sort " + sort, e);
+        }
+    }
+
+    private ScrollPosition decodeCursor(String cursor, String sort) {
+        BookCursor decoded;
+        try {
+            decoded = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor), BookCursor.class);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new InvalidInputException("Invalid cursor: " + cursor);
+        }
+
+        Set<String> expectedKeys = sort.equals("id") ? Set.of("id") : Set.of(sort, "id");
+        if (!sort.equals(decoded.sort()) || decoded.keys() == null || !expectedKeys.equals(decoded.keys().keySet())) {
+            throw new InvalidInputException("Cursor does not match sort: " + sort);
+        }
+        return ScrollPosition.forward(decoded.keys());
+    }
+
+    private record BookCursor(String sort, Map<String, Object> keys) {
+    }
+
+    private static void checkVersion(Book book, Set<Long> requiredVersions) {
+        if (requiredVersions != null && !requiredVersions.contains(book.getVersion())) {
+            throw new PreconditionFailedException("bookId " + book.getBookIdentifier().getBookId() + " is at version "
+                    + book.getVersion() + ", not any of " + requiredVersions);
+        }
+    }
+
+    // The write carries the version that was read, so one committed since then fails it instead of being overwritten.
+    // That is a failed If-Match when the caller named a version; otherwise it surfaces as a conflict.
+    private static Book versionedWrite(Set<Long> requiredVersions, Long readVersion, Supplier<Book> write) {
+        try {
+            return write.get();
+        } catch (OptimisticLockingFailureException e) {
+            if (requiredVersions == null) {
+                throw e;
+            }
+            throw new PreconditionFailedException("The book changed after version " + readVersion, e);
+        }
+    }
+
     private Book getBookObjectById(String bookId) {
         try {
             UUID.fromString(bookId);
@@ -110,7 +397,7 @@ public class BookServiceImpl implements BookService {
             throw new InvalidInputException("Invalid bookId: " + bookId);
         }
 
-        Book account = this.bookRepository.findAllByBookIdentifier_BookId(bookId);
+        Book account = this.bookRepository.findByNaturalId(bookId);
 
         if (account == null) {
             throw new NotFoundException("Unknown bookId: " + bookId);
@@ -0,0 +1,126 @@
+package com.nathanroos.library.librarySubdomain.businesslayer;
+
+import com.nathanroos.library.librarySubdomain.dataaccesslayer.GenreEnum;
+import com.nathanroos.library.librarySubdomain.presentationlayer.BookRequestModel;
+import com.nathanroos.library.librarySubdomain.utils.Exceptions.InvalidInputException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+// RFC 4180 CSV: a header row naming the BookRequestModel fields in any order (case doesn't matter), then one book
+// per row. Quoted fields may hold commas, doubled quotes and line breaks. An empty field is null and blank lines
+// are skipped.
+final class CsvBookImportReader implements BookImportReader {
+
+    private static final Map<String, BiConsumer<BookRequestModel.BookRequestModelBuilder, String>> COLUMNS = Map.of(
+            "firstname", BookRequestModel.BookRequestModelBuilder::firstname,
+            "lastname", BookRequestModel.BookRequestModelBuilder::lastname,
+            "title", BookRequestModel.BookRequestModelBuilder::title,
+            "author", BookRequestModel.BookRequestModelBuilder::author,
+            "genre", (book, genre) -> book.genre(GenreEnum.valueOf(genre.trim().toUpperCase(Locale.ROOT))),
+            "copiesavailable", (book, copies) -> book.copiesAvailable(Integer.parseInt(copies.trim())),
+            "imageurl", BookRequestModel.BookRequestModelBuilder::imageUrl);
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader reader;
+
+    private final List<String> header;
+
+    private int row;
+
+    CsvBookImportReader(InputStream body) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        List<String> names = readRecord();
+        if (names == null) {
+            throw new InvalidInputException("A CSV import needs a header row");
+        }
+        if (!names.get(0).isEmpty() && names.get(0).charAt(0) == BYTE_ORDER_MARK) {
+            names.set(0, names.get(0).substring(1));
+        }
+        header = new ArrayList<>();
+        for (String name : names) {
+            if (!COLUMNS.containsKey(name.trim().toLowerCase(Locale.ROOT))) {
+                throw new InvalidInputException("Unknown CSV column: " + name.trim());
+            }
+            header.add(name.trim());
+        }
+    }
+
+    @Override
+    public Row next() throws IOException {
+        List<String> fields;
+        do {
+            fields = readRecord();
+        } while (fields != null && fields.size() == 1 && fields.get(0).isBlank());
+        if (fields == null) {
+            return null;
+        }
+        row++;
+
+        if (fields.size() != header.size()) {
+            return Row.rejected(row, "Expected " + header.size() + " fields, got " + fields.size());
+        }
+        BookRequestModel.BookRequestModelBuilder book = BookRequestModel.builder();
+        for (int i = 0; i < fields.size(); i++) {
+            String value = fields.get(i);
+            if (value.isEmpty()) {
+                continue;
+            }
+            try {
+                COLUMNS.get(header.get(i).toLowerCase(Locale.ROOT)).accept(book, value);
+            } catch (IllegalArgumentException e) {
+                return Row.rejected(row, "Invalid " + header.get(i) + ": " + value);
+            }
+        }
+        return Row.of(row, book.build());
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new InvalidInputException("Unterminated quoted field in CSV row " + (row + 1));
+                }
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.isEmpty() && !wasQuoted) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (c == '\n' || c == -1) {
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.nathanroos.library.librarySubdomain.businesslayer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nathanroos.library.librarySubdomain.presentationlayer.BookRequestModel;
+import com.nathanroos.library.librarySubdomain.utils.Exceptions.InvalidInputException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// A JSON array of books in the same shape as the single-book POST. Each element is read as a tree first, so one that
+// doesn't map onto a book is rejected without losing the parser's place in the array.
+final class JsonBookImportReader implements BookImportReader {
+
+    private final ObjectMapper objectMapper;
+
+    private final JsonParser parser;
+
+    private int row;
+
+    JsonBookImportReader(InputStream body, ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.createParser(body);
+        if (nextToken() != JsonToken.START_ARRAY) {
+            throw new InvalidInputException("A JSON import must be an array of books");
+        }
+    }
+
+    @Override
+    public Row next() throws IOException {
+        JsonToken token = nextToken();
+        if (token == JsonToken.END_ARRAY) {
+            return null;
+        }
+        if (token == null) {
+            throw new InvalidInputException("JSON import ends without closing its array, after row " + row);
+        }
+        row++;
+
+        JsonNode element;
+        try {
+            element = parser.readValueAsTree();
+        } catch (StreamReadException e) {
+            throw new InvalidInputException("Malformed JSON in row " + row + ": " + e.getOriginalMessage());
+        }
+        if (!element.isObject()) {
+            return Row.rejected(row, "Row is not a JSON object");
+        }
+        try {
+            return Row.of(row, objectMapper.treeToValue(element, BookRequestModel.class));
+        } catch (JsonProcessingException e) {
+            return Row.rejected(row, "Invalid row: " + e.getOriginalMessage());
+        }
+    }
+
+    private JsonToken nextToken() throws IOException {
+        try {
+            return parser.nextToken();
+        } catch (StreamReadException e) {
+            throw new InvalidInputException("Malformed JSON after row " + row + ": " + e.getOriginalMessage());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.nathanroos.library.librarySubdomain.businesslayer;
+
+import java.util.Arrays;
+
+// The books containing one term, as primary keys in ascending order, each with the term's weight in that book.
+// Primitive arrays keep a million-title index small; keys are appended in order during a rebuild, and new books get
+// the highest key, so inserting in the middle only happens when an existing book is re-indexed.
+final class PostingList {
+
+    private int[] books = new int[4];
+
+    private byte[] weights = new byte[4];
+
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    int book(int index) {
+        return books[index];
+    }
+
+    int weight(int index) {
+        return weights[index];
+    }
+
+    void add(int book, int weight) {
+        int index = size == 0 || book > books[size - 1] ? -size - 1 : indexOf(book, 0);
+        if (index >= 0) {
+            weights[index] = (byte) weight;
+            return;
+        }
+        int insertAt = -index - 1;
+        if (size == books.length) {
+            books = Arrays.copyOf(books, size * 2);
+            weights = Arrays.copyOf(weights, size * 2);
+        }
+        System.arraycopy(books, insertAt, books, insertAt + 1, size - insertAt);
+        System.arraycopy(weights, insertAt, weights, insertAt + 1, size - insertAt);
+        books[insertAt] = book;
+        weights[insertAt] = (byte) weight;
+        size++;
+    }
+
+    void remove(int book) {
+        int index = indexOf(book, 0);
+        if (index < 0) {
+            return;
+        }
+        System.arraycopy(books, index + 1, books, index, size - index - 1);
+        System.arraycopy(weights, index + 1, weights, index, size - index - 1);
+        size--;
+    }
+
+    // binary search from a lower bound, so walking a shorter list against this one never looks back
+    int indexOf(int book, int from) {
+        return Arrays.binarySearch(books, from, size, book);
+    }
+}
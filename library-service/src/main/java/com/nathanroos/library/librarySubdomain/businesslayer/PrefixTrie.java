@@ -0,0 +1,156 @@
+package com.nathanroos.library.librarySubdomain.businesslayer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Every node caches the MAX_SUGGESTIONS most frequent terms below it, so a suggestion is a walk down the prefix and
+// nothing more, however many terms share it. A frequency change only re-ranks the nodes on that term's path.
+final class PrefixTrie {
+
+    static final int MAX_SUGGESTIONS = 10;
+
+    private static final Comparator<Node> BY_FREQUENCY = Comparator.comparingInt((Node node) -> node.frequency).reversed()
+            .thenComparing(node -> node.term);
+
+    private static final char[] NO_KEYS = new char[0];
+
+    private static final Node[] NO_NODES = new Node[0];
+
+    private final Node root = new Node();
+
+    private static final class Node {
+        char[] keys = NO_KEYS;
+        Node[] children = NO_NODES;
+        // set on the node that ends a term
+        String term;
+        int frequency;
+        Node[] top = NO_NODES;
+
+        Node child(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index < 0 ? null : children[index];
+        }
+
+        Node addChild(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = key;
+            newChildren[insertAt] = new Node();
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+
+        void removeChild(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        void rank() {
+            List<Node> candidates = new ArrayList<>();
+            if (term != null) {
+                candidates.add(this);
+            }
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(BY_FREQUENCY);
+            top = candidates.subList(0, Math.min(MAX_SUGGESTIONS, candidates.size())).toArray(NO_NODES);
+        }
+    }
+
+    // A frequency of 0 drops the term. Without ranking, the caller must call rankAll() before the next suggestion.
+    void put(String term, int frequency, boolean rank) {
+        Node[] path = new Node[term.length() + 1];
+        int depth = update(term, frequency, path);
+        if (rank) {
+            for (; depth >= 0; depth--) {
+                path[depth].rank();
+            }
+        }
+    }
+
+    // Terms sharing a prefix share the nodes above it, so each node on their paths is ranked once, deepest first,
+    // however many of the terms changed.
+    void putAll(Map<String, Integer> frequencies) {
+        List<Set<Node>> touched = new ArrayList<>();
+        for (Map.Entry<String, Integer> frequency : frequencies.entrySet()) {
+            Node[] path = new Node[frequency.getKey().length() + 1];
+            int depth = update(frequency.getKey(), frequency.getValue(), path);
+            for (; depth >= 0; depth--) {
+                while (touched.size() <= depth) {
+                    touched.add(new HashSet<>());
+                }
+                touched.get(depth).add(path[depth]);
+            }
+        }
+        for (int depth = touched.size() - 1; depth >= 0; depth--) {
+            touched.get(depth).forEach(Node::rank);
+        }
+    }
+
+    // fills path with the nodes down to the term and returns the depth of the deepest one still in the trie
+    private int update(String term, int frequency, Node[] path) {
+        path[0] = root;
+        for (int i = 0; i < term.length(); i++) {
+            path[i + 1] = frequency > 0 ? path[i].addChild(term.charAt(i)) : path[i].child(term.charAt(i));
+            if (path[i + 1] == null) {
+                return -1;
+            }
+        }
+
+        Node end = path[term.length()];
+        end.term = frequency > 0 ? term : null;
+        end.frequency = frequency;
+
+        int depth = term.length();
+        while (depth > 0 && path[depth].term == null && path[depth].children.length == 0) {
+            path[depth - 1].removeChild(term.charAt(depth - 1));
+            depth--;
+        }
+        return depth;
+    }
+
+    void rankAll() {
+        rankAll(root);
+    }
+
+    private static void rankAll(Node node) {
+        for (Node child : node.children) {
+            rankAll(child);
+        }
+        node.rank();
+    }
+
+    List<String> suggest(String prefix, int limit) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        return Arrays.stream(node.top).limit(limit).map(top -> top.term).toList();
+    }
+}
@@ -4,18 +4,30 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.antlr.v4.runtime.misc.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 
 @Entity
 @Table(name="books")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Book.CACHE_REGION)
+@NaturalIdCache(region = Book.NATURAL_ID_CACHE_REGION)
 @Data
 @NoArgsConstructor
 public class Book {
 
+    public static final String CACHE_REGION = "books";
+
+    public static final String NATURAL_ID_CACHE_REGION = "books-by-book-id";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id; //private identifier
 
+    @NaturalId
     @Embedded
     private BookIdentifier bookIdentifier; //public identifier
 
@@ -35,6 +47,12 @@ public class Book {
     @Column(name = "image_url", length = 500)
     private String imageUrl;
 
+    // bumped on every write, so a stale update fails instead of overwriting; it is also the book's ETag
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     public Book(@NotNull String title, @NotNull String author, @NotNull Integer copiesAvailable, @NotNull GenreEnum genre, String imageUrl) {
         this.bookIdentifier = new BookIdentifier();
         this.title = title;
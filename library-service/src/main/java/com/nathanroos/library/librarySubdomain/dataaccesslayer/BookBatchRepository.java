@@ -0,0 +1,9 @@
+package com.nathanroos.library.librarySubdomain.dataaccesslayer;
+
+import java.util.List;
+
+public interface BookBatchRepository {
+
+    // Inserts the books as one JDBC batch in one transaction and sets their generated ids.
+    void insertAll(List<Book> books);
+}
@@ -0,0 +1,65 @@
+package com.nathanroos.library.librarySubdomain.dataaccesslayer;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+// Book ids come from an identity column, which stops Hibernate from batching inserts: it has to run each INSERT on
+// its own to learn the id. Plain JDBC sends the whole list as one batch and reads the ids back from the generated
+// keys; on MySQL, rewriteBatchedStatements=true turns the batch into multi-row INSERTs.
+public class BookBatchRepositoryImpl implements BookBatchRepository {
+
+    private static final String INSERT_BOOK = "INSERT INTO books " +
+            "(book_id, title, author, copies_available, genre, firstname, lastname, image_url, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void insertAll(List<Book> books) {
+        if (books.isEmpty()) {
+            return;
+        }
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_BOOK, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        Book book = books.get(i);
+                        statement.setString(1, book.getBookIdentifier().getBookId());
+                        statement.setString(2, book.getTitle());
+                        statement.setString(3, book.getAuthor());
+                        statement.setInt(4, book.getCopiesAvailable());
+                        statement.setString(5, book.getGenre().name());
+                        statement.setString(6, book.getFirstname());
+                        statement.setString(7, book.getLastname());
+                        statement.setString(8, book.getImageUrl());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return books.size();
+                    }
+                }, keys);
+
+        List<Map<String, Object>> ids = keys.getKeyList();
+        if (ids.size() != books.size()) {
+            throw new IllegalStateException("Inserted " + books.size() + " books but got " + ids.size() + " generated ids");
+        }
+        for (int i = 0; i < books.size(); i++) {
+            books.get(i).setId(((Number) ids.get(i).values().iterator().next()).intValue());
+            books.get(i).setVersion(0L);
+        }
+    }
+}
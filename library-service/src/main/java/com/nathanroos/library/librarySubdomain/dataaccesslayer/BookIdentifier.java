@@ -2,11 +2,13 @@ package com.nathanroos.library.librarySubdomain.dataaccesslayer;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Embeddable;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
 import java.util.UUID;
 @Embeddable
 @Getter
+@EqualsAndHashCode
 public class BookIdentifier {
 
     @Column(name = "book_id")
@@ -0,0 +1,13 @@
+package com.nathanroos.library.librarySubdomain.dataaccesslayer;
+
+public interface BookInventoryRepository {
+
+    // One conditional UPDATE with no prior read: the row lock is held only for the statement itself, and the
+    // guard in the WHERE clause makes oversell impossible. 0 rows updated means unknown book or too few copies.
+    int reserveCopies(String bookId, int copies);
+
+    // Takes as many of the copies as the book has left, and returns how many that was.
+    int reserveUpTo(String bookId, int copies);
+
+    int releaseCopies(String bookId, int copies);
+}
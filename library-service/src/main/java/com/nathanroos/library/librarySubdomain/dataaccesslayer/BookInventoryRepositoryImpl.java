@@ -0,0 +1,109 @@
+package com.nathanroos.library.librarySubdomain.dataaccesslayer;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+// Every checkout reserves a copy, so these run on every loan. A JPQL bulk UPDATE would make Hibernate empty the whole
+// books and books-by-book-id regions each time; a native UPDATE declaring a query space no entity maps to empties
+// nothing, and only the changed book's entries are evicted instead. Like Hibernate's own bulk cleanup, they are evicted
+// before the statement and again after the commit, so a read in between can't leave the old row cached.
+// Bulk updates skip Hibernate's versioning, so both bump the version themselves to retire the book's old ETag.
+public class BookInventoryRepositoryImpl implements BookInventoryRepository {
+
+    private static final String QUERY_SPACE = "book_inventory";
+
+    private static final String RESERVE_COPIES = "UPDATE books SET copies_available = copies_available - :copies, version = version + 1 " +
+            "WHERE book_id = :bookId AND copies_available >= :copies";
+
+    private static final String RESERVE_UP_TO = "UPDATE books SET copies_available = copies_available - LEAST(copies_available, :copies), " +
+            "version = version + 1 WHERE book_id = :bookId AND copies_available > 0";
+
+    private static final String AVAILABLE_COPIES = "SELECT copies_available FROM books WHERE book_id = :bookId FOR UPDATE";
+
+    private static final String RELEASE_COPIES = "UPDATE books SET copies_available = copies_available + :copies, version = version + 1 " +
+            "WHERE book_id = :bookId";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int reserveCopies(String bookId, int copies) {
+        return update(RESERVE_COPIES, bookId, copies);
+    }
+
+    // the read locks the row until the commit, so the count it returns is the one the UPDATE takes from
+    @Override
+    @Transactional
+    public int reserveUpTo(String bookId, int copies) {
+        List<?> available = entityManager.createNativeQuery(AVAILABLE_COPIES)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(QUERY_SPACE)
+                .setParameter("bookId", bookId)
+                .getResultList();
+        if (available.isEmpty()) {
+            return 0;
+        }
+        int reserved = Math.min(((Number) available.get(0)).intValue(), copies);
+        return reserved > 0 && update(RESERVE_UP_TO, bookId, copies) == 1 ? reserved : 0;
+    }
+
+    @Override
+    @Transactional
+    public int releaseCopies(String bookId, int copies) {
+        return update(RELEASE_COPIES, bookId, copies);
+    }
+
+    private int update(String sql, String bookId, int copies) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        // resolved through the natural-id cache; an unknown book updates nothing
+        Book book = session.bySimpleNaturalId(Book.class).getReference(new BookIdentifier(bookId));
+        if (book == null) {
+            return 0;
+        }
+        Runnable evictBook = bookEviction(session, bookId, session.getIdentifier(book));
+        evictBook.run();
+
+        int updated = entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(QUERY_SPACE)
+                .setParameter("bookId", bookId)
+                .setParameter("copies", copies)
+                .executeUpdate();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                evictBook.run();
+            }
+        });
+        return updated;
+    }
+
+    // the cache keys are built while the session is open, since the second eviction runs after it has closed
+    private static Runnable bookEviction(SessionImplementor session, String bookId, Object id) {
+        SessionFactoryImplementor sessionFactory = session.getSessionFactory();
+        EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(Book.class);
+        NaturalIdDataAccess naturalIds = persister.getNaturalIdCacheAccessStrategy();
+        Object naturalIdKey = naturalIds == null ? null : naturalIds.generateCacheKey(
+                persister.getNaturalIdMapping().normalizeInput(new BookIdentifier(bookId)), persister,
+                session);
+
+        return () -> {
+            sessionFactory.getCache().evictEntityData(Book.class, id);
+            if (naturalIdKey != null) {
+                naturalIds.evict(naturalIdKey);
+            }
+        };
+    }
+}
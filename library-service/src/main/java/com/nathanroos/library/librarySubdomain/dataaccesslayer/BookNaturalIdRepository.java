@@ -0,0 +1,7 @@
+package com.nathanroos.library.librarySubdomain.dataaccesslayer;
+
+public interface BookNaturalIdRepository {
+
+    // Looks the book up by its public id through the second-level cache; null when there is no such book.
+    Book findByNaturalId(String bookId);
+}
@@ -0,0 +1,22 @@
+package com.nathanroos.library.librarySubdomain.dataaccesslayer;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+// A derived findBy query always goes to the database. A natural-id load asks the natural-id cache for the primary
+// key and then the entity cache for the row, and only queries on a miss.
+public class BookNaturalIdRepositoryImpl implements BookNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Book findByNaturalId(String bookId) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Book.class)
+                .load(new BookIdentifier(bookId));
+    }
+}
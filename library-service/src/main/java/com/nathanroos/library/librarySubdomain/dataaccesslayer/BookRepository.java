@@ -1,8 +1,22 @@
 package com.nathanroos.library.librarySubdomain.dataaccesslayer;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface BookRepository extends JpaRepository<Book, Integer> {
+import java.util.Collection;
+import java.util.List;
+
+public interface BookRepository extends JpaRepository<Book, Integer>, BookBatchRepository, BookNaturalIdRepository,
+        BookInventoryRepository {
 
     Book findAllByBookIdentifier_BookId(String bookId);
+
+    List<Book> findAllByBookIdentifier_BookIdIn(Collection<String> bookIds);
+
+    Window<Book> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    boolean existsByBookIdentifier_BookId(String bookId);
 }
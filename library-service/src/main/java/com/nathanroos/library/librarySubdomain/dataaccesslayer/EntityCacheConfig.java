@@ -0,0 +1,57 @@
+package com.nathanroos.library.librarySubdomain.dataaccesslayer;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+// Hibernate's second-level cache, held in bounded Caffeine caches. Each entity gets a region for its rows and one
+// mapping its public id to its primary key, so a lookup by public id that hits both runs no SQL. Hibernate keeps
+// both up to date on its own writes; a JPQL bulk UPDATE empties the entity's regions, which is why the copy counts are
+// changed by BookInventoryRepositoryImpl instead.
+@Configuration
+public class EntityCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCache(EntityCacheProperties properties) {
+        return hibernateProperties -> {
+            if (!properties.isEnabled()) {
+                hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+                return;
+            }
+            // a cache manager of its own, so caches never outlive or get shared between persistence units;
+            // Hibernate closes it with the session factory
+            CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+            CacheManager cacheManager = provider.getCacheManager(URI.create("entity-cache:" + UUID.randomUUID()), getClass().getClassLoader());
+            createRegion(cacheManager, Book.CACHE_REGION, properties.getBooks());
+            createRegion(cacheManager, Book.NATURAL_ID_CACHE_REGION, properties.getBooks());
+
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            // an entity annotated for a region that isn't created above fails startup instead of growing unbounded
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            // per-region hits, misses and puts, published as hibernate.* metrics
+            hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, String name, EntityCacheProperties.Region region) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(region.getMaxSize()));
+        configuration.setExpireAfterWrite(OptionalLong.of(region.getTtl().toNanos()));
+        // Hibernate already caches a disassembled copy, so there is nothing to gain from copying it again
+        configuration.setStoreByValue(false);
+        cacheManager.createCache(name, configuration);
+    }
+}
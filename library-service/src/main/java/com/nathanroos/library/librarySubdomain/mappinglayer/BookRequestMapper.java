@@ -19,7 +19,8 @@ public interface BookRequestMapper {
             @Mapping(source = "bookRequestModel.genre", target = "genre"),
             @Mapping(source = "bookRequestModel.firstname", target = "firstname"),
             @Mapping(source = "bookRequestModel.lastname", target = "lastname"),
-            @Mapping(source = "bookRequestModel.imageUrl", target = "imageUrl")
+            @Mapping(source = "bookRequestModel.imageUrl", target = "imageUrl"),
+            @Mapping(target = "version", ignore = true)
 
     })
     Book requestModelToEntity(BookRequestModel bookRequestModel, BookIdentifier bookIdentifier);
@@ -27,6 +27,7 @@ public interface BookResponseMapper {
     @Mapping(source = "firstname", target = "firstname")
     @Mapping(source = "lastname", target = "lastname")
     @Mapping(source = "imageUrl", target = "imageUrl")
+    @Mapping(source = "version", target = "version")
     BookResponseModel entityToResponseModel(Book book);
 
     List<BookResponseModel> entityListToResponseModelList(List<Book> Books);
@@ -0,0 +1,21 @@
+package com.nathanroos.library.librarySubdomain.presentationlayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookBatchResponseModel {
+
+    // in the order the ids were requested, duplicates removed
+    List<BookResponseModel> books;
+    List<String> missingIds;
+
+    // the ETag of each book found, by bookId, since a batch has no ETag header per book
+    Map<String, String> etags;
+}
@@ -4,12 +4,22 @@ import com.nathanroos.library.librarySubdomain.businesslayer.BookService;
 import com.nathanroos.library.librarySubdomain.utils.Exceptions.InvalidInputException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @Slf4j
 @RestController
@@ -18,23 +28,80 @@ public class BookController {
 
     private final BookService bookService;
     private static final int UUID_LENGTH = 36;
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int MAX_SUGGESTIONS = 10;
+    private static final int MAX_IMPORT_BATCH_SIZE = 10_000;
 
     @Autowired
     public BookController(BookService bookService) {
         this.bookService = bookService;
     }
 
+    // the next page, if any, is advertised in a Link header so the body stays a plain list
     @GetMapping(produces = "application/json")
-    public ResponseEntity<List<BookResponseModel>> getBooks() {
-        return ResponseEntity.ok().body(bookService.getBooks());
+    public ResponseEntity<List<BookResponseModel>> getBooks(@RequestParam(defaultValue = "id") String sort,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "50") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidInputException("limit must be between 1 and " + MAX_PAGE_SIZE + ", got " + limit);
+        }
+        BookPageResponseModel page = bookService.getBooks(sort, cursor, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(HttpHeaders.LINK, linkTo(methodOn(BookController.class)
+                    .getBooks(sort, page.getNextCursor(), limit))
+                    .withRel(IanaLinkRelations.NEXT)
+                    .toString());
+        }
+        return response.body(page.getBooks());
+    }
+
+    // books matching every word of q in their title or author, best match first
+    @GetMapping(value = "/search", produces = "application/json")
+    public ResponseEntity<List<BookResponseModel>> searchBooks(@RequestParam String q,
+                                                               @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new InvalidInputException("limit must be between 1 and " + MAX_SEARCH_RESULTS + ", got " + limit);
+        }
+        return ResponseEntity.ok().body(bookService.searchBooks(q, limit));
+    }
+
+    // the most common title and author words completing the last word of prefix
+    @GetMapping(value = "/autocomplete", produces = "application/json")
+    public ResponseEntity<List<String>> autocomplete(@RequestParam String prefix,
+                                                     @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new InvalidInputException("limit must be between 1 and " + MAX_SUGGESTIONS + ", got " + limit);
+        }
+        return ResponseEntity.ok().body(bookService.autocomplete(prefix, limit));
     }
 
+    // a poll whose If-None-Match still holds is answered 304 from the book's version alone, before anything is mapped
     @GetMapping(value = "/{bookId}", produces = "application/json")
-    public ResponseEntity<BookResponseModel> getBookByBookId(@PathVariable String bookId) {
+    public ResponseEntity<BookResponseModel> getBookByBookId(@PathVariable String bookId, WebRequest request) {
         if (bookId.length() != UUID_LENGTH) {
             throw new InvalidInputException("Invalid bookId provided: " + bookId);
         }
-        return ResponseEntity.ok().body(bookService.getBookByBookId(bookId));
+        if (request.checkNotModified(EntityTags.of(bookService.getBookVersion(bookId)))) {
+            return null;
+        }
+        BookResponseModel book = bookService.getBookByBookId(bookId);
+        return ResponseEntity.ok().eTag(EntityTags.of(book.getVersion())).body(book);
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BookBatchResponseModel> getBooksByBookIds(@RequestBody List<String> bookIds) {
+        if (bookIds.size() > MAX_BATCH_SIZE) {
+            throw new InvalidInputException("A batch can contain at most " + MAX_BATCH_SIZE + " bookIds, got " + bookIds.size());
+        }
+        BookBatchResponseModel batch = bookService.getBooksByBookIds(bookIds);
+        Map<String, String> etags = new LinkedHashMap<>();
+        batch.getBooks().forEach(book -> etags.put(book.getBookId(), EntityTags.of(book.getVersion())));
+        batch.setEtags(etags);
+        return ResponseEntity.ok().body(batch);
     }
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -42,16 +109,49 @@ public class BookController {
         return new ResponseEntity<>(bookService.addBook(bookRequestModel), HttpStatus.CREATED);
     }
 
+    // streams a JSON array or a CSV file of books; each row is imported or rejected, so the response is 200 either way
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv"}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BookImportResponseModel> importBooks(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                               @RequestParam(defaultValue = "1000") int batchSize,
+                                                               InputStream body) throws IOException {
+        if (batchSize < 1 || batchSize > MAX_IMPORT_BATCH_SIZE) {
+            throw new InvalidInputException("batchSize must be between 1 and " + MAX_IMPORT_BATCH_SIZE + ", got " + batchSize);
+        }
+        return ResponseEntity.ok().body(bookService.importBooks(body, contentType, batchSize));
+    }
+
     @PutMapping(value = "/{bookId}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<BookResponseModel> updateBook(@PathVariable String bookId, @RequestBody BookRequestModel bookRequestModel)
+    public ResponseEntity<BookResponseModel> updateBook(@PathVariable String bookId,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                        @RequestBody BookRequestModel bookRequestModel)
     {
-        return new ResponseEntity<>(bookService.updateBook(bookRequestModel, bookId), HttpStatus.OK);
+        BookResponseModel book = bookService.updateBook(bookRequestModel, bookId, EntityTags.requiredVersions(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(book.getVersion())).body(book);
+    }
+
+    @PostMapping("/{bookId}/reserve")
+    public ResponseEntity<Void> reserveCopies(@PathVariable String bookId, @RequestParam(defaultValue = "1") int copies) {
+        bookService.reserveCopies(bookId, copies);
+        return ResponseEntity.noContent().build();
+    }
+
+    // for a bulk checkout: answers with how many of the copies could be reserved instead of failing when too few are left
+    @PostMapping(value = "/{bookId}/reserve-up-to", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Integer> reserveUpTo(@PathVariable String bookId, @RequestParam int copies) {
+        return ResponseEntity.ok().body(bookService.reserveUpTo(bookId, copies));
+    }
+
+    @PostMapping("/{bookId}/release")
+    public ResponseEntity<Void> releaseCopies(@PathVariable String bookId, @RequestParam(defaultValue = "1") int copies) {
+        bookService.releaseCopies(bookId, copies);
+        return ResponseEntity.noContent().build();
     }
 
     @DeleteMapping(value = "/{bookId}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<BookResponseModel> deleteBook(@PathVariable String bookId)
+    public ResponseEntity<BookResponseModel> deleteBook(@PathVariable String bookId,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
     {
-        bookService.removeBook(bookId);
+        bookService.removeBook(bookId, EntityTags.requiredVersions(ifMatch));
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 }
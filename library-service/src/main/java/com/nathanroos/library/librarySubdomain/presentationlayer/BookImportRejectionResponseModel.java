@@ -0,0 +1,15 @@
+package com.nathanroos.library.librarySubdomain.presentationlayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookImportRejectionResponseModel {
+
+    // counted from 1, not counting a CSV header
+    int row;
+    String message;
+}
@@ -0,0 +1,21 @@
+package com.nathanroos.library.librarySubdomain.presentationlayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookImportResponseModel {
+
+    int imported;
+    int rejected;
+    int batches;
+    // the first rejected rows, in body order; rejected counts them all
+    List<BookImportRejectionResponseModel> rejections;
+    // why the import stopped early, if it did; no row from that point on was imported
+    String error;
+}
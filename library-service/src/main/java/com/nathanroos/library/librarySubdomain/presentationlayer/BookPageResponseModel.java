@@ -0,0 +1,17 @@
+package com.nathanroos.library.librarySubdomain.presentationlayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookPageResponseModel {
+
+    List<BookResponseModel> books;
+    // null on the last page
+    String nextCursor;
+}
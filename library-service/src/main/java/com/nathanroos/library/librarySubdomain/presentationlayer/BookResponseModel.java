@@ -1,5 +1,6 @@
 package com.nathanroos.library.librarySubdomain.presentationlayer;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.nathanroos.library.librarySubdomain.dataaccesslayer.GenreEnum;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -19,4 +20,8 @@ public class BookResponseModel extends RepresentationModel<BookResponseModel> {
     String author;
     Integer copiesAvailable;
     String imageUrl;
+
+    // sent as the ETag header rather than in the body
+    @JsonIgnore
+    Long version;
 }
@@ -0,0 +1,17 @@
+package com.nathanroos.library.librarySubdomain.utils.Exceptions;
+
+public class NoCopiesAvailableException extends RuntimeException{
+
+    public NoCopiesAvailableException(String message) {
+        super(message);
+    }
+
+    public NoCopiesAvailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public NoCopiesAvailableException(Throwable cause) {
+        super(cause);
+    }
+
+}
@@ -4,8 +4,11 @@ package com.nathanroos.library.librarySubdomain.utils;
 import com.nathanroos.library.librarySubdomain.utils.Exceptions.HttpErrorInfo;
 import com.nathanroos.library.librarySubdomain.utils.Exceptions.InUseException;
 import com.nathanroos.library.librarySubdomain.utils.Exceptions.InvalidInputException;
+import com.nathanroos.library.librarySubdomain.utils.Exceptions.NoCopiesAvailableException;
 import com.nathanroos.library.librarySubdomain.utils.Exceptions.NotFoundException;
+import com.nathanroos.library.librarySubdomain.utils.Exceptions.PreconditionFailedException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -39,4 +42,23 @@ public class GlobalExceptionHandler {
     public HttpErrorInfo handleInUseException(WebRequest request, Exception ex){
         return createHttpErrorInfo(HttpStatus.UNPROCESSABLE_ENTITY, request, ex);
     }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(NoCopiesAvailableException.class)
+    public HttpErrorInfo handleNoCopiesAvailableException(WebRequest request, Exception ex){
+        return createHttpErrorInfo(HttpStatus.CONFLICT, request, ex);
+    }
+
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    @ExceptionHandler(PreconditionFailedException.class)
+    public HttpErrorInfo handlePreconditionFailedException(WebRequest request, Exception ex){
+        return createHttpErrorInfo(HttpStatus.PRECONDITION_FAILED, request, ex);
+    }
+
+    // a concurrent write landed between reading the entity and saving it, and the request named no version of its own
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public HttpErrorInfo handleOptimisticLockingFailureException(WebRequest request, Exception ex){
+        return createHttpErrorInfo(HttpStatus.CONFLICT, request, ex);
+    }
 }
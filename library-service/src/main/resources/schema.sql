@@ -35,5 +35,10 @@ CREATE TABLE books
         'POETRY', 'NON_FICTION'),
     firstname       VARCHAR(255),
     lastname        VARCHAR(255),
-    image_url       VARCHAR(500)
-);
\ No newline at end of file
+    image_url       VARCHAR(500),
+    version         BIGINT              NOT NULL DEFAULT 0
+);
+
+-- keyset paging walks these in (sort column, id) order
+CREATE INDEX idx_books_title_id ON books (title, id);
+CREATE INDEX idx_books_author_id ON books (author, id);
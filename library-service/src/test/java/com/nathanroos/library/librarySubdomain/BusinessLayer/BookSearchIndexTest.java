@@ -0,0 +1,163 @@
+package com.nathanroos.library.librarySubdomain.BusinessLayer;
+
+import com.nathanroos.library.librarySubdomain.businesslayer.BookSearchIndex;
+import com.nathanroos.library.librarySubdomain.dataaccesslayer.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookSearchIndexTest {
+
+    private BookSearchIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new BookSearchIndex();
+        index.rebuild(List.of(
+                book(1, "1984", "George Orwell"),
+                book(2, "Animal Farm", "George Orwell"),
+                book(3, "Down and Out in Paris and London", "George Orwell"),
+                book(4, "Middlemarch", "George Eliot"),
+                book(5, "Orwell's Roses", "Rebecca Solnit")).iterator());
+    }
+
+    @Test
+    void whenEveryWordMatches_thenOnlyThoseBooksAreReturned() {
+        assertEquals(List.of(1), books(index.search("orwell 1984", 10)));
+        assertEquals(List.of(), books(index.search("orwell middlemarch", 10)));
+        assertEquals(List.of(), books(index.search("unknownword", 10)));
+    }
+
+    @Test
+    void whenWordIsInATitle_thenThatBookRanksAboveAuthorMatches() {
+        List<Integer> ranked = books(index.search("Orwell", 10));
+
+        assertEquals(5, ranked.get(0));
+        assertEquals(List.of(1, 2, 3, 5), ranked.stream().sorted().toList());
+    }
+
+    @Test
+    void whenLimitIsSmallerThanTheMatches_thenTheBestAreKept() {
+        assertEquals(List.of(5, 1), books(index.search("orwell", 2)));
+    }
+
+    @Test
+    void whenQueryDiffersInCaseOrAccents_thenItStillMatches() {
+        index.index(book(6, "Les Misérables", "Victor Hugo"));
+
+        assertEquals(List.of(6), books(index.search("MISERABLES", 10)));
+        assertEquals(List.of(6), books(index.search("misérables, hugo!", 10)));
+    }
+
+    @Test
+    void whenBookIsReindexed_thenItsOldWordsNoLongerMatch() {
+        index.index(book(2, "Homage to Catalonia", "George Orwell"));
+
+        assertEquals(List.of(), books(index.search("animal", 10)));
+        assertEquals(List.of(2), books(index.search("catalonia", 10)));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void whenBookIsRemoved_thenItIsNoLongerFoundOrSuggested() {
+        index.remove(4);
+
+        assertEquals(List.of(), books(index.search("middlemarch", 10)));
+        assertEquals(List.of(), index.suggest("midd", 10));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void whenPrefixIsTyped_thenMostCommonCompletionsComeFirst() {
+        assertEquals(List.of("orwell"), index.suggest("orw", 10));
+        assertEquals(List.of("george"), index.suggest("Geo", 10));
+        assertEquals(List.of("london"), index.suggest("down and out in paris and lon", 10));
+        assertEquals(List.of(), index.suggest("xyz", 10));
+    }
+
+    @Test
+    void whenTermsChangeFrequency_thenSuggestionsAreReranked() {
+        index.index(book(6, "Orwellian Times", "Unknown"));
+        index.index(book(7, "Orwellian Days", "Unknown"));
+        index.index(book(8, "Orwellian Nights", "Unknown"));
+        index.index(book(9, "Orwellian Mornings", "Unknown"));
+
+        assertEquals(List.of("orwell", "orwellian"), index.suggest("orwell", 2));
+
+        index.remove(1);
+        index.remove(2);
+
+        assertEquals(List.of("orwellian", "orwell"), index.suggest("orwell", 2));
+    }
+
+    @Test
+    void whenBooksAreIndexedAsABatch_thenSearchAndSuggestionsMatchIndexingThemOneByOne() {
+        index.indexAll(List.of(
+                book(2, "Homage to Catalonia", "George Orwell"),
+                book(6, "Orwellian Times", "Unknown"),
+                book(7, "Orwellian Days", "Unknown"),
+                book(8, "Orwellian Nights", "Unknown")));
+
+        assertEquals(8, index.size());
+        assertEquals(List.of(), books(index.search("animal", 10)));
+        assertEquals(List.of(2), books(index.search("catalonia", 10)));
+        assertEquals(List.of(6, 7, 8), books(index.search("orwellian", 10)).stream().sorted().toList());
+        assertEquals(List.of("orwell", "orwellian"), index.suggest("orwell", 2));
+        assertEquals(List.of(), index.suggest("anim", 10));
+    }
+
+    @Test
+    void whenRebuilt_thenTheOldIndexIsReplaced() {
+        index.rebuild(List.of(book(10, "Dune", "Frank Herbert")).iterator());
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(), books(index.search("orwell", 10)));
+        assertEquals(List.of(10), books(index.search("dune", 10)));
+    }
+
+    @Test
+    void whenBooksAreWrittenDuringARebuild_thenTheRebuiltIndexKeepsThoseWrites() {
+        // the catalog as read holds book 1 and an old copy of book 2; both change, and book 11 is added, mid-read
+        Iterator<Book> catalog = List.of(book(1, "1984", "George Orwell"), book(2, "Animal Farm", "George Orwell")).iterator();
+        index.rebuild(new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return catalog.hasNext();
+            }
+
+            @Override
+            public Book next() {
+                Book next = catalog.next();
+                if (next.getId() == 1) {
+                    index.remove(1);
+                    index.index(book(2, "Homage to Catalonia", "George Orwell"));
+                    index.indexAll(List.of(book(11, "Dune Messiah", "Frank Herbert")));
+                }
+                return next;
+            }
+        });
+
+        assertEquals(List.of(), books(index.search("1984", 10)));
+        assertEquals(List.of(), books(index.search("animal", 10)));
+        assertEquals(List.of(2), books(index.search("catalonia", 10)));
+        assertEquals(List.of(11), books(index.search("messiah", 10)));
+        assertEquals(List.of("messiah"), index.suggest("mess", 10));
+        assertEquals(2, index.size());
+    }
+
+    private static List<Integer> books(List<BookSearchIndex.Hit> hits) {
+        return hits.stream().map(BookSearchIndex.Hit::book).toList();
+    }
+
+    private static Book book(int id, String title, String author) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor(author);
+        return book;
+    }
+}
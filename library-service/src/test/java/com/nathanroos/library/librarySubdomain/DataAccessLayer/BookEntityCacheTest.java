@@ -0,0 +1,174 @@
+package com.nathanroos.library.librarySubdomain.DataAccessLayer;
+
+import com.nathanroos.library.librarySubdomain.dataaccesslayer.Book;
+import com.nathanroos.library.librarySubdomain.dataaccesslayer.BookRepository;
+import com.nathanroos.library.librarySubdomain.dataaccesslayer.GenreEnum;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Statement counts come from Hibernate's statistics, so the assertions hold however fast the database is.
+@SpringBootTest(properties = {"logging.level.org.hibernate.SQL=INFO", "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookEntityCacheTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BookEntityCacheTest.class);
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    private String bookId;
+
+    @BeforeEach
+    void setup() {
+        bookId = bookRepository.save(new Book("1984", "George Orwell", 5, GenreEnum.FICTION, null)).getBookIdentifier().getBookId();
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void whenBookIsLookedUpAgainByBookId_thenNoStatementIsRun() {
+        Book first = bookRepository.findByNaturalId(bookId);
+        long statements = statistics.getPrepareStatementCount();
+        long naturalIdHits = statistics.getNaturalIdCacheHitCount();
+        long entityHits = statistics.getCacheRegionStatistics(Book.CACHE_REGION).getHitCount();
+
+        Book second = bookRepository.findByNaturalId(bookId);
+
+        assertEquals("1984", first.getTitle());
+        assertEquals(first.getId(), second.getId());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(naturalIdHits + 1, statistics.getNaturalIdCacheHitCount());
+        assertEquals(entityHits + 1, statistics.getCacheRegionStatistics(Book.CACHE_REGION).getHitCount());
+    }
+
+    @Test
+    void whenBookIsUnknown_thenLookupReturnsNull() {
+        assertNull(bookRepository.findByNaturalId("00000000-0000-0000-0000-000000000000"));
+    }
+
+    @Test
+    void whenBookIsUpdated_thenTheNextLookupSeesTheChange() {
+        Book book = bookRepository.findByNaturalId(bookId);
+        book.setTitle("Nineteen Eighty-Four");
+        bookRepository.save(book);
+
+        assertEquals("Nineteen Eighty-Four", bookRepository.findByNaturalId(bookId).getTitle());
+    }
+
+    @Test
+    void whenCopiesAreReservedWithABulkUpdate_thenTheCachedBookIsNotServed() {
+        int copies = bookRepository.findByNaturalId(bookId).getCopiesAvailable();
+
+        assertEquals(1, bookRepository.reserveCopies(bookId, 2));
+
+        assertEquals(copies - 2, bookRepository.findByNaturalId(bookId).getCopiesAvailable());
+    }
+
+    @Test
+    void whenCopiesOfOneBookAreReserved_thenOtherCachedBooksStayCached() {
+        String otherBookId = bookRepository.save(new Book("Brave New World", "Aldous Huxley", 3, GenreEnum.FICTION, null))
+                .getBookIdentifier().getBookId();
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        Book book = bookRepository.findByNaturalId(bookId);
+        Book other = bookRepository.findByNaturalId(otherBookId);
+        assertTrue(cache.containsEntity(Book.class, book.getId()));
+        assertTrue(cache.containsEntity(Book.class, other.getId()));
+
+        assertEquals(1, bookRepository.reserveCopies(bookId, 1));
+        assertEquals(1, bookRepository.releaseCopies(bookId, 1));
+
+        assertFalse(cache.containsEntity(Book.class, book.getId()));
+        assertTrue(cache.containsEntity(Book.class, other.getId()));
+        long statements = statistics.getPrepareStatementCount();
+        assertEquals("Brave New World", bookRepository.findByNaturalId(otherBookId).getTitle());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void whenBookIsDeleted_thenLookupReturnsNull() {
+        bookRepository.delete(bookRepository.findByNaturalId(bookId));
+
+        assertNull(bookRepository.findByNaturalId(bookId));
+    }
+
+    @Test
+    void whenBookIsLookedUp_thenRegionStatisticsArePublishedAsMetrics() {
+        bookRepository.findByNaturalId(bookId);
+        bookRepository.findByNaturalId(bookId);
+
+        FunctionCounter hits = meterRegistry.get("hibernate.second.level.cache.requests")
+                .tags("region", Book.CACHE_REGION, "result", "hit")
+                .functionCounter();
+        assertEquals(1.0, hits.count());
+    }
+
+    @Test
+    void whenCatalogIsLookedUpByBookId_thenCachedLookupsRunNoStatements() {
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            books.add(new Book("Title " + i, "Author " + i, 1, GenreEnum.FICTION, null));
+        }
+        bookRepository.insertAll(books);
+        List<String> bookIds = books.stream().map(book -> book.getBookIdentifier().getBookId()).toList();
+        Random random = new Random(42);
+        int lookups = 20_000;
+
+        for (String bookId : bookIds) {
+            bookRepository.findAllByBookIdentifier_BookId(bookId);  // warm up
+            bookRepository.findByNaturalId(bookId);
+        }
+
+        statistics.clear();
+        long derivedStart = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            assertNotNull(bookRepository.findAllByBookIdentifier_BookId(bookIds.get(random.nextInt(bookIds.size()))));
+        }
+        long derived = System.nanoTime() - derivedStart;
+        long derivedStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        long cachedStart = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            assertNotNull(bookRepository.findByNaturalId(bookIds.get(random.nextInt(bookIds.size()))));
+        }
+        long cached = System.nanoTime() - cachedStart;
+        long cachedStatements = statistics.getPrepareStatementCount();
+
+        CacheRegionStatistics region = statistics.getCacheRegionStatistics(Book.CACHE_REGION);
+        log.info("{} lookups: derived query {} ms and {} statements, natural-id cache {} ms and {} statements ({} hits, {} misses)",
+                lookups, TimeUnit.NANOSECONDS.toMillis(derived), derivedStatements,
+                TimeUnit.NANOSECONDS.toMillis(cached), cachedStatements, region.getHitCount(), region.getMissCount());
+
+        assertEquals(lookups, derivedStatements);
+        assertEquals(0, cachedStatements);
+        assertEquals(lookups, region.getHitCount());
+    }
+}
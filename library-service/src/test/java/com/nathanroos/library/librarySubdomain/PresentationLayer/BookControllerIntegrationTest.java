@@ -1,20 +1,46 @@
 package com.nathanroos.library.librarySubdomain.PresentationLayer;
 
+import com.nathanroos.library.librarySubdomain.businesslayer.BookSearchIndexInitializer;
+import com.nathanroos.library.librarySubdomain.dataaccesslayer.Book;
 import com.nathanroos.library.librarySubdomain.dataaccesslayer.BookRepository;
 import com.nathanroos.library.librarySubdomain.dataaccesslayer.GenreEnum;
+import com.nathanroos.library.librarySubdomain.mappinglayer.BookResponseMapper;
+import com.nathanroos.library.librarySubdomain.presentationlayer.BookBatchResponseModel;
+import com.nathanroos.library.librarySubdomain.presentationlayer.BookImportRejectionResponseModel;
+import com.nathanroos.library.librarySubdomain.presentationlayer.BookImportResponseModel;
 import com.nathanroos.library.librarySubdomain.presentationlayer.BookRequestModel;
 import com.nathanroos.library.librarySubdomain.presentationlayer.BookResponseModel;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.domain.Sort;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Links;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
 
 @SpringBootTest(webEnvironment = RANDOM_PORT)
@@ -28,6 +54,15 @@ public class BookControllerIntegrationTest {
     @Autowired
     private BookRepository repository;
 
+    @Autowired
+    private BookSearchIndexInitializer searchIndexInitializer;
+
+    @MockitoSpyBean
+    private BookResponseMapper bookResponseMapper;
+
+    @LocalServerPort
+    private int port;
+
     private final String BASE_URI = "/api/v1/books";
     private final String NOT_FOUND_ID = "550e8400-e29b-41d4-a716-446655440001";
     private final String INVALID_ID = "this-is-not-a-uuid";
@@ -242,6 +277,102 @@ public class BookControllerIntegrationTest {
                 });
     }
 
+    @Test
+    void whenIfNoneMatchHoldsTheCurrentETag_thenReturnNotModifiedWithoutMapping() {
+        String etag = webTestClient.get()
+                .uri(BASE_URI + "/" + VALID_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .returnResult(BookResponseModel.class)
+                .getResponseHeaders().getETag();
+        clearInvocations(bookResponseMapper);
+
+        webTestClient.get()
+                .uri(BASE_URI + "/" + VALID_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+                .expectBody().isEmpty();
+
+        verify(bookResponseMapper, never()).entityToResponseModel(any());
+    }
+
+    @Test
+    void whenBookChanges_thenItsETagChangesAndTheOldOneNoLongerMatches() {
+        webTestClient.put()
+                .uri(BASE_URI + "/" + VALID_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(searchableBook("The Dispossessed"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"");
+
+        webTestClient.post().uri(BASE_URI + "/" + VALID_ID + "/reserve").exchange().expectStatus().isNoContent();
+
+        webTestClient.get()
+                .uri(BASE_URI + "/" + VALID_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"2\"")
+                .expectBody(BookResponseModel.class)
+                .value(book -> assertEquals("The Dispossessed", book.getTitle()));
+    }
+
+    @Test
+    void whenTwoUpdatesAreMadeFromTheSameVersion_thenTheSecondFailsAndDoesNotOverwriteTheFirst() {
+        webTestClient.put()
+                .uri(BASE_URI + "/" + VALID_ID)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(searchableBook("The Dispossessed"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"");
+
+        webTestClient.put()
+                .uri(BASE_URI + "/" + VALID_ID)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(searchableBook("The Lathe of Heaven"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+        assertEquals("The Dispossessed", repository.findAllByBookIdentifier_BookId(VALID_ID).getTitle());
+    }
+
+    @Test
+    void whenIfMatchListsSeveralETagsAndOneIsCurrent_thenUpdateSucceeds() {
+        webTestClient.put()
+                .uri(BASE_URI + "/" + VALID_ID)
+                .header(HttpHeaders.IF_MATCH, "\"7\", \"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(searchableBook("The Dispossessed"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"");
+
+        assertEquals("The Dispossessed", repository.findAllByBookIdentifier_BookId(VALID_ID).getTitle());
+    }
+
+    @Test
+    void whenIfMatchIsStaleOrForeign_thenDeleteReturnsPreconditionFailedAndKeepsTheBook() {
+        webTestClient.delete().uri(BASE_URI + "/" + VALID_ID).header(HttpHeaders.IF_MATCH, "\"7\"")
+                .exchange().expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        webTestClient.delete().uri(BASE_URI + "/" + VALID_ID).header(HttpHeaders.IF_MATCH, "W/\"0\"")
+                .exchange().expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        webTestClient.delete().uri(BASE_URI + "/" + VALID_ID).header(HttpHeaders.IF_MATCH, "\"1\", \"2\"")
+                .exchange().expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+        assertNotNull(repository.findAllByBookIdentifier_BookId(VALID_ID));
+
+        webTestClient.delete().uri(BASE_URI + "/" + VALID_ID).header(HttpHeaders.IF_MATCH, "\"0\"")
+                .exchange().expectStatus().isNoContent();
+        webTestClient.get().uri(BASE_URI + "/" + VALID_ID).exchange().expectStatus().isNotFound();
+    }
+
     @Test
     void whenUpdatingNonexistentBook_thenReturnNotFound() {
         BookRequestModel update = BookRequestModel.builder()
@@ -369,5 +500,358 @@ public class BookControllerIntegrationTest {
                 .expectStatus().isCreated();
     }
 
+    @Test
+    void whenBatchLookup_thenReturnBooksInRequestOrderAndReportMissingIds() {
+        String otherId = "660e8400-e29b-41d4-a716-446655440001";
+
+        webTestClient.post()
+                .uri(BASE_URI + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(otherId, NOT_FOUND_ID, VALID_ID, otherId, INVALID_ID))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(BookBatchResponseModel.class)
+                .value(response -> {
+                    assertEquals(List.of(otherId, VALID_ID), response.getBooks().stream().map(BookResponseModel::getBookId).toList());
+                    assertEquals(List.of(NOT_FOUND_ID, INVALID_ID), response.getMissingIds());
+                    assertEquals(List.of(otherId, VALID_ID), List.copyOf(response.getEtags().keySet()));
+                    assertEquals("\"0\"", response.getEtags().get(VALID_ID));
+                });
+    }
+
+    @Test
+    void whenBatchIsTooLarge_thenReturnUnprocessableEntity() {
+        webTestClient.post()
+                .uri(BASE_URI + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Collections.nCopies(501, VALID_ID))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    void whenPagingByTitle_thenEveryBookIsReturnedOnceInTitleOrder() {
+        List<String> expected = repository.findAll(Sort.by("title", "id")).stream().map(Book::getTitle).toList();
+
+        List<String> titles = new ArrayList<>();
+        String uri = BASE_URI + "?sort=title&limit=2";
+        int pages = 0;
+        while (uri != null) {
+            EntityExchangeResult<List<BookResponseModel>> result = webTestClient.get()
+                    .uri(URI.create(uri.startsWith("http") ? uri : "http://localhost:" + port + uri))
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBodyList(BookResponseModel.class)
+                    .returnResult();
+
+            List<BookResponseModel> page = result.getResponseBody();
+            assertNotNull(page);
+            assertTrue(page.size() <= 2);
+            page.forEach(book -> titles.add(book.getTitle()));
+            pages++;
+
+            String linkHeader = result.getResponseHeaders().getFirst(HttpHeaders.LINK);
+            uri = linkHeader == null ? null : Links.parse(linkHeader).getRequiredLink(IanaLinkRelations.NEXT).getHref();
+        }
+
+        assertEquals(expected, titles);
+        assertEquals((expected.size() + 1) / 2, pages);
+    }
+
+    @Test
+    void whenPageIsNotFull_thenNoNextLinkIsReturned() {
+        webTestClient.get()
+                .uri(BASE_URI + "?limit=500")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.LINK)
+                .expectBodyList(BookResponseModel.class)
+                .hasSize((int) repository.count());
+    }
+
+    @Test
+    void whenCursorIsReplayedWithAnotherSort_thenReturnUnprocessableEntity() {
+        String linkHeader = webTestClient.get()
+                .uri(BASE_URI + "?sort=title&limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getFirst(HttpHeaders.LINK);
+        assertNotNull(linkHeader);
+        String cursor = UriComponentsBuilder.fromUriString(Links.parse(linkHeader).getRequiredLink(IanaLinkRelations.NEXT).getHref())
+                .build().getQueryParams().getFirst("cursor");
+
+        webTestClient.get()
+                .uri(BASE_URI + "?sort=author&limit=1&cursor=" + cursor)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    void whenPageParametersAreInvalid_thenReturnUnprocessableEntity() {
+        webTestClient.get().uri(BASE_URI + "?limit=501").exchange().expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        webTestClient.get().uri(BASE_URI + "?sort=copiesAvailable").exchange().expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        webTestClient.get().uri(BASE_URI + "?cursor=not-a-cursor").exchange().expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    void whenReservingAndReleasingCopies_thenCopiesAvailableFollows() {
+        webTestClient.post().uri(BASE_URI + "/" + VALID_ID + "/reserve?copies=2").exchange().expectStatus().isNoContent();
+        assertEquals(3, repository.findAllByBookIdentifier_BookId(VALID_ID).getCopiesAvailable());
+
+        webTestClient.post().uri(BASE_URI + "/" + VALID_ID + "/release").exchange().expectStatus().isNoContent();
+        assertEquals(4, repository.findAllByBookIdentifier_BookId(VALID_ID).getCopiesAvailable());
+    }
+
+    @Test
+    void whenReservingMoreCopiesThanAvailable_thenReturnConflictAndKeepCopies() {
+        webTestClient.post().uri(BASE_URI + "/" + VALID_ID + "/reserve?copies=6").exchange().expectStatus().isEqualTo(HttpStatus.CONFLICT);
+        assertEquals(5, repository.findAllByBookIdentifier_BookId(VALID_ID).getCopiesAvailable());
+    }
+
+    @Test
+    void whenReservingUpToMoreCopiesThanAvailable_thenTheCopiesLeftAreReservedAndCounted() {
+        webTestClient.post().uri(BASE_URI + "/" + VALID_ID + "/reserve-up-to?copies=3").exchange()
+                .expectStatus().isOk().expectBody(Integer.class).isEqualTo(3);
+        webTestClient.post().uri(BASE_URI + "/" + VALID_ID + "/reserve-up-to?copies=3").exchange()
+                .expectStatus().isOk().expectBody(Integer.class).isEqualTo(2);
+        webTestClient.post().uri(BASE_URI + "/" + VALID_ID + "/reserve-up-to?copies=3").exchange()
+                .expectStatus().isOk().expectBody(Integer.class).isEqualTo(0);
+        assertEquals(0, repository.findAllByBookIdentifier_BookId(VALID_ID).getCopiesAvailable());
+
+        webTestClient.post().uri(BASE_URI + "/" + NOT_FOUND_ID + "/reserve-up-to?copies=1").exchange().expectStatus().isNotFound();
+        webTestClient.post().uri(BASE_URI + "/" + VALID_ID + "/reserve-up-to?copies=0").exchange().expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    void whenReservingUnknownOrInvalidBook_thenReturnNotFoundOrUnprocessableEntity() {
+        webTestClient.post().uri(BASE_URI + "/" + NOT_FOUND_ID + "/reserve").exchange().expectStatus().isNotFound();
+        webTestClient.post().uri(BASE_URI + "/" + NOT_FOUND_ID + "/release").exchange().expectStatus().isNotFound();
+        webTestClient.post().uri(BASE_URI + "/" + INVALID_ID + "/reserve").exchange().expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        webTestClient.post().uri(BASE_URI + "/" + VALID_ID + "/reserve?copies=0").exchange().expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    void whenCheckoutsRace_thenEveryCopyIsReservedOnceAndNoneIsOversold() throws Exception {
+        int checkouts = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<HttpStatus>> results = new ArrayList<>();
+            for (int i = 0; i < checkouts; i++) {
+                results.add(executor.submit(() -> HttpStatus.valueOf(webTestClient.post()
+                        .uri(BASE_URI + "/" + VALID_ID + "/reserve")
+                        .exchange()
+                        .returnResult(Void.class)
+                        .getStatus()
+                        .value())));
+            }
+            int reserved = 0;
+            for (Future<HttpStatus> result : results) {
+                HttpStatus status = result.get();
+                if (status == HttpStatus.NO_CONTENT) {
+                    reserved++;
+                } else {
+                    assertEquals(HttpStatus.CONFLICT, status);
+                }
+            }
+            assertEquals(5, reserved);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0, repository.findAllByBookIdentifier_BookId(VALID_ID).getCopiesAvailable());
+    }
+
+    @Test
+    void whenCatalogIsReindexed_thenSearchRanksTitleMatchesFirst() {
+        searchIndexInitializer.rebuild();
+
+        List<BookResponseModel> books = search("orwell").getResponseBody();
+
+        assertNotNull(books);
+        assertFalse(books.isEmpty());
+        books.forEach(book -> assertEquals("George Orwell", book.getAuthor()));
+        assertEquals(List.of(VALID_ID), search("orwell 1984").getResponseBody().stream().map(BookResponseModel::getBookId).toList());
+    }
+
+    @Test
+    void whenBookIsAddedUpdatedAndRemoved_thenSearchFollows() {
+        BookResponseModel created = webTestClient.post()
+                .uri(BASE_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(searchableBook("The Left Hand of Darkness"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(BookResponseModel.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(created);
+        assertEquals(List.of(created.getBookId()), search("darkness guin").getResponseBody().stream().map(BookResponseModel::getBookId).toList());
+
+        webTestClient.put()
+                .uri(BASE_URI + "/" + created.getBookId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(searchableBook("The Dispossessed"))
+                .exchange()
+                .expectStatus().isOk();
+        assertTrue(search("darkness guin").getResponseBody().isEmpty());
+        assertEquals("The Dispossessed", search("dispossessed").getResponseBody().get(0).getTitle());
+
+        webTestClient.delete().uri(BASE_URI + "/" + created.getBookId()).exchange().expectStatus().isNoContent();
+        assertTrue(search("dispossessed").getResponseBody().isEmpty());
+    }
+
+    @Test
+    void whenPrefixIsTyped_thenMatchingWordsAreSuggested() {
+        webTestClient.post()
+                .uri(BASE_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(searchableBook("The Left Hand of Darkness"))
+                .exchange()
+                .expectStatus().isCreated();
+
+        webTestClient.get()
+                .uri(BASE_URI + "/autocomplete?prefix=left hand of dark")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String[].class)
+                .value(suggestions -> assertEquals("darkness", suggestions[0]));
+    }
+
+    @Test
+    void whenSearchParametersAreInvalid_thenReturnUnprocessableEntity() {
+        webTestClient.get().uri(BASE_URI + "/search?q= ").exchange().expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        webTestClient.get().uri(BASE_URI + "/search?q=orwell&limit=0").exchange().expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        webTestClient.get().uri(BASE_URI + "/autocomplete?prefix=or&limit=11").exchange().expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    void whenJsonIsImported_thenValidRowsAreWrittenInBatchesAndInvalidOnesReported() {
+        long sizeDB = repository.count();
+        String body = """
+                [
+                  {"firstname": "Ursula", "lastname": "Le Guin", "title": "A Wizard of Earthsea", "author": "Ursula K. Le Guin", "genre": "FANTASY", "copiesAvailable": 2},
+                  {"firstname": "Ursula", "lastname": "Le Guin", "title": " ", "author": "Ursula K. Le Guin", "genre": "FANTASY", "copiesAvailable": 2},
+                  {"firstname": "Ursula", "lastname": "Le Guin", "title": "The Tombs of Atuan", "author": "Ursula K. Le Guin", "genre": "FANTASY", "copiesAvailable": 1},
+                  {"firstname": "Ursula", "lastname": "Le Guin", "title": "The Farthest Shore", "author": "Ursula K. Le Guin", "genre": "SPACE_OPERA", "copiesAvailable": 1},
+                  {"firstname": "Ursula", "lastname": "Le Guin", "title": "Tehanu", "author": "Ursula K. Le Guin", "genre": "FANTASY", "copiesAvailable": 3}
+                ]
+                """;
+
+        BookImportResponseModel report = importBooks(MediaType.APPLICATION_JSON, body, 2);
+
+        assertEquals(3, report.getImported());
+        assertEquals(2, report.getBatches());
+        assertEquals(2, report.getRejected());
+        assertEquals(List.of(2, 4), report.getRejections().stream().map(BookImportRejectionResponseModel::getRow).toList());
+        assertEquals("Invalid title:  ", report.getRejections().get(0).getMessage());
+        assertNull(report.getError());
+        assertEquals(sizeDB + 3, repository.count());
+        assertEquals("Tehanu", search("tehanu").getResponseBody().get(0).getTitle());
+    }
+
+    @Test
+    void whenCsvIsImported_thenQuotedFieldsAreReadWhole() {
+        String body = "title,author,firstname,lastname,genre,copiesAvailable,imageUrl\r\n"
+                + "\"Goodbye, \"\"Mr\"\" Chips\",James Hilton,James,Hilton,fiction,2,\r\n"
+                + "\r\n"
+                + "Lost Horizon,James Hilton,James,Hilton,ADVENTURE,many,\r\n"
+                + "Random Harvest,James Hilton,James,Hilton\r\n";
+
+        BookImportResponseModel report = importBooks(MediaType.parseMediaType("text/csv"), body, 1000);
+
+        assertEquals(1, report.getImported());
+        assertEquals(List.of(new BookImportRejectionResponseModel(2, "Invalid copiesAvailable: many"),
+                new BookImportRejectionResponseModel(3, "Expected 7 fields, got 4")), report.getRejections());
+        BookResponseModel imported = search("chips").getResponseBody().get(0);
+        assertEquals("Goodbye, \"Mr\" Chips", imported.getTitle());
+        assertEquals(GenreEnum.FICTION, imported.getGenre());
+        assertNull(imported.getImageUrl());
+    }
+
+    @Test
+    void whenJsonBreaksOffPartWay_thenRowsBeforeTheBreakAreImported() {
+        String body = """
+                [
+                  {"firstname": "Ursula", "lastname": "Le Guin", "title": "The Dispossessed", "author": "Ursula K. Le Guin", "genre": "SCIENCE_FICTION", "copiesAvailable": 2},
+                  {"firstname": "Ursula", "lastname": "Le Guin", "title": "The Lathe of Heaven", "author": "Ursula K. Le Guin", "genre": "SCIENCE_FICTION", "copiesAvailable": 2},
+                  {"firstname": "Ursula", "lastname": "Le Guin", "title":
+                """;
+
+        BookImportResponseModel report = importBooks(MediaType.APPLICATION_JSON, body, 1000);
+
+        assertEquals(2, report.getImported());
+        assertNotNull(report.getError());
+        assertEquals(1, search("lathe heaven").getResponseBody().size());
+    }
+
+    @Test
+    void whenManyRowsAreImported_thenTheyAreWrittenInBatchesOfTheRequestedSize() {
+        long sizeDB = repository.count();
+        StringBuilder body = new StringBuilder("title,author,firstname,lastname,genre,copiesAvailable\n");
+        for (int i = 0; i < 20_000; i++) {
+            body.append("Imported Title ").append(i).append(",Author ").append(i % 100).append(",First,Last,FICTION,1\n");
+        }
+
+        BookImportResponseModel report = importBooks(MediaType.parseMediaType("text/csv"), body.toString(), 500);
+
+        assertEquals(20_000, report.getImported());
+        assertEquals(40, report.getBatches());
+        assertEquals(0, report.getRejected());
+        assertEquals(sizeDB + 20_000, repository.count());
+        assertEquals(1, search("imported title 19999").getResponseBody().size());
+    }
+
+    @Test
+    void whenImportBodyOrBatchSizeIsInvalid_thenReturnUnprocessableEntity() {
+        webTestClient.post().uri(BASE_URI + "/import")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .bodyValue("title,publisher\nDune,Chilton\n")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        webTestClient.post().uri(BASE_URI + "/import")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"title\": \"Dune\"}")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        webTestClient.post().uri(BASE_URI + "/import?batchSize=0")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[]")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    private BookImportResponseModel importBooks(MediaType contentType, String body, int batchSize) {
+        BookImportResponseModel report = webTestClient.post()
+                .uri(BASE_URI + "/import?batchSize=" + batchSize)
+                .contentType(contentType)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(BookImportResponseModel.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(report);
+        return report;
+    }
 
+    private EntityExchangeResult<List<BookResponseModel>> search(String query) {
+        return webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path(BASE_URI + "/search").queryParam("q", query).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(BookResponseModel.class)
+                .returnResult();
+    }
+
+    private static BookRequestModel searchableBook(String title) {
+        return BookRequestModel.builder()
+                .author("Ursula K. Le Guin")
+                .title(title)
+                .firstname("Ursula")
+                .lastname("Le Guin")
+                .genre(GenreEnum.SCIENCE_FICTION)
+                .copiesAvailable(2)
+                .build();
+    }
 }
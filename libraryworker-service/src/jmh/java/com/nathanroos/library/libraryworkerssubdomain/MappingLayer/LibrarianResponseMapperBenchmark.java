@@ -0,0 +1,99 @@
+package com.nathanroos.library.libraryworkerssubdomain.MappingLayer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nathanroos.library.libraryworkerssubdomain.DataAccessLayer.Librarian;
+import com.nathanroos.library.libraryworkerssubdomain.DataAccessLayer.LibrarianIdentifier;
+import com.nathanroos.library.libraryworkerssubdomain.DataAccessLayer.LibrarianPhoneNumber;
+import com.nathanroos.library.libraryworkerssubdomain.DataAccessLayer.Position;
+import com.nathanroos.library.libraryworkerssubdomain.DataAccessLayer.PositionEnum;
+import com.nathanroos.library.libraryworkerssubdomain.DataAccessLayer.ProvinceEnum;
+import com.nathanroos.library.libraryworkerssubdomain.DataAccessLayer.WorkerAddress;
+import com.nathanroos.library.libraryworkerssubdomain.PresentationLayer.LibrarianResponseModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.EvoInflectorLinkRelationProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// GET /api/v1/workers a step at a time: mapping the entities (which adds each self link), the self links on their
+// own, and writing the mapped list as HAL. Runs under a request, so links are absolute as they are in production.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LibrarianResponseMapperBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private final LibrarianResponseMapper mapper = new LibrarianResponseMapperImpl();
+
+    private ObjectMapper objectMapper;
+
+    private List<Librarian> librarians;
+
+    private List<LibrarianResponseModel> responseModels;
+
+    @Setup
+    public void setup() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new Jackson2HalModule());
+        objectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new EvoInflectorLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+
+        librarians = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Librarian librarian = new Librarian("First" + i, "Last" + i, "librarian" + i + "@example.com",
+                    new WorkerAddress(String.valueOf(i), "Main Street", "Montreal", ProvinceEnum.QUEBEC, "H2X 1Y4"),
+                    new Position(PositionEnum.LIBRARY_CLERK), new LibrarianPhoneNumber(), new LibrarianIdentifier());
+            librarian.setVersion((long) i % 5);
+            librarians.add(librarian);
+        }
+        responseModels = mapper.entityListToResponseModelList(librarians);
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public List<LibrarianResponseModel> mapEntities() {
+        return mapper.entityListToResponseModelList(librarians);
+    }
+
+    @Benchmark
+    public void buildSelfLinks(Blackhole blackhole) {
+        for (LibrarianResponseModel librarian : responseModels) {
+            blackhole.consume(LibrarianResponseMapper.SELF_LINK.expand(librarian.getLibrarianId()));
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responseModels);
+    }
+}
@@ -1,17 +1,22 @@
 package com.nathanroos.library.libraryworkerssubdomain.BussinessLayer;
 
 
+import com.nathanroos.library.libraryworkerssubdomain.PresentationLayer.LibrarianBatchResponseModel;
 import com.nathanroos.library.libraryworkerssubdomain.PresentationLayer.LibrarianRequestModel;
 import com.nathanroos.library.libraryworkerssubdomain.PresentationLayer.LibrarianResponseModel;
 
 import java.util.List;
+import java.util.Set;
 
 public interface LibrarianService {
 
     List<LibrarianResponseModel> getWorkers();
     LibrarianResponseModel getLibrarianByLibrarianId(String librarianId);
+    long getLibrarianVersion(String librarianId);
+    LibrarianBatchResponseModel getLibrariansByLibrarianIds(List<String> librarianIds);
     LibrarianResponseModel addLibrarian(LibrarianRequestModel librarian);
-    LibrarianResponseModel updateLibrarian(LibrarianRequestModel librarian, String librarianId);
-    void removeLibrarian(String librarianId);
+    // requiredVersions are the versions an If-Match named, or null to write whatever the current version is
+    LibrarianResponseModel updateLibrarian(LibrarianRequestModel librarian, String librarianId, Set<Long> requiredVersions);
+    void removeLibrarian(String librarianId, Set<Long> requiredVersions);
 
 }
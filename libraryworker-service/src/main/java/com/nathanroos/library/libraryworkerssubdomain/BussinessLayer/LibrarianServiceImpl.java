@@ -7,15 +7,25 @@ import com.nathanroos.library.libraryworkerssubdomain.DataAccessLayer.LibrarianR
 import com.nathanroos.library.libraryworkerssubdomain.DataAccessLayer.WorkerAddress;
 import com.nathanroos.library.libraryworkerssubdomain.MappingLayer.LibrarianRequestMapper;
 import com.nathanroos.library.libraryworkerssubdomain.MappingLayer.LibrarianResponseMapper;
+import com.nathanroos.library.libraryworkerssubdomain.PresentationLayer.LibrarianBatchResponseModel;
 import com.nathanroos.library.libraryworkerssubdomain.PresentationLayer.LibrarianRequestModel;
 import com.nathanroos.library.libraryworkerssubdomain.PresentationLayer.LibrarianResponseModel;
 import com.nathanroos.library.libraryworkerssubdomain.utils.Exceptions.InvalidInputException;
 import com.nathanroos.library.libraryworkerssubdomain.utils.Exceptions.NotFoundException;
+import com.nathanroos.library.libraryworkerssubdomain.utils.Exceptions.PreconditionFailedException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -48,6 +58,32 @@ public class LibrarianServiceImpl implements LibrarianService{
         return librarianResponseMapper.entityToResponseModel(librarian);
     }
 
+    @Override
+    public long getLibrarianVersion(String librarianId) {
+        return getLibrarianObjectById(librarianId).getVersion();
+    }
+
+    @Override
+    public LibrarianBatchResponseModel getLibrariansByLibrarianIds(List<String> librarianIds) {
+        List<String> requestedIds = librarianIds.stream().filter(Objects::nonNull).distinct().toList();
+
+        Map<String, Librarian> found = librarianRepository.findAllByLibrarianIdentifier_LibrarianIdIn(requestedIds).stream()
+                .collect(Collectors.toMap(librarian -> librarian.getLibrarianIdentifier().getLibrarianId(), Function.identity(), (first, second) -> first));
+
+        List<LibrarianResponseModel> librarians = new ArrayList<>();
+        List<String> missingIds = new ArrayList<>();
+        for (String librarianId : requestedIds) {
+            Librarian librarian = found.get(librarianId);
+            if (librarian == null) {
+                missingIds.add(librarianId);
+            } else {
+                librarians.add(librarianResponseMapper.entityToResponseModel(librarian));
+            }
+        }
+
+        return new LibrarianBatchResponseModel(librarians, missingIds);
+    }
+
     @Override
     public LibrarianResponseModel addLibrarian(LibrarianRequestModel librarian)
     {
@@ -65,9 +101,10 @@ public class LibrarianServiceImpl implements LibrarianService{
     }
 
     @Override
-    public LibrarianResponseModel updateLibrarian(LibrarianRequestModel updateLibrarian, String librarianId)
+    public LibrarianResponseModel updateLibrarian(LibrarianRequestModel updateLibrarian, String librarianId, Set<Long> requiredVersions)
     {
         Librarian librarian = getLibrarianObjectById(librarianId);
+        checkVersion(librarian, requiredVersions);
 
         validateLibrarianRequestModel(updateLibrarian);
 
@@ -81,17 +118,21 @@ public class LibrarianServiceImpl implements LibrarianService{
         librarian.setLibraryWorkerAddress(updateLibrarian.getLibraryWorkerAddress());
         librarian.setLibraryWorkerAddress(address);
 
-        librarianRepository.save(librarian);
+        Librarian updatedLibrarian = versionedWrite(requiredVersions, librarian.getVersion(), () -> librarianRepository.save(librarian));
 
-        return librarianResponseMapper.entityToResponseModel(librarian);
+        return librarianResponseMapper.entityToResponseModel(updatedLibrarian);
     }
 
     @Override
-    public void removeLibrarian(String librarianId) {
+    public void removeLibrarian(String librarianId, Set<Long> requiredVersions) {
 
         Librarian existingLibrarian = getLibrarianObjectById(librarianId);
+        checkVersion(existingLibrarian, requiredVersions);
 
-        librarianRepository.delete(existingLibrarian);
+        versionedWrite(requiredVersions, existingLibrarian.getVersion(), () -> {
+            librarianRepository.delete(existingLibrarian);
+            return existingLibrarian;
+        });
 
     }
 
@@ -112,6 +153,26 @@ public class LibrarianServiceImpl implements LibrarianService{
             throw new InvalidInputException("Position must be provided.");
     }
 
+    private static void checkVersion(Librarian librarian, Set<Long> requiredVersions) {
+        if (requiredVersions != null && !requiredVersions.contains(librarian.getVersion())) {
+            throw new PreconditionFailedException("librarianId " + librarian.getLibrarianIdentifier().getLibrarianId()
+                    + " is at version " + librarian.getVersion() + ", not any of " + requiredVersions);
+        }
+    }
+
+    // The write carries the version that was read, so one committed since then fails it instead of being overwritten.
+    // That is a failed If-Match when the caller named a version; otherwise it surfaces as a conflict.
+    private static Librarian versionedWrite(Set<Long> requiredVersions, Long readVersion, Supplier<Librarian> write) {
+        try {
+            return write.get();
+        } catch (OptimisticLockingFailureException e) {
+            if (requiredVersions == null) {
+                throw e;
+            }
+            throw new PreconditionFailedException("The librarian changed after version " + readVersion, e);
+        }
+    }
+
     private Librarian getLibrarianObjectById(String librarianId) {
         try {
             UUID.fromString(librarianId);
@@ -119,7 +180,7 @@ public class LibrarianServiceImpl implements LibrarianService{
             throw new InvalidInputException("Invalid librarianId: " + librarianId);
         }
 
-        Librarian account = this.librarianRepository.findAllByLibrarianIdentifier_LibrarianId(librarianId);
+        Librarian account = this.librarianRepository.findByNaturalId(librarianId);
 
         if (account == null) {
             throw new NotFoundException("Unknown librarianId: " + librarianId);
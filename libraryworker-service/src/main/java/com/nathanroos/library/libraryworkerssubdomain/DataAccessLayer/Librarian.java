@@ -4,17 +4,29 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.antlr.v4.runtime.misc.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
 @Table(name="librarians")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Librarian.CACHE_REGION)
+@NaturalIdCache(region = Librarian.NATURAL_ID_CACHE_REGION)
 @Data
 @NoArgsConstructor
 public class Librarian {
 
+    public static final String CACHE_REGION = "librarians";
+
+    public static final String NATURAL_ID_CACHE_REGION = "librarians-by-librarian-id";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
+    @NaturalId
     @Embedded
     private LibrarianIdentifier librarianIdentifier;
 
@@ -37,6 +49,12 @@ public class Librarian {
 //    @Column(name = "librarianPhoneNumber")
     private LibrarianPhoneNumber librarianPhoneNumber;
 
+    // bumped on every write, so a stale update fails instead of overwriting; it is also the librarian's ETag
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     public Librarian(@NotNull String firstName, @NotNull String lastName, @NotNull String email,
                      @NotNull WorkerAddress employeeAddress,
                      @NotNull Position position, @NotNull LibrarianPhoneNumber librarianPhoneNumber,
@@ -2,12 +2,14 @@ package com.nathanroos.library.libraryworkerssubdomain.DataAccessLayer;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Embeddable;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
 import java.util.UUID;
 
 @Embeddable
 @Getter
+@EqualsAndHashCode
 public class LibrarianIdentifier {
 
     @Column(name = "librarian_id")
@@ -17,7 +19,7 @@ public class LibrarianIdentifier {
         this.librarianId = UUID.randomUUID().toString();
     }
 
-    public LibrarianIdentifier(String customerId) {
+    public LibrarianIdentifier(String librarianId) {
         this.librarianId = librarianId;
     }
 
@@ -0,0 +1,7 @@
+package com.nathanroos.library.libraryworkerssubdomain.DataAccessLayer;
+
+public interface LibrarianNaturalIdRepository {
+
+    // Looks the librarian up by its public id through the second-level cache; null when there is no such librarian.
+    Librarian findByNaturalId(String librarianId);
+}
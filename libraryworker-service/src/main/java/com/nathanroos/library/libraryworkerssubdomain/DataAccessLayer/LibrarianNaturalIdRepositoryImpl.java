@@ -0,0 +1,22 @@
+package com.nathanroos.library.libraryworkerssubdomain.DataAccessLayer;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+// A derived findBy query always goes to the database. A natural-id load asks the natural-id cache for the primary
+// key and then the entity cache for the row, and only queries on a miss.
+public class LibrarianNaturalIdRepositoryImpl implements LibrarianNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Librarian findByNaturalId(String librarianId) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Librarian.class)
+                .load(new LibrarianIdentifier(librarianId));
+    }
+}
@@ -3,10 +3,15 @@ package com.nathanroos.library.libraryworkerssubdomain.DataAccessLayer;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 
-public interface LibrarianRepository extends JpaRepository<Librarian, Integer> {
+
+public interface LibrarianRepository extends JpaRepository<Librarian, Integer>, LibrarianNaturalIdRepository {
 
     Librarian findAllByLibrarianIdentifier_LibrarianId(String librarianId);
 
+    List<Librarian> findAllByLibrarianIdentifier_LibrarianIdIn(Collection<String> librarianIds);
+
 
 }
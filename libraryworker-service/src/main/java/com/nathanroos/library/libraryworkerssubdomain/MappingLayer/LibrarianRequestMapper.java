@@ -19,6 +19,7 @@ public interface LibrarianRequestMapper {
             @Mapping(source = "librarianRequestModel.libraryWorkerAddress", target = "libraryWorkerAddress"),
             @Mapping(source = "librarianRequestModel.position", target = "position"),
             @Mapping(source = "librarianRequestModel.librarianPhoneNumber", target = "librarianPhoneNumber"),
+            @Mapping(target = "version", ignore = true),
 
     })
     Librarian requestModelToEntity(LibrarianRequestModel librarianRequestModel, LibrarianIdentifier librarianIdentifier);
@@ -0,0 +1,17 @@
+package com.nathanroos.library.libraryworkerssubdomain.PresentationLayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LibrarianBatchResponseModel {
+
+    // in the order the ids were requested, duplicates removed
+    List<LibrarianResponseModel> librarians;
+    List<String> missingIds;
+}
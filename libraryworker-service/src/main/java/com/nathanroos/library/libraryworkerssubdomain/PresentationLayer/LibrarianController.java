@@ -4,10 +4,12 @@ import com.nathanroos.library.libraryworkerssubdomain.BussinessLayer.LibrarianSe
 import com.nathanroos.library.libraryworkerssubdomain.utils.Exceptions.InvalidInputException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -20,6 +22,8 @@ public class LibrarianController {
 
     private static final int UUID_LENGTH = 36;
 
+    private static final int MAX_BATCH_SIZE = 500;
+
     @Autowired
     public LibrarianController(LibrarianService librarianService) {
         this.librarianService = librarianService;
@@ -31,12 +35,25 @@ public class LibrarianController {
         return ResponseEntity.ok().body(librarianService.getWorkers());
     }
 
+    // a poll whose If-None-Match still holds is answered 304 from the librarian's version alone, before anything is mapped
     @GetMapping(value = "{librarianId}", produces = "application/json")
-    public ResponseEntity<LibrarianResponseModel> getLibrarianByLibrarianId(@PathVariable String librarianId) {
+    public ResponseEntity<LibrarianResponseModel> getLibrarianByLibrarianId(@PathVariable String librarianId, WebRequest request) {
         if (librarianId.length() != UUID_LENGTH) {
             throw new InvalidInputException("Invalid librarianId provided: " + librarianId);
         }
-        return ResponseEntity.ok().body(librarianService.getLibrarianByLibrarianId(librarianId));
+        if (request.checkNotModified(EntityTags.of(librarianService.getLibrarianVersion(librarianId)))) {
+            return null;
+        }
+        LibrarianResponseModel librarian = librarianService.getLibrarianByLibrarianId(librarianId);
+        return ResponseEntity.ok().eTag(EntityTags.of(librarian.getVersion())).body(librarian);
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<LibrarianBatchResponseModel> getLibrariansByLibrarianIds(@RequestBody List<String> librarianIds) {
+        if (librarianIds.size() > MAX_BATCH_SIZE) {
+            throw new InvalidInputException("A batch can contain at most " + MAX_BATCH_SIZE + " librarianIds, got " + librarianIds.size());
+        }
+        return ResponseEntity.ok().body(librarianService.getLibrariansByLibrarianIds(librarianIds));
     }
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -46,15 +63,18 @@ public class LibrarianController {
 
     @PutMapping(value = "/{librarianId}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<LibrarianResponseModel> updateLibrarian(@PathVariable String librarianId,
+                                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                                   @RequestBody LibrarianRequestModel librarianRequestModel)
     {
-        return new ResponseEntity<>(librarianService.updateLibrarian(librarianRequestModel, librarianId), HttpStatus.OK);
+        LibrarianResponseModel librarian = librarianService.updateLibrarian(librarianRequestModel, librarianId, EntityTags.requiredVersions(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(librarian.getVersion())).body(librarian);
     }
 
     @DeleteMapping(value = "/{librarianId}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<LibrarianResponseModel> removeLibrarian(@PathVariable String librarianId)
+    public ResponseEntity<LibrarianResponseModel> removeLibrarian(@PathVariable String librarianId,
+                                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
     {
-        librarianService.removeLibrarian(librarianId);
+        librarianService.removeLibrarian(librarianId, EntityTags.requiredVersions(ifMatch));
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
@@ -1,6 +1,7 @@
 package com.nathanroos.library.libraryworkerssubdomain.PresentationLayer;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.nathanroos.library.libraryworkerssubdomain.DataAccessLayer.LibrarianPhoneNumber;
 import com.nathanroos.library.libraryworkerssubdomain.DataAccessLayer.Position;
 import com.nathanroos.library.libraryworkerssubdomain.DataAccessLayer.ProvinceEnum;
@@ -28,5 +29,9 @@ public class LibrarianResponseModel extends RepresentationModel<LibrarianRespons
     Position position;
     LibrarianPhoneNumber librarianPhoneNumber;
 
+    // sent as the ETag header rather than in the body
+    @JsonIgnore
+    Long version;
+
 
 }
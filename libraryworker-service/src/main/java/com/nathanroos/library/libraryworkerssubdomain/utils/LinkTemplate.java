@@ -0,0 +1,109 @@
+package com.nathanroos.library.libraryworkerssubdomain.utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.hateoas.Link;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+// linkTo(methodOn(...)) records the call on a proxy and resolves the route's URI template every time it runs, which is
+// most of the cost of rendering a list. A LinkTemplate resolves the route once and only fills in the path variables per
+// link. The links come out the same as linkTo's: absolute under the current request, relative outside of one.
+public final class LinkTemplate {
+
+    private static final String BASE_URI_ATTRIBUTE = LinkTemplate.class.getName() + ".baseUri";
+
+    // literals[i] comes before variables[i]; the last literal closes the href
+    private final String[] literals;
+
+    private final String[] variables;
+
+    private LinkTemplate(String[] literals, String[] variables) {
+        this.literals = literals;
+        this.variables = variables;
+    }
+
+    // Takes a methodOn invocation with null for every path variable, e.g.
+    // LinkTemplate.of(methodOn(LibrarianController.class).getLibrarianByLibrarianId(null, null))
+    public static LinkTemplate of(Object invocation) {
+        String base = baseUri();
+        String href = linkTo(invocation).withSelfRel().getHref();
+        if (href.startsWith(base)) {
+            href = href.substring(base.length());
+        }
+
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < href.length()) {
+            int open = href.indexOf('{', i);
+            if (open < 0) {
+                literal.append(href, i, href.length());
+                break;
+            }
+            int close = href.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unbalanced braces in " + href);
+            }
+            literal.append(href, i, open);
+            char operator = href.charAt(open + 1);
+            if (operator == '?' || operator == '&') {
+                // request parameter templates stay in the href as they are
+                literal.append(href, open, close + 1);
+            } else {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                variables.add(href.substring(open + 1, close));
+            }
+            i = close + 1;
+        }
+        literals.add(literal.toString());
+        return new LinkTemplate(literals.toArray(String[]::new), variables.toArray(String[]::new));
+    }
+
+    // What linkTo puts in front of a route: the current request's servlet mapping, or nothing outside of a request.
+    // Capture it on the request thread when links are built somewhere else, as in a reactive pipeline.
+    public static String baseUri() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return "";
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        String base = (String) request.getAttribute(BASE_URI_ATTRIBUTE);
+        if (base == null) {
+            base = ServletUriComponentsBuilder.fromCurrentServletMapping().toUriString();
+            request.setAttribute(BASE_URI_ATTRIBUTE, base);
+        }
+        return base;
+    }
+
+    // Values fill the path variables in the order they appear in the route. A missing or null value leaves its
+    // variable templated, as linkTo does.
+    public Link expand(Object... values) {
+        return expandFrom(baseUri(), values);
+    }
+
+    public Link expandFrom(String baseUri, Object... values) {
+        StringBuilder href = new StringBuilder(baseUri.length() + 64).append(baseUri);
+        for (int i = 0; i < variables.length; i++) {
+            href.append(literals[i]);
+            Object value = i < values.length ? values[i] : null;
+            if (value == null) {
+                href.append('{').append(variables[i]).append('}');
+            } else {
+                href.append(UriUtils.encodePathSegment(value.toString(), StandardCharsets.UTF_8));
+            }
+        }
+        href.append(literals[variables.length]);
+        return Link.of(href.toString());
+    }
+}
@@ -15,5 +15,6 @@ CREATE TABLE librarians
     province      ENUM ('QUEBEC','ONTARIO','BRITISH_COLUMBIA',
         'ALBERTA','SASKATCHEWAN','MANITOBA','NEW_BRUNSWICK',
         'NEWFOUNDLAND','NOVA_SCOTIA', 'PRINCE_EDWARD_ISLAND'),
-    postal_code   VARCHAR(20)         NOT NULL
+    postal_code   VARCHAR(20)         NOT NULL,
+    version       BIGINT              NOT NULL DEFAULT 0
 );
\ No newline at end of file
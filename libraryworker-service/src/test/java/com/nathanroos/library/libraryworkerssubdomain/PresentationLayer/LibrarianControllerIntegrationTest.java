@@ -4,16 +4,28 @@ import com.nathanroos.library.libraryworkerssubdomain.DataAccessLayer.LibrarianP
 import com.nathanroos.library.libraryworkerssubdomain.DataAccessLayer.LibrarianRepository;
 import com.nathanroos.library.libraryworkerssubdomain.DataAccessLayer.Position;
 import com.nathanroos.library.libraryworkerssubdomain.DataAccessLayer.PositionEnum;
+import com.nathanroos.library.libraryworkerssubdomain.DataAccessLayer.ProvinceEnum;
+import com.nathanroos.library.libraryworkerssubdomain.DataAccessLayer.WorkerAddress;
+import com.nathanroos.library.libraryworkerssubdomain.MappingLayer.LibrarianResponseMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import java.util.Collections;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
 
 @SpringBootTest(webEnvironment = RANDOM_PORT)
@@ -28,6 +40,9 @@ class LibrarianControllerIntegrationTest {
     @Autowired
     private LibrarianRepository repository;
 
+    @MockitoSpyBean
+    private LibrarianResponseMapper responseMapper;
+
     private final String BASE_URI = "/api/v1/workers";
     private final String NOT_FOUND_ID = "1a2b3c4d-e29b-41d4-a716-446655440001";
     private final String INVALID_ID = "this-is-not-a-uuid";
@@ -659,6 +674,100 @@ class LibrarianControllerIntegrationTest {
                 .jsonPath("$.message").value(msg -> assertTrue(msg.toString().toLowerCase().contains("invalid")));
     }
 
+    @Test
+    void whenBatchLookup_thenReturnInRequestOrderAndReportMissingIds() {
+        String otherId = "2b3c4d5e-e29b-41d4-a716-446655440001";
+
+        webTestClient.post()
+                .uri(BASE_URI + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(otherId, NOT_FOUND_ID, VALID_ID, otherId, INVALID_ID))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(LibrarianBatchResponseModel.class)
+                .value(response -> {
+                    assertEquals(List.of(otherId, VALID_ID), response.getLibrarians().stream().map(LibrarianResponseModel::getLibrarianId).toList());
+                    assertEquals(List.of(NOT_FOUND_ID, INVALID_ID), response.getMissingIds());
+                });
+    }
+
+    @Test
+    void whenBatchIsTooLarge_thenReturnUnprocessableEntity() {
+        webTestClient.post()
+                .uri(BASE_URI + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Collections.nCopies(501, VALID_ID))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    void whenIfNoneMatchHoldsTheCurrentETag_thenReturnNotModifiedWithoutMapping() {
+        webTestClient.get()
+                .uri(BASE_URI + "/" + VALID_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"");
+        clearInvocations(responseMapper);
+
+        webTestClient.get()
+                .uri(BASE_URI + "/" + VALID_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+
+        verify(responseMapper, never()).entityToResponseModel(any());
+    }
+
+    @Test
+    void whenIfMatchIsStale_thenUpdateReturnsPreconditionFailedAndKeepsTheLibrarian() {
+        webTestClient.put()
+                .uri(BASE_URI + "/" + VALID_ID)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(librarianUpdate("Alice"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"");
 
+        webTestClient.put()
+                .uri(BASE_URI + "/" + VALID_ID)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(librarianUpdate("Alicia"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
 
-}
\ No newline at end of file
+        webTestClient.get()
+                .uri(BASE_URI + "/" + VALID_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody(LibrarianResponseModel.class)
+                .value(librarian -> assertEquals("Alice", librarian.getFirstname()));
+    }
+
+    @Test
+    void whenIfMatchIsStale_thenDeleteReturnsPreconditionFailedUntilTheCurrentETagIsSent() {
+        webTestClient.delete().uri(BASE_URI + "/" + VALID_ID).header(HttpHeaders.IF_MATCH, "\"3\"")
+                .exchange().expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        webTestClient.get().uri(BASE_URI + "/" + VALID_ID).exchange().expectStatus().isOk();
+
+        webTestClient.delete().uri(BASE_URI + "/" + VALID_ID).header(HttpHeaders.IF_MATCH, "\"0\"")
+                .exchange().expectStatus().isNoContent();
+        webTestClient.get().uri(BASE_URI + "/" + VALID_ID).exchange().expectStatus().isNotFound();
+    }
+
+    private static LibrarianRequestModel librarianUpdate(String firstname) {
+        return LibrarianRequestModel.builder()
+                .firstname(firstname)
+                .lastname("Johnson")
+                .email("alice.johnson@example.com")
+                .librarianPhoneNumber(new LibrarianPhoneNumber())
+                .position(new Position(PositionEnum.LIBRARY_CLERK))
+                .libraryWorkerAddress(new WorkerAddress("12", "Rue Sherbrooke", "Montreal", ProvinceEnum.QUEBEC, "H2X 1X1"))
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.nathanroos.library.libraryworkerssubdomain.dataaccesslayer;
+
+import com.nathanroos.library.libraryworkerssubdomain.DataAccessLayer.Librarian;
+import com.nathanroos.library.libraryworkerssubdomain.DataAccessLayer.LibrarianIdentifier;
+import com.nathanroos.library.libraryworkerssubdomain.DataAccessLayer.LibrarianRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class LibrarianEntityCacheTest {
+
+    @Autowired
+    private LibrarianRepository librarianRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    private String librarianId;
+
+    @BeforeEach
+    void setup() {
+        Librarian librarian = new Librarian();
+        librarian.setFirstname("Elena");
+        librarian.setLastname("Marquez");
+        librarian.setEmail("elena@example.com");
+        librarian.setLibrarianIdentifier(new LibrarianIdentifier());
+        librarianId = librarianRepository.save(librarian).getLibrarianIdentifier().getLibrarianId();
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void whenLibrarianIsLookedUpAgainByLibrarianId_thenNoStatementIsRun() {
+        Librarian first = librarianRepository.findByNaturalId(librarianId);
+        long statements = statistics.getPrepareStatementCount();
+
+        Librarian second = librarianRepository.findByNaturalId(librarianId);
+
+        assertEquals("Elena", first.getFirstname());
+        assertEquals(first.getId(), second.getId());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void whenLibrarianIsUpdated_thenTheNextLookupSeesTheChange() {
+        Librarian librarian = librarianRepository.findByNaturalId(librarianId);
+        librarian.setEmail("e.marquez@example.com");
+        librarianRepository.save(librarian);
+
+        assertEquals("e.marquez@example.com", librarianRepository.findByNaturalId(librarianId).getEmail());
+    }
+
+    @Test
+    void whenLibrarianIsDeleted_thenLookupReturnsNull() {
+        librarianRepository.delete(librarianRepository.findByNaturalId(librarianId));
+
+        assertNull(librarianRepository.findByNaturalId(librarianId));
+    }
+
+    @Test
+    void whenLibrarianIsLookedUp_thenRegionStatisticsArePublishedAsMetrics() {
+        librarianRepository.findByNaturalId(librarianId);
+        librarianRepository.findByNaturalId(librarianId);
+
+        assertEquals(1.0, meterRegistry.get("hibernate.second.level.cache.requests")
+                .tags("region", Librarian.CACHE_REGION, "result", "hit")
+                .functionCounter().count());
+    }
+}
@@ -0,0 +1,110 @@
+package com.nathanroos.library.LoanSubdomain.MapingLayer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.Loan;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanIdentifier;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanStatusEnum;
+import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanResponseModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Customer.CustomerModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Library.LibraryModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.LibraryWorker.LibraryWorkerModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.EvoInflectorLinkRelationProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// GET /api/v1/accounts/{accountId}/loans a step at a time: mapping the entities (which adds each self link), the self
+// links on their own, and writing the mapped list as HAL. Runs under a request, so links are absolute as they are in
+// production.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoanResponseMapperBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private final LoanResponseMapper mapper = new LoanResponseMapperImpl();
+
+    private ObjectMapper objectMapper;
+
+    private List<Loan> loans;
+
+    private List<LoanResponseModel> responseModels;
+
+    @Setup
+    public void setup() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new Jackson2HalModule());
+        objectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new EvoInflectorLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+
+        CustomerModel customer = CustomerModel.builder()
+                .accountId(UUID.randomUUID().toString()).firstname("Ada").lastname("Lovelace").build();
+        Date now = new Date();
+        loans = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            loans.add(Loan.builder()
+                    .loanIdentifier(new LoanIdentifier())
+                    .libraryAccountIdentifier(customer)
+                    .bookIdentifier(LibraryModel.builder()
+                            .bookId(UUID.randomUUID().toString()).title("Title " + i).author("Author " + i).build())
+                    .librarianIdentifier(LibraryWorkerModel.builder()
+                            .librarianId(UUID.randomUUID().toString()).firstname("First" + i).lastname("Last" + i).build())
+                    .loanStatus(LoanStatusEnum.ACTIVE)
+                    .loanDate(now)
+                    .dueDate(now)
+                    .build());
+        }
+        responseModels = mapper.entityListToResponseModelList(loans);
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public List<LoanResponseModel> mapEntities() {
+        return mapper.entityListToResponseModelList(loans);
+    }
+
+    @Benchmark
+    public void buildSelfLinks(Blackhole blackhole) {
+        for (LoanResponseModel loan : responseModels) {
+            blackhole.consume(LoanResponseMapper.SELF_LINK.expand(loan.getAccountId(), loan.getLoanId()));
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responseModels);
+    }
+}
@@ -0,0 +1,33 @@
+package com.nathanroos.library.LoanSubdomain.BusinessLayer;
+
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.Loan;
+import com.nathanroos.library.LoanSubdomain.utils.Exceptions.InvalidInputException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+// (loanDate, _id) of the last loan on the previous page
+record LoanCursor(Date loanDate, String id) {
+
+    static String encode(Loan last) {
+        String loanDate = last.getLoanDate() == null ? "" : String.valueOf(last.getLoanDate().getTime());
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((loanDate + ":" + last.getId()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static LoanCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            String id = decoded.substring(separator + 1);
+            if (separator < 0 || id.isEmpty()) {
+                throw new InvalidInputException("Invalid cursor: " + cursor);
+            }
+            String loanDate = decoded.substring(0, separator);
+            return new LoanCursor(loanDate.isEmpty() ? null : new Date(Long.parseLong(loanDate)), id);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException("Invalid cursor: " + cursor);
+        }
+    }
+}
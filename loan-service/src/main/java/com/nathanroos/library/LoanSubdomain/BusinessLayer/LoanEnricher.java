@@ -0,0 +1,81 @@
+package com.nathanroos.library.LoanSubdomain.BusinessLayer;
+
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.Loan;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Customer.CustomerModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Library.LibraryModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.LibraryWorker.LibraryWorkerModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.ReferenceDataCache;
+import com.nathanroos.library.LoanSubdomain.utils.FailFastTaskScope;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class LoanEnricher {
+
+    private final ReferenceDataCache referenceData;
+
+    public LoanEnricher(ReferenceDataCache referenceData) {
+        this.referenceData = referenceData;
+    }
+
+    // Resolves every distinct account, book and librarian once, with the three batches running at the same time.
+    public List<Loan> enrich(List<Loan> loans) {
+        if (loans.isEmpty()) {
+            return loans;
+        }
+
+        Set<String> accountIds = new LinkedHashSet<>();
+        Set<String> bookIds = new LinkedHashSet<>();
+        Set<String> librarianIds = new LinkedHashSet<>();
+
+        for (Loan loan : loans) {
+            if (loan.getLibraryAccountIdentifier() != null) {
+                accountIds.add(loan.getLibraryAccountIdentifier().getAccountId());
+            }
+            if (loan.getBookIdentifier() != null) {
+                bookIds.add(loan.getBookIdentifier().getBookId());
+            }
+            if (loan.getLibrarianIdentifier() != null) {
+                librarianIds.add(loan.getLibrarianIdentifier().getLibrarianId());
+            }
+        }
+
+        log.debug("Enriching {} loans with {} accounts, {} books and {} librarians",
+                loans.size(), accountIds.size(), bookIds.size(), librarianIds.size());
+
+        Supplier<Map<String, CustomerModel>> accounts;
+        Supplier<Map<String, LibraryModel>> books;
+        Supplier<Map<String, LibraryWorkerModel>> librarians;
+
+        try (FailFastTaskScope scope = new FailFastTaskScope()) {
+            accounts = scope.fork(() -> referenceData.getAccountsByAccountIds(accountIds));
+            books = scope.fork(() -> referenceData.getBooksByBookIds(bookIds));
+            librarians = scope.fork(() -> referenceData.getLibrariansByLibrarianIds(librarianIds));
+            scope.join();
+        }
+
+        for (Loan loan : loans) {
+            if (loan.getLibraryAccountIdentifier() != null) {
+                loan.setLibraryAccountIdentifier(accounts.get().getOrDefault(
+                        loan.getLibraryAccountIdentifier().getAccountId(), loan.getLibraryAccountIdentifier()));
+            }
+            if (loan.getBookIdentifier() != null) {
+                loan.setBookIdentifier(books.get().getOrDefault(
+                        loan.getBookIdentifier().getBookId(), loan.getBookIdentifier()));
+            }
+            if (loan.getLibrarianIdentifier() != null) {
+                loan.setLibrarianIdentifier(librarians.get().getOrDefault(
+                        loan.getLibrarianIdentifier().getLibrarianId(), loan.getLibrarianIdentifier()));
+            }
+        }
+
+        return loans;
+    }
+}
@@ -0,0 +1,83 @@
+package com.nathanroos.library.LoanSubdomain.BusinessLayer;
+
+import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanRequestModel;
+import com.nathanroos.library.LoanSubdomain.utils.Exceptions.InvalidInputException;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Request checks shared by the blocking and reactive services, so both modes answer bad input the same way.
+final class LoanRequestValidation {
+
+    private static final int EXPECTED_UUID_LENGTH = 36;
+
+    private LoanRequestValidation() {
+    }
+
+    static void validateAccountId(String accountId) {
+        if (accountId == null || accountId.trim().isEmpty()) {
+            throw new InvalidInputException("Account ID cannot be null or empty.");
+        }
+    }
+
+    static void validateLoanPage(String accountId, Instant from, Instant to) {
+        validateAccountId(accountId);
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new InvalidInputException("from must be before to, got " + from + " and " + to);
+        }
+    }
+
+    static void validateNewLoan(LoanRequestModel loan, String accountId) {
+        validateAccountId(accountId);
+
+        if (loan == null) {
+            throw new InvalidInputException("Loan request cannot be null.");
+        }
+
+        if (loan.getAccountId() == null || loan.getAccountId().trim().isEmpty()) {
+            throw new InvalidInputException("Loan request accountId cannot be null or empty.");
+        }
+
+        if (!accountId.equals(loan.getAccountId())) {
+            throw new InvalidInputException("Account ID in path and body do not match.");
+        }
+
+        if (loan.getBookId() == null || loan.getBookId().trim().isEmpty() ||
+                loan.getLibrarianId() == null || loan.getLibrarianId().trim().isEmpty()) {
+            throw new InvalidInputException("Missing required fields: bookId and/or librarianId.");
+        }
+    }
+
+    static void validateLoanUpdate(String accountId, LoanRequestModel loanRequestModel, String loanId) {
+        validateAccountId(accountId);
+
+        if (loanRequestModel == null) {
+            throw new InvalidInputException("Loan request cannot be null.");
+        }
+
+        if (loanRequestModel.getAccountId() == null || loanRequestModel.getAccountId().trim().isEmpty()) {
+            throw new InvalidInputException("Loan request accountId cannot be null or empty.");
+        }
+
+        if (loanRequestModel.getBookId() == null || loanRequestModel.getBookId().trim().isEmpty()) {
+            throw new InvalidInputException("Loan request bookId cannot be null or empty.");
+        }
+
+        if (loanRequestModel.getLibrarianId() == null || loanRequestModel.getLibrarianId().trim().isEmpty()) {
+            throw new InvalidInputException("Loan request librarianId cannot be null or empty.");
+        }
+
+        // 🔥 Validate loanId format (UUID check)
+        try {
+            UUID.fromString(loanId);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException("The following Id is not the correct length: " + loanId);
+        }
+    }
+
+    static void validateLoanId(String loanId) {
+        if (loanId == null || loanId.trim().isEmpty() || loanId.length() != EXPECTED_UUID_LENGTH) {
+            throw new InvalidInputException("The following Id is not the correct length: " + loanId);
+        }
+    }
+}
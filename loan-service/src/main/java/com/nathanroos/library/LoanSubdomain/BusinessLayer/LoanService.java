@@ -1,16 +1,21 @@
 package com.nathanroos.library.LoanSubdomain.BusinessLayer;
 
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanStatusEnum;
+import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanBulkResponseModel;
+import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanPageResponseModel;
 import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanRequestModel;
 import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanResponseModel;
 
+import java.time.Instant;
 import java.util.List;
 
 public interface LoanService {
 
 //    List<LoanResponseModel> getLoans();
     LoanResponseModel getLoanByLoanId(String accountId, String loanId);
-    List<LoanResponseModel> getAllLoansByAccountId(String accountId);
+    LoanPageResponseModel getLoansByAccountId(String accountId, LoanStatusEnum status, Instant from, Instant to, String cursor, int limit);
     LoanResponseModel addLoan(LoanRequestModel loan, String accountId);
+    LoanBulkResponseModel addLoans(List<LoanRequestModel> loans, String accountId);
     LoanResponseModel updateLoan(String accountId, LoanRequestModel loan, String loanId);
     void removeLoan(String accountId, String loanId);
 
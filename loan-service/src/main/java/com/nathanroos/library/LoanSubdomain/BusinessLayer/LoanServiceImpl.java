@@ -3,24 +3,40 @@ package com.nathanroos.library.LoanSubdomain.BusinessLayer;
 import com.nathanroos.library.LoanSubdomain.DataAccessLayer.Loan;
 import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanIdentifier;
 import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanRepository;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanStatusEnum;
 import com.nathanroos.library.LoanSubdomain.MapingLayer.LoanRequestMapper;
 import com.nathanroos.library.LoanSubdomain.MapingLayer.LoanResponseMapper;
+import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanBulkItemResponseModel;
+import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanBulkResponseModel;
+import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanPageResponseModel;
 import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanRequestModel;
 import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanResponseModel;
 import com.nathanroos.library.LoanSubdomain.domainclientlayer.Customer.CustomerModel;
-import com.nathanroos.library.LoanSubdomain.domainclientlayer.Customer.CustomerServiceClient;
 import com.nathanroos.library.LoanSubdomain.domainclientlayer.Library.LibraryModel;
 import com.nathanroos.library.LoanSubdomain.domainclientlayer.Library.LibraryServiceClient;
-import com.nathanroos.library.LoanSubdomain.domainclientlayer.LibraryWorker.LibrarianServiceClient;
 import com.nathanroos.library.LoanSubdomain.domainclientlayer.LibraryWorker.LibraryWorkerModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.ReferenceDataCache;
 import com.nathanroos.library.LoanSubdomain.utils.Exceptions.InvalidInputException;
 import com.nathanroos.library.LoanSubdomain.utils.Exceptions.NotFoundException;
+import com.nathanroos.library.LoanSubdomain.utils.FailFastTaskScope;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
@@ -32,44 +48,63 @@ public class LoanServiceImpl implements LoanService{
 
     private final LoanResponseMapper loanResponseMapper;
 
-    private final LibraryServiceClient LibraryService;
+    private final ReferenceDataCache referenceData;
 
-    private final LibrarianServiceClient librarianService;
+    private final LibraryServiceClient inventory;
 
-    private final CustomerServiceClient customerService;
+    private final LoanEnricher loanEnricher;
 
-    private static final int EXPECTED_UUID_LENGTH = 36;
+    private final LoanStatisticsService loanStatistics;
 
+    private final boolean concurrentValidation;
 
-    public LoanServiceImpl(LoanRepository loanRepository, LoanRequestMapper loanRequestMapper, LoanResponseMapper loanResponseMapper, LibraryServiceClient libraryService, LibrarianServiceClient librarianService, CustomerServiceClient customerService) {
+    private final boolean verifyAccount;
+
+
+    public LoanServiceImpl(LoanRepository loanRepository, LoanRequestMapper loanRequestMapper, LoanResponseMapper loanResponseMapper, ReferenceDataCache referenceData,
+                           LibraryServiceClient inventory, LoanEnricher loanEnricher,
+                           LoanStatisticsService loanStatistics,
+                           @Value("${app.downstream.concurrent-validation:true}") boolean concurrentValidation,
+                           @Value("${app.account-loans.verify-account:true}") boolean verifyAccount) {
         this.loanRepository = loanRepository;
         this.loanRequestMapper = loanRequestMapper;
         this.loanResponseMapper = loanResponseMapper;
-        this.LibraryService = libraryService;
-        this.librarianService = librarianService;
-        this.customerService = customerService;
+        this.referenceData = referenceData;
+        this.inventory = inventory;
+        this.loanEnricher = loanEnricher;
+        this.loanStatistics = loanStatistics;
+        this.concurrentValidation = concurrentValidation;
+        this.verifyAccount = verifyAccount;
     }
 
-    public List<LoanResponseModel> getAllLoansByAccountId(String accountId) {
-        if (accountId == null || accountId.trim().isEmpty()) {
-            throw new InvalidInputException("Account ID cannot be null or empty.");
+    // An account's own loans prove it exists, so the (cached) existence check only runs when the first page is empty.
+    @Override
+    public LoanPageResponseModel getLoansByAccountId(String accountId, LoanStatusEnum status, Instant from, Instant to, String cursor, int limit) {
+        LoanRequestValidation.validateLoanPage(accountId, from, to);
+
+        LoanCursor after = cursor == null ? null : LoanCursor.decode(cursor);
+        List<Loan> loans = loanRepository.findAccountLoanPage(accountId, status,
+                from == null ? null : Date.from(from), to == null ? null : Date.from(to),
+                after == null ? null : after.loanDate(), after == null ? null : after.id(), limit + 1);
+        if (loans == null) {
+            loans = Collections.emptyList();  // Safe fallback
         }
 
-        CustomerModel account = customerService.getAccountByAccountId(accountId);
-        if (account == null) {
+        if (loans.isEmpty() && after == null && verifyAccount && !referenceData.accountExists(accountId)) {
             throw new NotFoundException("The Id is not found:" + accountId);
         }
 
-        List<Loan> loan = loanRepository.findAllByLibraryAccountIdentifier_AccountId(accountId);
-        if (loan == null) {
-            loan = Collections.emptyList();  // Safe fallback
+        String nextCursor = null;
+        if (loans.size() > limit) {
+            loans = loans.subList(0, limit);
+            nextCursor = LoanCursor.encode(loans.get(limit - 1));
         }
-
-        return loanResponseMapper.entityListToResponseModelList(loan);
+        return new LoanPageResponseModel(loanResponseMapper.entityListToResponseModelList(loans), nextCursor);
     }
 
 
 
+
 //    @Override
 //    public List<LoanResponseModel> getLoans() {
 //        List<Loan> loans = loanRepository.findAll();
@@ -127,13 +162,7 @@ public class LoanServiceImpl implements LoanService{
             throw new NotFoundException("The Id is not found:" + loanId);
         }
 
-
-
-        for(Loan loan5 : loan){
-            loan5.setLibraryAccountIdentifier(customerService.getAccountByAccountId(loan5.getLibraryAccountIdentifier().getAccountId()));
-            loan5.setBookIdentifier(LibraryService.getBookByBookId(loan5.getBookIdentifier().getBookId()));
-            loan5.setLibrarianIdentifier(librarianService.getLibrarian(loan5.getLibrarianIdentifier().getLibrarianId()));
-        }
+        loanEnricher.enrich(loan);
 
 
 
@@ -150,42 +179,41 @@ public class LoanServiceImpl implements LoanService{
 
     @Override
     public LoanResponseModel addLoan(LoanRequestModel loan, String accountId) {
-        if (accountId == null || accountId.trim().isEmpty()) {
-            throw new InvalidInputException("Account ID cannot be null or empty.");
-        }
-
-        if (loan == null) {
-            throw new InvalidInputException("Loan request cannot be null.");
-        }
-
-        if (loan.getAccountId() == null || loan.getAccountId().trim().isEmpty()) {
-            throw new InvalidInputException("Loan request accountId cannot be null or empty.");
-        }
-
-        if (!accountId.equals(loan.getAccountId())) {
-            throw new InvalidInputException("Account ID in path and body do not match.");
-        }
-
-        if (loan.getBookId() == null || loan.getBookId().trim().isEmpty() ||
-                loan.getLibrarianId() == null || loan.getLibrarianId().trim().isEmpty()) {
-            throw new InvalidInputException("Missing required fields: bookId and/or librarianId.");
-        }
+        LoanRequestValidation.validateNewLoan(loan, accountId);
 
         // Now fetch the external dependencies safely
-        CustomerModel customerResponseModel = customerService.getAccountByAccountId(accountId);
-        if (customerResponseModel == null) {
-            throw new NotFoundException("Customer not found for accountId: " + accountId);
-        }
-
-        LibraryModel libraryResponseModel = LibraryService.getBookByBookId(loan.getBookId());
-        if (libraryResponseModel == null) {
-            throw new NotFoundException("Book not found for bookId: " + loan.getBookId());
+        Supplier<CustomerModel> customerLookup;
+        Supplier<LibraryModel> bookLookup;
+        Supplier<LibraryWorkerModel> librarianLookup;
+
+        try (FailFastTaskScope scope = new FailFastTaskScope(concurrentValidation)) {
+            customerLookup = scope.fork(() -> {
+                CustomerModel customer = referenceData.getAccountByAccountId(accountId);
+                if (customer == null) {
+                    throw new NotFoundException("Customer not found for accountId: " + accountId);
+                }
+                return customer;
+            });
+            bookLookup = scope.fork(() -> {
+                LibraryModel book = referenceData.getBookByBookId(loan.getBookId());
+                if (book == null) {
+                    throw new NotFoundException("Book not found for bookId: " + loan.getBookId());
+                }
+                return book;
+            });
+            librarianLookup = scope.fork(() -> {
+                LibraryWorkerModel librarian = referenceData.getLibrarian(loan.getLibrarianId());
+                if (librarian == null) {
+                    throw new NotFoundException("Librarian not found for librarianId: " + loan.getLibrarianId());
+                }
+                return librarian;
+            });
+            scope.join();
         }
 
-        LibraryWorkerModel libraryWorkerResponseModel = librarianService.getLibrarian(loan.getLibrarianId());
-        if (libraryWorkerResponseModel == null) {
-            throw new NotFoundException("Librarian not found for librarianId: " + loan.getLibrarianId());
-        }
+        CustomerModel customerResponseModel = customerLookup.get();
+        LibraryModel libraryResponseModel = bookLookup.get();
+        LibraryWorkerModel libraryWorkerResponseModel = librarianLookup.get();
 
         log.debug("customer-name is " + customerResponseModel.getFirstname() + " " + customerResponseModel.getLastname());
         log.debug("Librarian-name is " + libraryWorkerResponseModel.getFirstname() + " " + libraryWorkerResponseModel.getLastname());
@@ -195,62 +223,245 @@ public class LoanServiceImpl implements LoanService{
                 loan, loanIdentifier, customerResponseModel, libraryWorkerResponseModel, libraryResponseModel
         );
 
-        Loan loanSaved = loanRepository.save(loanToCreate);
+        Loan loanSaved = saveHoldingCopy(loanToCreate, loanToCreate.heldBookId());
+        loanStatistics.markChanged(loanSaved);
         return loanResponseMapper.entityToResponseModel(loanSaved);
     }
 
+    // The copy is reserved before the loan is written and handed back if the write fails.
+    private Loan saveHoldingCopy(Loan loan, String reservedBookId) {
+        if (reservedBookId != null) {
+            inventory.reserveCopies(reservedBookId, 1);
+        }
+        try {
+            return loanRepository.save(loan);
+        } catch (RuntimeException ex) {
+            releaseCopies(reservedBookId, 1);
+            throw ex;
+        }
+    }
+
+    // The loan change is already written by then, so a failed release is logged instead of failing the request.
+    private void releaseCopies(String bookId, int copies) {
+        if (bookId == null) {
+            return;
+        }
+        try {
+            inventory.releaseCopies(bookId, copies);
+        } catch (RuntimeException ex) {
+            log.warn("Could not release {} copies of book {}: {}", copies, bookId, ex.getMessage());
+        }
+    }
 
+    // The account and every distinct book and librarian are resolved once for the whole batch, then the rows that
+    // passed go to Mongo in one unordered bulk insert. A bad row gets its own result instead of failing the batch.
     @Override
-    public LoanResponseModel updateLoan(String accountId, LoanRequestModel loanRequestModel, String loanId) {
+    public LoanBulkResponseModel addLoans(List<LoanRequestModel> loans, String accountId) {
         if (accountId == null || accountId.trim().isEmpty()) {
             throw new InvalidInputException("Account ID cannot be null or empty.");
         }
 
-        if (loanRequestModel == null) {
-            throw new InvalidInputException("Loan request cannot be null.");
+        if (loans == null || loans.isEmpty()) {
+            throw new InvalidInputException("Loan batch cannot be null or empty.");
+        }
+
+        LoanBulkItemResponseModel[] results = new LoanBulkItemResponseModel[loans.size()];
+        Set<String> bookIds = new LinkedHashSet<>();
+        Set<String> librarianIds = new LinkedHashSet<>();
+        for (int i = 0; i < loans.size(); i++) {
+            String problem = bulkRowProblem(loans.get(i), accountId);
+            if (problem != null) {
+                results[i] = bulkFailure(i, HttpStatus.UNPROCESSABLE_ENTITY, problem);
+            } else {
+                bookIds.add(loans.get(i).getBookId());
+                librarianIds.add(loans.get(i).getLibrarianId());
+            }
         }
 
-        if (loanRequestModel.getAccountId() == null || loanRequestModel.getAccountId().trim().isEmpty()) {
-            throw new InvalidInputException("Loan request accountId cannot be null or empty.");
+        Supplier<CustomerModel> customerLookup;
+        Supplier<Map<String, LibraryModel>> books;
+        Supplier<Map<String, LibraryWorkerModel>> librarians;
+
+        try (FailFastTaskScope scope = new FailFastTaskScope(concurrentValidation)) {
+            customerLookup = scope.fork(() -> {
+                CustomerModel customer = referenceData.getAccountByAccountId(accountId);
+                if (customer == null) {
+                    throw new NotFoundException("Customer not found for accountId: " + accountId);
+                }
+                return customer;
+            });
+            books = scope.fork(() -> referenceData.getBooksByBookIds(bookIds));
+            librarians = scope.fork(() -> referenceData.getLibrariansByLibrarianIds(librarianIds));
+            scope.join();
         }
 
-        if (loanRequestModel.getBookId() == null || loanRequestModel.getBookId().trim().isEmpty()) {
-            throw new InvalidInputException("Loan request bookId cannot be null or empty.");
+        log.debug("Bulk adding {} loans for account {} with {} books and {} librarians",
+                loans.size(), accountId, bookIds.size(), librarianIds.size());
+
+        List<Integer> rows = new ArrayList<>();
+        List<Loan> loansToCreate = new ArrayList<>();
+        for (int i = 0; i < loans.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            LoanRequestModel loan = loans.get(i);
+            LibraryModel book = books.get().get(loan.getBookId());
+            LibraryWorkerModel librarian = librarians.get().get(loan.getLibrarianId());
+            if (book == null) {
+                results[i] = bulkFailure(i, HttpStatus.NOT_FOUND, "Book not found for bookId: " + loan.getBookId());
+            } else if (librarian == null) {
+                results[i] = bulkFailure(i, HttpStatus.NOT_FOUND, "Librarian not found for librarianId: " + loan.getLibrarianId());
+            } else {
+                rows.add(i);
+                loansToCreate.add(loanRequestMapper.requestModelToEntity(
+                        loan, new LoanIdentifier(), customerLookup.get(), librarian, book));
+            }
         }
 
-        if (loanRequestModel.getLibrarianId() == null || loanRequestModel.getLibrarianId().trim().isEmpty()) {
-            throw new InvalidInputException("Loan request librarianId cannot be null or empty.");
+        // each book is reserved once for all the rows borrowing it; a book that can't cover them all gives its copies
+        // to its rows in batch order, and only the rows left over fail
+        Map<String, Integer> copiesByBook = new LinkedHashMap<>();
+        loansToCreate.stream().map(Loan::heldBookId).filter(Objects::nonNull)
+                .forEach(bookId -> copiesByBook.merge(bookId, 1, Integer::sum));
+        Map<String, Integer> reservedByBook = new HashMap<>();
+        Map<String, RuntimeException> reservationFailures = new HashMap<>();
+        copiesByBook.forEach((bookId, copies) -> reservedByBook.put(bookId, reserveUpTo(bookId, copies, reservationFailures)));
+
+        Map<String, Integer> unassigned = new HashMap<>(reservedByBook);
+        List<Integer> reservedRows = new ArrayList<>();
+        List<Loan> reservedLoans = new ArrayList<>();
+        for (int j = 0; j < loansToCreate.size(); j++) {
+            int i = rows.get(j);
+            String bookId = loansToCreate.get(j).heldBookId();
+            if (bookId == null || unassigned.merge(bookId, -1, Integer::sum) >= 0) {
+                reservedRows.add(i);
+                reservedLoans.add(loansToCreate.get(j));
+            } else {
+                results[i] = bulkFailure(i, reservationFailures.get(bookId));
+            }
         }
+        rows = reservedRows;
+        loansToCreate = reservedLoans;
 
-        // 🔥 Validate loanId format (UUID check)
+        Map<Integer, String> insertFailures;
         try {
-            UUID.fromString(loanId);
-        } catch (IllegalArgumentException e) {
-            throw new InvalidInputException("The following Id is not the correct length: " + loanId);
+            insertFailures = loanRepository.insertUnordered(loansToCreate);
+        } catch (RuntimeException ex) {
+            reservedByBook.forEach((bookId, copies) -> {
+                if (copies > 0) {
+                    releaseCopies(bookId, copies);
+                }
+            });
+            throw ex;
+        }
+        Map<String, Integer> unusedCopies = new LinkedHashMap<>();
+        for (int j = 0; j < loansToCreate.size(); j++) {
+            int i = rows.get(j);
+            String insertFailure = insertFailures.get(j);
+            if (insertFailure == null) {
+                loanStatistics.markChanged(loansToCreate.get(j));
+            } else if (loansToCreate.get(j).heldBookId() != null) {
+                unusedCopies.merge(loansToCreate.get(j).heldBookId(), 1, Integer::sum);
+            }
+            results[i] = insertFailure == null
+                    ? new LoanBulkItemResponseModel(i, HttpStatus.CREATED.value(), loanResponseMapper.entityToResponseModel(loansToCreate.get(j)), null)
+                    : bulkFailure(i, HttpStatus.INTERNAL_SERVER_ERROR, insertFailure);
         }
 
-        // Validate external dependencies
-        CustomerModel customerModel = customerService.getAccountByAccountId(accountId);
-        if (customerModel == null) {
-            throw new NotFoundException("Customer not found: " + accountId);
+        unusedCopies.forEach(this::releaseCopies);
+
+        int created = loansToCreate.size() - insertFailures.size();
+        return new LoanBulkResponseModel(created, loans.size() - created, Arrays.asList(results));
+    }
+
+    // Takes as many of the copies as the book has left in one call. Returns how many were reserved, and records why
+    // the rest could not be.
+    private int reserveUpTo(String bookId, int copies, Map<String, RuntimeException> failures) {
+        try {
+            int reserved = inventory.reserveUpTo(bookId, copies);
+            if (reserved < copies) {
+                failures.put(bookId, new InvalidInputException("Not enough copies available for bookId: " + bookId));
+            }
+            return reserved;
+        } catch (RuntimeException ex) {
+            failures.put(bookId, ex);
+            return 0;
         }
+    }
 
-        LibraryWorkerModel libraryWorkerModel = librarianService.getLibrarian(loanRequestModel.getLibrarianId());
-        if (libraryWorkerModel == null) {
-            throw new NotFoundException("Librarian not found: " + loanRequestModel.getLibrarianId());
+    private static String bulkRowProblem(LoanRequestModel loan, String accountId) {
+        if (loan == null) {
+            return "Loan request cannot be null.";
+        }
+        if (!accountId.equals(loan.getAccountId())) {
+            return "Account ID in path and body do not match.";
         }
+        if (loan.getBookId() == null || loan.getBookId().trim().isEmpty() ||
+                loan.getLibrarianId() == null || loan.getLibrarianId().trim().isEmpty()) {
+            return "Missing required fields: bookId and/or librarianId.";
+        }
+        return null;
+    }
+
+    private static LoanBulkItemResponseModel bulkFailure(int index, HttpStatus status, String message) {
+        return new LoanBulkItemResponseModel(index, status.value(), null, message);
+    }
+
+    private static LoanBulkItemResponseModel bulkFailure(int index, RuntimeException ex) {
+        HttpStatus status = ex instanceof NotFoundException ? HttpStatus.NOT_FOUND
+                : ex instanceof InvalidInputException ? HttpStatus.UNPROCESSABLE_ENTITY
+                : HttpStatus.INTERNAL_SERVER_ERROR;
+        return bulkFailure(index, status, ex.getMessage());
+    }
 
-        LibraryModel libraryModel = LibraryService.getBookByBookId(loanRequestModel.getBookId());
-        if (libraryModel == null) {
-            throw new NotFoundException("Book not found: " + loanRequestModel.getBookId());
+    @Override
+    public LoanResponseModel updateLoan(String accountId, LoanRequestModel loanRequestModel, String loanId) {
+        LoanRequestValidation.validateLoanUpdate(accountId, loanRequestModel, loanId);
+
+        // Validate external dependencies
+        Supplier<CustomerModel> customerLookup;
+        Supplier<LibraryWorkerModel> librarianLookup;
+        Supplier<LibraryModel> bookLookup;
+
+        try (FailFastTaskScope scope = new FailFastTaskScope(concurrentValidation)) {
+            customerLookup = scope.fork(() -> {
+                CustomerModel customer = referenceData.getAccountByAccountId(accountId);
+                if (customer == null) {
+                    throw new NotFoundException("Customer not found: " + accountId);
+                }
+                return customer;
+            });
+            librarianLookup = scope.fork(() -> {
+                LibraryWorkerModel librarian = referenceData.getLibrarian(loanRequestModel.getLibrarianId());
+                if (librarian == null) {
+                    throw new NotFoundException("Librarian not found: " + loanRequestModel.getLibrarianId());
+                }
+                return librarian;
+            });
+            bookLookup = scope.fork(() -> {
+                LibraryModel book = referenceData.getBookByBookId(loanRequestModel.getBookId());
+                if (book == null) {
+                    throw new NotFoundException("Book not found: " + loanRequestModel.getBookId());
+                }
+                return book;
+            });
+            scope.join();
         }
 
+        CustomerModel customerModel = customerLookup.get();
+        LibraryWorkerModel libraryWorkerModel = librarianLookup.get();
+        LibraryModel libraryModel = bookLookup.get();
+
         // Find existing loan
         Loan loan = loanRepository.findLoanByLibraryAccountIdentifier_AccountIdAndLoanIdentifier_LoanId(accountId, loanId);
         if (loan == null) {
             throw new NotFoundException("The loan ID is not found: " + loanId);
         }
 
+        // the loan's old status, book and librarian lose a loan
+        loanStatistics.markChanged(loan);
+        String heldBookId = loan.heldBookId();
+
         // Update fields
         loan.setLoanIdentifier(new LoanIdentifier(loanId));
         loan.setLoanStatus(loanRequestModel.getLoanStatus());
@@ -260,7 +471,14 @@ public class LoanServiceImpl implements LoanService{
         loan.setLibrarianIdentifier(libraryWorkerModel);
         loan.setBookIdentifier(libraryModel);
 
-        Loan loanUpdated = loanRepository.save(loan);
+        // a copy only moves when the loan is returned, reopened or switched to another book
+        String neededBookId = loan.heldBookId();
+        boolean copyMoves = !Objects.equals(heldBookId, neededBookId);
+        Loan loanUpdated = saveHoldingCopy(loan, copyMoves ? neededBookId : null);
+        if (copyMoves) {
+            releaseCopies(heldBookId, 1);
+        }
+        loanStatistics.markChanged(loanUpdated);
         return loanResponseMapper.entityToResponseModel(loanUpdated);
     }
 
@@ -269,9 +487,7 @@ public class LoanServiceImpl implements LoanService{
 
     @Override
     public void removeLoan(String accountId, String loanId) {
-        if (loanId == null || loanId.trim().isEmpty() || loanId.length() != EXPECTED_UUID_LENGTH) {
-            throw new InvalidInputException("The following Id is not the correct length: " + loanId);
-        }
+        LoanRequestValidation.validateLoanId(loanId);
 
         Loan existingLoan = loanRepository.findLoanByLibraryAccountIdentifier_AccountIdAndLoanIdentifier_LoanId(accountId, loanId);
 
@@ -280,6 +496,8 @@ public class LoanServiceImpl implements LoanService{
         }
 
         loanRepository.delete(existingLoan);
+        releaseCopies(existingLoan.heldBookId(), 1);
+        loanStatistics.markChanged(existingLoan);
     }
 
 }
@@ -0,0 +1,25 @@
+package com.nathanroos.library.LoanSubdomain.BusinessLayer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.loan-statistics")
+public class LoanStatisticsProperties {
+
+    private boolean enabled = true;
+
+    // how often the keys changed by this instance are re-aggregated
+    private Duration interval = Duration.ofSeconds(30);
+
+    private Duration initialDelay = Duration.ofSeconds(10);
+
+    // catches writes that bypassed this service, e.g. an instance that stopped before refreshing
+    private Duration fullRebuildInterval = Duration.ofHours(6);
+
+    private Duration leaseDuration = Duration.ofMinutes(5);
+}
@@ -0,0 +1,334 @@
+package com.nathanroos.library.LoanSubdomain.BusinessLayer;
+
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.Loan;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanStatistic;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanStatusEnum;
+import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanCountResponseModel;
+import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanStatisticsResponseModel;
+import com.nathanroos.library.LoanSubdomain.utils.MongoLease;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Counts by book and librarian, and the loan durations behind the average, are aggregated inside Mongo and $merge'd
+// into loan_statistics, which is all a read touches. Book documents also split their counts by status, and the status
+// documents are the sum of those splits: a rebuild adds them up, and a refresh applies the difference it made to the
+// books it re-aggregated, so a status change costs the loans of the books involved rather than every loan with that
+// status. Loan writes made through this instance mark the keys they touched, and a refresh re-aggregates only those
+// keys; a periodic full rebuild catches everything else. Both run under the same lease, so the status sums are never
+// adjusted by two instances at once.
+@Slf4j
+@Service
+public class LoanStatisticsService {
+
+    static final String LEASE_NAME = "loan-statistics-rebuild";
+
+    private static final int MAX_KEYS_PER_AGGREGATION = 1000;
+
+    private static final double DAY_MS = 24 * 60 * 60 * 1000.0;
+
+    private static final Document HAS_DURATION = new Document("$and", List.of(
+            new Document("$eq", List.of(new Document("$type", "$loanDate"), "date")),
+            new Document("$eq", List.of(new Document("$type", "$dueDate"), "date"))));
+
+    private static final Document DURATION = new Document("$subtract", List.of("$dueDate", "$loanDate"));
+
+    private record Dimension(String name, String field, Object label, Set<String> changedKeys) {
+    }
+
+    private final Dimension book = new Dimension(LoanStatistic.BOOK, "bookIdentifier.bookId", "$bookIdentifier.title",
+            ConcurrentHashMap.newKeySet());
+
+    private final Dimension librarian = new Dimension(LoanStatistic.LIBRARIAN, "librarianIdentifier.librarianId",
+            new Document("$trim", new Document("input", new Document("$concat", List.of(
+                    new Document("$ifNull", List.of("$librarianIdentifier.firstname", "")), " ",
+                    new Document("$ifNull", List.of("$librarianIdentifier.lastname", "")))))),
+            ConcurrentHashMap.newKeySet());
+
+    private final List<Dimension> dimensions = List.of(book, librarian);
+
+    // resolved on use, like LoanRepositoryCustomImpl, so contexts without Mongo can still mark changes
+    private final ObjectProvider<MongoTemplate> mongoTemplate;
+
+    private final ObjectProvider<MongoLease> lease;
+
+    private final LoanStatisticsProperties properties;
+
+    private volatile long lastFullRebuild;
+
+    public LoanStatisticsService(ObjectProvider<MongoTemplate> mongoTemplate, ObjectProvider<MongoLease> lease,
+                                 LoanStatisticsProperties properties) {
+        this.mongoTemplate = mongoTemplate;
+        this.lease = lease;
+        this.properties = properties;
+    }
+
+    public void markChanged(Loan loan) {
+        if (loan == null) {
+            return;
+        }
+        if (loan.getBookIdentifier() != null && loan.getBookIdentifier().getBookId() != null) {
+            book.changedKeys().add(loan.getBookIdentifier().getBookId());
+        }
+        if (loan.getLibrarianIdentifier() != null && loan.getLibrarianIdentifier().getLibrarianId() != null) {
+            librarian.changedKeys().add(loan.getLibrarianIdentifier().getLibrarianId());
+        }
+    }
+
+    // for writes that change only the status, such as the overdue sweep
+    public void markBooksChanged(Collection<String> bookIds) {
+        book.changedKeys().addAll(bookIds);
+    }
+
+    @Scheduled(initialDelayString = "${app.loan-statistics.initial-delay:10s}", fixedDelayString = "${app.loan-statistics.interval:30s}")
+    public void refreshScheduled() {
+        if (!properties.isEnabled() || mongoTemplate.getIfAvailable() == null) {
+            return;
+        }
+        if (System.currentTimeMillis() - lastFullRebuild >= properties.getFullRebuildInterval().toMillis()) {
+            rebuild();
+        } else {
+            refresh();
+        }
+    }
+
+    // re-aggregates every key; when another instance holds the lease it is doing the same work, so this one skips it
+    public boolean rebuild() {
+        lastFullRebuild = System.currentTimeMillis();
+        if (!lease.getObject().tryAcquire(LEASE_NAME, properties.getLeaseDuration())) {
+            return false;
+        }
+        try {
+            // cleared first, so a loan changed while the pipelines run is refreshed again next time
+            dimensions.forEach(dimension -> dimension.changedKeys().clear());
+            for (Dimension dimension : dimensions) {
+                aggregate(dimension, null, new Date());
+            }
+            sumStatuses(new Date());
+        } finally {
+            lease.getObject().release(LEASE_NAME);
+        }
+        log.info("Rebuilt loan statistics");
+        return true;
+    }
+
+    // re-aggregates only the keys marked since the last run, each over its own index; while another instance holds
+    // the lease the keys stay marked for the next run
+    public boolean refresh() {
+        if (!lease.getObject().tryAcquire(LEASE_NAME, properties.getLeaseDuration())) {
+            return false;
+        }
+        try {
+            for (Dimension dimension : dimensions) {
+                List<String> keys = drain(dimension.changedKeys());
+                try {
+                    for (int from = 0; from < keys.size(); from += MAX_KEYS_PER_AGGREGATION) {
+                        refresh(dimension, keys.subList(from, Math.min(from + MAX_KEYS_PER_AGGREGATION, keys.size())));
+                    }
+                } catch (RuntimeException ex) {
+                    dimension.changedKeys().addAll(keys);
+                    throw ex;
+                }
+                if (!keys.isEmpty()) {
+                    log.debug("Refreshed {} {} statistics", keys.size(), dimension.name());
+                }
+            }
+        } finally {
+            lease.getObject().release(LEASE_NAME);
+        }
+        return true;
+    }
+
+    public LoanStatisticsResponseModel getStatistics(int top) {
+        MongoTemplate template = mongoTemplate.getObject();
+
+        Map<LoanStatusEnum, Long> loansByStatus = new EnumMap<>(LoanStatusEnum.class);
+        for (LoanStatusEnum loanStatus : LoanStatusEnum.values()) {
+            loansByStatus.put(loanStatus, 0L);
+        }
+        long durationMillis = 0;
+        long durationCount = 0;
+        Date refreshedAt = null;
+        for (LoanStatistic statistic : template.find(Query.query(Criteria.where("dimension").is(LoanStatistic.STATUS)), LoanStatistic.class)) {
+            loansByStatus.put(LoanStatusEnum.valueOf(statistic.getKey()), statistic.getCount());
+            durationMillis += statistic.getDurationMillis();
+            durationCount += statistic.getDurationCount();
+            if (refreshedAt == null || statistic.getRefreshedAt().before(refreshedAt)) {
+                refreshedAt = statistic.getRefreshedAt();
+            }
+        }
+
+        return new LoanStatisticsResponseModel(loansByStatus, top(template, LoanStatistic.BOOK, top),
+                top(template, LoanStatistic.LIBRARIAN, top),
+                durationCount == 0 ? null : durationMillis / DAY_MS / durationCount, refreshedAt);
+    }
+
+    // served by the dimension_count index
+    private static List<LoanCountResponseModel> top(MongoTemplate template, String dimension, int top) {
+        Query query = Query.query(Criteria.where("dimension").is(dimension))
+                .with(Sort.by(Sort.Direction.DESC, "count"))
+                .limit(top);
+        return template.find(query, LoanStatistic.class).stream()
+                .map(statistic -> new LoanCountResponseModel(statistic.getKey(), statistic.getLabel(), statistic.getCount()))
+                .toList();
+    }
+
+    // a failure between the aggregation and the status update leaves the status sums off until the next rebuild
+    private void refresh(Dimension dimension, List<String> keys) {
+        Date refreshedAt = new Date();
+        if (dimension != book) {
+            aggregate(dimension, keys, refreshedAt);
+            return;
+        }
+        List<LoanStatistic> before = findBooks(keys);
+        aggregate(dimension, keys, refreshedAt);
+        List<LoanStatistic> after = findBooks(keys);
+
+        Map<String, long[]> change = new HashMap<>();
+        addStatusCounts(change, after, 1);
+        addStatusCounts(change, before, -1);
+        MongoTemplate template = mongoTemplate.getObject();
+        change.forEach((loanStatus, delta) -> {
+            if (delta[0] == 0 && delta[1] == 0 && delta[2] == 0) {
+                return;
+            }
+            Update update = new Update()
+                    .inc("count", delta[0])
+                    .inc("durationMillis", delta[1])
+                    .inc("durationCount", delta[2])
+                    .set("dimension", LoanStatistic.STATUS)
+                    .set("key", loanStatus)
+                    .set("refreshedAt", refreshedAt);
+            template.upsert(Query.query(Criteria.where("_id").is(LoanStatistic.STATUS + ":" + loanStatus)), update, LoanStatistic.class);
+        });
+    }
+
+    private List<LoanStatistic> findBooks(List<String> keys) {
+        List<String> ids = keys.stream().map(key -> LoanStatistic.BOOK + ":" + key).toList();
+        return mongoTemplate.getObject().find(Query.query(Criteria.where("_id").in(ids)), LoanStatistic.class);
+    }
+
+    private static void addStatusCounts(Map<String, long[]> change, List<LoanStatistic> books, int sign) {
+        for (LoanStatistic statistic : books) {
+            if (statistic.getByStatus() == null) {
+                continue;
+            }
+            for (LoanStatistic.StatusCount statusCount : statistic.getByStatus()) {
+                if (statusCount.getStatus() == null) {
+                    continue;
+                }
+                long[] delta = change.computeIfAbsent(statusCount.getStatus(), loanStatus -> new long[3]);
+                delta[0] += sign * statusCount.getCount();
+                delta[1] += sign * statusCount.getDurationMillis();
+                delta[2] += sign * statusCount.getDurationCount();
+            }
+        }
+    }
+
+    // keys null means every key
+    private void aggregate(Dimension dimension, List<String> keys, Date refreshedAt) {
+        MongoTemplate template = mongoTemplate.getObject();
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(keys == null
+                        ? Criteria.where(dimension.field()).ne(null)
+                        : Criteria.where(dimension.field()).in(keys)),
+                Aggregation.stage(new Document("$group", new Document("_id", new Document("key", "$" + dimension.field()).append("status", "$loanStatus"))
+                        .append("label", new Document("$first", dimension.label()))
+                        .append("count", new Document("$sum", 1))
+                        .append("durationMillis", new Document("$sum", new Document("$cond", List.of(HAS_DURATION, DURATION, 0))))
+                        .append("durationCount", new Document("$sum", new Document("$cond", List.of(HAS_DURATION, 1, 0)))))),
+                Aggregation.stage(new Document("$group", new Document("_id", "$_id.key")
+                        .append("label", new Document("$first", "$label"))
+                        .append("count", new Document("$sum", "$count"))
+                        .append("durationMillis", new Document("$sum", "$durationMillis"))
+                        .append("durationCount", new Document("$sum", "$durationCount"))
+                        .append("byStatus", new Document("$push", new Document("status", "$_id.status")
+                                .append("count", "$count")
+                                .append("durationMillis", "$durationMillis")
+                                .append("durationCount", "$durationCount"))))),
+                summary(dimension.name(), refreshedAt),
+                mergeNewer(template));
+        template.aggregate(aggregation, template.getCollectionName(Loan.class), Document.class);
+
+        removeStale(dimension.name(), keys, refreshedAt);
+    }
+
+    // adds up the status splits of the book documents, within loan_statistics itself
+    private void sumStatuses(Date refreshedAt) {
+        MongoTemplate template = mongoTemplate.getObject();
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("dimension").is(LoanStatistic.BOOK)),
+                Aggregation.unwind("byStatus"),
+                Aggregation.match(Criteria.where("byStatus.status").ne(null)),
+                Aggregation.stage(new Document("$group", new Document("_id", "$byStatus.status")
+                        .append("count", new Document("$sum", "$byStatus.count"))
+                        .append("durationMillis", new Document("$sum", "$byStatus.durationMillis"))
+                        .append("durationCount", new Document("$sum", "$byStatus.durationCount")))),
+                summary(LoanStatistic.STATUS, refreshedAt),
+                mergeNewer(template));
+        template.aggregate(aggregation, template.getCollectionName(LoanStatistic.class), Document.class);
+
+        removeStale(LoanStatistic.STATUS, null, refreshedAt);
+    }
+
+    private static AggregationOperation summary(String dimension, Date refreshedAt) {
+        return Aggregation.stage(new Document("$project", new Document("_id", new Document("$concat", List.of(dimension + ":", "$_id")))
+                .append("dimension", new Document("$literal", dimension))
+                .append("key", "$_id")
+                .append("label", 1)
+                .append("count", 1)
+                .append("durationMillis", 1)
+                .append("durationCount", 1)
+                .append("byStatus", 1)
+                .append("refreshedAt", new Document("$literal", refreshedAt))));
+    }
+
+    // a document refreshed by a later run, e.g. one that took over an expired lease, is kept rather than overwritten
+    private static AggregationOperation mergeNewer(MongoTemplate template) {
+        return Aggregation.stage(new Document("$merge", new Document("into", template.getCollectionName(LoanStatistic.class))
+                .append("on", "_id")
+                .append("whenMatched", List.of(new Document("$replaceWith", new Document("$cond", List.of(
+                        new Document("$gte", List.of("$$new.refreshedAt", "$refreshedAt")), "$$new", "$$ROOT")))))
+                .append("whenNotMatched", "insert")));
+    }
+
+    // what this run covered but did not write, nor a later run since, lost its last loan
+    private void removeStale(String dimension, List<String> keys, Date refreshedAt) {
+        Criteria stale = Criteria.where("dimension").is(dimension).and("refreshedAt").lt(refreshedAt);
+        if (keys != null) {
+            stale = stale.and("key").in(keys);
+        }
+        mongoTemplate.getObject().remove(Query.query(stale), LoanStatistic.class);
+    }
+
+    private static List<String> drain(Set<String> keys) {
+        List<String> drained = new ArrayList<>();
+        for (Iterator<String> it = keys.iterator(); it.hasNext(); ) {
+            drained.add(it.next());
+            it.remove();
+        }
+        return drained;
+    }
+}
@@ -0,0 +1,134 @@
+package com.nathanroos.library.LoanSubdomain.BusinessLayer;
+
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.Loan;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanStatusEnum;
+import com.nathanroos.library.LoanSubdomain.utils.MongoLease;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+// Flips ACTIVE loans past their due date to OVERDUE, a chunk at a time, without loading them.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.overdue-sweep.enabled", havingValue = "true", matchIfMissing = true)
+public class OverdueLoanSweeper {
+
+    static final String LEASE_NAME = "overdue-loan-sweep";
+
+    private final MongoTemplate mongoTemplate;
+
+    private final MongoLease lease;
+
+    private final OverdueSweepProperties properties;
+
+    private final LoanStatisticsService loanStatistics;
+
+    private final String collection;
+
+    private final DistributionSummary sweptPerRun;
+
+    private final Timer sweepDuration;
+
+    private final Counter skippedRuns;
+
+    public OverdueLoanSweeper(MongoTemplate mongoTemplate, MongoLease lease, OverdueSweepProperties properties,
+                              LoanStatisticsService loanStatistics, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.lease = lease;
+        this.properties = properties;
+        this.loanStatistics = loanStatistics;
+        this.collection = mongoTemplate.getCollectionName(Loan.class);
+
+        this.sweptPerRun = DistributionSummary.builder("loan.overdue-sweep.swept")
+                .description("Loans marked overdue per sweep")
+                .register(meterRegistry);
+        this.sweepDuration = Timer.builder("loan.overdue-sweep.duration")
+                .description("Time taken by a sweep that held the lease")
+                .register(meterRegistry);
+        this.skippedRuns = Counter.builder("loan.overdue-sweep.skipped")
+                .description("Sweeps skipped because another instance held the lease")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${app.overdue-sweep.initial-delay:1m}", fixedDelayString = "${app.overdue-sweep.interval:5m}")
+    public void sweepScheduled() {
+        sweep(new Date());
+    }
+
+    public long sweep(Date now) {
+        if (!lease.tryAcquire(LEASE_NAME, properties.getLeaseDuration())) {
+            skippedRuns.increment();
+            return 0;
+        }
+
+        Timer.Sample sample = Timer.start();
+        long swept = 0;
+        Set<String> sweptBooks = new HashSet<>();
+        try {
+            List<Document> due = dueLoans(now);
+            while (!due.isEmpty()) {
+                long modified = markOverdue(due.stream().map(loan -> loan.get("_id")).toList(), now);
+                swept += modified;
+                due.stream()
+                        .map(loan -> loan.getEmbedded(List.of("bookIdentifier", "bookId"), String.class))
+                        .filter(Objects::nonNull)
+                        .forEach(sweptBooks::add);
+                // a short chunk was the last one; a lost lease means another instance carries on
+                if (due.size() < properties.getChunkSize() || modified == 0
+                        || !lease.tryAcquire(LEASE_NAME, properties.getLeaseDuration())) {
+                    break;
+                }
+                due = dueLoans(now);
+            }
+        } finally {
+            sample.stop(sweepDuration);
+            sweptPerRun.record(swept);
+            lease.release(LEASE_NAME);
+        }
+
+        if (swept > 0) {
+            // a loan left alone by the re-check only costs its book a needless refresh
+            loanStatistics.markBooksChanged(sweptBooks);
+        }
+
+        log.info("Marked {} loans overdue", swept);
+        return swept;
+    }
+
+    // walks the status_due index: equality on loanStatus, range and order on dueDate
+    private List<Document> dueLoans(Date now) {
+        Query query = Query.query(Criteria.where("loanStatus").is(LoanStatusEnum.ACTIVE.name()).and("dueDate").lt(now))
+                .with(Sort.by("dueDate"))
+                .limit(properties.getChunkSize());
+        query.fields().include("_id").include("bookIdentifier.bookId");
+
+        return mongoTemplate.find(query, Document.class, collection);
+    }
+
+    // the status and due date are re-checked so a loan returned since the read is left alone
+    private long markOverdue(List<Object> ids, Date now) {
+        Query query = Query.query(Criteria.where("_id").in(ids)
+                .and("loanStatus").is(LoanStatusEnum.ACTIVE.name())
+                .and("dueDate").lt(now));
+
+        return mongoTemplate.updateMulti(query, Update.update("loanStatus", LoanStatusEnum.OVERDUE.name()), collection)
+                .getModifiedCount();
+    }
+}
@@ -0,0 +1,24 @@
+package com.nathanroos.library.LoanSubdomain.BusinessLayer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.overdue-sweep")
+public class OverdueSweepProperties {
+
+    private boolean enabled = true;
+
+    private Duration interval = Duration.ofMinutes(5);
+
+    private Duration initialDelay = Duration.ofMinutes(1);
+
+    private int chunkSize = 500;
+
+    // must outlast a single chunk; it is renewed after every chunk
+    private Duration leaseDuration = Duration.ofMinutes(2);
+}
@@ -0,0 +1,20 @@
+package com.nathanroos.library.LoanSubdomain.BusinessLayer;
+
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanStatusEnum;
+import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanPageResponseModel;
+import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanRequestModel;
+import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanResponseModel;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+// LoanService for app.persistence-mode=reactive: nothing in these pipelines blocks a thread while waiting
+public interface ReactiveLoanService {
+
+    Mono<LoanResponseModel> getLoanByLoanId(String accountId, String loanId);
+    Mono<LoanPageResponseModel> getLoansByAccountId(String accountId, LoanStatusEnum status, Instant from, Instant to, String cursor, int limit);
+    Mono<LoanResponseModel> addLoan(LoanRequestModel loan, String accountId);
+    Mono<LoanResponseModel> updateLoan(String accountId, LoanRequestModel loan, String loanId);
+    Mono<Void> removeLoan(String accountId, String loanId);
+
+}
@@ -0,0 +1,221 @@
+package com.nathanroos.library.LoanSubdomain.BusinessLayer;
+
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.Loan;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanIdentifier;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanStatusEnum;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.ReactiveLoanRepository;
+import com.nathanroos.library.LoanSubdomain.MapingLayer.LoanRequestMapper;
+import com.nathanroos.library.LoanSubdomain.MapingLayer.LoanResponseMapper;
+import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanPageResponseModel;
+import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanRequestModel;
+import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanResponseModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Library.ReactiveLibraryServiceClient;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.ReactiveReferenceData;
+import com.nathanroos.library.LoanSubdomain.utils.Exceptions.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Same rules and error messages as LoanServiceImpl. The three reference lookups are zipped, so they run at once and
+// the first failure cancels the others, like the FailFastTaskScope in the blocking service.
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.persistence-mode", havingValue = "reactive")
+public class ReactiveLoanServiceImpl implements ReactiveLoanService {
+
+    private final ReactiveLoanRepository loanRepository;
+
+    private final LoanRequestMapper loanRequestMapper;
+
+    private final LoanResponseMapper loanResponseMapper;
+
+    private final ReactiveReferenceData referenceData;
+
+    private final ReactiveLibraryServiceClient inventory;
+
+    private final LoanStatisticsService loanStatistics;
+
+    private final boolean verifyAccount;
+
+    public ReactiveLoanServiceImpl(ReactiveLoanRepository loanRepository, LoanRequestMapper loanRequestMapper, LoanResponseMapper loanResponseMapper,
+                                   ReactiveReferenceData referenceData, ReactiveLibraryServiceClient inventory, LoanStatisticsService loanStatistics,
+                                   @Value("${app.account-loans.verify-account:true}") boolean verifyAccount) {
+        this.loanRepository = loanRepository;
+        this.loanRequestMapper = loanRequestMapper;
+        this.loanResponseMapper = loanResponseMapper;
+        this.referenceData = referenceData;
+        this.inventory = inventory;
+        this.loanStatistics = loanStatistics;
+        this.verifyAccount = verifyAccount;
+    }
+
+    @Override
+    public Mono<LoanPageResponseModel> getLoansByAccountId(String accountId, LoanStatusEnum status, Instant from, Instant to, String cursor, int limit) {
+        return Mono.defer(() -> {
+            LoanRequestValidation.validateLoanPage(accountId, from, to);
+            LoanCursor after = cursor == null ? null : LoanCursor.decode(cursor);
+            RequestAttributes request = currentRequest();
+
+            return loanRepository.findAccountLoanPage(accountId, status,
+                            from == null ? null : Date.from(from), to == null ? null : Date.from(to),
+                            after == null ? null : after.loanDate(), after == null ? null : after.id(), limit + 1)
+                    .collectList()
+                    .flatMap(loans -> {
+                        Mono<?> accountCheck = loans.isEmpty() && after == null && verifyAccount
+                                ? referenceData.accountExists(accountId)
+                                        .filter(Boolean::booleanValue)
+                                        .switchIfEmpty(notFound("The Id is not found:" + accountId))
+                                : Mono.empty();
+                        return accountCheck.then(Mono.fromCallable(() -> inRequest(request, () -> page(loans, limit))));
+                    });
+        });
+    }
+
+    private LoanPageResponseModel page(List<Loan> loans, int limit) {
+        String nextCursor = null;
+        if (loans.size() > limit) {
+            loans = loans.subList(0, limit);
+            nextCursor = LoanCursor.encode(loans.get(limit - 1));
+        }
+        return new LoanPageResponseModel(loanResponseMapper.entityListToResponseModelList(loans), nextCursor);
+    }
+
+    @Override
+    public Mono<LoanResponseModel> getLoanByLoanId(String accountId, String loanId) {
+        return loanRepository.findLoanByLibraryAccountIdentifier_AccountIdAndLoanIdentifier_LoanId(accountId, loanId)
+                .switchIfEmpty(notFound("The Id is not found:" + loanId))
+                .map(toResponseModel());
+    }
+
+    @Override
+    public Mono<LoanResponseModel> addLoan(LoanRequestModel loan, String accountId) {
+        return Mono.defer(() -> {
+            LoanRequestValidation.validateNewLoan(loan, accountId);
+
+            return Mono.zip(
+                            referenceData.getAccountByAccountId(accountId)
+                                    .switchIfEmpty(notFound("Customer not found for accountId: " + accountId)),
+                            referenceData.getBookByBookId(loan.getBookId())
+                                    .switchIfEmpty(notFound("Book not found for bookId: " + loan.getBookId())),
+                            referenceData.getLibrarian(loan.getLibrarianId())
+                                    .switchIfEmpty(notFound("Librarian not found for librarianId: " + loan.getLibrarianId())))
+                    .map(references -> loanRequestMapper.requestModelToEntity(
+                            loan, new LoanIdentifier(), references.getT1(), references.getT3(), references.getT2()))
+                    .flatMap(loanToCreate -> saveHoldingCopy(loanToCreate, loanToCreate.heldBookId()))
+                    .doOnNext(loanStatistics::markChanged)
+                    .map(toResponseModel());
+        });
+    }
+
+    @Override
+    public Mono<LoanResponseModel> updateLoan(String accountId, LoanRequestModel loanRequestModel, String loanId) {
+        return Mono.defer(() -> {
+            LoanRequestValidation.validateLoanUpdate(accountId, loanRequestModel, loanId);
+
+            return Mono.zip(
+                            referenceData.getAccountByAccountId(accountId)
+                                    .switchIfEmpty(notFound("Customer not found: " + accountId)),
+                            referenceData.getLibrarian(loanRequestModel.getLibrarianId())
+                                    .switchIfEmpty(notFound("Librarian not found: " + loanRequestModel.getLibrarianId())),
+                            referenceData.getBookByBookId(loanRequestModel.getBookId())
+                                    .switchIfEmpty(notFound("Book not found: " + loanRequestModel.getBookId())))
+                    .flatMap(references -> loanRepository
+                            .findLoanByLibraryAccountIdentifier_AccountIdAndLoanIdentifier_LoanId(accountId, loanId)
+                            .switchIfEmpty(notFound("The loan ID is not found: " + loanId))
+                            .flatMap(loan -> {
+                                // the loan's old status, book and librarian lose a loan
+                                loanStatistics.markChanged(loan);
+                                String heldBookId = loan.heldBookId();
+
+                                loan.setLoanIdentifier(new LoanIdentifier(loanId));
+                                loan.setLoanStatus(loanRequestModel.getLoanStatus());
+                                loan.setLoanDate(loanRequestModel.getLoanDate());
+                                loan.setDueDate(loanRequestModel.getDueDate());
+                                loan.setLibraryAccountIdentifier(references.getT1());
+                                loan.setLibrarianIdentifier(references.getT2());
+                                loan.setBookIdentifier(references.getT3());
+
+                                String neededBookId = loan.heldBookId();
+                                if (Objects.equals(heldBookId, neededBookId)) {
+                                    return loanRepository.save(loan);
+                                }
+                                return saveHoldingCopy(loan, neededBookId)
+                                        .flatMap(saved -> releaseCopy(heldBookId).thenReturn(saved));
+                            }))
+                    .doOnNext(loanStatistics::markChanged)
+                    .map(toResponseModel());
+        });
+    }
+
+    @Override
+    public Mono<Void> removeLoan(String accountId, String loanId) {
+        return Mono.defer(() -> {
+            LoanRequestValidation.validateLoanId(loanId);
+
+            return loanRepository.findLoanByLibraryAccountIdentifier_AccountIdAndLoanIdentifier_LoanId(accountId, loanId)
+                    .switchIfEmpty(notFound("Provided loanId not found: " + loanId))
+                    .flatMap(existingLoan -> loanRepository.delete(existingLoan)
+                            .then(releaseCopy(existingLoan.heldBookId()))
+                            .then(Mono.fromRunnable(() -> loanStatistics.markChanged(existingLoan))))
+                    .then();
+        });
+    }
+
+    // Same reservation rules as LoanServiceImpl: reserve before the write, hand the copy back if the write fails.
+    private Mono<Loan> saveHoldingCopy(Loan loan, String reservedBookId) {
+        Mono<Void> reservation = reservedBookId == null ? Mono.empty() : inventory.reserveCopies(reservedBookId, 1);
+        return reservation.then(Mono.defer(() -> loanRepository.save(loan))
+                .onErrorResume(ex -> releaseCopy(reservedBookId).then(Mono.error(ex))));
+    }
+
+    private Mono<Void> releaseCopy(String bookId) {
+        if (bookId == null) {
+            return Mono.empty();
+        }
+        return inventory.releaseCopies(bookId, 1)
+                .onErrorResume(ex -> {
+                    log.warn("Could not release a copy of book {}: {}", bookId, ex.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    // The response links are built from the current request, which Reactor threads don't carry. The servlet request
+    // is captured while the pipeline is assembled; it stays usable until the async response completes, but its
+    // original attributes holder is closed as soon as the controller returns.
+    private static RequestAttributes currentRequest() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? new ServletRequestAttributes(attributes.getRequest())
+                : null;
+    }
+
+    private Function<Loan, LoanResponseModel> toResponseModel() {
+        RequestAttributes request = currentRequest();
+        return loan -> inRequest(request, () -> loanResponseMapper.entityToResponseModel(loan));
+    }
+
+    private static <T> T inRequest(RequestAttributes request, Supplier<T> mapping) {
+        RequestAttributes previous = RequestContextHolder.getRequestAttributes();
+        RequestContextHolder.setRequestAttributes(request);
+        try {
+            return mapping.get();
+        } finally {
+            RequestContextHolder.setRequestAttributes(previous);
+        }
+    }
+
+    private static <T> Mono<T> notFound(String message) {
+        return Mono.error(() -> new NotFoundException(message));
+    }
+}
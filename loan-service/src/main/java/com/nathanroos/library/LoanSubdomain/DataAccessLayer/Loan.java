@@ -9,11 +9,23 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.Date;
 
+// account lookups use the prefix of account_loan; account_loan_date serves paged listings; status_due serves overdue sweeps;
+// book, librarian and the status_due prefix serve the per-key statistics refreshes
 @Document(collection = "sales")
+@CompoundIndexes({
+        @CompoundIndex(name = "account_loan", def = "{'libraryAccountIdentifier.accountId': 1, 'loanIdentifier.loanId': 1}"),
+        @CompoundIndex(name = "account_loan_date", def = "{'libraryAccountIdentifier.accountId': 1, 'loanDate': -1, '_id': -1}"),
+        @CompoundIndex(name = "loan_id", def = "{'loanIdentifier.loanId': 1}"),
+        @CompoundIndex(name = "book", def = "{'bookIdentifier.bookId': 1}"),
+        @CompoundIndex(name = "librarian", def = "{'librarianIdentifier.librarianId': 1}"),
+        @CompoundIndex(name = "status_due", def = "{'loanStatus': 1, 'dueDate': 1}")
+})
 @Data
 @Builder
 @AllArgsConstructor
@@ -41,6 +53,14 @@ public class Loan {
     private Date loanDate;
     private Date dueDate;
 
+    // every loan but a completed one keeps a copy of its book out of library-service's inventory
+    public String heldBookId() {
+        if (loanStatus == LoanStatusEnum.COMPLETED || bookIdentifier == null) {
+            return null;
+        }
+        return bookIdentifier.getBookId();
+    }
+
 //    public Loan(@NotNull String id, @NotNull LoanIdentifier loanIdentifier, @NotNull CustomerModel libraryAccountIdentifier,
 //                @NotNull LibraryWorkerModel librarianIdentifier, @NotNull LibraryModel bookIdentifier,
 ////                @NotNull String title, @NotNull String author, @NotNull GenreEnum genre,
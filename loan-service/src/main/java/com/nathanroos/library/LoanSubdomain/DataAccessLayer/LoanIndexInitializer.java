@@ -0,0 +1,43 @@
+package com.nathanroos.library.LoanSubdomain.DataAccessLayer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// auto-index-creation is off by default, so the indexes declared on Loan and LoanStatistic are ensured here before the loader and any traffic.
+// Contexts that exclude the Mongo auto-configuration have no template, and nothing to index.
+@Slf4j
+@Component
+public class LoanIndexInitializer {
+
+    private final ObjectProvider<MongoTemplate> mongoTemplate;
+
+    public LoanIndexInitializer(ObjectProvider<MongoTemplate> mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void ensureIndexes() {
+        mongoTemplate.ifAvailable(this::ensureIndexes);
+    }
+
+    private void ensureIndexes(MongoTemplate mongoTemplate) {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+
+        for (Class<?> entity : List.of(Loan.class, LoanStatistic.class)) {
+            IndexOperations indexOps = mongoTemplate.indexOps(entity);
+            resolver.resolveIndexFor(entity).forEach(index -> {
+                String name = indexOps.ensureIndex(index);
+                log.debug("Ensured index {} on {}", name, mongoTemplate.getCollectionName(entity));
+            });
+        }
+    }
+}
@@ -6,7 +6,7 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface LoanRepository extends MongoRepository<Loan, String> {
+public interface LoanRepository extends MongoRepository<Loan, String>, LoanRepositoryCustom {
 
     Loan findByLoanIdentifier_LoanId(String loanId);
 
@@ -0,0 +1,15 @@
+package com.nathanroos.library.LoanSubdomain.DataAccessLayer;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+public interface LoanRepositoryCustom {
+
+    // newest first; afterLoanDate/afterId is the (loanDate, _id) of the last loan already returned, afterId null for the first page
+    List<Loan> findAccountLoanPage(String accountId, LoanStatusEnum status, Date from, Date to,
+                                   Date afterLoanDate, String afterId, int limit);
+
+    // one unordered bulk insert, so a failed loan doesn't stop the ones after it; returns the failures by position in loans
+    Map<Integer, String> insertUnordered(List<Loan> loans);
+}
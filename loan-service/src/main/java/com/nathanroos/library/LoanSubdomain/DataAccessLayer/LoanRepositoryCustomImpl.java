@@ -0,0 +1,89 @@
+package com.nathanroos.library.LoanSubdomain.DataAccessLayer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Walks the account_loan_date index in order and loads only the fields a LoanResponseModel shows, plus _id for the cursor.
+public class LoanRepositoryCustomImpl implements LoanRepositoryCustom {
+
+    private static final String[] RESPONSE_FIELDS = {
+            "loanIdentifier.loanId",
+            "libraryAccountIdentifier.accountId", "libraryAccountIdentifier.firstname", "libraryAccountIdentifier.lastname",
+            "librarianIdentifier.librarianId", "librarianIdentifier.firstname", "librarianIdentifier.lastname",
+            "bookIdentifier.bookId", "bookIdentifier.title", "bookIdentifier.author",
+            "loanStatus", "loanDate", "dueDate"
+    };
+
+    // resolved on use, like LoanIndexInitializer, so contexts that mock the repository don't need Mongo
+    private final ObjectProvider<MongoTemplate> mongoTemplate;
+
+    public LoanRepositoryCustomImpl(ObjectProvider<MongoTemplate> mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<Loan> findAccountLoanPage(String accountId, LoanStatusEnum status, Date from, Date to,
+                                          Date afterLoanDate, String afterId, int limit) {
+        return mongoTemplate.getObject().find(
+                accountLoanPageQuery(accountId, status, from, to, afterLoanDate, afterId, limit), Loan.class);
+    }
+
+    // shared with ReactiveLoanRepositoryCustomImpl so both persistence modes page the same way
+    static Query accountLoanPageQuery(String accountId, LoanStatusEnum status, Date from, Date to,
+                                      Date afterLoanDate, String afterId, int limit) {
+        List<Criteria> criteria = new ArrayList<>();
+        criteria.add(Criteria.where("libraryAccountIdentifier.accountId").is(accountId));
+        if (status != null) {
+            criteria.add(Criteria.where("loanStatus").is(status));
+        }
+        if (from != null) {
+            criteria.add(Criteria.where("loanDate").gte(from));
+        }
+        if (to != null) {
+            criteria.add(Criteria.where("loanDate").lt(to));
+        }
+        if (afterId != null) {
+            // loans without a loanDate sort after every dated one
+            criteria.add(afterLoanDate == null
+                    ? Criteria.where("loanDate").is(null).and("id").lt(afterId)
+                    : new Criteria().orOperator(
+                            Criteria.where("loanDate").lt(afterLoanDate),
+                            Criteria.where("loanDate").is(afterLoanDate).and("id").lt(afterId),
+                            Criteria.where("loanDate").is(null)));
+        }
+
+        Query query = new Query(new Criteria().andOperator(criteria))
+                .with(Sort.by(Sort.Direction.DESC, "loanDate", "id"))
+                .limit(limit);
+        query.fields().include(RESPONSE_FIELDS);
+        return query;
+    }
+
+    @Override
+    public Map<Integer, String> insertUnordered(List<Loan> loans) {
+        if (loans.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            mongoTemplate.getObject().bulkOps(BulkOperations.BulkMode.UNORDERED, Loan.class)
+                    .insert(loans)
+                    .execute();
+            return Map.of();
+        } catch (BulkOperationException ex) {
+            Map<Integer, String> failures = new LinkedHashMap<>();
+            ex.getErrors().forEach(error -> failures.put(error.getIndex(), error.getMessage()));
+            return failures;
+        }
+    }
+}
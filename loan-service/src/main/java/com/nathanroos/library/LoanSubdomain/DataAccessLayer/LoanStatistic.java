@@ -0,0 +1,54 @@
+package com.nathanroos.library.LoanSubdomain.DataAccessLayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+import java.util.List;
+
+// One materialized count per status, book or librarian, written by the aggregation pipelines in LoanStatisticsService.
+@Document(collection = "loan_statistics")
+@CompoundIndex(name = "dimension_count", def = "{'dimension': 1, 'count': -1}")
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoanStatistic {
+
+    public static final String STATUS = "status";
+    public static final String BOOK = "book";
+    public static final String LIBRARIAN = "librarian";
+
+    // "<dimension>:<key>"
+    @Id
+    private String id;
+
+    private String dimension;
+    private String key;
+    private String label;
+    private long count;
+
+    // summed over the loans that have both a loan date and a due date
+    private long durationMillis;
+    private long durationCount;
+
+    // the same counts split by loan status; the status documents are the sum of these over every book
+    private List<StatusCount> byStatus;
+
+    private Date refreshedAt;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class StatusCount {
+        private String status;
+        private long count;
+        private long durationMillis;
+        private long durationCount;
+    }
+}
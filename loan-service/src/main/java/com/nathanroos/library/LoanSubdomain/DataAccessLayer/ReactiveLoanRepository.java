@@ -0,0 +1,11 @@
+package com.nathanroos.library.LoanSubdomain.DataAccessLayer;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveLoanRepository extends ReactiveMongoRepository<Loan, String>, ReactiveLoanRepositoryCustom {
+
+    Mono<Loan> findLoanByLibraryAccountIdentifier_AccountIdAndLoanIdentifier_LoanId(String accountId, String loanId);
+}
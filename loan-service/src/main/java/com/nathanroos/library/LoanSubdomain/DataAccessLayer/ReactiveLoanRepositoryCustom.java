@@ -0,0 +1,12 @@
+package com.nathanroos.library.LoanSubdomain.DataAccessLayer;
+
+import reactor.core.publisher.Flux;
+
+import java.util.Date;
+
+public interface ReactiveLoanRepositoryCustom {
+
+    // same page as LoanRepositoryCustom.findAccountLoanPage, streamed by the reactive driver
+    Flux<Loan> findAccountLoanPage(String accountId, LoanStatusEnum status, Date from, Date to,
+                                   Date afterLoanDate, String afterId, int limit);
+}
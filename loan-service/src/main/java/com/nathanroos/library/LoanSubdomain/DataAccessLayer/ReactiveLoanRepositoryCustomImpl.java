@@ -0,0 +1,24 @@
+package com.nathanroos.library.LoanSubdomain.DataAccessLayer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+
+import java.util.Date;
+
+public class ReactiveLoanRepositoryCustomImpl implements ReactiveLoanRepositoryCustom {
+
+    // resolved on use: the reactive template only exists when the reactive profile is active
+    private final ObjectProvider<ReactiveMongoTemplate> mongoTemplate;
+
+    public ReactiveLoanRepositoryCustomImpl(ObjectProvider<ReactiveMongoTemplate> mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Flux<Loan> findAccountLoanPage(String accountId, LoanStatusEnum status, Date from, Date to,
+                                          Date afterLoanDate, String afterId, int limit) {
+        return mongoTemplate.getObject().find(
+                LoanRepositoryCustomImpl.accountLoanPageQuery(accountId, status, from, to, afterLoanDate, afterId, limit), Loan.class);
+    }
+}
@@ -1,15 +1,21 @@
 package com.nathanroos.library.LoanSubdomain;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestTemplate;
 
 @SpringBootApplication
+@EnableScheduling
 public class LoanServiceApplication {
     @Bean
-    RestTemplate restTemplate() {
-        return new RestTemplate();
+    RestTemplate restTemplate(ObjectProvider<ClientHttpRequestFactory> downstreamRequestFactory) {
+        // slice tests don't load the pooled transport and fall back to the JDK client
+        return new RestTemplate(downstreamRequestFactory.getIfAvailable(SimpleClientHttpRequestFactory::new));
     }
     public static void main(String[] args) {
         SpringApplication.run(LoanServiceApplication.class, args);
@@ -3,20 +3,21 @@ package com.nathanroos.library.LoanSubdomain.MapingLayer;
 import com.nathanroos.library.LoanSubdomain.DataAccessLayer.Loan;
 import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanController;
 import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanResponseModel;
+import com.nathanroos.library.LoanSubdomain.utils.LinkTemplate;
 import org.mapstruct.AfterMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
-import org.springframework.hateoas.Link;
 
 import java.util.List;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @Mapper(componentModel = "spring")
 public interface LoanResponseMapper {
 
+    LinkTemplate SELF_LINK = LinkTemplate.of(methodOn(LoanController.class).getLoanByLoanId(null, null));
+
     @Mapping(source = "loanIdentifier.loanId", target = "loanId")
     @Mapping(source = "loanStatus", target = "loanStatus")
     @Mapping(source = "loanDate", target = "loanDate")
@@ -39,8 +40,6 @@ public interface LoanResponseMapper {
 
     @AfterMapping
     default void addLinks(@MappingTarget LoanResponseModel responseModel) {
-        Link selfLink = linkTo(methodOn(LoanController.class)
-                .getLoanByLoanId(responseModel.getAccountId(), responseModel.getLoanId())).withSelfRel();
-        responseModel.add(selfLink);
+        responseModel.add(SELF_LINK.expand(responseModel.getAccountId(), responseModel.getLoanId()));
     }
 }
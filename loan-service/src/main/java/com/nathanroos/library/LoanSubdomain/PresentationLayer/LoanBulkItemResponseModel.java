@@ -0,0 +1,17 @@
+package com.nathanroos.library.LoanSubdomain.PresentationLayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoanBulkItemResponseModel {
+
+    int index;
+    // the status the row would have got from the single-loan POST
+    int status;
+    LoanResponseModel loan;
+    String message;
+}
@@ -0,0 +1,18 @@
+package com.nathanroos.library.LoanSubdomain.PresentationLayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoanBulkResponseModel {
+
+    int created;
+    int failed;
+    // one per request row, in request order
+    List<LoanBulkItemResponseModel> results;
+}
@@ -1,34 +1,63 @@
 package com.nathanroos.library.LoanSubdomain.PresentationLayer;
 
 import com.nathanroos.library.LoanSubdomain.BusinessLayer.LoanService;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanStatusEnum;
 import com.nathanroos.library.LoanSubdomain.utils.Exceptions.InvalidInputException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.util.List;
 
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
 @Slf4j
 @RestController
 @RequestMapping("api/v1/accounts/{accountId}/loans")
+@ConditionalOnProperty(name = "app.persistence-mode", havingValue = "blocking", matchIfMissing = true)
 public class LoanController {
 
 
     private final LoanService loanService;
 
     private static final int UUID_LENGTH = 36;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BULK_SIZE = 1000;
 
     @Autowired
     public LoanController(LoanService loanService) {
         this.loanService = loanService;
     }
 
+    // newest loans first; the next page, if any, is advertised in a Link header so the body stays a plain list
     @GetMapping()
-    public ResponseEntity<List<LoanResponseModel>> getAllLoansByAccountId(@PathVariable String accountId) {
-        List<LoanResponseModel> loanResponseModels = loanService.getAllLoansByAccountId(accountId);
-        return ResponseEntity.ok().body(loanResponseModels);
+    public ResponseEntity<List<LoanResponseModel>> getAllLoansByAccountId(@PathVariable String accountId,
+                                                                          @RequestParam(required = false) LoanStatusEnum status,
+                                                                          @RequestParam(required = false) Instant from,
+                                                                          @RequestParam(required = false) Instant to,
+                                                                          @RequestParam(required = false) String cursor,
+                                                                          @RequestParam(defaultValue = "50") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidInputException("limit must be between 1 and " + MAX_PAGE_SIZE + ", got " + limit);
+        }
+        LoanPageResponseModel page = loanService.getLoansByAccountId(accountId, status, from, to, cursor, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(HttpHeaders.LINK, linkTo(methodOn(LoanController.class)
+                    .getAllLoansByAccountId(accountId, status, from, to, page.getNextCursor(), limit))
+                    .withRel(IanaLinkRelations.NEXT)
+                    .expand() // drops the template variables of filters that weren't given
+                    .toString());
+        }
+        return response.body(page.getLoans());
     }
 
     @GetMapping("/{loanId}")
@@ -48,6 +77,15 @@ public class LoanController {
         return new ResponseEntity<>(loanService.addLoan(loanRequestModel, accountId), HttpStatus.CREATED);
     }
 
+    // each row gets its own result, so the response is 200 even when some rows failed
+    @PostMapping("/bulk")
+    public ResponseEntity<LoanBulkResponseModel> addLoans(@RequestBody List<LoanRequestModel> loanRequestModels, @PathVariable String accountId) {
+        if (loanRequestModels.size() > MAX_BULK_SIZE) {
+            throw new InvalidInputException("A batch holds at most " + MAX_BULK_SIZE + " loans, got " + loanRequestModels.size());
+        }
+        return ResponseEntity.ok().body(loanService.addLoans(loanRequestModels, accountId));
+    }
+
     @PutMapping("/{loanId}")
     public ResponseEntity<LoanResponseModel> updateLoan(@PathVariable String accountId, @PathVariable String loanId, @RequestBody LoanRequestModel loanRequestModel)
     {
@@ -0,0 +1,15 @@
+package com.nathanroos.library.LoanSubdomain.PresentationLayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoanCountResponseModel {
+
+    String id;
+    String label;
+    long count;
+}
@@ -0,0 +1,17 @@
+package com.nathanroos.library.LoanSubdomain.PresentationLayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoanPageResponseModel {
+
+    List<LoanResponseModel> loans;
+    // null on the last page
+    String nextCursor;
+}
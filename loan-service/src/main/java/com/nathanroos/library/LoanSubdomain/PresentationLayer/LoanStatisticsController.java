@@ -0,0 +1,32 @@
+package com.nathanroos.library.LoanSubdomain.PresentationLayer;
+
+import com.nathanroos.library.LoanSubdomain.BusinessLayer.LoanStatisticsService;
+import com.nathanroos.library.LoanSubdomain.utils.Exceptions.InvalidInputException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("api/v1/loans/statistics")
+public class LoanStatisticsController {
+
+    private static final int MAX_TOP = 100;
+
+    private final LoanStatisticsService loanStatisticsService;
+
+    @Autowired
+    public LoanStatisticsController(LoanStatisticsService loanStatisticsService) {
+        this.loanStatisticsService = loanStatisticsService;
+    }
+
+    // read from the materialized summary, so it can lag writes by up to app.loan-statistics.interval
+    @GetMapping
+    public ResponseEntity<LoanStatisticsResponseModel> getStatistics(@RequestParam(defaultValue = "10") int top) {
+        if (top < 1 || top > MAX_TOP) {
+            throw new InvalidInputException("top must be between 1 and " + MAX_TOP + ", got " + top);
+        }
+        return ResponseEntity.ok().body(loanStatisticsService.getStatistics(top));
+    }
+}
@@ -0,0 +1,24 @@
+package com.nathanroos.library.LoanSubdomain.PresentationLayer;
+
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanStatusEnum;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoanStatisticsResponseModel {
+
+    Map<LoanStatusEnum, Long> loansByStatus;
+    List<LoanCountResponseModel> topBooks;
+    List<LoanCountResponseModel> topLibrarians;
+    // from loan date to due date; null until some loan has both
+    Double averageLoanDurationDays;
+    // when the oldest of the status counts was aggregated
+    Date refreshedAt;
+}
@@ -0,0 +1,119 @@
+package com.nathanroos.library.LoanSubdomain.PresentationLayer;
+
+import com.nathanroos.library.LoanSubdomain.BusinessLayer.LoanService;
+import com.nathanroos.library.LoanSubdomain.BusinessLayer.ReactiveLoanService;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanStatusEnum;
+import com.nathanroos.library.LoanSubdomain.utils.Exceptions.InvalidInputException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+// Same contract as LoanController. Returning Mono hands the servlet request to async processing,
+// so the Tomcat thread is released while Mongo and the downstream services answer.
+@Slf4j
+@RestController
+@RequestMapping("api/v1/accounts/{accountId}/loans")
+@ConditionalOnProperty(name = "app.persistence-mode", havingValue = "reactive")
+public class ReactiveLoanController {
+
+
+    private final ReactiveLoanService loanService;
+
+    private final LoanService bulkLoanService;
+
+    private static final int UUID_LENGTH = 36;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BULK_SIZE = 1000;
+
+    @Autowired
+    public ReactiveLoanController(ReactiveLoanService loanService, LoanService bulkLoanService) {
+        this.loanService = loanService;
+        this.bulkLoanService = bulkLoanService;
+    }
+
+    @GetMapping()
+    public Mono<ResponseEntity<List<LoanResponseModel>>> getAllLoansByAccountId(@PathVariable String accountId,
+                                                                                @RequestParam(required = false) LoanStatusEnum status,
+                                                                                @RequestParam(required = false) Instant from,
+                                                                                @RequestParam(required = false) Instant to,
+                                                                                @RequestParam(required = false) String cursor,
+                                                                                @RequestParam(defaultValue = "50") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidInputException("limit must be between 1 and " + MAX_PAGE_SIZE + ", got " + limit);
+        }
+        // resolved while the request is still bound to this thread
+        UriComponentsBuilder nextPage = linkTo(ReactiveLoanController.class, accountId).toUriComponentsBuilder()
+                .queryParamIfPresent("status", Optional.ofNullable(status))
+                .queryParamIfPresent("from", Optional.ofNullable(from))
+                .queryParamIfPresent("to", Optional.ofNullable(to));
+
+        return loanService.getLoansByAccountId(accountId, status, from, to, cursor, limit).map(page -> {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                String href = nextPage.cloneBuilder()
+                        .queryParam("cursor", page.getNextCursor())
+                        .queryParam("limit", limit)
+                        .toUriString();
+                response.header(HttpHeaders.LINK, Link.of(href, IanaLinkRelations.NEXT).toString());
+            }
+            return response.body(page.getLoans());
+        });
+    }
+
+    @GetMapping("/{loanId}")
+    public Mono<ResponseEntity<LoanResponseModel>> getLoanByLoanId(@PathVariable String accountId, @PathVariable String loanId) {
+        if(loanId.length() != UUID_LENGTH){
+            throw new InvalidInputException("The following Id is not the correct length: " + loanId);
+        }
+
+        return loanService.getLoanByLoanId(accountId, loanId).map(ResponseEntity::ok);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<LoanResponseModel>> AddLoan( @RequestBody LoanRequestModel loanRequestModel, @PathVariable String accountId) {
+        if (!accountId.equals(loanRequestModel.getAccountId())) {
+            throw new InvalidInputException("AccountId in path and body must match.");
+        }
+        return loanService.addLoan(loanRequestModel, accountId)
+                .map(loan -> ResponseEntity.status(HttpStatus.CREATED).body(loan));
+    }
+
+    // the bulk insert stays on the blocking repository, run off the request thread
+    @PostMapping("/bulk")
+    public Mono<ResponseEntity<LoanBulkResponseModel>> addLoans(@RequestBody List<LoanRequestModel> loanRequestModels, @PathVariable String accountId) {
+        if (loanRequestModels.size() > MAX_BULK_SIZE) {
+            throw new InvalidInputException("A batch holds at most " + MAX_BULK_SIZE + " loans, got " + loanRequestModels.size());
+        }
+        return Mono.fromCallable(() -> bulkLoanService.addLoans(loanRequestModels, accountId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ResponseEntity::ok);
+    }
+
+    @PutMapping("/{loanId}")
+    public Mono<ResponseEntity<LoanResponseModel>> updateLoan(@PathVariable String accountId, @PathVariable String loanId, @RequestBody LoanRequestModel loanRequestModel)
+    {
+        return loanService.updateLoan(accountId, loanRequestModel, loanId).map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{loanId}")
+    public Mono<ResponseEntity<Void>> deleteLoan(@PathVariable String accountId, @PathVariable String loanId)
+    {
+        return loanService.removeLoan(accountId, loanId)
+                .then(Mono.just(ResponseEntity.status(HttpStatus.NO_CONTENT).build()));
+    }
+}
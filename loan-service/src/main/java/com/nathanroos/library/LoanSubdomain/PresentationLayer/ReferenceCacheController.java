@@ -0,0 +1,45 @@
+package com.nathanroos.library.LoanSubdomain.PresentationLayer;
+
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.ReferenceDataCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("api/v1/reference-cache")
+public class ReferenceCacheController {
+
+    private final ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    public ReferenceCacheController(ReferenceDataCache referenceDataCache) {
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    @DeleteMapping("/accounts/{accountId}")
+    public ResponseEntity<Void> invalidateAccount(@PathVariable String accountId) {
+        referenceDataCache.invalidateAccount(accountId);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    @DeleteMapping("/books/{bookId}")
+    public ResponseEntity<Void> invalidateBook(@PathVariable String bookId) {
+        referenceDataCache.invalidateBook(bookId);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    @DeleteMapping("/librarians/{librarianId}")
+    public ResponseEntity<Void> invalidateLibrarian(@PathVariable String librarianId) {
+        referenceDataCache.invalidateLibrarian(librarianId);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> invalidateAll() {
+        referenceDataCache.invalidateAll();
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+}
@@ -14,8 +14,12 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
@@ -30,6 +34,9 @@ public class CustomerServiceClient {
 
     private final String CUSTOMER_SERVICE_BASE_URL;
 
+    // the downstream batch endpoints reject larger requests
+    private static final int MAX_BATCH_SIZE = 500;
+
     public CustomerServiceClient(  RestTemplate restTemplate,
                                     ObjectMapper mapper,
                                     @Value("${app.customer-service.host}") String customerServiceHost,
@@ -63,6 +70,45 @@ public class CustomerServiceClient {
     }
 
 
+    // a HEAD request, so customer-service can answer from its account filter without loading the account
+    public boolean accountExists(String accountId) {
+        if (accountId == null || accountId.trim().isEmpty()) {
+            throw new InvalidInputException("AccountId cannot be null or empty");
+        }
+
+        try {
+            String url = CUSTOMER_SERVICE_BASE_URL + "/" + accountId;
+            log.debug("customer-service URL is: " + url);
+            restTemplate.headForHeaders(url);
+            return true;
+        } catch (HttpClientErrorException ex) {
+            if (ex.getStatusCode() == NOT_FOUND) {
+                return false;
+            }
+            throw handleHttpClientException(ex);
+        }
+    }
+
+    public Map<String, CustomerModel> getAccountsByAccountIds(Collection<String> accountIds) {
+        List<String> distinctIds = accountIds.stream().filter(Objects::nonNull).distinct().toList();
+        String url = CUSTOMER_SERVICE_BASE_URL + "/batch";
+
+        Map<String, CustomerModel> found = new LinkedHashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += MAX_BATCH_SIZE) {
+            List<String> chunk = distinctIds.subList(from, Math.min(from + MAX_BATCH_SIZE, distinctIds.size()));
+            try {
+                log.debug("customer-service URL is: " + url);
+                CustomerBatchModel batch = restTemplate.postForObject(url, chunk, CustomerBatchModel.class);
+                if (batch != null && batch.getAccounts() != null) {
+                    batch.getAccounts().forEach(model -> found.put(model.getAccountId(), model));
+                }
+            } catch (HttpClientErrorException ex) {
+                throw handleHttpClientException(ex);
+            }
+        }
+        return found;
+    }
+
 
     public CustomerModel addAccount(CustomerModel account) {
         if (account == null) {
@@ -0,0 +1,111 @@
+package com.nathanroos.library.LoanSubdomain.domainclientlayer.Customer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nathanroos.library.LoanSubdomain.utils.Exceptions.HttpErrorInfo;
+import com.nathanroos.library.LoanSubdomain.utils.Exceptions.InvalidInputException;
+import com.nathanroos.library.LoanSubdomain.utils.Exceptions.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientRequest;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.persistence-mode", havingValue = "reactive")
+public class ReactiveCustomerServiceClient {
+
+    private final WebClient webClient;
+
+    private final ObjectMapper mapper;
+
+    private final String CUSTOMER_SERVICE_BASE_URL;
+
+    private final Duration responseTimeout;
+
+    public ReactiveCustomerServiceClient(WebClient downstreamWebClient,
+                                         ObjectMapper mapper,
+                                         @Value("${app.customer-service.host}") String customerServiceHost,
+                                         @Value("${app.customer-service.port}") String customerServicePort,
+                                         @Value("${app.customer-service.response-timeout:5s}") Duration responseTimeout
+    ) {
+        this.webClient = downstreamWebClient;
+        this.mapper = mapper;
+        this.responseTimeout = responseTimeout;
+
+        CUSTOMER_SERVICE_BASE_URL = "http://" + customerServiceHost + ":" + customerServicePort + "/api/v1/accounts";
+    }
+
+    public Mono<CustomerModel> getAccountByAccountId(String customerId) {
+        if (customerId == null || customerId.trim().isEmpty()) {
+            return Mono.error(new InvalidInputException("CustomerId cannot be null or empty"));
+        }
+
+        String url = CUSTOMER_SERVICE_BASE_URL + "/" + customerId;
+        log.debug("customer-service URL is: " + url);
+        return webClient.get()
+                .uri(url)
+                .httpRequest(this::applyResponseTimeout)
+                .retrieve()
+                .bodyToMono(CustomerModel.class)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    // a HEAD request, so customer-service can answer from its account filter without loading the account
+    public Mono<Boolean> accountExists(String accountId) {
+        if (accountId == null || accountId.trim().isEmpty()) {
+            return Mono.error(new InvalidInputException("AccountId cannot be null or empty"));
+        }
+
+        String url = CUSTOMER_SERVICE_BASE_URL + "/" + accountId;
+        log.debug("customer-service URL is: " + url);
+        return webClient.head()
+                .uri(url)
+                .httpRequest(this::applyResponseTimeout)
+                .retrieve()
+                .toBodilessEntity()
+                .map(response -> true)
+                .onErrorResume(WebClientResponseException.NotFound.class, ex -> Mono.just(false))
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    private void applyResponseTimeout(ClientHttpRequest request) {
+        Object nativeRequest = request.getNativeRequest();
+        if (nativeRequest instanceof HttpClientRequest httpClientRequest) {
+            httpClientRequest.responseTimeout(responseTimeout);
+        }
+    }
+
+    private String getErrorMessage(WebClientResponseException ex) {
+        try {
+            return mapper.readValue(ex.getResponseBodyAsString(), HttpErrorInfo.class).getMessage();
+        }
+        catch (IOException ioex) {
+            return ioex.getMessage();
+        }
+    }
+
+    private Throwable handleWebClientException(WebClientResponseException ex) {
+
+        if (ex.getStatusCode() == NOT_FOUND) {
+            return new NotFoundException(getErrorMessage(ex));
+        }
+        if (ex.getStatusCode() == UNPROCESSABLE_ENTITY) {
+            return new InvalidInputException(getErrorMessage(ex));
+        }
+
+        log.warn("Got a unexpected HTTP error: {}, will rethrow it", ex.getStatusCode());
+        log.warn("Error body: {}", ex.getResponseBodyAsString());
+        return ex;
+    }
+}
@@ -0,0 +1,18 @@
+package com.nathanroos.library.LoanSubdomain.domainclientlayer.Library;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class LibraryBatchModel {
+
+    List<LibraryModel> books;
+    List<String> missingIds;
+}
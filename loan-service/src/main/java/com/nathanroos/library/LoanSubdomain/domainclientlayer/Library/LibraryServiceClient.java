@@ -14,8 +14,13 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 
@@ -30,6 +35,9 @@ public class LibraryServiceClient {
 
     private final String BOOK_SERVICE_BASE_URL;
 
+    // the downstream batch endpoints reject larger requests
+    private static final int MAX_BATCH_SIZE = 500;
+
     public LibraryServiceClient(RestTemplate restTemplate,
                                 ObjectMapper mapper,
                                 @Value("${app.library-service.host}") String bookServiceHost,
@@ -58,6 +66,68 @@ public class LibraryServiceClient {
     }
 
 
+    public Map<String, LibraryModel> getBooksByBookIds(Collection<String> bookIds) {
+        List<String> distinctIds = bookIds.stream().filter(Objects::nonNull).distinct().toList();
+        String url = BOOK_SERVICE_BASE_URL + "/batch";
+
+        Map<String, LibraryModel> found = new LinkedHashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += MAX_BATCH_SIZE) {
+            List<String> chunk = distinctIds.subList(from, Math.min(from + MAX_BATCH_SIZE, distinctIds.size()));
+            try {
+                log.debug("library-service URL is: " + url);
+                LibraryBatchModel batch = restTemplate.postForObject(url, chunk, LibraryBatchModel.class);
+                if (batch != null && batch.getBooks() != null) {
+                    batch.getBooks().forEach(model -> found.put(model.getBookId(), model));
+                }
+            } catch (HttpClientErrorException ex) {
+                throw handleHttpClientException(ex);
+            }
+        }
+        return found;
+    }
+
+
+    // library-service takes the copies in one conditional update, so concurrent checkouts can't oversell a book
+    public void reserveCopies(String bookId, int copies) {
+        changeCopies(bookId, "reserve", copies);
+    }
+
+
+    // for a bulk checkout: takes as many of the copies as the book has left in one call, and returns how many
+    public int reserveUpTo(String bookId, int copies) {
+        if (bookId == null || bookId.trim().isEmpty()) {
+            throw new InvalidInputException("Book ID cannot be null or empty.");
+        }
+        try {
+            String url = BOOK_SERVICE_BASE_URL + "/" + bookId + "/reserve-up-to?copies=" + copies;
+            log.debug("library-service URL is: " + url);
+            Integer reserved = restTemplate.postForObject(url, null, Integer.class);
+            return reserved == null ? 0 : reserved;
+        } catch (HttpClientErrorException ex) {
+            throw handleHttpClientException(ex);
+        }
+    }
+
+
+    public void releaseCopies(String bookId, int copies) {
+        changeCopies(bookId, "release", copies);
+    }
+
+
+    private void changeCopies(String bookId, String change, int copies) {
+        if (bookId == null || bookId.trim().isEmpty()) {
+            throw new InvalidInputException("Book ID cannot be null or empty.");
+        }
+        try {
+            String url = BOOK_SERVICE_BASE_URL + "/" + bookId + "/" + change + "?copies=" + copies;
+            log.debug("library-service URL is: " + url);
+            restTemplate.postForEntity(url, null, Void.class);
+        } catch (HttpClientErrorException ex) {
+            throw handleHttpClientException(ex);
+        }
+    }
+
+
     public void deleteBook(String bookId) {
         if (bookId == null || bookId.trim().isEmpty()) {
             throw new InvalidInputException("Book ID cannot be null or empty.");
@@ -142,7 +212,7 @@ public class LibraryServiceClient {
         if (ex.getStatusCode() == NOT_FOUND) {
             return new NotFoundException(getErrorMessage(ex));
         }
-        if (ex.getStatusCode() == UNPROCESSABLE_ENTITY) {
+        if (ex.getStatusCode() == UNPROCESSABLE_ENTITY || ex.getStatusCode() == CONFLICT) {
             return new InvalidInputException(getErrorMessage(ex));
         }
 
@@ -0,0 +1,118 @@
+package com.nathanroos.library.LoanSubdomain.domainclientlayer.Library;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nathanroos.library.LoanSubdomain.utils.Exceptions.HttpErrorInfo;
+import com.nathanroos.library.LoanSubdomain.utils.Exceptions.InvalidInputException;
+import com.nathanroos.library.LoanSubdomain.utils.Exceptions.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientRequest;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.persistence-mode", havingValue = "reactive")
+public class ReactiveLibraryServiceClient {
+
+    private final WebClient webClient;
+
+    private final ObjectMapper mapper;
+
+    private final String BOOK_SERVICE_BASE_URL;
+
+    private final Duration responseTimeout;
+
+    public ReactiveLibraryServiceClient(WebClient downstreamWebClient,
+                                        ObjectMapper mapper,
+                                        @Value("${app.library-service.host}") String bookServiceHost,
+                                        @Value("${app.library-service.port}") String bookServicePort,
+                                        @Value("${app.library-service.response-timeout:5s}") Duration responseTimeout
+    ) {
+        this.webClient = downstreamWebClient;
+        this.mapper = mapper;
+        this.responseTimeout = responseTimeout;
+
+        BOOK_SERVICE_BASE_URL = "http://" + bookServiceHost + ":" + bookServicePort + "/api/v1/books";
+    }
+
+    public Mono<LibraryModel> getBookByBookId(String bookId) {
+        if (bookId == null || bookId.trim().isEmpty()) {
+            return Mono.error(new InvalidInputException("Book ID cannot be null or empty."));
+        }
+
+        String url = BOOK_SERVICE_BASE_URL + "/" + bookId;
+        log.debug("library-service URL is: " + url);
+        return webClient.get()
+                .uri(url)
+                .httpRequest(this::applyResponseTimeout)
+                .retrieve()
+                .bodyToMono(LibraryModel.class)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    public Mono<Void> reserveCopies(String bookId, int copies) {
+        return changeCopies(bookId, "reserve", copies);
+    }
+
+    public Mono<Void> releaseCopies(String bookId, int copies) {
+        return changeCopies(bookId, "release", copies);
+    }
+
+    private Mono<Void> changeCopies(String bookId, String change, int copies) {
+        if (bookId == null || bookId.trim().isEmpty()) {
+            return Mono.error(new InvalidInputException("Book ID cannot be null or empty."));
+        }
+
+        String url = BOOK_SERVICE_BASE_URL + "/" + bookId + "/" + change + "?copies=" + copies;
+        log.debug("library-service URL is: " + url);
+        return webClient.post()
+                .uri(url)
+                .httpRequest(this::applyResponseTimeout)
+                .retrieve()
+                .toBodilessEntity()
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException)
+                .then();
+    }
+
+    private void applyResponseTimeout(ClientHttpRequest request) {
+        Object nativeRequest = request.getNativeRequest();
+        if (nativeRequest instanceof HttpClientRequest httpClientRequest) {
+            httpClientRequest.responseTimeout(responseTimeout);
+        }
+    }
+
+    private String getErrorMessage(WebClientResponseException ex) {
+        try {
+            return mapper.readValue(ex.getResponseBodyAsString(), HttpErrorInfo.class).getMessage();
+        }
+        catch (IOException ioex) {
+            return ioex.getMessage();
+        }
+    }
+
+    private Throwable handleWebClientException(WebClientResponseException ex) {
+
+        if (ex.getStatusCode() == NOT_FOUND) {
+            return new NotFoundException(getErrorMessage(ex));
+        }
+        if (ex.getStatusCode() == UNPROCESSABLE_ENTITY || ex.getStatusCode() == CONFLICT) {
+            return new InvalidInputException(getErrorMessage(ex));
+        }
+
+        log.warn("Got a unexpected HTTP error: {}, will rethrow it", ex.getStatusCode());
+        log.warn("Error body: {}", ex.getResponseBodyAsString());
+        return ex;
+    }
+}
@@ -16,7 +16,11 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
@@ -32,6 +36,9 @@ public class LibrarianServiceClient {
 
     private final String LIBRARIAN_SERVICE_BASE_URL;
 
+    // the downstream batch endpoints reject larger requests
+    private static final int MAX_BATCH_SIZE = 500;
+
 
     public LibrarianServiceClient(  RestTemplate restTemplate,
                                   ObjectMapper mapper,
@@ -66,6 +73,27 @@ public class LibrarianServiceClient {
 
 
 
+    public Map<String, LibraryWorkerModel> getLibrariansByLibrarianIds(Collection<String> librarianIds) {
+        List<String> distinctIds = librarianIds.stream().filter(Objects::nonNull).distinct().toList();
+        String url = LIBRARIAN_SERVICE_BASE_URL + "/batch";
+
+        Map<String, LibraryWorkerModel> found = new LinkedHashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += MAX_BATCH_SIZE) {
+            List<String> chunk = distinctIds.subList(from, Math.min(from + MAX_BATCH_SIZE, distinctIds.size()));
+            try {
+                log.debug("librarian-service URL is: " + url);
+                LibraryWorkerBatchModel batch = restTemplate.postForObject(url, chunk, LibraryWorkerBatchModel.class);
+                if (batch != null && batch.getLibrarians() != null) {
+                    batch.getLibrarians().forEach(model -> found.put(model.getLibrarianId(), model));
+                }
+            } catch (HttpClientErrorException ex) {
+                throw handleHttpClientException(ex);
+            }
+        }
+        return found;
+    }
+
+
     public List<LibraryWorkerModel> getWorkers() {
         try {
             log.debug("librarian-service URL is {}", LIBRARIAN_SERVICE_BASE_URL);
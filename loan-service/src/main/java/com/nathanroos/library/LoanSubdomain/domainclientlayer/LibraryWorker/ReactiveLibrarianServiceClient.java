@@ -0,0 +1,93 @@
+package com.nathanroos.library.LoanSubdomain.domainclientlayer.LibraryWorker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nathanroos.library.LoanSubdomain.utils.Exceptions.HttpErrorInfo;
+import com.nathanroos.library.LoanSubdomain.utils.Exceptions.InvalidInputException;
+import com.nathanroos.library.LoanSubdomain.utils.Exceptions.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientRequest;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.persistence-mode", havingValue = "reactive")
+public class ReactiveLibrarianServiceClient {
+
+    private final WebClient webClient;
+
+    private final ObjectMapper mapper;
+
+    private final String LIBRARIAN_SERVICE_BASE_URL;
+
+    private final Duration responseTimeout;
+
+    public ReactiveLibrarianServiceClient(WebClient downstreamWebClient,
+                                          ObjectMapper mapper,
+                                          @Value("${app.libraryworker-service.host}") String librariansServiceHost,
+                                          @Value("${app.libraryworker-service.port}") String librariansServicePort,
+                                          @Value("${app.libraryworker-service.response-timeout:5s}") Duration responseTimeout
+    ) {
+        this.webClient = downstreamWebClient;
+        this.mapper = mapper;
+        this.responseTimeout = responseTimeout;
+
+        LIBRARIAN_SERVICE_BASE_URL = "http://" + librariansServiceHost + ":" + librariansServicePort + "/api/v1/workers";
+    }
+
+    public Mono<LibraryWorkerModel> getLibrarian(String librarianId) {
+        if (librarianId == null || librarianId.trim().isEmpty()) {
+            return Mono.error(new InvalidInputException("Librarian ID cannot be null or empty."));
+        }
+
+        String url = LIBRARIAN_SERVICE_BASE_URL + "/" + librarianId;
+        log.debug("Libraryworker-service URL is: " + url);
+        return webClient.get()
+                .uri(url)
+                .httpRequest(this::applyResponseTimeout)
+                .retrieve()
+                .bodyToMono(LibraryWorkerModel.class)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    private void applyResponseTimeout(ClientHttpRequest request) {
+        Object nativeRequest = request.getNativeRequest();
+        if (nativeRequest instanceof HttpClientRequest httpClientRequest) {
+            httpClientRequest.responseTimeout(responseTimeout);
+        }
+    }
+
+    private String getErrorMessage(WebClientResponseException ex) {
+        try {
+            return mapper.readValue(ex.getResponseBodyAsString(), HttpErrorInfo.class).getMessage();
+        }
+        catch (IOException ioex) {
+            return ioex.getMessage();
+        }
+    }
+
+    private Throwable handleWebClientException(WebClientResponseException ex) {
+
+        if (ex.getStatusCode() == NOT_FOUND) {
+            return new NotFoundException(getErrorMessage(ex));
+        }
+        if (ex.getStatusCode() == UNPROCESSABLE_ENTITY) {
+            return new InvalidInputException(getErrorMessage(ex));
+        }
+
+        log.warn("Got a unexpected HTTP error: {}, will rethrow it", ex.getStatusCode());
+        log.warn("Error body: {}", ex.getResponseBodyAsString());
+        return ex;
+    }
+}
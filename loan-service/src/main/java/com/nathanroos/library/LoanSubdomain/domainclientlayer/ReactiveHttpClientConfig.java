@@ -0,0 +1,45 @@
+package com.nathanroos.library.LoanSubdomain.domainclientlayer;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Non-blocking counterpart of {@link DownstreamHttpClientConfig}, active when {@code app.persistence-mode=reactive}.
+ * The pool limits apply per downstream host and reuse the {@code app.http-client} settings.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.persistence-mode", havingValue = "reactive")
+public class ReactiveHttpClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    ConnectionProvider downstreamConnectionProvider(DownstreamHttpClientProperties properties) {
+        return ConnectionProvider.builder("downstream")
+                .maxConnections(properties.getMaxPerRoute())
+                .pendingAcquireTimeout(properties.getPoolAcquireTimeout())
+                .maxIdleTime(properties.getIdleEviction())
+                .maxLifeTime(properties.getConnectionTimeToLive())
+                .evictInBackground(properties.getIdleEviction())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    WebClient downstreamWebClient(WebClient.Builder webClientBuilder,
+                                  ConnectionProvider downstreamConnectionProvider,
+                                  DownstreamHttpClientProperties properties) {
+        HttpClient httpClient = HttpClient.create(downstreamConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getResponseTimeout())
+                .keepAlive(true);
+
+        return webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
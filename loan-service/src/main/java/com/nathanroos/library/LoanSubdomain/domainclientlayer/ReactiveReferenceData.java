@@ -0,0 +1,52 @@
+package com.nathanroos.library.LoanSubdomain.domainclientlayer;
+
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Customer.CustomerModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Customer.ReactiveCustomerServiceClient;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Library.LibraryModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Library.ReactiveLibraryServiceClient;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.LibraryWorker.LibraryWorkerModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.LibraryWorker.ReactiveLibrarianServiceClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+// Non-blocking lookups through the same caches as ReferenceDataCache, so invalidations reach both modes.
+// An empty Mono means the downstream answered without a body.
+@Component
+@ConditionalOnProperty(name = "app.persistence-mode", havingValue = "reactive")
+public class ReactiveReferenceData {
+
+    private final ReferenceDataCache referenceData;
+
+    private final ReactiveCustomerServiceClient customerService;
+
+    private final ReactiveLibraryServiceClient libraryService;
+
+    private final ReactiveLibrarianServiceClient librarianService;
+
+    public ReactiveReferenceData(ReferenceDataCache referenceData,
+                                 ReactiveCustomerServiceClient customerService,
+                                 ReactiveLibraryServiceClient libraryService,
+                                 ReactiveLibrarianServiceClient librarianService) {
+        this.referenceData = referenceData;
+        this.customerService = customerService;
+        this.libraryService = libraryService;
+        this.librarianService = librarianService;
+    }
+
+    public Mono<CustomerModel> getAccountByAccountId(String accountId) {
+        return referenceData.accounts().getAsync(accountId, customerService::getAccountByAccountId);
+    }
+
+    public Mono<Boolean> accountExists(String accountId) {
+        return referenceData.accounts().existsAsync(accountId, customerService::accountExists);
+    }
+
+    public Mono<LibraryModel> getBookByBookId(String bookId) {
+        return referenceData.books().getAsync(bookId, libraryService::getBookByBookId);
+    }
+
+    public Mono<LibraryWorkerModel> getLibrarian(String librarianId) {
+        return referenceData.librarians().getAsync(librarianId, librarianService::getLibrarian);
+    }
+}
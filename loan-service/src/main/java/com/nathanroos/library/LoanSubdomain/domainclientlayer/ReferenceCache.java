@@ -0,0 +1,195 @@
+package com.nathanroos.library.LoanSubdomain.domainclientlayer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nathanroos.library.LoanSubdomain.utils.Exceptions.NotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// One bounded cache per reference type. Misses (null bodies and 404s) are kept for the shorter negative TTL, always
+// with a NotFound message, so a miss found by a batch or an existence check reads the same as one found by get.
+class ReferenceCache<T> {
+
+    private record Entry<T>(T value, String notFoundMessage) {
+
+        boolean isNegative() {
+            return value == null;
+        }
+    }
+
+    private final boolean enabled;
+
+    private final Function<String, T> loader;
+
+    private final Function<Collection<String>, Map<String, T>> batchLoader;
+
+    // the message for a miss that came without one, as the client words it for an empty body
+    private final Function<String, String> notFoundMessage;
+
+    private final Cache<String, Entry<T>> cache;
+
+    ReferenceCache(String name, ReferenceCacheProperties.Policy policy, boolean enabled,
+                   Function<String, T> loader, Function<Collection<String>, Map<String, T>> batchLoader,
+                   Function<String, String> notFoundMessage, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.loader = loader;
+        this.batchLoader = batchLoader;
+        this.notFoundMessage = notFoundMessage;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(policy.getMaxSize())
+                .expireAfter(new Expiry<String, Entry<T>>() {
+                    @Override
+                    public long expireAfterCreate(String id, Entry<T> entry, long currentTime) {
+                        return (entry.isNegative() ? policy.getNegativeTtl() : policy.getTtl()).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String id, Entry<T> entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(id, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String id, Entry<T> entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+
+    T get(String id) {
+        if (!enabled || id == null) {
+            return loader.apply(id);
+        }
+        return unwrap(cache.get(id, this::load));
+    }
+
+    // same entries as get, filled by a non-blocking loader; concurrent misses for one id may each call it
+    Mono<T> getAsync(String id, Function<String, Mono<T>> asyncLoader) {
+        if (!enabled || id == null) {
+            return asyncLoader.apply(id);
+        }
+
+        Entry<T> cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Mono.fromCallable(() -> unwrap(cached));
+        }
+        return asyncLoader.apply(id)
+                .map(value -> new Entry<T>(value, null))
+                .onErrorResume(NotFoundException.class, ex -> Mono.just(miss(id, ex.getMessage())))
+                .defaultIfEmpty(miss(id, null))
+                .doOnNext(entry -> cache.put(id, entry))
+                .flatMap(entry -> Mono.fromCallable(() -> unwrap(entry)));
+    }
+
+    // presence only, for callers that need none of the fields: any cached entry answers it, otherwise the checker does.
+    // Only a miss is kept, since a hit comes back without a value to cache.
+    boolean exists(String id, Predicate<String> checker) {
+        if (!enabled || id == null) {
+            return checker.test(id);
+        }
+
+        Entry<T> cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return !cached.isNegative();
+        }
+        boolean exists = checker.test(id);
+        if (!exists) {
+            cache.put(id, miss(id, null));
+        }
+        return exists;
+    }
+
+    Mono<Boolean> existsAsync(String id, Function<String, Mono<Boolean>> asyncChecker) {
+        if (!enabled || id == null) {
+            return asyncChecker.apply(id);
+        }
+
+        Entry<T> cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Mono.just(!cached.isNegative());
+        }
+        return asyncChecker.apply(id)
+                .doOnNext(exists -> {
+                    if (!exists) {
+                        cache.put(id, miss(id, null));
+                    }
+                });
+    }
+
+    Map<String, T> getAll(Collection<String> ids) {
+        if (!enabled) {
+            return batchLoader.apply(ids);
+        }
+
+        Set<String> distinctIds = new LinkedHashSet<>(ids);
+        Map<String, T> found = new LinkedHashMap<>();
+        Set<String> misses = new LinkedHashSet<>();
+
+        for (String id : distinctIds) {
+            Entry<T> entry = id == null ? null : cache.getIfPresent(id);
+            if (entry == null) {
+                misses.add(id);
+            } else if (!entry.isNegative()) {
+                found.put(id, entry.value());
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            Map<String, T> loaded = batchLoader.apply(misses);
+            for (String id : misses) {
+                T value = loaded.get(id);
+                if (id != null) {
+                    cache.put(id, value == null ? miss(id, null) : new Entry<>(value, null));
+                }
+                if (value != null) {
+                    found.put(id, value);
+                }
+            }
+        }
+
+        Map<String, T> ordered = new LinkedHashMap<>();
+        distinctIds.stream().filter(found::containsKey).forEach(id -> ordered.put(id, found.get(id)));
+        return ordered;
+    }
+
+    void invalidate(String id) {
+        cache.invalidate(id);
+    }
+
+    void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private Entry<T> load(String id) {
+        try {
+            T value = loader.apply(id);
+            return value == null ? miss(id, null) : new Entry<>(value, null);
+        } catch (NotFoundException ex) {
+            return miss(id, ex.getMessage());
+        }
+    }
+
+    private Entry<T> miss(String id, String message) {
+        return new Entry<>(null, message != null ? message : notFoundMessage.apply(id));
+    }
+
+    private T unwrap(Entry<T> entry) {
+        if (entry.isNegative()) {
+            throw new NotFoundException(entry.notFoundMessage());
+        }
+        return entry.value();
+    }
+}
@@ -0,0 +1,41 @@
+package com.nathanroos.library.LoanSubdomain.domainclientlayer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.reference-cache")
+public class ReferenceCacheProperties {
+
+    private boolean enabled = true;
+
+    private Policy accounts = new Policy(Duration.ofMinutes(5), Duration.ofSeconds(30), 10_000);
+
+    private Policy books = new Policy(Duration.ofMinutes(10), Duration.ofSeconds(30), 10_000);
+
+    private Policy librarians = new Policy(Duration.ofMinutes(30), Duration.ofSeconds(30), 1_000);
+
+    @Data
+    public static class Policy {
+
+        private Duration ttl;
+
+        // how long a 404 is remembered before the downstream service is asked again
+        private Duration negativeTtl;
+
+        private long maxSize;
+
+        public Policy() {
+        }
+
+        public Policy(Duration ttl, Duration negativeTtl, long maxSize) {
+            this.ttl = ttl;
+            this.negativeTtl = negativeTtl;
+            this.maxSize = maxSize;
+        }
+    }
+}
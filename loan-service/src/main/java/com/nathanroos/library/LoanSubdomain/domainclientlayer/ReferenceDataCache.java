@@ -0,0 +1,107 @@
+package com.nathanroos.library.LoanSubdomain.domainclientlayer;
+
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Customer.CustomerModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Customer.CustomerServiceClient;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Library.LibraryModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Library.LibraryServiceClient;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.LibraryWorker.LibrarianServiceClient;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.LibraryWorker.LibraryWorkerModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+
+@Slf4j
+@Component
+public class ReferenceDataCache {
+
+    private final CustomerServiceClient customerService;
+
+    private final ReferenceCache<CustomerModel> accounts;
+
+    private final ReferenceCache<LibraryModel> books;
+
+    private final ReferenceCache<LibraryWorkerModel> librarians;
+
+    public ReferenceDataCache(CustomerServiceClient customerService,
+                              LibraryServiceClient libraryService,
+                              LibrarianServiceClient librarianService,
+                              ReferenceCacheProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.customerService = customerService;
+        this.accounts = new ReferenceCache<>("reference-accounts", properties.getAccounts(), properties.isEnabled(),
+                customerService::getAccountByAccountId, customerService::getAccountsByAccountIds,
+                id -> "Customer not found for ID: " + id, meterRegistry);
+        this.books = new ReferenceCache<>("reference-books", properties.getBooks(), properties.isEnabled(),
+                libraryService::getBookByBookId, libraryService::getBooksByBookIds,
+                id -> "Book not found for ID: " + id, meterRegistry);
+        this.librarians = new ReferenceCache<>("reference-librarians", properties.getLibrarians(), properties.isEnabled(),
+                librarianService::getLibrarian, librarianService::getLibrariansByLibrarianIds,
+                id -> "Librarian not found for ID: " + id, meterRegistry);
+    }
+
+    public CustomerModel getAccountByAccountId(String accountId) {
+        return accounts.get(accountId);
+    }
+
+    public boolean accountExists(String accountId) {
+        return accounts.exists(accountId, customerService::accountExists);
+    }
+
+    public Map<String, CustomerModel> getAccountsByAccountIds(Collection<String> accountIds) {
+        return accounts.getAll(accountIds);
+    }
+
+    public LibraryModel getBookByBookId(String bookId) {
+        return books.get(bookId);
+    }
+
+    public Map<String, LibraryModel> getBooksByBookIds(Collection<String> bookIds) {
+        return books.getAll(bookIds);
+    }
+
+    public LibraryWorkerModel getLibrarian(String librarianId) {
+        return librarians.get(librarianId);
+    }
+
+    public Map<String, LibraryWorkerModel> getLibrariansByLibrarianIds(Collection<String> librarianIds) {
+        return librarians.getAll(librarianIds);
+    }
+
+    // the reactive lookups fill the same caches
+    ReferenceCache<CustomerModel> accounts() {
+        return accounts;
+    }
+
+    ReferenceCache<LibraryModel> books() {
+        return books;
+    }
+
+    ReferenceCache<LibraryWorkerModel> librarians() {
+        return librarians;
+    }
+
+    public void invalidateAccount(String accountId) {
+        log.debug("Invalidating cached account {}", accountId);
+        accounts.invalidate(accountId);
+    }
+
+    public void invalidateBook(String bookId) {
+        log.debug("Invalidating cached book {}", bookId);
+        books.invalidate(bookId);
+    }
+
+    public void invalidateLibrarian(String librarianId) {
+        log.debug("Invalidating cached librarian {}", librarianId);
+        librarians.invalidate(librarianId);
+    }
+
+    public void invalidateAll() {
+        log.debug("Invalidating all cached reference data");
+        accounts.invalidateAll();
+        books.invalidateAll();
+        librarians.invalidateAll();
+    }
+}
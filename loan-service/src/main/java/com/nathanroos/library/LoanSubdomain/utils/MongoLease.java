@@ -0,0 +1,56 @@
+package com.nathanroos.library.LoanSubdomain.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+
+// A named lease shared by every instance through one document per name. It expires on its own, so a crashed holder can't keep it.
+// Lazy so that contexts without Mongo, where nothing takes a lease, don't need a template.
+@Slf4j
+@Lazy
+@Component
+public class MongoLease {
+
+    private static final String COLLECTION = "leases";
+
+    private final MongoTemplate mongoTemplate;
+
+    private final String owner = UUID.randomUUID().toString();
+
+    public MongoLease(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    // acquires a free or expired lease, or extends one this instance already holds
+    public boolean tryAcquire(String name, Duration duration) {
+        Date now = new Date();
+        Query heldByNobodyElse = Query.query(Criteria.where("_id").is(name)
+                .orOperator(Criteria.where("lockedUntil").lte(now), Criteria.where("owner").is(owner)));
+        Update claim = new Update()
+                .set("owner", owner)
+                .set("lockedUntil", new Date(now.getTime() + duration.toMillis()));
+
+        try {
+            // when another instance holds it nothing matches, and the upsert collides with the existing _id
+            mongoTemplate.upsert(heldByNobodyElse, claim, COLLECTION);
+            return true;
+        } catch (DuplicateKeyException ex) {
+            log.debug("Lease {} is held by another instance", name);
+            return false;
+        }
+    }
+
+    public void release(String name) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(name).and("owner").is(owner)),
+                Update.update("lockedUntil", new Date()), COLLECTION);
+    }
+}
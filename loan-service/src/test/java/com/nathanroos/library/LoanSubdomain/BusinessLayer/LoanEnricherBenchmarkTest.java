@@ -0,0 +1,138 @@
+package com.nathanroos.library.LoanSubdomain.BusinessLayer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.Loan;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanIdentifier;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanStatusEnum;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Customer.CustomerBatchModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Customer.CustomerModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Customer.CustomerServiceClient;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Library.LibraryBatchModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Library.LibraryModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Library.LibraryServiceClient;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.LibraryWorker.LibrarianServiceClient;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.LibraryWorker.LibraryWorkerBatchModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.LibraryWorker.LibraryWorkerModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.ReferenceCacheProperties;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.ReferenceDataCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Every remote call costs REMOTE_LATENCY_MS; resolving ids one by one would cost 3 * N of them.
+@ExtendWith(MockitoExtension.class)
+class LoanEnricherBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LoanEnricherBenchmarkTest.class);
+
+    private static final long REMOTE_LATENCY_MS = 50;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    private LoanEnricher loanEnricher;
+
+    @BeforeEach
+    void setup() {
+        // caching stays off so every run pays the remote latency
+        ReferenceCacheProperties cacheProperties = new ReferenceCacheProperties();
+        cacheProperties.setEnabled(false);
+        loanEnricher = new LoanEnricher(new ReferenceDataCache(
+                new CustomerServiceClient(restTemplate, objectMapper, "localhost", "7003"),
+                new LibraryServiceClient(restTemplate, objectMapper, "localhost", "7001"),
+                new LibrarianServiceClient(restTemplate, objectMapper, "localhost", "7002"),
+                cacheProperties, new SimpleMeterRegistry()));
+
+        when(restTemplate.postForObject(anyString(), any(), eq(CustomerBatchModel.class))).thenAnswer(invocation -> {
+            Thread.sleep(REMOTE_LATENCY_MS);
+            List<String> ids = invocation.getArgument(1);
+            return new CustomerBatchModel(ids.stream()
+                    .map(id -> CustomerModel.builder().accountId(id).firstname("John").lastname("Doe").build()).toList(), List.of());
+        });
+        when(restTemplate.postForObject(anyString(), any(), eq(LibraryBatchModel.class))).thenAnswer(invocation -> {
+            Thread.sleep(REMOTE_LATENCY_MS);
+            List<String> ids = invocation.getArgument(1);
+            return new LibraryBatchModel(ids.stream()
+                    .map(id -> LibraryModel.builder().bookId(id).title("1984").author("George Orwell").build()).toList(), List.of());
+        });
+        when(restTemplate.postForObject(anyString(), any(), eq(LibraryWorkerBatchModel.class))).thenAnswer(invocation -> {
+            Thread.sleep(REMOTE_LATENCY_MS);
+            List<String> ids = invocation.getArgument(1);
+            return new LibraryWorkerBatchModel(ids.stream()
+                    .map(id -> LibraryWorkerModel.builder().librarianId(id).firstname("Alice").lastname("Johnson").build()).toList(), List.of());
+        });
+    }
+
+    @Test
+    void whenResultGrows_thenEnrichmentStaysFarBelowSequentialCost() {
+        loanEnricher.enrich(loans(1)); // warm up the virtual thread scheduler
+
+        for (int size : new int[]{1, 10, 100, 500}) {
+            List<Loan> loans = loans(size);
+
+            long start = System.nanoTime();
+            loanEnricher.enrich(loans);
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            long sequentialMs = 3 * size * REMOTE_LATENCY_MS;
+            log.info("enrich N={} took {} ms (sequential estimate {} ms)", size, elapsedMs, sequentialMs);
+
+            if (size > 1) {
+                assertTrue(elapsedMs < sequentialMs / 5,
+                        "N=" + size + " took " + elapsedMs + " ms, sequential would take " + sequentialMs + " ms");
+            }
+            loans.forEach(loan -> {
+                assertEquals("John", loan.getLibraryAccountIdentifier().getFirstname());
+                assertEquals("1984", loan.getBookIdentifier().getTitle());
+                assertEquals("Alice", loan.getLibrarianIdentifier().getFirstname());
+            });
+        }
+    }
+
+    @Test
+    void whenLoansShareReferences_thenEachIdIsResolvedOnce() {
+        List<Loan> loans = loans(1);
+        loans.addAll(loans(1));
+
+        loanEnricher.enrich(loans);
+
+        verify(restTemplate, times(1)).postForObject(anyString(), eq(List.of("account-0")), eq(CustomerBatchModel.class));
+    }
+
+    private static List<Loan> loans(int size) {
+        List<Loan> loans = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            loans.add(Loan.builder()
+                    .loanIdentifier(new LoanIdentifier())
+                    .libraryAccountIdentifier(CustomerModel.builder().accountId("account-" + i).build())
+                    .bookIdentifier(LibraryModel.builder().bookId("book-" + i).build())
+                    .librarianIdentifier(LibraryWorkerModel.builder().librarianId("librarian-" + i).build())
+                    .loanStatus(LoanStatusEnum.ACTIVE)
+                    .loanDate(new Date())
+                    .dueDate(new Date())
+                    .build());
+        }
+        return loans;
+    }
+}
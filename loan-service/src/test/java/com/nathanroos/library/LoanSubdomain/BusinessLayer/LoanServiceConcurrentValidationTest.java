@@ -0,0 +1,216 @@
+package com.nathanroos.library.LoanSubdomain.BusinessLayer;
+
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.Loan;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanRepository;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanStatusEnum;
+import com.nathanroos.library.LoanSubdomain.MapingLayer.LoanRequestMapper;
+import com.nathanroos.library.LoanSubdomain.MapingLayer.LoanResponseMapper;
+import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanRequestModel;
+import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanResponseModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Customer.CustomerModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Customer.CustomerServiceClient;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Library.LibraryModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Library.LibraryServiceClient;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.LibraryWorker.LibrarianServiceClient;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.LibraryWorker.LibraryWorkerModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.ReferenceCacheProperties;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.ReferenceDataCache;
+import com.nathanroos.library.LoanSubdomain.utils.Exceptions.NotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoanServiceConcurrentValidationTest {
+
+    private static final long REMOTE_LATENCY_MS = 200;
+
+    private static final String ACCOUNT_ID = "c3d4e5f6-e29b-41d4-a716-446655440000";
+    private static final String BOOK_ID = "550e8400-e29b-41d4-a716-446655440000";
+    private static final String LIBRARIAN_ID = "1a2b3c4d-e29b-41d4-a716-446655440000";
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private LoanRequestMapper loanRequestMapper;
+
+    @Mock
+    private LoanResponseMapper loanResponseMapper;
+
+    @Mock
+    private LibraryServiceClient libraryServiceClient;
+
+    @Mock
+    private LibrarianServiceClient librarianServiceClient;
+
+    @Mock
+    private CustomerServiceClient customerServiceClient;
+
+    @Mock
+    private LoanEnricher loanEnricher;
+
+    @Mock
+    private LoanStatisticsService loanStatistics;
+
+    private LoanRequestModel request;
+
+    @BeforeEach
+    void setUp() {
+        request = LoanRequestModel.builder()
+                .accountId(ACCOUNT_ID)
+                .bookId(BOOK_ID)
+                .librarianId(LIBRARIAN_ID)
+                .loanStatus(LoanStatusEnum.ACTIVE)
+                .loanDate(new Date())
+                .dueDate(new Date())
+                .build();
+    }
+
+    @Test
+    void whenConcurrent_thenAddLoanWaitsForSlowestDependencyOnly() {
+        stubSlowDependencies();
+        Loan loan = new Loan();
+        when(loanRequestMapper.requestModelToEntity(any(), any(), any(), any(), any())).thenReturn(loan);
+        when(loanRepository.save(loan)).thenReturn(loan);
+        when(loanResponseMapper.entityToResponseModel(loan)).thenReturn(LoanResponseModel.builder().build());
+
+        long start = System.nanoTime();
+        service(true).addLoan(request, ACCOUNT_ID);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMs < 2 * REMOTE_LATENCY_MS, "addLoan took " + elapsedMs + " ms");
+    }
+
+    @Test
+    void whenSequential_thenAddLoanPaysEveryDependency() {
+        stubSlowDependencies();
+        Loan loan = new Loan();
+        when(loanRequestMapper.requestModelToEntity(any(), any(), any(), any(), any())).thenReturn(loan);
+        when(loanRepository.save(loan)).thenReturn(loan);
+        when(loanResponseMapper.entityToResponseModel(loan)).thenReturn(LoanResponseModel.builder().build());
+
+        long start = System.nanoTime();
+        service(false).addLoan(request, ACCOUNT_ID);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMs >= 3 * REMOTE_LATENCY_MS, "addLoan took " + elapsedMs + " ms");
+    }
+
+    @Test
+    void whenBookMissing_thenLaterChecksAreCancelledAndNotFoundIsThrown() {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(customerServiceClient.getAccountByAccountId(ACCOUNT_ID)).thenReturn(CustomerModel.builder().accountId(ACCOUNT_ID).build());
+        when(librarianServiceClient.getLibrarian(LIBRARIAN_ID)).thenAnswer(invocation -> blockUntilInterrupted(started, interrupted));
+        when(libraryServiceClient.getBookByBookId(BOOK_ID)).thenAnswer(invocation -> {
+            started.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+
+        NotFoundException ex = assertThrows(NotFoundException.class, () -> service(true).addLoan(request, ACCOUNT_ID));
+
+        assertEquals("Book not found for bookId: " + BOOK_ID, ex.getMessage());
+        assertEquals(0, interrupted.getCount());
+        verify(loanRepository, never()).save(any());
+    }
+
+    @Test
+    void whenSeveralChecksFail_thenAddLoanReportsTheFirstInSequentialOrder() {
+        CountDownLatch librarianFailed = new CountDownLatch(1);
+        when(customerServiceClient.getAccountByAccountId(ACCOUNT_ID)).thenReturn(CustomerModel.builder().accountId(ACCOUNT_ID).build());
+        when(librarianServiceClient.getLibrarian(LIBRARIAN_ID)).thenAnswer(invocation -> {
+            librarianFailed.countDown();
+            return null;
+        });
+        when(libraryServiceClient.getBookByBookId(BOOK_ID)).thenAnswer(invocation -> {
+            librarianFailed.await(5, TimeUnit.SECONDS);
+            Thread.sleep(50);
+            return null;
+        });
+
+        NotFoundException ex = assertThrows(NotFoundException.class, () -> service(true).addLoan(request, ACCOUNT_ID));
+
+        assertEquals("Book not found for bookId: " + BOOK_ID, ex.getMessage());
+        assertEquals(ex.getMessage(), assertThrows(NotFoundException.class,
+                () -> service(false).addLoan(request, ACCOUNT_ID)).getMessage());
+    }
+
+    @Test
+    void whenSeveralChecksFail_thenUpdateLoanReportsTheFirstInSequentialOrder() {
+        CountDownLatch bookFailed = new CountDownLatch(1);
+        when(customerServiceClient.getAccountByAccountId(ACCOUNT_ID)).thenReturn(CustomerModel.builder().accountId(ACCOUNT_ID).build());
+        when(libraryServiceClient.getBookByBookId(BOOK_ID)).thenAnswer(invocation -> {
+            bookFailed.countDown();
+            return null;
+        });
+        when(librarianServiceClient.getLibrarian(LIBRARIAN_ID)).thenAnswer(invocation -> {
+            bookFailed.await(5, TimeUnit.SECONDS);
+            Thread.sleep(50);
+            return null;
+        });
+
+        NotFoundException ex = assertThrows(NotFoundException.class,
+                () -> service(true).updateLoan(ACCOUNT_ID, request, "8d3f9e5c-e29b-41d4-a716-446655440000"));
+
+        assertEquals("Librarian not found: " + LIBRARIAN_ID, ex.getMessage());
+    }
+
+    @Test
+    void whenLibrarianMissing_thenUpdateLoanKeepsItsMessage() {
+        when(customerServiceClient.getAccountByAccountId(ACCOUNT_ID)).thenReturn(CustomerModel.builder().accountId(ACCOUNT_ID).build());
+        when(librarianServiceClient.getLibrarian(LIBRARIAN_ID)).thenThrow(new NotFoundException("Librarian not found for ID: " + LIBRARIAN_ID));
+        lenient().when(libraryServiceClient.getBookByBookId(BOOK_ID)).thenReturn(LibraryModel.builder().bookId(BOOK_ID).build());
+
+        NotFoundException ex = assertThrows(NotFoundException.class,
+                () -> service(true).updateLoan(ACCOUNT_ID, request, "8d3f9e5c-e29b-41d4-a716-446655440000"));
+
+        assertEquals("Librarian not found for ID: " + LIBRARIAN_ID, ex.getMessage());
+        verify(loanRepository, never()).findLoanByLibraryAccountIdentifier_AccountIdAndLoanIdentifier_LoanId(any(), any());
+    }
+
+    private LoanServiceImpl service(boolean concurrentValidation) {
+        ReferenceCacheProperties cacheProperties = new ReferenceCacheProperties();
+        cacheProperties.setEnabled(false);
+        ReferenceDataCache referenceData = new ReferenceDataCache(customerServiceClient, libraryServiceClient,
+                librarianServiceClient, cacheProperties, new SimpleMeterRegistry());
+        return new LoanServiceImpl(loanRepository, loanRequestMapper, loanResponseMapper, referenceData,
+                libraryServiceClient, loanEnricher, loanStatistics, concurrentValidation, true);
+    }
+
+    private void stubSlowDependencies() {
+        when(customerServiceClient.getAccountByAccountId(ACCOUNT_ID)).thenAnswer(invocation -> {
+            Thread.sleep(REMOTE_LATENCY_MS);
+            return CustomerModel.builder().accountId(ACCOUNT_ID).build();
+        });
+        when(libraryServiceClient.getBookByBookId(BOOK_ID)).thenAnswer(invocation -> {
+            Thread.sleep(REMOTE_LATENCY_MS);
+            return LibraryModel.builder().bookId(BOOK_ID).build();
+        });
+        when(librarianServiceClient.getLibrarian(LIBRARIAN_ID)).thenAnswer(invocation -> {
+            Thread.sleep(REMOTE_LATENCY_MS);
+            return LibraryWorkerModel.builder().librarianId(LIBRARIAN_ID).build();
+        });
+    }
+
+    private static Object blockUntilInterrupted(CountDownLatch started, CountDownLatch interrupted) {
+        started.countDown();
+        try {
+            Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException ex) {
+            interrupted.countDown();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,257 @@
+package com.nathanroos.library.LoanSubdomain.BusinessLayer;
+
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.Loan;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanIdentifier;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanRepository;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanStatusEnum;
+import com.nathanroos.library.LoanSubdomain.MapingLayer.LoanRequestMapperImpl;
+import com.nathanroos.library.LoanSubdomain.MapingLayer.LoanResponseMapperImpl;
+import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanBulkItemResponseModel;
+import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanBulkResponseModel;
+import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanRequestModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Customer.CustomerModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Customer.CustomerServiceClient;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Library.LibraryModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Library.LibraryServiceClient;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.LibraryWorker.LibrarianServiceClient;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.LibraryWorker.LibraryWorkerModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.ReferenceCacheProperties;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.ReferenceDataCache;
+import com.nathanroos.library.LoanSubdomain.utils.Exceptions.InvalidInputException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoanServiceInventoryTest {
+
+    private static final String ACCOUNT_ID = "c3d4e5f6-e29b-41d4-a716-446655440000";
+    private static final String BOOK_ID = "550e8400-e29b-41d4-a716-446655440000";
+    private static final String OTHER_BOOK_ID = "660e8400-e29b-41d4-a716-446655440001";
+    private static final String LIBRARIAN_ID = "1a2b3c4d-e29b-41d4-a716-446655440000";
+    private static final String LOAN_ID = "8d3f9e5c-e29b-41d4-a716-446655440000";
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private CustomerServiceClient customerServiceClient;
+
+    @Mock
+    private LibraryServiceClient libraryServiceClient;
+
+    @Mock
+    private LibrarianServiceClient librarianServiceClient;
+
+    @Mock
+    private LoanEnricher loanEnricher;
+
+    @Mock
+    private LoanStatisticsService loanStatistics;
+
+    private LoanServiceImpl loanService;
+
+    @BeforeEach
+    void setUp() {
+        ReferenceCacheProperties cacheProperties = new ReferenceCacheProperties();
+        cacheProperties.setEnabled(false);
+        ReferenceDataCache referenceData = new ReferenceDataCache(customerServiceClient, libraryServiceClient,
+                librarianServiceClient, cacheProperties, new SimpleMeterRegistry());
+        loanService = new LoanServiceImpl(loanRepository, new LoanRequestMapperImpl(), new LoanResponseMapperImpl(),
+                referenceData, libraryServiceClient, loanEnricher, loanStatistics, false, true);
+
+        lenient().when(customerServiceClient.getAccountByAccountId(ACCOUNT_ID)).thenReturn(CustomerModel.builder().accountId(ACCOUNT_ID).build());
+        lenient().when(libraryServiceClient.getBookByBookId(anyString()))
+                .thenAnswer(invocation -> LibraryModel.builder().bookId(invocation.getArgument(0)).build());
+        lenient().when(librarianServiceClient.getLibrarian(LIBRARIAN_ID)).thenReturn(LibraryWorkerModel.builder().librarianId(LIBRARIAN_ID).build());
+        lenient().when(loanRepository.save(any(Loan.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void whenLoanIsAdded_thenOneCopyIsReservedBeforeTheLoanIsSaved() {
+        loanService.addLoan(request(BOOK_ID, LoanStatusEnum.ACTIVE), ACCOUNT_ID);
+
+        InOrder inOrder = inOrder(libraryServiceClient, loanRepository);
+        inOrder.verify(libraryServiceClient).reserveCopies(BOOK_ID, 1);
+        inOrder.verify(loanRepository).save(any(Loan.class));
+        verify(libraryServiceClient, never()).releaseCopies(anyString(), anyInt());
+    }
+
+    @Test
+    void whenNoCopyIsLeft_thenTheLoanIsNotSaved() {
+        doThrow(new InvalidInputException("Not enough copies available for bookId: " + BOOK_ID))
+                .when(libraryServiceClient).reserveCopies(BOOK_ID, 1);
+
+        InvalidInputException ex = assertThrows(InvalidInputException.class,
+                () -> loanService.addLoan(request(BOOK_ID, LoanStatusEnum.ACTIVE), ACCOUNT_ID));
+
+        assertEquals("Not enough copies available for bookId: " + BOOK_ID, ex.getMessage());
+        verify(loanRepository, never()).save(any());
+    }
+
+    @Test
+    void whenSaveFails_thenTheReservedCopyIsReleased() {
+        when(loanRepository.save(any(Loan.class))).thenThrow(new DataAccessResourceFailureException("mongo is down"));
+
+        assertThrows(DataAccessResourceFailureException.class,
+                () -> loanService.addLoan(request(BOOK_ID, LoanStatusEnum.ACTIVE), ACCOUNT_ID));
+
+        verify(libraryServiceClient).releaseCopies(BOOK_ID, 1);
+    }
+
+    @Test
+    void whenCompletedLoanIsAdded_thenNoCopyIsReserved() {
+        loanService.addLoan(request(BOOK_ID, LoanStatusEnum.COMPLETED), ACCOUNT_ID);
+
+        verify(libraryServiceClient, never()).reserveCopies(anyString(), anyInt());
+    }
+
+    @Test
+    void whenLoanIsReturned_thenItsCopyIsReleased() {
+        when(loanRepository.findLoanByLibraryAccountIdentifier_AccountIdAndLoanIdentifier_LoanId(ACCOUNT_ID, LOAN_ID))
+                .thenReturn(existingLoan(BOOK_ID, LoanStatusEnum.ACTIVE));
+
+        loanService.updateLoan(ACCOUNT_ID, request(BOOK_ID, LoanStatusEnum.COMPLETED), LOAN_ID);
+
+        verify(libraryServiceClient, never()).reserveCopies(anyString(), anyInt());
+        verify(libraryServiceClient).releaseCopies(BOOK_ID, 1);
+    }
+
+    @Test
+    void whenLoanSwitchesBook_thenTheNewCopyIsReservedAndTheOldOneReleased() {
+        when(loanRepository.findLoanByLibraryAccountIdentifier_AccountIdAndLoanIdentifier_LoanId(ACCOUNT_ID, LOAN_ID))
+                .thenReturn(existingLoan(BOOK_ID, LoanStatusEnum.ACTIVE));
+
+        loanService.updateLoan(ACCOUNT_ID, request(OTHER_BOOK_ID, LoanStatusEnum.ACTIVE), LOAN_ID);
+
+        verify(libraryServiceClient).reserveCopies(OTHER_BOOK_ID, 1);
+        verify(libraryServiceClient).releaseCopies(BOOK_ID, 1);
+    }
+
+    @Test
+    void whenLoanKeepsItsBook_thenInventoryIsUntouched() {
+        when(loanRepository.findLoanByLibraryAccountIdentifier_AccountIdAndLoanIdentifier_LoanId(ACCOUNT_ID, LOAN_ID))
+                .thenReturn(existingLoan(BOOK_ID, LoanStatusEnum.ACTIVE));
+
+        loanService.updateLoan(ACCOUNT_ID, request(BOOK_ID, LoanStatusEnum.OVERDUE), LOAN_ID);
+
+        verify(libraryServiceClient, never()).reserveCopies(anyString(), anyInt());
+        verify(libraryServiceClient, never()).releaseCopies(anyString(), anyInt());
+    }
+
+    @Test
+    void whenActiveLoanIsRemoved_thenItsCopyIsReleased() {
+        when(loanRepository.findLoanByLibraryAccountIdentifier_AccountIdAndLoanIdentifier_LoanId(ACCOUNT_ID, LOAN_ID))
+                .thenReturn(existingLoan(BOOK_ID, LoanStatusEnum.ACTIVE));
+
+        loanService.removeLoan(ACCOUNT_ID, LOAN_ID);
+
+        verify(libraryServiceClient).releaseCopies(BOOK_ID, 1);
+    }
+
+    @Test
+    void whenReleaseFails_thenTheRemovalStillSucceeds() {
+        when(loanRepository.findLoanByLibraryAccountIdentifier_AccountIdAndLoanIdentifier_LoanId(ACCOUNT_ID, LOAN_ID))
+                .thenReturn(existingLoan(BOOK_ID, LoanStatusEnum.ACTIVE));
+        doThrow(new IllegalStateException("library-service is down")).when(libraryServiceClient).releaseCopies(BOOK_ID, 1);
+
+        assertDoesNotThrow(() -> loanService.removeLoan(ACCOUNT_ID, LOAN_ID));
+        verify(loanRepository).delete(any(Loan.class));
+    }
+
+    @Test
+    void whenBulkRowsShareABook_thenItIsReservedOnceAndASoldOutBookFailsOnlyItsRows() {
+        when(libraryServiceClient.getBooksByBookIds(any())).thenReturn(Map.of(
+                BOOK_ID, LibraryModel.builder().bookId(BOOK_ID).build(),
+                OTHER_BOOK_ID, LibraryModel.builder().bookId(OTHER_BOOK_ID).build()));
+        when(librarianServiceClient.getLibrariansByLibrarianIds(any()))
+                .thenReturn(Map.of(LIBRARIAN_ID, LibraryWorkerModel.builder().librarianId(LIBRARIAN_ID).build()));
+        when(libraryServiceClient.reserveUpTo(BOOK_ID, 2)).thenReturn(2);
+        when(libraryServiceClient.reserveUpTo(OTHER_BOOK_ID, 1)).thenReturn(0);
+        when(loanRepository.insertUnordered(any())).thenReturn(Map.of());
+
+        LoanBulkResponseModel response = loanService.addLoans(List.of(
+                request(BOOK_ID, LoanStatusEnum.ACTIVE),
+                request(OTHER_BOOK_ID, LoanStatusEnum.ACTIVE),
+                request(BOOK_ID, LoanStatusEnum.ACTIVE)), ACCOUNT_ID);
+
+        assertEquals(List.of(201, 422, 201), response.getResults().stream().map(LoanBulkItemResponseModel::getStatus).toList());
+        verify(libraryServiceClient, times(1)).reserveUpTo(BOOK_ID, 2);
+        verify(loanRepository).insertUnordered(argThat(loans -> loans.size() == 2));
+        verify(libraryServiceClient, never()).releaseCopies(anyString(), anyInt());
+    }
+
+    @Test
+    void whenABookCoversOnlySomeOfItsBulkRows_thenTheEarlierRowsGetTheCopiesAndOnlyTheRestFail() {
+        when(libraryServiceClient.getBooksByBookIds(any())).thenReturn(Map.of(BOOK_ID, LibraryModel.builder().bookId(BOOK_ID).build()));
+        when(librarianServiceClient.getLibrariansByLibrarianIds(any()))
+                .thenReturn(Map.of(LIBRARIAN_ID, LibraryWorkerModel.builder().librarianId(LIBRARIAN_ID).build()));
+        when(libraryServiceClient.reserveUpTo(BOOK_ID, 3)).thenReturn(2);
+        when(loanRepository.insertUnordered(any())).thenReturn(Map.of());
+
+        LoanBulkResponseModel response = loanService.addLoans(List.of(
+                request(BOOK_ID, LoanStatusEnum.ACTIVE),
+                request(BOOK_ID, LoanStatusEnum.ACTIVE),
+                request(BOOK_ID, LoanStatusEnum.ACTIVE)), ACCOUNT_ID);
+
+        assertEquals(List.of(201, 201, 422), response.getResults().stream().map(LoanBulkItemResponseModel::getStatus).toList());
+        assertEquals(2, response.getCreated());
+        assertEquals("Not enough copies available for bookId: " + BOOK_ID, response.getResults().get(2).getMessage());
+        verify(libraryServiceClient, times(1)).reserveUpTo(BOOK_ID, 3);
+        verify(libraryServiceClient, never()).reserveCopies(anyString(), anyInt());
+        verify(loanRepository).insertUnordered(argThat(loans -> loans.size() == 2));
+        verify(libraryServiceClient, never()).releaseCopies(anyString(), anyInt());
+    }
+
+    @Test
+    void whenBulkInsertRejectsARow_thenItsCopyIsReleased() {
+        when(libraryServiceClient.getBooksByBookIds(any())).thenReturn(Map.of(BOOK_ID, LibraryModel.builder().bookId(BOOK_ID).build()));
+        when(librarianServiceClient.getLibrariansByLibrarianIds(any()))
+                .thenReturn(Map.of(LIBRARIAN_ID, LibraryWorkerModel.builder().librarianId(LIBRARIAN_ID).build()));
+        when(libraryServiceClient.reserveUpTo(BOOK_ID, 2)).thenReturn(2);
+        when(loanRepository.insertUnordered(any())).thenReturn(Map.of(0, "E11000 duplicate key error"));
+
+        loanService.addLoans(List.of(request(BOOK_ID, LoanStatusEnum.ACTIVE), request(BOOK_ID, LoanStatusEnum.ACTIVE)), ACCOUNT_ID);
+
+        verify(libraryServiceClient).reserveUpTo(BOOK_ID, 2);
+        verify(libraryServiceClient).releaseCopies(BOOK_ID, 1);
+    }
+
+    private static LoanRequestModel request(String bookId, LoanStatusEnum status) {
+        return LoanRequestModel.builder()
+                .accountId(ACCOUNT_ID)
+                .bookId(bookId)
+                .librarianId(LIBRARIAN_ID)
+                .loanStatus(status)
+                .loanDate(new Date())
+                .dueDate(new Date())
+                .build();
+    }
+
+    private static Loan existingLoan(String bookId, LoanStatusEnum status) {
+        return Loan.builder()
+                .loanIdentifier(new LoanIdentifier(LOAN_ID))
+                .libraryAccountIdentifier(CustomerModel.builder().accountId(ACCOUNT_ID).build())
+                .bookIdentifier(LibraryModel.builder().bookId(bookId).build())
+                .librarianIdentifier(LibraryWorkerModel.builder().librarianId(LIBRARIAN_ID).build())
+                .loanStatus(status)
+                .loanDate(new Date())
+                .dueDate(new Date())
+                .build();
+    }
+}
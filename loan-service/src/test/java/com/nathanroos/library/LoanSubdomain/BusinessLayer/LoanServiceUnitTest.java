@@ -21,9 +21,12 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -193,10 +196,10 @@ class LoanServiceUnitTest {
     @Test
     void whenGetAllLoansByAccountWithNullCustomer_thenThrowNotFoundException() {
         String accountId = "unknown-account";
-        when(customerServiceClient.getAccountByAccountId(accountId)).thenReturn(null);
+        when(customerServiceClient.accountExists(accountId)).thenReturn(false);
 
         assertThrows(NotFoundException.class, () -> {
-            loanService.getAllLoansByAccountId(accountId);
+            loanService.getLoansByAccountId(accountId, null, null, null, null, 50);
         });
     }
 
@@ -274,10 +277,10 @@ class LoanServiceUnitTest {
     void whenRepositoryReturnsNullList_thenHandleGracefully() {
         String accountId = customerModel.getAccountId();
 
-        when(customerServiceClient.getAccountByAccountId(accountId)).thenReturn(customerModel);
-        when(loanRepository.findAllByLibraryAccountIdentifier_AccountId(accountId)).thenReturn(null);
+        when(customerServiceClient.accountExists(accountId)).thenReturn(true);
+        when(loanRepository.findAccountLoanPage(eq(accountId), any(), any(), any(), any(), any(), anyInt())).thenReturn(null);
 
-        var result = loanService.getAllLoansByAccountId(accountId);
+        var result = loanService.getLoansByAccountId(accountId, null, null, null, null, 50).getLoans();
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
@@ -514,7 +517,7 @@ class LoanServiceUnitTest {
 
     @Test
     void whenGetAllLoansByAccountId_NullId_thenThrowsInvalidInput() {
-        assertThrows(InvalidInputException.class, () -> loanService.getAllLoansByAccountId(null));
+        assertThrows(InvalidInputException.class, () -> loanService.getLoansByAccountId(null, null, null, null, null, 50));
     }
 
     @Test
@@ -580,12 +583,12 @@ class LoanServiceUnitTest {
                 .build();
 
         when(loanRepository.findAllByLoanIdentifier_LoanId(loanId)).thenReturn(List.of(loan));
-        when(customerServiceClient.getAccountByAccountId(anyString())).thenReturn(customerModel);
+        when(customerServiceClient.accountExists(anyString())).thenReturn(true);
         when(libraryServiceClient.getBookByBookId(anyString())).thenReturn(libraryModel);
         when(librarianServiceClient.getLibrarian(anyString())).thenReturn(libraryWorkerModel);
 
         // 🔥 Corrected service method call!
-        var result = loanService.getAllLoansByAccountId(loanId);
+        var result = loanService.getLoansByAccountId(loanId, null, null, null, null, 50).getLoans();
 
         assertNotNull(result);
     }
@@ -596,7 +599,7 @@ class LoanServiceUnitTest {
         String loanId = UUID.randomUUID().toString();
         when(loanRepository.findAllByLoanIdentifier_LoanId(loanId)).thenReturn(null);
 
-        assertThrows(NotFoundException.class, () -> loanService.getAllLoansByAccountId(loanId));
+        assertThrows(NotFoundException.class, () -> loanService.getLoansByAccountId(loanId, null, null, null, null, 50));
     }
 
     @Test
@@ -616,7 +619,7 @@ class LoanServiceUnitTest {
 
     @Test
     void whenGetAllLoansByAccountIdWithEmptyId_thenThrowsInvalidInputException() {
-        assertThrows(InvalidInputException.class, () -> loanService.getAllLoansByAccountId("  "));
+        assertThrows(InvalidInputException.class, () -> loanService.getLoansByAccountId("  ", null, null, null, null, 50));
     }
 
     @Test
@@ -670,10 +673,10 @@ class LoanServiceUnitTest {
     void whenGetAllLoansReturnsNullList_thenHandleGracefully() {
         String accountId = customerModel.getAccountId();
 
-        when(customerServiceClient.getAccountByAccountId(accountId)).thenReturn(customerModel);
-        when(loanRepository.findAllByLibraryAccountIdentifier_AccountId(accountId)).thenReturn(null);
+        when(customerServiceClient.accountExists(accountId)).thenReturn(true);
+        when(loanRepository.findAccountLoanPage(eq(accountId), any(), any(), any(), any(), any(), anyInt())).thenReturn(null);
 
-        var result = loanService.getAllLoansByAccountId(accountId);
+        var result = loanService.getLoansByAccountId(accountId, null, null, null, null, 50).getLoans();
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
@@ -773,12 +776,12 @@ class LoanServiceUnitTest {
                 .librarianIdentifier(libraryWorkerModel)
                 .build();
 
-        when(loanRepository.findAllByLibraryAccountIdentifier_AccountId(bookId)).thenReturn(List.of(loan));
+        when(loanRepository.findAccountLoanPage(eq(bookId), any(), any(), any(), any(), any(), anyInt())).thenReturn(List.of(loan));
         when(customerServiceClient.getAccountByAccountId(anyString())).thenReturn(customerModel);
         when(libraryServiceClient.getBookByBookId(anyString())).thenReturn(libraryModel);
         when(librarianServiceClient.getLibrarian(anyString())).thenReturn(libraryWorkerModel);
 
-        var result = loanService.getAllLoansByAccountId(bookId);
+        var result = loanService.getLoansByAccountId(bookId, null, null, null, null, 50).getLoans();
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -795,12 +798,12 @@ class LoanServiceUnitTest {
                 .librarianIdentifier(LibraryWorkerModel.builder().librarianId(accountId).build())
                 .build();
 
-        when(loanRepository.findAllByLibraryAccountIdentifier_AccountId(accountId)).thenReturn(List.of(loan));
+        when(loanRepository.findAccountLoanPage(eq(accountId), any(), any(), any(), any(), any(), anyInt())).thenReturn(List.of(loan));
         when(customerServiceClient.getAccountByAccountId(anyString())).thenReturn(customerModel);
         when(libraryServiceClient.getBookByBookId(anyString())).thenReturn(libraryModel);
         when(librarianServiceClient.getLibrarian(anyString())).thenReturn(libraryWorkerModel);
 
-        var result = loanService.getAllLoansByAccountId(accountId);
+        var result = loanService.getLoansByAccountId(accountId, null, null, null, null, 50).getLoans();
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -818,8 +821,142 @@ class LoanServiceUnitTest {
         assertThrows(InvalidInputException.class, () -> loanService.updateLoan(customerModel.getAccountId(), null, loanId));
     }
 
+    @Test
+    void whenMoreLoansThanTheLimitExist_thenNextCursorResumesAfterTheLastOneReturned() {
+        String accountId = customerModel.getAccountId();
+        List<Loan> loans = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            loans.add(Loan.builder()
+                    .id("loan-" + i)
+                    .loanIdentifier(new LoanIdentifier())
+                    .libraryAccountIdentifier(customerModel)
+                    .bookIdentifier(libraryModel)
+                    .librarianIdentifier(libraryWorkerModel)
+                    .loanDate(new Date(3_000L - i * 1_000L))
+                    .build());
+        }
+        when(loanRepository.findAccountLoanPage(eq(accountId), any(), any(), any(), isNull(), isNull(), eq(3))).thenReturn(loans);
+
+        LoanPageResponseModel page = loanService.getLoansByAccountId(accountId, null, null, null, null, 2);
+
+        assertEquals(2, page.getLoans().size());
+        assertNotNull(page.getNextCursor());
+
+        loanService.getLoansByAccountId(accountId, LoanStatusEnum.ACTIVE, null, null, page.getNextCursor(), 2);
+        verify(loanRepository).findAccountLoanPage(accountId, LoanStatusEnum.ACTIVE, null, null, new Date(2_000L), "loan-1", 3);
+    }
+
+    @Test
+    void whenLastPageIsReturned_thenThereIsNoNextCursor() {
+        String accountId = customerModel.getAccountId();
+        Loan loan = Loan.builder()
+                .id("loan-0")
+                .loanIdentifier(new LoanIdentifier())
+                .libraryAccountIdentifier(customerModel)
+                .loanDate(new Date())
+                .build();
+        when(loanRepository.findAccountLoanPage(eq(accountId), any(), any(), any(), any(), any(), anyInt())).thenReturn(List.of(loan));
+
+        LoanPageResponseModel page = loanService.getLoansByAccountId(accountId, null, null, null, null, 2);
+
+        assertEquals(1, page.getLoans().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void whenAccountHasNoLoans_thenOnlyItsExistenceIsChecked() {
+        String accountId = customerModel.getAccountId();
+        when(customerServiceClient.accountExists(accountId)).thenReturn(true);
+
+        var result = loanService.getLoansByAccountId(accountId, null, null, null, null, 50).getLoans();
+
+        assertTrue(result.isEmpty());
+        verify(customerServiceClient).accountExists(accountId);
+        verify(customerServiceClient, never()).getAccountByAccountId(any());
+    }
+
+    @Test
+    void whenAccountHasLoans_thenCustomerServiceIsNotCalled() {
+        String accountId = customerModel.getAccountId();
+        Loan loan = Loan.builder()
+                .id("loan-0")
+                .loanIdentifier(new LoanIdentifier())
+                .libraryAccountIdentifier(customerModel)
+                .loanDate(new Date())
+                .build();
+        when(loanRepository.findAccountLoanPage(eq(accountId), any(), any(), any(), any(), any(), anyInt())).thenReturn(List.of(loan));
+
+        loanService.getLoansByAccountId(accountId, null, null, null, null, 50);
+
+        verify(customerServiceClient, never()).getAccountByAccountId(any());
+        verify(customerServiceClient, never()).accountExists(any());
+    }
+
+    @Test
+    void whenCursorIsMalformed_thenThrowsInvalidInputException() {
+        assertThrows(InvalidInputException.class,
+                () -> loanService.getLoansByAccountId(customerModel.getAccountId(), null, null, null, "not a cursor", 50));
+    }
+
+    @Test
+    void whenFromIsNotBeforeTo_thenThrowsInvalidInputException() {
+        Instant now = Instant.now();
+        assertThrows(InvalidInputException.class,
+                () -> loanService.getLoansByAccountId(customerModel.getAccountId(), null, now, now, null, 50));
+    }
+
+    @Test
+    void whenBatchHasBadRows_thenOnlyThoseRowsFail() {
+        String accountId = customerModel.getAccountId();
+        List<LoanRequestModel> batch = List.of(
+                loan1,
+                LoanRequestModel.builder().accountId("other-account").bookId(libraryModel.getBookId()).librarianId(libraryWorkerModel.getLibrarianId()).build(),
+                LoanRequestModel.builder().accountId(accountId).bookId("missing-book").librarianId(libraryWorkerModel.getLibrarianId()).build(),
+                loan1);
+        when(customerServiceClient.getAccountByAccountId(accountId)).thenReturn(customerModel);
+        when(libraryServiceClient.getBooksByBookIds(any())).thenReturn(Map.of(libraryModel.getBookId(), libraryModel));
+        when(librarianServiceClient.getLibrariansByLibrarianIds(any())).thenReturn(Map.of(libraryWorkerModel.getLibrarianId(), libraryWorkerModel));
+        when(loanRepository.insertUnordered(any())).thenReturn(Map.of());
+
+        LoanBulkResponseModel response = loanService.addLoans(batch, accountId);
+
+        assertEquals(2, response.getCreated());
+        assertEquals(2, response.getFailed());
+        assertEquals(List.of(201, 422, 404, 201), response.getResults().stream().map(LoanBulkItemResponseModel::getStatus).toList());
+        assertEquals("1984", response.getResults().get(3).getLoan().getTitle());
+        verify(libraryServiceClient, times(1)).getBooksByBookIds(any());
+        verify(librarianServiceClient, times(1)).getLibrariansByLibrarianIds(any());
+        verify(loanRepository, times(1)).insertUnordered(argThat(loans -> loans.size() == 2));
+        verify(loanRepository, never()).save(any());
+    }
+
+    @Test
+    void whenBulkInsertRejectsARow_thenTheOthersAreStillCreated() {
+        String accountId = customerModel.getAccountId();
+        when(customerServiceClient.getAccountByAccountId(accountId)).thenReturn(customerModel);
+        when(libraryServiceClient.getBooksByBookIds(any())).thenReturn(Map.of(libraryModel.getBookId(), libraryModel));
+        when(librarianServiceClient.getLibrariansByLibrarianIds(any())).thenReturn(Map.of(libraryWorkerModel.getLibrarianId(), libraryWorkerModel));
+        when(loanRepository.insertUnordered(any())).thenReturn(Map.of(0, "E11000 duplicate key error"));
+
+        LoanBulkResponseModel response = loanService.addLoans(List.of(loan1, loan1), accountId);
 
+        assertEquals(1, response.getCreated());
+        assertEquals(500, response.getResults().get(0).getStatus());
+        assertEquals("E11000 duplicate key error", response.getResults().get(0).getMessage());
+        assertEquals(201, response.getResults().get(1).getStatus());
+    }
 
+    @Test
+    void whenBulkAccountDoesNotExist_thenThrowsNotFoundException() {
+        when(customerServiceClient.getAccountByAccountId("unknown")).thenReturn(null);
+        LoanRequestModel loan = LoanRequestModel.builder().accountId("unknown").bookId("b").librarianId("l").build();
 
+        assertThrows(NotFoundException.class, () -> loanService.addLoans(List.of(loan), "unknown"));
+        verify(loanRepository, never()).insertUnordered(any());
+    }
 
+    @Test
+    void whenBatchIsEmpty_thenThrowsInvalidInputException() {
+        assertThrows(InvalidInputException.class, () -> loanService.addLoans(List.of(), customerModel.getAccountId()));
+    }
 }
@@ -0,0 +1,155 @@
+package com.nathanroos.library.LoanSubdomain.BusinessLayer;
+
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.Loan;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanIdentifier;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanRepository;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanStatistic;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanStatusEnum;
+import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanCountResponseModel;
+import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanStatisticsResponseModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Customer.CustomerModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Library.LibraryModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.LibraryWorker.LibraryWorkerModel;
+import com.nathanroos.library.LoanSubdomain.utils.MongoLease;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The schedule is off in the test profile, so every rebuild and refresh here is triggered by the test itself.
+@ActiveProfiles("test")
+@SpringBootTest
+class LoanStatisticsServiceTest {
+
+    private static final long DAY_MS = 24 * 60 * 60 * 1000L;
+
+    @Autowired
+    private LoanStatisticsService statistics;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setup() {
+        loanRepository.deleteAll();
+        mongoTemplate.dropCollection(LoanStatistic.class);
+        mongoTemplate.dropCollection("leases");
+
+        loanRepository.saveAll(List.of(
+                loan("loan-1", LoanStatusEnum.ACTIVE, "book-1", "lib-1", 14),
+                loan("loan-2", LoanStatusEnum.ACTIVE, "book-1", "lib-1", 14),
+                loan("loan-3", LoanStatusEnum.ACTIVE, "book-1", "lib-1", 14),
+                loan("loan-4", LoanStatusEnum.COMPLETED, "book-2", "lib-1", 7),
+                loan("loan-5", LoanStatusEnum.OVERDUE, "book-1", "lib-2", null)));
+    }
+
+    @Test
+    void whenRebuilt_thenCountsAndAverageDurationMatchTheLoans() {
+        assertTrue(statistics.rebuild());
+
+        LoanStatisticsResponseModel result = statistics.getStatistics(10);
+
+        assertEquals(3, result.getLoansByStatus().get(LoanStatusEnum.ACTIVE));
+        assertEquals(1, result.getLoansByStatus().get(LoanStatusEnum.COMPLETED));
+        assertEquals(1, result.getLoansByStatus().get(LoanStatusEnum.OVERDUE));
+        assertEquals(0, result.getLoansByStatus().get(LoanStatusEnum.PENDING));
+        assertEquals(List.of(new LoanCountResponseModel("book-1", "Title book-1", 4), new LoanCountResponseModel("book-2", "Title book-2", 1)),
+                result.getTopBooks());
+        assertEquals(new LoanCountResponseModel("lib-1", "Alice lib-1", 4), result.getTopLibrarians().get(0));
+        // loan-5 has no due date and is left out of the average
+        assertEquals((3 * 14 + 7) / 4.0, result.getAverageLoanDurationDays(), 1e-9);
+        assertNotNull(result.getRefreshedAt());
+    }
+
+    @Test
+    void whenRefreshed_thenOnlyTheMarkedKeysAreAggregatedAgain() {
+        statistics.rebuild();
+
+        Loan unmarked = loanRepository.save(loan("loan-6", LoanStatusEnum.PENDING, "book-3", "lib-3", 10));
+        statistics.refresh();
+        assertTrue(statistics.getStatistics(10).getTopBooks().stream().noneMatch(book -> book.getId().equals("book-3")));
+
+        statistics.markChanged(unmarked);
+        Loan returned = loanRepository.findByLoanIdentifier_LoanId("loan-4");
+        loanRepository.delete(returned);
+        statistics.markChanged(returned);
+        statistics.refresh();
+
+        LoanStatisticsResponseModel result = statistics.getStatistics(10);
+        assertEquals(1, result.getLoansByStatus().get(LoanStatusEnum.PENDING));
+        assertEquals(0, result.getLoansByStatus().get(LoanStatusEnum.COMPLETED));
+        assertEquals(List.of("book-1", "book-3"), result.getTopBooks().stream().map(LoanCountResponseModel::getId).toList());
+    }
+
+    @Test
+    void whenABooksLoansChangeStatus_thenRefreshMovesTheirCountsBetweenStatuses() {
+        statistics.rebuild();
+
+        mongoTemplate.updateMulti(Query.query(Criteria.where("bookIdentifier.bookId").is("book-1").and("loanStatus").is("ACTIVE")),
+                Update.update("loanStatus", LoanStatusEnum.OVERDUE.name()), Loan.class);
+        statistics.markBooksChanged(Set.of("book-1"));
+        statistics.refresh();
+
+        LoanStatisticsResponseModel result = statistics.getStatistics(10);
+        assertEquals(0, result.getLoansByStatus().get(LoanStatusEnum.ACTIVE));
+        assertEquals(4, result.getLoansByStatus().get(LoanStatusEnum.OVERDUE));
+        assertEquals(1, result.getLoansByStatus().get(LoanStatusEnum.COMPLETED));
+        assertEquals((3 * 14 + 7) / 4.0, result.getAverageLoanDurationDays(), 1e-9);
+    }
+
+    @Test
+    void whenAnotherInstanceHoldsTheLease_thenRefreshKeepsTheKeysForLater() {
+        statistics.rebuild();
+        Loan added = loanRepository.save(loan("loan-6", LoanStatusEnum.PENDING, "book-3", "lib-3", 10));
+        statistics.markChanged(added);
+
+        MongoLease otherInstance = new MongoLease(mongoTemplate);
+        assertTrue(otherInstance.tryAcquire(LoanStatisticsService.LEASE_NAME, Duration.ofMinutes(5)));
+        assertFalse(statistics.refresh());
+        assertEquals(0, statistics.getStatistics(10).getLoansByStatus().get(LoanStatusEnum.PENDING));
+
+        otherInstance.release(LoanStatisticsService.LEASE_NAME);
+        assertTrue(statistics.refresh());
+        assertEquals(1, statistics.getStatistics(10).getLoansByStatus().get(LoanStatusEnum.PENDING));
+    }
+
+    @Test
+    void whenAnotherInstanceHoldsTheLease_thenRebuildIsSkipped() {
+        MongoLease otherInstance = new MongoLease(mongoTemplate);
+        assertTrue(otherInstance.tryAcquire(LoanStatisticsService.LEASE_NAME, Duration.ofMinutes(5)));
+
+        assertFalse(statistics.rebuild());
+        assertTrue(statistics.getStatistics(10).getTopBooks().isEmpty());
+
+        otherInstance.release(LoanStatisticsService.LEASE_NAME);
+        assertTrue(statistics.rebuild());
+    }
+
+    private static Loan loan(String loanId, LoanStatusEnum status, String bookId, String librarianId, Integer durationDays) {
+        Date loanDate = new Date();
+        return Loan.builder()
+                .loanIdentifier(new LoanIdentifier(loanId))
+                .libraryAccountIdentifier(CustomerModel.builder().accountId("acc-001").build())
+                .bookIdentifier(LibraryModel.builder().bookId(bookId).title("Title " + bookId).build())
+                .librarianIdentifier(LibraryWorkerModel.builder().librarianId(librarianId).firstname("Alice").lastname(librarianId).build())
+                .loanStatus(status)
+                .loanDate(loanDate)
+                .dueDate(durationDays == null ? null : new Date(loanDate.getTime() + durationDays * DAY_MS))
+                .build();
+    }
+}
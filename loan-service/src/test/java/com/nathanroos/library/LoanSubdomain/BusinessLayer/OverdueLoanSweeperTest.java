@@ -0,0 +1,127 @@
+package com.nathanroos.library.LoanSubdomain.BusinessLayer;
+
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.Loan;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanIdentifier;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanRepository;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanStatusEnum;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Customer.CustomerModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Library.LibraryModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.LibraryWorker.LibraryWorkerModel;
+import com.nathanroos.library.LoanSubdomain.utils.MongoLease;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The schedule is pushed out of reach so every sweep here is triggered by the test itself.
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "app.overdue-sweep.enabled=true",
+        "app.overdue-sweep.initial-delay=1h",
+        "app.overdue-sweep.chunk-size=2"
+})
+class OverdueLoanSweeperTest {
+
+    private static final long DAY_MS = 24 * 60 * 60 * 1000L;
+
+    @Autowired
+    private OverdueLoanSweeper sweeper;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Date now = new Date();
+
+    @BeforeEach
+    void setup() {
+        loanRepository.deleteAll();
+        mongoTemplate.dropCollection("leases");
+    }
+
+    @Test
+    void whenActiveLoansArePastDue_thenAllAreMarkedOverdueAcrossChunks() {
+        List<Loan> due = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            due.add(loan("due-" + i, LoanStatusEnum.ACTIVE, new Date(now.getTime() - i * DAY_MS)));
+        }
+        loanRepository.saveAll(due);
+        loanRepository.save(loan("not-due", LoanStatusEnum.ACTIVE, new Date(now.getTime() + DAY_MS)));
+        loanRepository.save(loan("returned", LoanStatusEnum.COMPLETED, new Date(now.getTime() - DAY_MS)));
+
+        long swept = sweeper.sweep(now);
+
+        assertEquals(5, swept);
+        Map<String, LoanStatusEnum> statuses = statuses();
+        due.forEach(loan -> assertEquals(LoanStatusEnum.OVERDUE, statuses.get(loan.getLoanIdentifier().getLoanId())));
+        assertEquals(LoanStatusEnum.ACTIVE, statuses.get("not-due"));
+        assertEquals(LoanStatusEnum.COMPLETED, statuses.get("returned"));
+    }
+
+    @Test
+    void whenSweptTwice_thenSecondRunFindsNothing() {
+        loanRepository.save(loan("due", LoanStatusEnum.ACTIVE, new Date(now.getTime() - DAY_MS)));
+
+        assertEquals(1, sweeper.sweep(now));
+        assertEquals(0, sweeper.sweep(now));
+    }
+
+    @Test
+    void whenAnotherInstanceHoldsTheLease_thenNothingIsSwept() {
+        loanRepository.save(loan("due", LoanStatusEnum.ACTIVE, new Date(now.getTime() - DAY_MS)));
+        MongoLease otherInstance = new MongoLease(mongoTemplate);
+        assertTrue(otherInstance.tryAcquire(OverdueLoanSweeper.LEASE_NAME, Duration.ofMinutes(5)));
+
+        assertEquals(0, sweeper.sweep(now));
+        assertEquals(LoanStatusEnum.ACTIVE, statuses().get("due"));
+
+        otherInstance.release(OverdueLoanSweeper.LEASE_NAME);
+        assertEquals(1, sweeper.sweep(now));
+    }
+
+    @Test
+    void whenSweepRuns_thenRowsAndDurationAreRecorded() {
+        loanRepository.save(loan("due", LoanStatusEnum.ACTIVE, new Date(now.getTime() - DAY_MS)));
+        double sweptBefore = meterRegistry.get("loan.overdue-sweep.swept").summary().totalAmount();
+        long runsBefore = meterRegistry.get("loan.overdue-sweep.duration").timer().count();
+
+        sweeper.sweep(now);
+
+        assertEquals(sweptBefore + 1, meterRegistry.get("loan.overdue-sweep.swept").summary().totalAmount());
+        assertEquals(runsBefore + 1, meterRegistry.get("loan.overdue-sweep.duration").timer().count());
+    }
+
+    private Map<String, LoanStatusEnum> statuses() {
+        return loanRepository.findAll().stream()
+                .collect(Collectors.toMap(loan -> loan.getLoanIdentifier().getLoanId(), Loan::getLoanStatus));
+    }
+
+    private static Loan loan(String loanId, LoanStatusEnum status, Date dueDate) {
+        return Loan.builder()
+                .loanIdentifier(new LoanIdentifier(loanId))
+                .libraryAccountIdentifier(CustomerModel.builder().accountId("acc-001").build())
+                .bookIdentifier(LibraryModel.builder().bookId("book-001").build())
+                .librarianIdentifier(LibraryWorkerModel.builder().librarianId("lib-001").build())
+                .loanStatus(status)
+                .loanDate(new Date(dueDate.getTime() - 14 * DAY_MS))
+                .dueDate(dueDate)
+                .build();
+    }
+}
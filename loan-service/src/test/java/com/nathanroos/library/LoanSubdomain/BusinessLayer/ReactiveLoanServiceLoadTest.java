@@ -0,0 +1,293 @@
+package com.nathanroos.library.LoanSubdomain.BusinessLayer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.Loan;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanRepository;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.LoanStatusEnum;
+import com.nathanroos.library.LoanSubdomain.DataAccessLayer.ReactiveLoanRepository;
+import com.nathanroos.library.LoanSubdomain.MapingLayer.LoanRequestMapperImpl;
+import com.nathanroos.library.LoanSubdomain.MapingLayer.LoanResponseMapperImpl;
+import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanRequestModel;
+import com.nathanroos.library.LoanSubdomain.PresentationLayer.LoanResponseModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Customer.CustomerServiceClient;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Customer.ReactiveCustomerServiceClient;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Library.LibraryServiceClient;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Library.ReactiveLibraryServiceClient;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.LibraryWorker.LibrarianServiceClient;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.LibraryWorker.ReactiveLibrarianServiceClient;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.ReactiveReferenceData;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.ReferenceCacheProperties;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.ReferenceDataCache;
+import com.nathanroos.library.LoanSubdomain.utils.Exceptions.NotFoundException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+// Drives the same addLoan load through both persistence modes on one JVM with the same request threads standing in
+// for Tomcat's pool. The downstream services answer after REMOTE_LATENCY_MS and Mongo after SAVE_LATENCY_MS.
+// Throughput is only logged: on a CPU-starved runner both modes end up CPU-bound, so the assertions check what
+// the reactive mode changes structurally: calls in flight and time spent holding request threads.
+@ExtendWith(MockitoExtension.class)
+class ReactiveLoanServiceLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveLoanServiceLoadTest.class);
+
+    private static final long REMOTE_LATENCY_MS = 100;
+    private static final long SAVE_LATENCY_MS = 5;
+
+    private static final int REQUEST_THREADS = 8;
+    private static final int REQUESTS = 200;
+
+    private static final String MISSING_BOOK_ID = "missing-book";
+
+    static {
+        // without it the JDK server's Nagle delay, not the client, dominates every request
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private ReactiveLoanRepository reactiveLoanRepository;
+
+    @Mock
+    private LoanEnricher loanEnricher;
+
+    @Mock
+    private LoanStatisticsService loanStatistics;
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private ConnectionProvider connectionProvider;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(serverExecutor);
+        server.createContext("/api/v1/accounts/", exchange -> respond(exchange, id -> "{\"accountId\":\"" + id + "\",\"firstname\":\"John\"}"));
+        server.createContext("/api/v1/books/", exchange -> respond(exchange, id -> MISSING_BOOK_ID.equals(id) ? null : "{\"bookId\":\"" + id + "\",\"title\":\"1984\"}"));
+        server.createContext("/api/v1/workers/", exchange -> respond(exchange, id -> "{\"librarianId\":\"" + id + "\",\"firstname\":\"Alice\"}"));
+        server.start();
+
+        lenient().when(loanRepository.save(any(Loan.class))).thenAnswer(invocation -> {
+            Thread.sleep(SAVE_LATENCY_MS);
+            return invocation.getArgument(0);
+        });
+        lenient().when(reactiveLoanRepository.save(any(Loan.class))).thenAnswer(invocation ->
+                Mono.delay(Duration.ofMillis(SAVE_LATENCY_MS)).thenReturn(invocation.getArgument(0)));
+    }
+
+    @AfterEach
+    void stopServer() {
+        if (connectionProvider != null) {
+            connectionProvider.dispose();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void whenLoadIsEqual_thenReactiveModeIsNotBoundByRequestThreads() throws Exception {
+        LoanServiceImpl blocking = blockingService();
+        ReactiveLoanServiceImpl reactive = reactiveService();
+        blocking.addLoan(request(0, "book-0"), "account-0");  // warm up both transports
+        reactive.addLoan(request(0, "book-0"), "account-0").block();
+
+        peakInFlight.set(0);
+        AtomicLong blockingBusyNanos = new AtomicLong();
+        long blockingMs = drive(i -> {
+            long start = System.nanoTime();
+            CompletableFuture<LoanResponseModel> result = CompletableFuture.completedFuture(
+                    blocking.addLoan(request(i, "book-" + i), "account-" + i));
+            blockingBusyNanos.addAndGet(System.nanoTime() - start);
+            return result;
+        });
+        int blockingPeak = peakInFlight.getAndSet(0);
+
+        AtomicLong reactiveBusyNanos = new AtomicLong();
+        long reactiveMs = drive(i -> {
+            long start = System.nanoTime();
+            CompletableFuture<LoanResponseModel> result = reactive.addLoan(request(i, "book-" + i), "account-" + i).toFuture();
+            reactiveBusyNanos.addAndGet(System.nanoTime() - start);
+            return result;
+        });
+        int reactivePeak = peakInFlight.get();
+
+        log.info("blocking: {} loans in {} ms ({} loans/s), {} downstream calls in flight at most, request threads busy {} ms",
+                REQUESTS, blockingMs, REQUESTS * 1000L / Math.max(blockingMs, 1), blockingPeak,
+                TimeUnit.NANOSECONDS.toMillis(blockingBusyNanos.get()));
+        log.info("reactive: {} loans in {} ms ({} loans/s), {} downstream calls in flight at most, request threads busy {} ms",
+                REQUESTS, reactiveMs, REQUESTS * 1000L / Math.max(reactiveMs, 1), reactivePeak,
+                TimeUnit.NANOSECONDS.toMillis(reactiveBusyNanos.get()));
+
+        // a blocked request thread holds at most its own three lookups
+        assertTrue(blockingPeak <= 3 * REQUEST_THREADS, "blocking mode had " + blockingPeak + " calls in flight");
+        assertTrue(reactivePeak > 3 * REQUEST_THREADS, "reactive mode had " + reactivePeak + " calls in flight");
+        assertTrue(reactiveBusyNanos.get() < blockingBusyNanos.get() / 2,
+                "reactive request threads were busy " + reactiveBusyNanos.get() + " ns, blocking " + blockingBusyNanos.get() + " ns");
+        verify(loanStatistics, atLeast(2 * REQUESTS)).markChanged(any(Loan.class));
+    }
+
+    @Test
+    void whenBookHasNoBody_thenBothModesAnswerWithTheSameNotFound() {
+        NotFoundException blocking = assertThrows(NotFoundException.class,
+                () -> blockingService().addLoan(request(1, MISSING_BOOK_ID), "account-1"));
+        NotFoundException reactive = assertThrows(NotFoundException.class,
+                () -> reactiveService().addLoan(request(1, MISSING_BOOK_ID), "account-1").block());
+
+        assertEquals("Book not found for bookId: " + MISSING_BOOK_ID, reactive.getMessage());
+        assertEquals(blocking.getMessage(), reactive.getMessage());
+        verify(reactiveLoanRepository, never()).save(any());
+    }
+
+    private long drive(Function<Integer, CompletableFuture<LoanResponseModel>> addLoan) throws Exception {
+        ExecutorService requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS);
+        try {
+            long start = System.nanoTime();
+            List<Future<CompletableFuture<LoanResponseModel>>> submitted = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                int request = i;
+                submitted.add(requestThreads.submit(() -> addLoan.apply(request)));
+            }
+            for (Future<CompletableFuture<LoanResponseModel>> future : submitted) {
+                assertNotNull(future.get(60, TimeUnit.SECONDS).get(60, TimeUnit.SECONDS));
+            }
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } finally {
+            requestThreads.shutdownNow();
+        }
+    }
+
+    private LoanServiceImpl blockingService() {
+        RestTemplate restTemplate = new RestTemplate();
+        ObjectMapper objectMapper = new ObjectMapper();
+        String port = String.valueOf(server.getAddress().getPort());
+        LibraryServiceClient libraryServiceClient = new LibraryServiceClient(restTemplate, objectMapper, "localhost", port);
+        ReferenceDataCache referenceData = new ReferenceDataCache(
+                new CustomerServiceClient(restTemplate, objectMapper, "localhost", port),
+                libraryServiceClient,
+                new LibrarianServiceClient(restTemplate, objectMapper, "localhost", port),
+                cacheDisabled(), new SimpleMeterRegistry());
+        return new LoanServiceImpl(loanRepository, new LoanRequestMapperImpl(), new LoanResponseMapperImpl(),
+                referenceData, libraryServiceClient, loanEnricher, loanStatistics, true, true);
+    }
+
+    private ReactiveLoanServiceImpl reactiveService() {
+        if (connectionProvider == null) {
+            // as many connections as the blocking transport may open, so only the threading model differs
+            connectionProvider = ConnectionProvider.builder("load-test").maxConnections(3 * REQUESTS).build();
+        }
+        WebClient webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper();
+        String port = String.valueOf(server.getAddress().getPort());
+        Duration timeout = Duration.ofSeconds(30);
+        ReferenceDataCache referenceData = new ReferenceDataCache(
+                new CustomerServiceClient(new RestTemplate(), objectMapper, "localhost", port),
+                new LibraryServiceClient(new RestTemplate(), objectMapper, "localhost", port),
+                new LibrarianServiceClient(new RestTemplate(), objectMapper, "localhost", port),
+                cacheDisabled(), new SimpleMeterRegistry());
+        ReactiveLibraryServiceClient libraryServiceClient = new ReactiveLibraryServiceClient(webClient, objectMapper, "localhost", port, timeout);
+        ReactiveReferenceData reactiveReferenceData = new ReactiveReferenceData(referenceData,
+                new ReactiveCustomerServiceClient(webClient, objectMapper, "localhost", port, timeout),
+                libraryServiceClient,
+                new ReactiveLibrarianServiceClient(webClient, objectMapper, "localhost", port, timeout));
+        return new ReactiveLoanServiceImpl(reactiveLoanRepository, new LoanRequestMapperImpl(), new LoanResponseMapperImpl(),
+                reactiveReferenceData, libraryServiceClient, loanStatistics, true);
+    }
+
+    private static ReferenceCacheProperties cacheDisabled() {
+        // caching stays off so every request pays the remote latency
+        ReferenceCacheProperties cacheProperties = new ReferenceCacheProperties();
+        cacheProperties.setEnabled(false);
+        return cacheProperties;
+    }
+
+    private static LoanRequestModel request(int i, String bookId) {
+        return LoanRequestModel.builder()
+                .accountId("account-" + i)
+                .bookId(bookId)
+                .librarianId("librarian-" + i)
+                .loanStatus(LoanStatusEnum.ACTIVE)
+                .loanDate(new Date())
+                .dueDate(new Date())
+                .build();
+    }
+
+    private void respond(HttpExchange exchange, Function<String, String> body) throws IOException {
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            sleep(REMOTE_LATENCY_MS);
+            String path = exchange.getRequestURI().getPath();
+            String json = body.apply(path.substring(path.lastIndexOf('/') + 1));
+            if (json == null) {
+                exchange.sendResponseHeaders(200, -1);
+                exchange.close();
+                return;
+            }
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.nathanroos.library.LoanSubdomain.DataAccessLayer;
+
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Customer.CustomerModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Library.LibraryModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.LibraryWorker.LibraryWorkerModel;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Every finder on LoanRepository must be listed here with the filter it issues, and every filter must be served by an index.
+@ActiveProfiles("test")
+@SpringBootTest
+class LoanRepositoryQueryPlanTest {
+
+    private static final String ACCOUNT_ID = "acc-001";
+    private static final String LOAN_ID = "loan-001";
+
+    private static final Map<String, Document> REPOSITORY_QUERIES = Map.of(
+            "findByLoanIdentifier_LoanId", new Document("loanIdentifier.loanId", LOAN_ID),
+            "findAllByLoanIdentifier_LoanId", new Document("loanIdentifier.loanId", LOAN_ID),
+            "findAllByLibraryAccountIdentifier_AccountId", new Document("libraryAccountIdentifier.accountId", ACCOUNT_ID),
+            "findByLibraryAccountIdentifier_AccountId", new Document("libraryAccountIdentifier.accountId", ACCOUNT_ID),
+            "findLoanByLibraryAccountIdentifier_AccountIdAndLoanIdentifier_LoanId",
+            new Document("libraryAccountIdentifier.accountId", ACCOUNT_ID).append("loanIdentifier.loanId", LOAN_ID)
+    );
+
+    @Autowired
+    private LoanRepository repository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setup() {
+        repository.deleteAll();
+
+        List<Loan> loans = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            loans.add(Loan.builder()
+                    .loanIdentifier(i == 0 ? new LoanIdentifier(LOAN_ID) : new LoanIdentifier())
+                    .libraryAccountIdentifier(CustomerModel.builder().accountId(i % 10 == 0 ? ACCOUNT_ID : "acc-" + i).build())
+                    .bookIdentifier(LibraryModel.builder().bookId("book-" + (i % 50)).build())
+                    .librarianIdentifier(LibraryWorkerModel.builder().librarianId("lib-001").build())
+                    .loanStatus(i % 3 == 0 ? LoanStatusEnum.COMPLETED : LoanStatusEnum.ACTIVE)
+                    .loanDate(new Date())
+                    .dueDate(new Date(System.currentTimeMillis() + i * 60_000L))
+                    .build());
+        }
+        repository.saveAll(loans);
+    }
+
+    @Test
+    void whenRepositoryDeclaresAFinder_thenItsQueryIsCoveredHere() {
+        Set<String> finders = Arrays.stream(LoanRepository.class.getDeclaredMethods())
+                .map(Method::getName)
+                .collect(Collectors.toSet());
+
+        assertEquals(finders, REPOSITORY_QUERIES.keySet());
+    }
+
+    @Test
+    void whenRepositoryQueriesAreExplained_thenNoneScansTheCollection() {
+        REPOSITORY_QUERIES.forEach((finder, filter) -> assertIndexed(finder, filter));
+    }
+
+    @Test
+    void whenLoansAreLookedUpByBook_thenTheBookIndexIsUsed() {
+        assertIndexed("bookIdentifier.bookId", new Document("bookIdentifier.bookId", "book-7"));
+    }
+
+    @Test
+    void whenStatisticsAreRefreshedForLibrarians_thenTheLibrarianIndexIsUsed() {
+        assertIndexed("librarianIdentifier.librarianId", new Document("librarianIdentifier.librarianId",
+                new Document("$in", List.of("lib-001", "lib-002"))));
+    }
+
+    @Test
+    void whenOverdueLoansAreSearched_thenTheStatusDueIndexIsUsed() {
+        assertIndexed("loanStatus + dueDate", new Document("loanStatus", LoanStatusEnum.ACTIVE.name())
+                .append("dueDate", new Document("$lt", new Date())));
+    }
+
+    @Test
+    void whenAccountLoansArePaged_thenTheIndexAlsoProvidesTheOrder() {
+        String winningPlan = assertIndexed("findAccountLoanPage", new Document("libraryAccountIdentifier.accountId", ACCOUNT_ID)
+                .append("loanDate", new Document("$lt", new Date())), new Document("loanDate", -1).append("_id", -1));
+
+        assertFalse(winningPlan.contains("\"SORT\""), "findAccountLoanPage sorts in memory: " + winningPlan);
+    }
+
+    @Test
+    void whenAccountLoansArePaged_thenTheProjectionKeepsResponseFieldsAndTheCursor() {
+        List<Loan> page = repository.findAccountLoanPage(ACCOUNT_ID, null, null, null, null, null, 10);
+
+        assertEquals(10, page.size());
+        assertNotNull(page.get(0).getId());
+        assertNotNull(page.get(0).getLoanDate());
+        assertNotNull(page.get(0).getLibraryAccountIdentifier().getAccountId());
+    }
+
+    @Test
+    void whenAccountLoansArePagedWithCursor_thenEveryLoanIsSeenOnce() {
+        Set<String> seen = new HashSet<>();
+        Loan last = null;
+        List<Loan> page;
+        do {
+            page = repository.findAccountLoanPage(ACCOUNT_ID, null, null, null,
+                    last == null ? null : last.getLoanDate(), last == null ? null : last.getId(), 7);
+            page.forEach(loan -> assertTrue(seen.add(loan.getId()), "seen twice: " + loan.getId()));
+            last = page.isEmpty() ? null : page.get(page.size() - 1);
+        } while (page.size() == 7);
+
+        assertEquals(50, seen.size());
+    }
+
+    private void assertIndexed(String query, Document filter) {
+        assertIndexed(query, filter, new Document());
+    }
+
+    private String assertIndexed(String query, Document filter, Document sort) {
+        Document explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Loan.class)).find(filter).sort(sort).explain();
+        String winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class).toJson();
+
+        assertFalse(winningPlan.contains("COLLSCAN"), query + " scans the collection: " + winningPlan);
+        assertTrue(winningPlan.contains("IXSCAN"), query + " uses no index: " + winningPlan);
+        return winningPlan;
+    }
+}
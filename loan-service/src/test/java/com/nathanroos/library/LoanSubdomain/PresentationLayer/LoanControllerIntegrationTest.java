@@ -18,16 +18,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Links;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
 
@@ -179,6 +186,66 @@ public class LoanControllerIntegrationTest {
         assertTrue(response.getBody().length >= 1);
     }
 
+    @Test
+    public void whenAccountHasMoreLoansThanTheLimit_thenPagesAreLinkedNewestFirst() {
+        for (int i = 1; i <= 5; i++) {
+            loanRepository.save(Loan.builder()
+                    .loanIdentifier(new LoanIdentifier())
+                    .libraryAccountIdentifier(CustomerModel.builder().accountId(EXISTING_ACCOUNT_ID).build())
+                    .bookIdentifier(LibraryModel.builder().bookId(EXISTING_BOOK_ID).build())
+                    .librarianIdentifier(LibraryWorkerModel.builder().librarianId(EXISTING_LIBRARIAN_ID).build())
+                    .loanStatus(i % 2 == 0 ? LoanStatusEnum.COMPLETED : LoanStatusEnum.ACTIVE)
+                    .loanDate(new Date(System.currentTimeMillis() - i * 86_400_000L))
+                    .dueDate(new Date())
+                    .build());
+        }
+
+        List<LoanResponseModel> loans = new ArrayList<>();
+        String uri = "http://localhost:" + port + BASE_URI_LOANS.replace("{accountId}", EXISTING_ACCOUNT_ID) + "?limit=4";
+        int pages = 0;
+        while (uri != null) {
+            ResponseEntity<LoanResponseModel[]> response = testRestTemplate.getForEntity(URI.create(uri), LoanResponseModel[].class);
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            loans.addAll(List.of(response.getBody()));
+            pages++;
+
+            String linkHeader = response.getHeaders().getFirst(HttpHeaders.LINK);
+            uri = linkHeader == null ? null : Links.parse(linkHeader).getRequiredLink(IanaLinkRelations.NEXT).getHref();
+        }
+
+        assertEquals(2, pages);
+        assertEquals(6, loans.size());
+        assertEquals(6, loans.stream().map(LoanResponseModel::getLoanId).distinct().count());
+        for (int i = 1; i < loans.size(); i++) {
+            assertFalse(loans.get(i).getLoanDate().after(loans.get(i - 1).getLoanDate()));
+        }
+    }
+
+    @Test
+    public void whenStatusIsGiven_thenOnlyLoansWithThatStatusAreListed() {
+        loanRepository.save(Loan.builder()
+                .loanIdentifier(new LoanIdentifier())
+                .libraryAccountIdentifier(CustomerModel.builder().accountId(EXISTING_ACCOUNT_ID).build())
+                .loanStatus(LoanStatusEnum.COMPLETED)
+                .loanDate(new Date())
+                .build());
+
+        String url = BASE_URI_LOANS.replace("{accountId}", EXISTING_ACCOUNT_ID) + "?status=COMPLETED";
+        ResponseEntity<LoanResponseModel[]> response = testRestTemplate.getForEntity(url, LoanResponseModel[].class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().length);
+        assertEquals(LoanStatusEnum.COMPLETED, response.getBody()[0].getLoanStatus());
+    }
+
+    @Test
+    public void whenLimitIsOutOfRange_thenReturnUnprocessableEntity() {
+        String url = BASE_URI_LOANS.replace("{accountId}", EXISTING_ACCOUNT_ID) + "?limit=501";
+        ResponseEntity<String> response = testRestTemplate.getForEntity(url, String.class);
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+    }
+
 //    @Test
 //    public void whenGetLoanWithMismatchedAccountId_thenReturnNotFound() {
 //        String mismatchedAccountId = "invalid-account";
@@ -189,6 +256,32 @@ public class LoanControllerIntegrationTest {
 //        assertTrue(response.getBody().contains("not found") || response.getBody().contains("Customer not found"));
 //    }
 
+    @Test
+    public void whenBulkBatchHasAnUnknownBook_thenTheOtherRowsAreInserted() {
+        LibraryModel book = LibraryModel.builder().bookId(EXISTING_BOOK_ID).build();
+        LibraryWorkerModel librarian = LibraryWorkerModel.builder().librarianId(EXISTING_LIBRARIAN_ID).build();
+        when(libraryServiceClient.getBooksByBookIds(any())).thenReturn(Map.of(EXISTING_BOOK_ID, book));
+        when(librarianServiceClient.getLibrariansByLibrarianIds(any())).thenReturn(Map.of(EXISTING_LIBRARIAN_ID, librarian));
+
+        List<LoanRequestModel> batch = new ArrayList<>();
+        for (String bookId : List.of(EXISTING_BOOK_ID, "unknown-book", EXISTING_BOOK_ID)) {
+            batch.add(LoanRequestModel.builder()
+                    .loanStatus(LoanStatusEnum.ACTIVE)
+                    .loanDate(new Date())
+                    .dueDate(new Date())
+                    .accountId(EXISTING_ACCOUNT_ID)
+                    .bookId(bookId)
+                    .librarianId(EXISTING_LIBRARIAN_ID)
+                    .build());
+        }
+
+        String url = BASE_URI_LOANS.replace("{accountId}", EXISTING_ACCOUNT_ID) + "/bulk";
+        ResponseEntity<LoanBulkResponseModel> response = testRestTemplate.postForEntity(url, batch, LoanBulkResponseModel.class);
 
-
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(2, response.getBody().getCreated());
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getBody().getResults().get(1).getStatus());
+        assertEquals(3, loanRepository.findAllByLibraryAccountIdentifier_AccountId(EXISTING_ACCOUNT_ID).size());
+    }
 }
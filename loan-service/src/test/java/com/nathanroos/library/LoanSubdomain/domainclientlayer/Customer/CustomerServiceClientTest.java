@@ -12,6 +12,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -19,6 +20,7 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -84,6 +86,38 @@ class CustomerServiceClientTest {
         assertThrows(InvalidInputException.class, () -> customerServiceClient.getAccountByAccountId(accountId));
     }
 
+    @Test
+    void testAccountExists_Success() {
+        when(restTemplate.headForHeaders(anyString())).thenReturn(new HttpHeaders());
+
+        assertTrue(customerServiceClient.accountExists("acc-123"));
+        verify(restTemplate).headForHeaders("http://localhost:8080/api/v1/accounts/acc-123");
+    }
+
+    @Test
+    void testAccountExists_NotFound() {
+        HttpClientErrorException ex = HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
+        when(restTemplate.headForHeaders(anyString())).thenThrow(ex);
+
+        assertFalse(customerServiceClient.accountExists("acc-404"));
+    }
+
+    @Test
+    void testAccountExists_InvalidInput() throws Exception {
+        HttpClientErrorException ex = HttpClientErrorException.create(HttpStatus.UNPROCESSABLE_ENTITY, "Invalid Input", null, null, null);
+        when(restTemplate.headForHeaders(anyString())).thenThrow(ex);
+        when(objectMapper.readValue(anyString(), eq(HttpErrorInfo.class)))
+                .thenReturn(new HttpErrorInfo(HttpStatus.UNPROCESSABLE_ENTITY, "Invalid input", "/accounts/invalid!"));
+
+        assertThrows(InvalidInputException.class, () -> customerServiceClient.accountExists("invalid!"));
+    }
+
+    @Test
+    void testAccountExists_EmptyId_ShouldThrowInvalidInput() {
+        assertThrows(InvalidInputException.class, () -> customerServiceClient.accountExists(" "));
+        verifyNoInteractions(restTemplate);
+    }
+
     @Test
     void testGetAccountByAccountId_OtherError() {
         String accountId = "error";
@@ -95,6 +129,28 @@ class CustomerServiceClientTest {
     }
 
 
+    @Test
+    void testGetAccountsByAccountIds_SendsDistinctIdsInOneRequest() {
+        when(restTemplate.postForObject(anyString(), eq(List.of("acc-1", "acc-2")), eq(CustomerBatchModel.class)))
+                .thenReturn(new CustomerBatchModel(List.of(
+                        CustomerModel.builder().accountId("acc-1").firstname("John").lastname("Doe").build(),
+                        CustomerModel.builder().accountId("acc-2").firstname("Jane").lastname("Doe").build()), List.of()));
+
+        Map<String, CustomerModel> result = customerServiceClient.getAccountsByAccountIds(List.of("acc-1", "acc-2", "acc-1"));
+
+        assertEquals(List.of("acc-1", "acc-2"), List.copyOf(result.keySet()));
+        assertEquals("acc-2", result.get("acc-2").getAccountId());
+        verify(restTemplate, times(1)).postForObject(anyString(), any(), eq(CustomerBatchModel.class));
+    }
+
+    @Test
+    void testGetAccountsByAccountIds_MissingIdsAreLeftOut() {
+        when(restTemplate.postForObject(anyString(), any(), eq(CustomerBatchModel.class)))
+                .thenReturn(new CustomerBatchModel(List.of(), List.of("acc-404")));
+
+        assertTrue(customerServiceClient.getAccountsByAccountIds(List.of("acc-404")).isEmpty());
+    }
+
     @Test
     void testAddAccount_Success() {
         CustomerModel request = CustomerModel.builder().accountId("acc-123").firstname("John").lastname("Doe").build();
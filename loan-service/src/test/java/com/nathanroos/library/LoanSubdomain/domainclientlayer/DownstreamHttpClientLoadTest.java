@@ -0,0 +1,176 @@
+package com.nathanroos.library.LoanSubdomain.domainclientlayer;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Drives the same RestTemplate load through the pooled transport and the JDK default, counting TCP connections on the server.
+class DownstreamHttpClientLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(DownstreamHttpClientLoadTest.class);
+
+    private static final int CLIENT_THREADS = 32;
+    private static final int REQUESTS_PER_THREAD = 100;
+    // fewer than the client threads, so requests queue for a pooled connection rather than open their own
+    private static final int MAX_CONNECTIONS = 8;
+
+    static {
+        // without it the JDK server's Nagle delay, not the client, dominates every request
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    private CloseableHttpClient httpClient;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 128);
+        serverExecutor = Executors.newFixedThreadPool(64);
+        server.setExecutor(serverExecutor);
+        server.createContext("/api/v1/books/", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            if (exchange.getRequestURI().getPath().endsWith("/slow")) {
+                sleep(1_000);
+            } else {
+                sleep(1);
+            }
+            byte[] body = "{\"bookId\":\"1\",\"title\":\"1984\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        if (connectionManager != null) {
+            connectionManager.close();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void whenPooled_thenConnectionsAreReusedUpToRouteLimit() throws Exception {
+        String url = baseUrl() + "/api/v1/books/1";
+
+        long unpooledMs = drive(new RestTemplate(), url);
+        int unpooledConnections = clientPorts.size();
+
+        clientPorts.clear();
+        long pooledMs = drive(pooledRestTemplate(Duration.ofSeconds(5)), url);
+        int pooledConnections = clientPorts.size();
+
+        int requests = CLIENT_THREADS * REQUESTS_PER_THREAD;
+        log.info("unpooled: {} requests in {} ms ({} req/s) over {} connections",
+                requests, unpooledMs, requests * 1000L / Math.max(unpooledMs, 1), unpooledConnections);
+        log.info("pooled:   {} requests in {} ms ({} req/s) over {} connections",
+                requests, pooledMs, requests * 1000L / Math.max(pooledMs, 1), pooledConnections);
+
+        assertTrue(pooledConnections <= MAX_CONNECTIONS,
+                "pooled transport opened " + pooledConnections + " connections");
+        // the JDK keeps only a handful of idle connections per host, so most of its requests open a new one
+        assertTrue(pooledConnections * 4 <= unpooledConnections,
+                "pooled transport opened " + pooledConnections + " connections, the JDK default " + unpooledConnections);
+        assertEquals(0, connectionManager.getTotalStats().getLeased());
+    }
+
+    @Test
+    void whenDownstreamIsSlow_thenResponseTimeoutFailsFast() {
+        RestTemplate restTemplate = pooledRestTemplate(Duration.ofMillis(200));
+
+        long start = System.nanoTime();
+        assertThrows(ResourceAccessException.class,
+                () -> restTemplate.getForObject(baseUrl() + "/api/v1/books/slow", String.class));
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 900);
+    }
+
+    private RestTemplate pooledRestTemplate(Duration responseTimeout) {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.library-service.host", "localhost")
+                .withProperty("app.library-service.port", String.valueOf(server.getAddress().getPort()))
+                .withProperty("app.library-service.response-timeout", responseTimeout.toMillis() + "ms")
+                .withProperty("app.library-service.max-connections", String.valueOf(MAX_CONNECTIONS));
+
+        DownstreamHttpClientProperties properties = new DownstreamHttpClientProperties();
+        properties.setDownstreams(List.of("library-service"));
+        properties.setPoolAcquireTimeout(Duration.ofSeconds(10));
+
+        DownstreamHttpClientConfig config = new DownstreamHttpClientConfig();
+        connectionManager = config.downstreamConnectionManager(properties, environment, new SimpleMeterRegistry());
+        httpClient = config.downstreamHttpClient(connectionManager, properties);
+        return new RestTemplate(config.downstreamRequestFactory(httpClient, properties, environment));
+    }
+
+    private static long drive(RestTemplate restTemplate, String url) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENT_THREADS);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENT_THREADS; i++) {
+                futures.add(clients.submit(() -> {
+                    for (int j = 0; j < REQUESTS_PER_THREAD; j++) {
+                        assertNotNull(restTemplate.getForObject(url, String.class));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -19,6 +19,8 @@ import org.springframework.web.client.RestTemplate;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -52,6 +54,35 @@ class LibraryServiceClientTest {
         assertEquals(bookId, result.getBookId());
     }
 
+    @Test
+    void testGetBooksByBookIds_SendsDistinctIdsInOneRequest() {
+        when(restTemplate.postForObject(anyString(), eq(List.of("book-1", "book-2", "book-3")), eq(LibraryBatchModel.class)))
+                .thenReturn(new LibraryBatchModel(List.of(
+                        LibraryModel.builder().bookId("book-1").title("Title").author("Author").build(),
+                        LibraryModel.builder().bookId("book-3").title("Title").author("Author").build()), List.of("book-2")));
+
+        Map<String, LibraryModel> result = libraryServiceClient.getBooksByBookIds(List.of("book-1", "book-1", "book-2", "book-3"));
+
+        assertEquals(List.of("book-1", "book-3"), List.copyOf(result.keySet()));
+        verify(restTemplate, times(1)).postForObject(anyString(), any(), eq(LibraryBatchModel.class));
+        verify(restTemplate, never()).getForObject(anyString(), eq(LibraryModel.class));
+    }
+
+    @Test
+    void testGetBooksByBookIds_SplitsLargeRequests() {
+        List<String> bookIds = IntStream.range(0, 1_200).mapToObj(i -> "book-" + i).toList();
+        when(restTemplate.postForObject(anyString(), any(), eq(LibraryBatchModel.class)))
+                .thenAnswer(invocation -> {
+                    List<String> chunk = invocation.getArgument(1);
+                    return new LibraryBatchModel(chunk.stream().map(id -> LibraryModel.builder().bookId(id).build()).toList(), List.of());
+                });
+
+        Map<String, LibraryModel> result = libraryServiceClient.getBooksByBookIds(bookIds);
+
+        assertEquals(bookIds, List.copyOf(result.keySet()));
+        verify(restTemplate, times(3)).postForObject(anyString(), any(), eq(LibraryBatchModel.class));
+    }
+
     @Test
     void testGetAllBooks_Success() {
         List<LibraryModel> books = List.of(LibraryModel.builder().bookId("book-1").title("Book1").author("A1").build());
@@ -112,6 +143,32 @@ class LibraryServiceClientTest {
         assertThrows(InvalidInputException.class, () -> libraryServiceClient.addBook(request));
     }
 
+    @Test
+    void testReserveCopies_PostsToTheReserveEndpoint() {
+        libraryServiceClient.reserveCopies("book-123", 2);
+
+        verify(restTemplate).postForEntity("http://localhost:8080/api/v1/books/book-123/reserve?copies=2", null, Void.class);
+    }
+
+    @Test
+    void testReserveUpTo_ReturnsHowManyCopiesWereReserved() {
+        when(restTemplate.postForObject("http://localhost:8080/api/v1/books/book-123/reserve-up-to?copies=3", null, Integer.class))
+                .thenReturn(2);
+
+        assertEquals(2, libraryServiceClient.reserveUpTo("book-123", 3));
+    }
+
+    @Test
+    void testReserveCopies_SoldOut_ShouldThrowInvalidInput() throws Exception {
+        HttpClientErrorException ex = HttpClientErrorException.create(HttpStatus.CONFLICT, "Conflict", null, null, null);
+        when(restTemplate.postForEntity(anyString(), isNull(), eq(Void.class))).thenThrow(ex);
+        when(objectMapper.readValue(anyString(), eq(HttpErrorInfo.class)))
+                .thenReturn(new HttpErrorInfo(HttpStatus.CONFLICT, "/books/book-123/reserve", "Not enough copies available for bookId: book-123"));
+
+        InvalidInputException thrown = assertThrows(InvalidInputException.class, () -> libraryServiceClient.reserveCopies("book-123", 1));
+        assertEquals("Not enough copies available for bookId: book-123", thrown.getMessage());
+    }
+
     @Test
     void testDeleteBook_NotFound() throws Exception {
         String bookId = "nonexistent";
@@ -24,6 +24,7 @@ import org.springframework.web.client.RestTemplate;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -71,6 +72,21 @@ class LibrarianServiceClientTest {
         assertEquals("John", result.getFirstname());
     }
 
+    @Test
+    void testGetLibrariansByLibrarianIds_SendsDistinctIdsInOneRequest() {
+        when(restTemplate.postForObject(anyString(), eq(List.of("1", "2", "3")), eq(LibraryWorkerBatchModel.class)))
+                .thenReturn(new LibraryWorkerBatchModel(List.of(
+                        LibraryWorkerModel.builder().librarianId("1").firstname("John").lastname("Doe").build(),
+                        LibraryWorkerModel.builder().librarianId("2").firstname("John").lastname("Doe").build(),
+                        LibraryWorkerModel.builder().librarianId("3").firstname("John").lastname("Doe").build()), List.of()));
+
+        Map<String, LibraryWorkerModel> result = librarianServiceClient.getLibrariansByLibrarianIds(List.of("1", "2", "2", "3"));
+
+        assertEquals(3, result.size());
+        assertEquals("3", result.get("3").getLibrarianId());
+        verify(restTemplate, times(1)).postForObject(anyString(), any(), eq(LibraryWorkerBatchModel.class));
+    }
+
     @Test
     void testGetAllAdopters_Success() {
         List<LibraryWorkerModel> adopters = List.of(LibraryWorkerModel.builder()
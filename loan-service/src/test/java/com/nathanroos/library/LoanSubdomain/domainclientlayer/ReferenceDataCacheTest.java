@@ -0,0 +1,192 @@
+package com.nathanroos.library.LoanSubdomain.domainclientlayer;
+
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Customer.CustomerModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Customer.CustomerServiceClient;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Library.LibraryModel;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.Library.LibraryServiceClient;
+import com.nathanroos.library.LoanSubdomain.domainclientlayer.LibraryWorker.LibrarianServiceClient;
+import com.nathanroos.library.LoanSubdomain.utils.Exceptions.NotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataCacheTest {
+
+    private static final String ACCOUNT_ID = "c3d4e5f6-e29b-41d4-a716-446655440000";
+    private static final String BOOK_ID = "550e8400-e29b-41d4-a716-446655440000";
+
+    @Mock
+    private CustomerServiceClient customerServiceClient;
+
+    @Mock
+    private LibraryServiceClient libraryServiceClient;
+
+    @Mock
+    private LibrarianServiceClient librarianServiceClient;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ReferenceCacheProperties properties;
+
+    private ReferenceDataCache referenceDataCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ReferenceCacheProperties();
+        referenceDataCache = new ReferenceDataCache(customerServiceClient, libraryServiceClient, librarianServiceClient,
+                properties, meterRegistry);
+    }
+
+    @Test
+    void whenAccountRequestedTwice_thenClientIsCalledOnce() {
+        CustomerModel account = CustomerModel.builder().accountId(ACCOUNT_ID).firstname("John").build();
+        when(customerServiceClient.getAccountByAccountId(ACCOUNT_ID)).thenReturn(account);
+
+        assertSame(account, referenceDataCache.getAccountByAccountId(ACCOUNT_ID));
+        assertSame(account, referenceDataCache.getAccountByAccountId(ACCOUNT_ID));
+
+        verify(customerServiceClient, times(1)).getAccountByAccountId(ACCOUNT_ID);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tags("cache", "reference-accounts", "result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tags("cache", "reference-accounts", "result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void whenAccountNotFound_thenNotFoundIsCachedWithSameMessage() {
+        when(customerServiceClient.getAccountByAccountId(ACCOUNT_ID))
+                .thenThrow(new NotFoundException("Customer not found for ID: " + ACCOUNT_ID));
+
+        NotFoundException first = assertThrows(NotFoundException.class, () -> referenceDataCache.getAccountByAccountId(ACCOUNT_ID));
+        NotFoundException second = assertThrows(NotFoundException.class, () -> referenceDataCache.getAccountByAccountId(ACCOUNT_ID));
+
+        assertEquals(first.getMessage(), second.getMessage());
+        verify(customerServiceClient, times(1)).getAccountByAccountId(ACCOUNT_ID);
+    }
+
+    @Test
+    void whenNegativeTtlElapses_thenClientIsAskedAgain() throws InterruptedException {
+        properties.getAccounts().setNegativeTtl(Duration.ofMillis(50));
+        referenceDataCache = new ReferenceDataCache(customerServiceClient, libraryServiceClient, librarianServiceClient,
+                properties, new SimpleMeterRegistry());
+        CustomerModel account = CustomerModel.builder().accountId(ACCOUNT_ID).build();
+        when(customerServiceClient.getAccountByAccountId(ACCOUNT_ID))
+                .thenThrow(new NotFoundException("Customer not found for ID: " + ACCOUNT_ID))
+                .thenReturn(account);
+
+        assertThrows(NotFoundException.class, () -> referenceDataCache.getAccountByAccountId(ACCOUNT_ID));
+        Thread.sleep(100);
+
+        assertSame(account, referenceDataCache.getAccountByAccountId(ACCOUNT_ID));
+    }
+
+    @Test
+    void whenBookInvalidated_thenNextLookupGoesToClient() {
+        LibraryModel book = LibraryModel.builder().bookId(BOOK_ID).title("1984").build();
+        when(libraryServiceClient.getBookByBookId(BOOK_ID)).thenReturn(book);
+
+        referenceDataCache.getBookByBookId(BOOK_ID);
+        referenceDataCache.invalidateBook(BOOK_ID);
+        referenceDataCache.getBookByBookId(BOOK_ID);
+
+        verify(libraryServiceClient, times(2)).getBookByBookId(BOOK_ID);
+    }
+
+    @Test
+    void whenBatchContainsCachedIds_thenOnlyMissesAreFetched() {
+        CustomerModel cached = CustomerModel.builder().accountId(ACCOUNT_ID).build();
+        CustomerModel fresh = CustomerModel.builder().accountId("other").build();
+        when(customerServiceClient.getAccountByAccountId(ACCOUNT_ID)).thenReturn(cached);
+        when(customerServiceClient.getAccountsByAccountIds(Set.of("other"))).thenReturn(Map.of("other", fresh));
+
+        referenceDataCache.getAccountByAccountId(ACCOUNT_ID);
+        Map<String, CustomerModel> accounts = referenceDataCache.getAccountsByAccountIds(List.of(ACCOUNT_ID, "other", ACCOUNT_ID));
+
+        assertEquals(List.of(ACCOUNT_ID, "other"), List.copyOf(accounts.keySet()));
+        assertSame(fresh, referenceDataCache.getAccountByAccountId("other"));
+        verify(customerServiceClient, never()).getAccountByAccountId("other");
+    }
+
+    @Test
+    void whenOneIdInABatchWasNotFoundAlone_thenTheBatchReturnsTheOthers() {
+        LibraryModel book = LibraryModel.builder().bookId("other").build();
+        when(libraryServiceClient.getBookByBookId(BOOK_ID)).thenThrow(new NotFoundException("Book not found for ID: " + BOOK_ID));
+        when(libraryServiceClient.getBooksByBookIds(Set.of("other"))).thenReturn(Map.of("other", book));
+
+        assertThrows(NotFoundException.class, () -> referenceDataCache.getBookByBookId(BOOK_ID));
+        Map<String, LibraryModel> books = referenceDataCache.getBooksByBookIds(List.of(BOOK_ID, "other"));
+
+        assertEquals(Map.of("other", book), books);
+        verify(libraryServiceClient, times(1)).getBookByBookId(BOOK_ID);
+    }
+
+    @Test
+    void whenABatchMissedAnId_thenLookingItUpAloneThrowsNotFound() {
+        when(libraryServiceClient.getBooksByBookIds(Set.of(BOOK_ID))).thenReturn(Map.of());
+
+        assertTrue(referenceDataCache.getBooksByBookIds(List.of(BOOK_ID)).isEmpty());
+        NotFoundException ex = assertThrows(NotFoundException.class, () -> referenceDataCache.getBookByBookId(BOOK_ID));
+
+        assertEquals("Book not found for ID: " + BOOK_ID, ex.getMessage());
+        verify(libraryServiceClient, never()).getBookByBookId(BOOK_ID);
+    }
+
+    @Test
+    void whenDisabled_thenEveryLookupGoesToClient() {
+        properties.setEnabled(false);
+        referenceDataCache = new ReferenceDataCache(customerServiceClient, libraryServiceClient, librarianServiceClient,
+                properties, new SimpleMeterRegistry());
+        when(customerServiceClient.getAccountByAccountId(ACCOUNT_ID)).thenReturn(CustomerModel.builder().build());
+
+        referenceDataCache.getAccountByAccountId(ACCOUNT_ID);
+        referenceDataCache.getAccountByAccountId(ACCOUNT_ID);
+
+        verify(customerServiceClient, times(2)).getAccountByAccountId(ACCOUNT_ID);
+    }
+
+    @Test
+    void whenAccountIsAlreadyCached_thenItsExistenceNeedsNoRequest() {
+        when(customerServiceClient.getAccountByAccountId(ACCOUNT_ID)).thenReturn(CustomerModel.builder().accountId(ACCOUNT_ID).build());
+
+        referenceDataCache.getAccountByAccountId(ACCOUNT_ID);
+
+        assertTrue(referenceDataCache.accountExists(ACCOUNT_ID));
+        verify(customerServiceClient, never()).accountExists(ACCOUNT_ID);
+    }
+
+    @Test
+    void whenAccountDoesNotExist_thenTheMissIsCachedForLookupsToo() {
+        when(customerServiceClient.accountExists(ACCOUNT_ID)).thenReturn(false);
+
+        assertFalse(referenceDataCache.accountExists(ACCOUNT_ID));
+        assertFalse(referenceDataCache.accountExists(ACCOUNT_ID));
+        NotFoundException ex = assertThrows(NotFoundException.class, () -> referenceDataCache.getAccountByAccountId(ACCOUNT_ID));
+
+        assertEquals("Customer not found for ID: " + ACCOUNT_ID, ex.getMessage());
+
+        verify(customerServiceClient, times(1)).accountExists(ACCOUNT_ID);
+        verify(customerServiceClient, never()).getAccountByAccountId(ACCOUNT_ID);
+    }
+
+    @Test
+    void whenAccountExists_thenTheCheckIsNotCachedWithoutABody() {
+        CustomerModel account = CustomerModel.builder().accountId(ACCOUNT_ID).build();
+        when(customerServiceClient.accountExists(ACCOUNT_ID)).thenReturn(true);
+        when(customerServiceClient.getAccountByAccountId(ACCOUNT_ID)).thenReturn(account);
+
+        assertTrue(referenceDataCache.accountExists(ACCOUNT_ID));
+
+        assertSame(account, referenceDataCache.getAccountByAccountId(ACCOUNT_ID));
+    }
+}